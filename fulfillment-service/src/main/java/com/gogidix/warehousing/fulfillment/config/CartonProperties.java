@@ -0,0 +1,73 @@
+package com.gogidix.warehousing.fulfillment.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cartons available for packing, bound from {@code fulfillment.cartonization.cartons}
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fulfillment.cartonization")
+public class CartonProperties {
+
+    /**
+     * Configured cartons; a small range of standard boxes when none are configured
+     */
+    private List<Carton> cartons = new ArrayList<>(List.of(
+            new Carton("BOX-XS", 20, 15, 10, 5, 0.35),
+            new Carton("BOX-S", 30, 20, 15, 10, 0.55),
+            new Carton("BOX-M", 40, 30, 25, 20, 0.85),
+            new Carton("BOX-L", 60, 40, 40, 30, 1.40),
+            new Carton("BOX-XL", 80, 60, 50, 30, 2.20)));
+
+    /**
+     * Orders with more units than this are not cartonized
+     */
+    private int maxUnits = 100;
+
+    /**
+     * Number of item mixes whose recommendation is cached
+     */
+    private int cacheSize = 10_000;
+
+    @Data
+    public static class Carton {
+
+        private String id;
+
+        /**
+         * Inner dimensions in centimeters
+         */
+        private double lengthCm;
+        private double widthCm;
+        private double heightCm;
+
+        private double maxWeightKg;
+
+        /**
+         * Relative cost of shipping in the carton, including the carton itself
+         */
+        private double cost;
+
+        public Carton() {
+        }
+
+        public Carton(String id, double lengthCm, double widthCm, double heightCm, double maxWeightKg, double cost) {
+            this.id = id;
+            this.lengthCm = lengthCm;
+            this.widthCm = widthCm;
+            this.heightCm = heightCm;
+            this.maxWeightKg = maxWeightKg;
+            this.cost = cost;
+        }
+
+        public double volume() {
+            return lengthCm * widthCm * heightCm;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.gogidix.warehousing.fulfillment.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate settings that let bulk inserts and updates go out as JDBC batches
+ */
+@Configuration
+public class JpaBatchingConfig {
+
+    @Value("${fulfillment.jpa.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * Enable JDBC batching and statement ordering so that interleaved order and
+     * item inserts are grouped into one batch per table
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+            properties.putIfAbsent("hibernate.jdbc.batch_versioned_data", true);
+        };
+    }
+}
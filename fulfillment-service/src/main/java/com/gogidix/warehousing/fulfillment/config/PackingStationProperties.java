@@ -0,0 +1,53 @@
+package com.gogidix.warehousing.fulfillment.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Packing stations available for task assignment, bound from {@code fulfillment.packing.stations}
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fulfillment.packing")
+public class PackingStationProperties {
+
+    /**
+     * Configured stations; a single station without special handling capabilities when
+     * none are configured, to which tasks needing special handling also fall back
+     */
+    private List<Station> stations = new ArrayList<>(List.of(new Station("Pack-01")));
+
+    /**
+     * Weight of the newest sample in the per-station service time average
+     */
+    private double serviceTimeSmoothing = 0.2;
+
+    @Data
+    public static class Station {
+
+        private String id;
+
+        /**
+         * Special handling classes the station can pack, e.g. OVERSIZE or HAZMAT
+         */
+        private Set<String> capabilities = new HashSet<>();
+
+        /**
+         * Nominal packing rate used until real completion times are observed
+         */
+        private double tasksPerHour = 30;
+
+        public Station() {
+        }
+
+        public Station(String id) {
+            this.id = id;
+        }
+    }
+}
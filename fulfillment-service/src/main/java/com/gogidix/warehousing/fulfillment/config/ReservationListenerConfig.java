@@ -0,0 +1,59 @@
+package com.gogidix.warehousing.fulfillment.config;
+
+import com.gogidix.warehousing.fulfillment.event.listener.InventoryReservationParallelListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+/**
+ * Kafka listener configuration for inventory reservation events
+ */
+@Configuration
+public class ReservationListenerConfig {
+
+    @Value("${events.reservation.batch.concurrency:1}")
+    private int batchConcurrency;
+
+    @Value("${events.reservation.parallel.idle-commit-interval-ms:1000}")
+    private long parallelIdleCommitIntervalMs;
+
+    /**
+     * Listener container factory delivering whole polls to the batch and parallel
+     * reservation listeners. Offsets are committed once per poll, after the listener
+     * has returned.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> reservationBatchListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(batchConcurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+
+    /**
+     * Listener container factory for the parallel reservation listener. The container
+     * never commits on its own: the listener commits each partition's completed
+     * watermark itself, and the idle events let it commit while no records arrive.
+     * The listener also handles rebalances, so it can commit revoked partitions.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> reservationParallelListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory,
+            ObjectProvider<InventoryReservationParallelListener> parallelListener) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(batchConcurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setIdleEventInterval(parallelIdleCommitIntervalMs);
+        parallelListener.ifAvailable(factory.getContainerProperties()::setConsumerRebalanceListener);
+        return factory;
+    }
+}
@@ -0,0 +1,12 @@
+package com.gogidix.warehousing.fulfillment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled maintenance jobs of the fulfillment service
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
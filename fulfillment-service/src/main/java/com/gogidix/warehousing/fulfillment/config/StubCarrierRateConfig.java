@@ -0,0 +1,37 @@
+package com.gogidix.warehousing.fulfillment.config;
+
+import com.gogidix.warehousing.fulfillment.shipping.CarrierRateAdapter;
+import com.gogidix.warehousing.fulfillment.shipping.StubCarrierRateAdapter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Stub rating adapters for the carriers the service ships with, used for local
+ * development and testing until real rating APIs are connected. Enabled only by
+ * {@code fulfillment.rates.stub.enabled=true}, as set by the local and test profiles.
+ */
+@Configuration
+@ConditionalOnProperty(name = "fulfillment.rates.stub.enabled", havingValue = "true")
+public class StubCarrierRateConfig {
+
+    @Bean
+    public CarrierRateAdapter fedexRateAdapter() {
+        return new StubCarrierRateAdapter("fedex", "8.50", "1.10", 68, 2, 40, 180);
+    }
+
+    @Bean
+    public CarrierRateAdapter upsRateAdapter() {
+        return new StubCarrierRateAdapter("ups", "8.10", "1.20", 70, 3, 30, 150);
+    }
+
+    @Bean
+    public CarrierRateAdapter uspsRateAdapter() {
+        return new StubCarrierRateAdapter("usps", "5.90", "1.45", 31, 4, 20, 400);
+    }
+
+    @Bean
+    public CarrierRateAdapter dhlRateAdapter() {
+        return new StubCarrierRateAdapter("dhl", "9.80", "0.95", 70, 3, 60, 600);
+    }
+}
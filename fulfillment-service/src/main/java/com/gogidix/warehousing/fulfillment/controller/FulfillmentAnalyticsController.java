@@ -0,0 +1,36 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.gogidix.warehousing.fulfillment.dto.StageLatencyDTO;
+import com.gogidix.warehousing.fulfillment.service.FulfillmentAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for live fulfillment analytics
+ */
+@RestController
+@RequestMapping("/fulfillment-analytics")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Fulfillment Analytics", description = "APIs for live fulfillment stage metrics")
+public class FulfillmentAnalyticsController {
+
+    private final FulfillmentAnalyticsService analyticsService;
+
+    @GetMapping("/stage-latencies")
+    @Operation(summary = "Get latency percentiles and throughput per fulfillment stage over the last minutes")
+    public ResponseEntity<List<StageLatencyDTO>> getStageLatencies(
+            @Parameter(description = "Warehouse ID to filter by") @RequestParam(required = false) UUID warehouseId,
+            @Parameter(description = "Number of minutes to cover") @RequestParam(defaultValue = "15") int windowMinutes) {
+        log.info("REST request to get stage latencies - warehouse: {}, window: {} minutes", warehouseId, windowMinutes);
+        return ResponseEntity.ok(analyticsService.getStageLatencies(warehouseId, windowMinutes));
+    }
+}
@@ -0,0 +1,107 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.gogidix.warehousing.fulfillment.dto.BulkIngestionResultDTO;
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderDTO;
+import com.gogidix.warehousing.fulfillment.service.BulkFulfillmentOrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * REST controller for bulk ingestion of fulfillment orders
+ */
+@RestController
+@RequestMapping("/fulfillment-orders/bulk")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Fulfillment Order Bulk Ingestion", description = "APIs for creating fulfillment orders in bulk")
+public class FulfillmentOrderBulkController {
+
+    private final BulkFulfillmentOrderService bulkOrderService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create fulfillment orders from a JSON array")
+    public ResponseEntity<BulkIngestionResultDTO> createFulfillmentOrders(
+            @RequestBody List<FulfillmentOrderDTO> orders) {
+        log.info("REST request to bulk create {} fulfillment orders", orders.size());
+        return ResponseEntity.ok(bulkOrderService.createFulfillmentOrders(orders));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Create fulfillment orders from a newline-delimited JSON stream")
+    public ResponseEntity<BulkIngestionResultDTO> createFulfillmentOrdersFromStream(
+            HttpServletRequest request) throws IOException {
+        log.info("REST request to bulk create fulfillment orders from stream");
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            return ResponseEntity.ok(bulkOrderService.createFulfillmentOrders(
+                    new NdjsonOrderIterator(reader, objectMapper.readerFor(FulfillmentOrderDTO.class))));
+        }
+    }
+
+    /**
+     * Reads one order per non-blank line. Each line is parsed on its own, so a
+     * malformed line fails only its own record and the following lines still parse.
+     */
+    private static class NdjsonOrderIterator implements Iterator<FulfillmentOrderDTO> {
+
+        private final BufferedReader reader;
+        private final ObjectReader orderReader;
+        private String nextLine;
+
+        NdjsonOrderIterator(BufferedReader reader, ObjectReader orderReader) {
+            this.reader = reader;
+            this.orderReader = orderReader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (nextLine == null) {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        return false;
+                    }
+                    if (!line.isBlank()) {
+                        nextLine = line;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public FulfillmentOrderDTO next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = nextLine;
+            nextLine = null;
+            try {
+                return orderReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e.getOriginalMessage(), e);
+            }
+        }
+    }
+}
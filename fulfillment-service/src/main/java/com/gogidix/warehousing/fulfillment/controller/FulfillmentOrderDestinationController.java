@@ -0,0 +1,43 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.gogidix.warehousing.fulfillment.dto.OrderDestinationDTO;
+import com.gogidix.warehousing.fulfillment.service.OrderDestinationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST controller for the delivery locations of fulfillment orders
+ */
+@RestController
+@RequestMapping("/fulfillment-orders/{id}/destination")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Fulfillment Order Destinations", description = "APIs for the delivery locations used to route fulfillment orders")
+public class FulfillmentOrderDestinationController {
+
+    private final OrderDestinationService orderDestinationService;
+
+    @PutMapping
+    @Operation(summary = "Set the delivery location of a fulfillment order")
+    public ResponseEntity<OrderDestinationDTO> setDestination(
+            @Parameter(description = "Fulfillment order ID") @PathVariable UUID id,
+            @RequestBody OrderDestinationDTO destination) {
+        log.info("REST request to set destination of fulfillment order with id: {}", id);
+        return ResponseEntity.ok(orderDestinationService.setDestination(id, destination));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get the delivery location of a fulfillment order")
+    public ResponseEntity<OrderDestinationDTO> getDestination(
+            @Parameter(description = "Fulfillment order ID") @PathVariable UUID id) {
+        log.info("REST request to get destination of fulfillment order with id: {}", id);
+        return ResponseEntity.ok(orderDestinationService.getDestination(id));
+    }
+}
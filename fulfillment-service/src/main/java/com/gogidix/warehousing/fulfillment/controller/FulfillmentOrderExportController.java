@@ -0,0 +1,62 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.gogidix.warehousing.fulfillment.service.FulfillmentOrderExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST controller for bulk exports of fulfillment orders
+ */
+@RestController
+@RequestMapping("/fulfillment-orders/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Fulfillment Order Export", description = "APIs for streaming bulk exports of fulfillment orders")
+public class FulfillmentOrderExportController {
+
+    private final FulfillmentOrderExportService exportService;
+
+    @GetMapping
+    @Operation(summary = "Stream all fulfillment orders created in a period as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportFulfillmentOrders(
+            @Parameter(description = "Start of the period, inclusive")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the period, exclusive")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Output format")
+            @RequestParam(defaultValue = "CSV") FulfillmentOrderExportService.Format format,
+            @Parameter(description = "Whether to gzip the output") @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("REST request to export fulfillment orders created between {} and {} as {}", from, to, format);
+
+        // Validated before streaming starts; once the body is being written the status is already sent
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Export period start must be before its end");
+        }
+
+        String extension = format == FulfillmentOrderExportService.Format.CSV ? "csv" : "ndjson";
+        String fileName = "fulfillment-orders-" + from.toLocalDate() + "-" + to.toLocalDate() + "." + extension
+                + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : format == FulfillmentOrderExportService.Format.CSV ? MediaType.parseMediaType("text/csv")
+                : MediaType.parseMediaType("application/x-ndjson");
+
+        StreamingResponseBody body = out -> exportService.exportFulfillmentOrders(from, to, format, gzip, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,38 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.gogidix.warehousing.fulfillment.dto.OrderNoteDTO;
+import com.gogidix.warehousing.fulfillment.service.OrderNoteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST controller for the note history of fulfillment orders
+ */
+@RestController
+@RequestMapping("/fulfillment-orders/{id}/notes")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Fulfillment Order Notes", description = "APIs for reading the note history of fulfillment orders")
+public class FulfillmentOrderNoteController {
+
+    private final OrderNoteService orderNoteService;
+
+    @GetMapping
+    @Operation(summary = "Get the note history of a fulfillment order, newest first")
+    public ResponseEntity<Slice<OrderNoteDTO>> getNotes(
+            @Parameter(description = "Fulfillment order ID") @PathVariable UUID id,
+            @PageableDefault(size = 50) Pageable pageable) {
+        log.info("REST request to get notes for fulfillment order with id: {}", id);
+        return ResponseEntity.ok(orderNoteService.getNotes(id, pageable));
+    }
+}
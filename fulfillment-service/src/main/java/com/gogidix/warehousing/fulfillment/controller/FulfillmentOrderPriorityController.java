@@ -0,0 +1,43 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.gogidix.warehousing.fulfillment.dto.OrderPriorityDTO;
+import com.gogidix.warehousing.fulfillment.service.OrderPriorityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST controller for the priority of fulfillment orders
+ */
+@RestController
+@RequestMapping("/fulfillment-orders/{id}/priority")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Fulfillment Order Priorities", description = "APIs for the priority used to release and allocate fulfillment orders")
+public class FulfillmentOrderPriorityController {
+
+    private final OrderPriorityService orderPriorityService;
+
+    @PutMapping
+    @Operation(summary = "Set the customer tier and promised delivery date of a fulfillment order")
+    public ResponseEntity<OrderPriorityDTO> setPriority(
+            @Parameter(description = "Fulfillment order ID") @PathVariable UUID id,
+            @RequestBody OrderPriorityDTO priority) {
+        log.info("REST request to set priority of fulfillment order with id: {}", id);
+        return ResponseEntity.ok(orderPriorityService.setPriority(id, priority));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get the priority of a fulfillment order")
+    public ResponseEntity<OrderPriorityDTO> getPriority(
+            @Parameter(description = "Fulfillment order ID") @PathVariable UUID id) {
+        log.info("REST request to get priority of fulfillment order with id: {}", id);
+        return ResponseEntity.ok(orderPriorityService.getPriority(id));
+    }
+}
@@ -0,0 +1,43 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderSummaryDTO;
+import com.gogidix.warehousing.fulfillment.dto.KeysetSliceDTO;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.service.FulfillmentOrderQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST controller for scrolling through fulfillment order listings with continuation tokens
+ */
+@RestController
+@RequestMapping("/fulfillment-orders/scroll")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Fulfillment Order Scrolling", description = "APIs for keyset-paginated fulfillment order listings")
+public class FulfillmentOrderScrollController {
+
+    private final FulfillmentOrderQueryService queryService;
+
+    @GetMapping
+    @Operation(summary = "Get the next slice of fulfillment order summaries, oldest first")
+    public ResponseEntity<KeysetSliceDTO<FulfillmentOrderSummaryDTO>> scrollFulfillmentOrders(
+            @Parameter(description = "Status to filter by") @RequestParam(required = false) FulfillmentStatus status,
+            @Parameter(description = "Warehouse ID to filter by") @RequestParam(required = false) UUID warehouseId,
+            @Parameter(description = "Only include orders that have not shipped yet")
+            @RequestParam(defaultValue = "false") boolean active,
+            @Parameter(description = "Continuation token from the previous slice")
+            @RequestParam(required = false) String token,
+            @Parameter(description = "Maximum number of orders") @RequestParam(defaultValue = "50") int size) {
+        log.info("REST request to scroll fulfillment orders - status: {}, warehouse: {}, active: {}",
+                status, warehouseId, active);
+        return ResponseEntity.ok(queryService.scrollFulfillmentOrders(status, warehouseId, active, token, size));
+    }
+}
@@ -0,0 +1,42 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderSummaryDTO;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.service.FulfillmentOrderQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST controller for paged fulfillment order list views, served from summary projections
+ */
+@RestController
+@RequestMapping("/fulfillment-orders/summaries")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Fulfillment Order Summaries", description = "APIs for paged fulfillment order list views")
+public class FulfillmentOrderSummaryController {
+
+    private final FulfillmentOrderQueryService queryService;
+
+    @GetMapping
+    @Operation(summary = "Get a page of fulfillment order summaries")
+    public ResponseEntity<Page<FulfillmentOrderSummaryDTO>> getFulfillmentOrderSummaries(
+            @Parameter(description = "Status to filter by") @RequestParam(required = false) FulfillmentStatus status,
+            @Parameter(description = "Warehouse ID to filter by") @RequestParam(required = false) UUID warehouseId,
+            @Parameter(description = "Only include orders that have not shipped yet")
+            @RequestParam(defaultValue = "false") boolean active,
+            Pageable pageable) {
+        log.info("REST request to get fulfillment order summaries - status: {}, warehouse: {}, active: {}",
+                status, warehouseId, active);
+        return ResponseEntity.ok(queryService.getFulfillmentOrderSummaries(status, warehouseId, active, pageable));
+    }
+}
@@ -0,0 +1,35 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.gogidix.warehousing.fulfillment.service.InventoryAdjustmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * REST controller for inventory adjustments affecting active fulfillment orders
+ */
+@RestController
+@RequestMapping("/inventory-adjustments")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Inventory Adjustments", description = "APIs for re-checking active orders after inventory adjustments")
+public class InventoryAdjustmentController {
+
+    private final InventoryAdjustmentService inventoryAdjustmentService;
+
+    @PostMapping("/warehouses/{warehouseId}")
+    @Operation(summary = "Re-check active orders of a warehouse after an adjustment of many SKUs")
+    public ResponseEntity<Integer> checkActiveOrdersForItems(
+            @Parameter(description = "Warehouse ID") @PathVariable UUID warehouseId,
+            @RequestBody Set<String> skus) {
+        log.info("REST request to check active orders for {} SKUs in warehouse: {}", skus.size(), warehouseId);
+        return ResponseEntity.ok(inventoryAdjustmentService.checkActiveOrdersForItems(skus, warehouseId));
+    }
+}
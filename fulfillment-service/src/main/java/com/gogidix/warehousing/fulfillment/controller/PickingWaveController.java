@@ -0,0 +1,44 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.gogidix.warehousing.fulfillment.dto.PickingTaskDTO;
+import com.gogidix.warehousing.fulfillment.service.PickingWaveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for releasing picking waves
+ */
+@RestController
+@RequestMapping("/picking-waves")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Picking Waves", description = "APIs for releasing fulfillment orders to picking in batches")
+public class PickingWaveController {
+
+    private final PickingWaveService pickingWaveService;
+
+    @PostMapping
+    @Operation(summary = "Release allocated fulfillment orders to picking as one wave")
+    public ResponseEntity<List<PickingTaskDTO>> releasePickingWave(@RequestBody List<UUID> fulfillmentOrderIds) {
+        log.info("REST request to release picking wave for {} fulfillment orders", fulfillmentOrderIds.size());
+        return new ResponseEntity<>(pickingWaveService.releasePickingWave(fulfillmentOrderIds), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/next")
+    @Operation(summary = "Release the highest priority allocated fulfillment orders to picking as one wave")
+    public ResponseEntity<List<PickingTaskDTO>> releaseNextPickingWave(
+            @Parameter(description = "Maximum number of orders in the wave")
+            @RequestParam(defaultValue = "50") int maxOrders) {
+        log.info("REST request to release the next picking wave of up to {} fulfillment orders", maxOrders);
+        return new ResponseEntity<>(pickingWaveService.releaseNextPickingWave(maxOrders), HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,44 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.gogidix.warehousing.fulfillment.dto.LabelJobStatusDTO;
+import com.gogidix.warehousing.fulfillment.service.ShippingLabelService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for asynchronous shipping label jobs
+ */
+@RestController
+@RequestMapping("/shipping-labels/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Shipping Label Jobs", description = "APIs for generating shipping labels in bulk")
+public class ShippingLabelJobController {
+
+    private final ShippingLabelService shippingLabelService;
+
+    @PostMapping
+    @Operation(summary = "Queue shipping label generation for several fulfillment orders")
+    public ResponseEntity<LabelJobStatusDTO> submitLabelJob(
+            @Parameter(description = "Fulfillment order IDs") @RequestBody List<UUID> fulfillmentOrderIds) {
+        log.info("REST request to generate shipping labels for {} fulfillment orders", fulfillmentOrderIds.size());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(shippingLabelService.submitLabelJob(fulfillmentOrderIds));
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get the progress of a shipping label job")
+    public ResponseEntity<LabelJobStatusDTO> getLabelJobStatus(
+            @Parameter(description = "Job ID") @PathVariable UUID jobId) {
+        log.info("REST request to get shipping label job: {}", jobId);
+        return ResponseEntity.ok(shippingLabelService.getLabelJobStatus(jobId));
+    }
+}
@@ -0,0 +1,44 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.gogidix.warehousing.fulfillment.dto.SkuPickLocationDTO;
+import com.gogidix.warehousing.fulfillment.service.SkuPickLocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the SKU pick faces and unit dimensions used for picking and cartonization
+ */
+@RestController
+@RequestMapping("/sku-pick-locations")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "SKU Pick Locations", description = "APIs for the SKU pick faces and unit dimensions of a warehouse")
+public class SkuPickLocationController {
+
+    private final SkuPickLocationService skuPickLocationService;
+
+    @PutMapping("/{warehouseId}")
+    @Operation(summary = "Create or update the pick locations and dimensions of SKUs in a warehouse")
+    public ResponseEntity<List<SkuPickLocationDTO>> upsertLocations(
+            @Parameter(description = "Warehouse ID") @PathVariable Long warehouseId,
+            @RequestBody List<SkuPickLocationDTO> locations) {
+        log.info("REST request to upsert {} SKU pick locations in warehouse: {}", locations.size(), warehouseId);
+        return ResponseEntity.ok(skuPickLocationService.upsertLocations(warehouseId, locations));
+    }
+
+    @GetMapping("/{warehouseId}")
+    @Operation(summary = "Get the pick locations and dimensions of SKUs in a warehouse")
+    public ResponseEntity<List<SkuPickLocationDTO>> getLocations(
+            @Parameter(description = "Warehouse ID") @PathVariable Long warehouseId,
+            @Parameter(description = "SKUs to look up") @RequestParam List<String> skus) {
+        log.info("REST request to get {} SKU pick locations in warehouse: {}", skus.size(), warehouseId);
+        return ResponseEntity.ok(skuPickLocationService.getLocations(warehouseId, skus));
+    }
+}
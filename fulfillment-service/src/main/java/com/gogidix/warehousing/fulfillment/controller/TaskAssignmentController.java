@@ -0,0 +1,58 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.gogidix.warehousing.fulfillment.dto.PackingTaskDTO;
+import com.gogidix.warehousing.fulfillment.dto.PickingTaskDTO;
+import com.gogidix.warehousing.fulfillment.service.TaskAssignmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST controller for staff pulling their next picking or packing task
+ */
+@RestController
+@RequestMapping("/task-assignments/staff/{staffId}")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Task Assignment", description = "APIs for automatic assignment of picking and packing tasks")
+public class TaskAssignmentController {
+
+    private final TaskAssignmentService taskAssignmentService;
+
+    @PostMapping("/next-picking-task")
+    @Operation(summary = "Assign the best available picking task to a staff member")
+    public ResponseEntity<PickingTaskDTO> claimNextPickingTask(
+            @Parameter(description = "Staff ID") @PathVariable UUID staffId) {
+        log.info("REST request to claim next picking task for staff: {}", staffId);
+        return taskAssignmentService.claimNextPickingTask(staffId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @PostMapping("/next-packing-task")
+    @Operation(summary = "Assign the best available packing task to a staff member")
+    public ResponseEntity<PackingTaskDTO> claimNextPackingTask(
+            @Parameter(description = "Staff ID") @PathVariable UUID staffId) {
+        log.info("REST request to claim next packing task for staff: {}", staffId);
+        return taskAssignmentService.claimNextPackingTask(staffId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @PutMapping("/location")
+    @Operation(summary = "Record the current location of a staff member")
+    public ResponseEntity<Void> updateStaffLocation(
+            @Parameter(description = "Staff ID") @PathVariable UUID staffId,
+            @Parameter(description = "Zone or packing station") @RequestParam String area,
+            @Parameter(description = "Aisle") @RequestParam(required = false) String aisle) {
+        log.info("REST request to update location of staff: {} to {}/{}", staffId, area, aisle);
+        taskAssignmentService.updateStaffLocation(staffId, area, aisle);
+        return ResponseEntity.noContent().build();
+    }
+}
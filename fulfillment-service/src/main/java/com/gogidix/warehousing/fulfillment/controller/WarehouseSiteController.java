@@ -0,0 +1,58 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.gogidix.warehousing.fulfillment.dto.WarehouseSiteDTO;
+import com.gogidix.warehousing.fulfillment.service.WarehouseSiteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for the warehouse locations and capacities used to route fulfillment orders
+ */
+@RestController
+@RequestMapping("/warehouse-sites")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Warehouse Sites", description = "APIs for the warehouse locations and capacities used for routing")
+public class WarehouseSiteController {
+
+    private final WarehouseSiteService warehouseSiteService;
+
+    @PutMapping("/{warehouseId}")
+    @Operation(summary = "Create or replace the routing data of a warehouse")
+    public ResponseEntity<WarehouseSiteDTO> upsertSite(
+            @Parameter(description = "Warehouse ID") @PathVariable UUID warehouseId,
+            @RequestBody WarehouseSiteDTO site) {
+        log.info("REST request to upsert warehouse site: {}", warehouseId);
+        return ResponseEntity.ok(warehouseSiteService.upsertSite(warehouseId, site));
+    }
+
+    @PutMapping
+    @Operation(summary = "Create or replace the routing data of many warehouses")
+    public ResponseEntity<List<WarehouseSiteDTO>> upsertSites(@RequestBody List<WarehouseSiteDTO> sites) {
+        log.info("REST request to upsert {} warehouse sites", sites.size());
+        return ResponseEntity.ok(warehouseSiteService.upsertSites(sites));
+    }
+
+    @GetMapping("/{warehouseId}")
+    @Operation(summary = "Get the routing data of a warehouse")
+    public ResponseEntity<WarehouseSiteDTO> getSite(
+            @Parameter(description = "Warehouse ID") @PathVariable UUID warehouseId) {
+        log.info("REST request to get warehouse site: {}", warehouseId);
+        return ResponseEntity.ok(warehouseSiteService.getSite(warehouseId));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get the routing data of every warehouse")
+    public ResponseEntity<List<WarehouseSiteDTO>> getAllSites() {
+        log.info("REST request to get all warehouse sites");
+        return ResponseEntity.ok(warehouseSiteService.getAllSites());
+    }
+}
@@ -0,0 +1,25 @@
+package com.gogidix.warehousing.fulfillment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO summarizing a bulk fulfillment order ingestion
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIngestionResultDTO {
+
+    private int received;
+    private int created;
+    private int failed;
+    private long elapsedMillis;
+    private double ordersPerSecond;
+    private List<BulkOrderResultDTO> results;
+}
@@ -0,0 +1,28 @@
+package com.gogidix.warehousing.fulfillment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO for the outcome of a single order within a bulk ingestion request
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderResultDTO {
+
+    /**
+     * Position of the order in the submitted array or stream
+     */
+    private int index;
+
+    private UUID orderId;
+    private String fulfillmentOrderId;
+    private boolean success;
+    private String error;
+}
@@ -0,0 +1,34 @@
+package com.gogidix.warehousing.fulfillment.dto;
+
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.enums.InventoryStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for a fulfillment order in list views. Selected directly in JPQL, so
+ * listing orders never loads their items.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FulfillmentOrderSummaryDTO {
+
+    private String id;
+    private String externalOrderId;
+    private String orderReference;
+    private FulfillmentStatus status;
+    private InventoryStatus inventoryStatus;
+    private Long warehouseId;
+    private UUID assignedWarehouseId;
+    private String carrier;
+    private String trackingNumber;
+    private Integer itemCount;
+    private LocalDateTime createdAt;
+}
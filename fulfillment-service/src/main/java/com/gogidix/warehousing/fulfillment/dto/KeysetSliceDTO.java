@@ -0,0 +1,24 @@
+package com.gogidix.warehousing.fulfillment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one slice of a keyset-paginated listing. The next slice is requested
+ * by passing {@code nextToken} back; it is null on the last slice.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetSliceDTO<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextToken;
+}
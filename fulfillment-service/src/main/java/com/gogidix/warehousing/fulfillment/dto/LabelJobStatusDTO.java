@@ -0,0 +1,32 @@
+package com.gogidix.warehousing.fulfillment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO for the progress of an asynchronous shipping label job
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabelJobStatusDTO {
+
+    private UUID jobId;
+    private long total;
+    private long pending;
+    private long inProgress;
+    private long completed;
+    private long failed;
+    private boolean done;
+
+    /**
+     * Failure reason keyed by fulfillment order ID, limited to the first failures
+     */
+    private Map<UUID, String> failures;
+}
@@ -0,0 +1,22 @@
+package com.gogidix.warehousing.fulfillment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the delivery location of a fulfillment order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDestinationDTO {
+
+    private String countryCode;
+    private String postalCode;
+    private Double latitude;
+    private Double longitude;
+    private String region;
+}
@@ -0,0 +1,24 @@
+package com.gogidix.warehousing.fulfillment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for an entry in the history of a fulfillment order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderNoteDTO {
+
+    private Long id;
+    private String fulfillmentOrderId;
+    private String eventType;
+    private String message;
+    private LocalDateTime createdAt;
+}
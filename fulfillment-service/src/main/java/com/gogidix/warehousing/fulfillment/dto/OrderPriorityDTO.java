@@ -0,0 +1,23 @@
+package com.gogidix.warehousing.fulfillment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the priority inputs of a fulfillment order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPriorityDTO {
+
+    private Integer serviceLevel;
+    private Integer customerTier;
+    private LocalDateTime promisedBy;
+    private Long priorityScore;
+}
@@ -0,0 +1,32 @@
+package com.gogidix.warehousing.fulfillment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the pick face, handling class and unit dimensions of a SKU in a warehouse
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkuPickLocationDTO {
+
+    private Long warehouseId;
+    private String sku;
+    private String zone;
+    private String aisle;
+    private String rack;
+    private String bin;
+    private Integer walkSequence;
+    private String handlingClass;
+    private Double lengthCm;
+    private Double widthCm;
+    private Double heightCm;
+    private Double weightKg;
+    private LocalDateTime updatedAt;
+}
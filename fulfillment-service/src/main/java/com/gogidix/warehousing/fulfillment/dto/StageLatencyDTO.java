@@ -0,0 +1,34 @@
+package com.gogidix.warehousing.fulfillment.dto;
+
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for the live latency and throughput of one fulfillment stage
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StageLatencyDTO {
+
+    private UUID warehouseId;
+    private FulfillmentStage stage;
+    private int windowMinutes;
+    private long count;
+    private long p50Millis;
+    private long p90Millis;
+    private long p99Millis;
+    private long maxMillis;
+
+    /**
+     * Orders completing the stage per minute, oldest first; the last entry is the current minute
+     */
+    private List<Long> throughputPerMinute;
+}
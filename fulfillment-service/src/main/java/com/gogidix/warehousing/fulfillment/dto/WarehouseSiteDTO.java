@@ -0,0 +1,27 @@
+package com.gogidix.warehousing.fulfillment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for the location and fulfillment capacity of a warehouse used for routing
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarehouseSiteDTO {
+
+    private UUID warehouseId;
+    private String name;
+    private Double latitude;
+    private Double longitude;
+    private Integer dailyOrderCapacity;
+    private Boolean active;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,48 @@
+package com.gogidix.warehousing.fulfillment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing the delivery location of a fulfillment order
+ */
+@Entity
+@Table(name = "fulfillment_order_destinations", indexes = {
+        @Index(name = "idx_fulfillment_order_destinations_region", columnList = "region")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FulfillmentOrderDestination {
+
+    @Id
+    @Column(name = "fulfillment_order_id", length = 36, nullable = false)
+    private String fulfillmentOrderId;
+
+    @Column(name = "country_code", length = 2)
+    private String countryCode;
+
+    @Column(name = "postal_code", length = 20)
+    private String postalCode;
+
+    @Column(name = "latitude", nullable = false)
+    private Double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private Double longitude;
+
+    /**
+     * Geohash cell of the destination, used to group orders delivered to the same area
+     */
+    @Column(name = "region", length = 12, nullable = false)
+    private String region;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,46 @@
+package com.gogidix.warehousing.fulfillment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing an entry in the append-only history of a fulfillment order,
+ * such as a note recorded by a reservation event or workflow step
+ */
+@Entity
+@Table(name = "fulfillment_order_events", indexes = {
+        @Index(name = "idx_fulfillment_order_events_order_time",
+                columnList = "fulfillment_order_id, created_at, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FulfillmentOrderEvent {
+
+    /**
+     * Sequence-generated so that inserts can be sent in JDBC batches
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fulfillment_order_event_seq")
+    @SequenceGenerator(name = "fulfillment_order_event_seq",
+            sequenceName = "fulfillment_order_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "fulfillment_order_id", nullable = false, updatable = false)
+    private String fulfillmentOrderId;
+
+    @Column(name = "event_type", length = 50, nullable = false, updatable = false)
+    private String eventType;
+
+    @Column(name = "message", columnDefinition = "TEXT", nullable = false, updatable = false)
+    private String message;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
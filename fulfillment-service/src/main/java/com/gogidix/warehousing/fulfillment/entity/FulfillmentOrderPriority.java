@@ -0,0 +1,58 @@
+package com.gogidix.warehousing.fulfillment.entity;
+
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding the inputs and precomputed score used to rank a fulfillment order
+ */
+@Entity
+@Table(name = "fulfillment_order_priorities", indexes = {
+        @Index(name = "idx_fulfillment_order_priorities_status_score",
+                columnList = "order_status, priority_score DESC, fulfillment_order_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FulfillmentOrderPriority {
+
+    @Id
+    @Column(name = "fulfillment_order_id", length = 36, nullable = false)
+    private String fulfillmentOrderId;
+
+    @Column(name = "service_level", nullable = false)
+    private Integer serviceLevel;
+
+    @Column(name = "customer_tier", nullable = false)
+    private Integer customerTier;
+
+    @Column(name = "promised_by")
+    private LocalDateTime promisedBy;
+
+    @Column(name = "order_created_at", nullable = false)
+    private LocalDateTime orderCreatedAt;
+
+    /**
+     * See {@link com.gogidix.warehousing.fulfillment.util.PriorityScore}
+     */
+    @Column(name = "priority_score", nullable = false)
+    private Long priorityScore;
+
+    /**
+     * Copy of the order's status, leading the score index so a top-N selection
+     * reads only orders in the requested status
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", length = 30)
+    private FulfillmentStatus orderStatus;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
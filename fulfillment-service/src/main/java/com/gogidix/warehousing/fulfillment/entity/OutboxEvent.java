@@ -0,0 +1,46 @@
+package com.gogidix.warehousing.fulfillment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing an event waiting in the outbox to be published to Kafka
+ */
+@Entity
+@Table(name = "fulfillment_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    /**
+     * The publishing order. Drawn from the sequence one at a time while the order's
+     * row is locked, so a later event of the same order always has a higher id; a
+     * pooled allocation would hand out ids from blocks reserved earlier.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fulfillment_outbox_seq")
+    @SequenceGenerator(name = "fulfillment_outbox_seq", sequenceName = "fulfillment_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    /**
+     * ID of the fulfillment order the event is about, used as the message key
+     */
+    @Column(name = "aggregate_id", length = 64, nullable = false, updatable = false)
+    private String aggregateId;
+
+    @Column(name = "event_type", length = 50, nullable = false, updatable = false)
+    private String eventType;
+
+    @Column(name = "payload", columnDefinition = "TEXT", nullable = false, updatable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
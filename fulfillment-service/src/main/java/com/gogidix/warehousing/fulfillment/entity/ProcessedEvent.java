@@ -0,0 +1,46 @@
+package com.gogidix.warehousing.fulfillment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording an inbound event that has already been applied.
+ * Rows are insert-only and expire after the configured retention period.
+ */
+@Entity
+@Table(name = "processed_events", indexes = {
+        @Index(name = "idx_processed_events_processed_at", columnList = "processed_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedEvent implements Persistable<String> {
+
+    @Id
+    @Column(name = "event_key", length = 160, nullable = false)
+    private String eventKey;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    @Override
+    public String getId() {
+        return eventKey;
+    }
+
+    /**
+     * Processed events are never updated, so every save is an insert
+     */
+    @Override
+    @Transient
+    public boolean isNew() {
+        return true;
+    }
+}
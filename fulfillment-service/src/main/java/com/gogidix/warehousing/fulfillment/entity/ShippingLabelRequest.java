@@ -0,0 +1,76 @@
+package com.gogidix.warehousing.fulfillment.entity;
+
+import com.gogidix.warehousing.fulfillment.enums.LabelRequestStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing a queued request to generate the shipping label of a
+ * fulfillment order
+ */
+@Entity
+@Table(name = "shipping_label_requests", indexes = {
+        @Index(name = "idx_shipping_label_requests_job_id", columnList = "job_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShippingLabelRequest {
+
+    /**
+     * Sequence-generated so that a job's requests can be inserted in JDBC batches
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shipping_label_request_seq")
+    @SequenceGenerator(name = "shipping_label_request_seq",
+            sequenceName = "shipping_label_requests_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+
+    @Column(name = "fulfillment_order_id", nullable = false)
+    private UUID fulfillmentOrderId;
+
+    @Column(name = "carrier", length = 50)
+    private String carrier;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private LabelRequestStatus status;
+
+    @Column(name = "tracking_number", length = 100)
+    private String trackingNumber;
+
+    @Column(name = "label_url", length = 500)
+    private String labelUrl;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    /**
+     * Earliest time a pending request may be claimed again after a failed attempt,
+     * or null if it may be claimed at once
+     */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,76 @@
+package com.gogidix.warehousing.fulfillment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing the pick face of a SKU in a warehouse, as synchronized
+ * from warehouse slotting and item master data through the SKU pick location API
+ */
+@Entity
+@Table(name = "sku_pick_locations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sku_pick_locations_warehouse_sku",
+                columnNames = {"warehouse_id", "sku"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkuPickLocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(name = "sku", length = 100, nullable = false)
+    private String sku;
+
+    @Column(name = "zone", length = 50, nullable = false)
+    private String zone;
+
+    @Column(name = "aisle", length = 20)
+    private String aisle;
+
+    @Column(name = "rack", length = 20)
+    private String rack;
+
+    @Column(name = "bin", length = 20)
+    private String bin;
+
+    /**
+     * Position of the pick face along the zone's pick path, when slotting provides one
+     */
+    @Column(name = "walk_sequence")
+    private Integer walkSequence;
+
+    /**
+     * Special handling the SKU needs at packing, such as OVERSIZE or HAZMAT
+     */
+    @Column(name = "handling_class", length = 30)
+    private String handlingClass;
+
+    /**
+     * Unit dimensions and weight, used to recommend cartons at packing
+     */
+    @Column(name = "length_cm")
+    private Double lengthCm;
+
+    @Column(name = "width_cm")
+    private Double widthCm;
+
+    @Column(name = "height_cm")
+    private Double heightCm;
+
+    @Column(name = "weight_kg")
+    private Double weightKg;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
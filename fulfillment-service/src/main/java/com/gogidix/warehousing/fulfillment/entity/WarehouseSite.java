@@ -0,0 +1,48 @@
+package com.gogidix.warehousing.fulfillment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing the location and fulfillment capacity of a warehouse, as
+ * registered through the warehouse sites API
+ */
+@Entity
+@Table(name = "warehouse_sites")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarehouseSite {
+
+    @Id
+    @Column(name = "warehouse_id", nullable = false)
+    private UUID warehouseId;
+
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "latitude", nullable = false)
+    private Double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private Double longitude;
+
+    /**
+     * Number of open orders the warehouse can work through in a day
+     */
+    @Column(name = "daily_order_capacity", nullable = false)
+    private Integer dailyOrderCapacity;
+
+    @Column(name = "active", nullable = false)
+    private Boolean active;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.gogidix.warehousing.fulfillment.enums;
+
+/**
+ * Stages of the fulfillment workflow whose latency is measured
+ */
+public enum FulfillmentStage {
+    /**
+     * From order receipt until picking starts
+     */
+    RECEIVED_TO_PICKING,
+    /**
+     * From the start of picking until packing is complete
+     */
+    PICKING_TO_PACKED,
+    /**
+     * From the end of packing until the order ships
+     */
+    PACKED_TO_SHIPPED
+}
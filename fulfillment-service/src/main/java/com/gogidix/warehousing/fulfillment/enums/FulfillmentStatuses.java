@@ -0,0 +1,25 @@
+package com.gogidix.warehousing.fulfillment.enums;
+
+import java.util.List;
+
+/**
+ * Named groups of fulfillment statuses shared across services and queries
+ */
+public final class FulfillmentStatuses {
+
+    /**
+     * Statuses of orders still being worked on, from receipt until they leave the warehouse
+     */
+    public static final List<FulfillmentStatus> OPEN = List.of(
+            FulfillmentStatus.RECEIVED,
+            FulfillmentStatus.PROCESSING,
+            FulfillmentStatus.ALLOCATED,
+            FulfillmentStatus.PICKING,
+            FulfillmentStatus.PICKING_COMPLETE,
+            FulfillmentStatus.PACKING,
+            FulfillmentStatus.PACKING_COMPLETE,
+            FulfillmentStatus.READY_TO_SHIP);
+
+    private FulfillmentStatuses() {
+    }
+}
@@ -0,0 +1,66 @@
+package com.gogidix.warehousing.fulfillment.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Legal status transitions of the fulfillment workflow, each with the statuses
+ * it may start from, the status it leads to and the order timestamp it stamps
+ */
+public enum FulfillmentTransition {
+    START_PICKING(EnumSet.of(FulfillmentStatus.ALLOCATED), FulfillmentStatus.PICKING,
+            "pickingStartedAt", "to start picking"),
+    COMPLETE_PICKING(EnumSet.of(FulfillmentStatus.PICKING), FulfillmentStatus.PICKING_COMPLETE,
+            "pickingCompletedAt", "to complete picking"),
+    START_PACKING(EnumSet.of(FulfillmentStatus.PICKING_COMPLETE), FulfillmentStatus.PACKING,
+            "packingStartedAt", "to start packing"),
+    COMPLETE_PACKING(EnumSet.of(FulfillmentStatus.PACKING), FulfillmentStatus.PACKING_COMPLETE,
+            "packingCompletedAt", "to complete packing"),
+    READY_TO_SHIP(EnumSet.of(FulfillmentStatus.PACKING_COMPLETE), FulfillmentStatus.READY_TO_SHIP,
+            null, "to be ready to ship"),
+    DELIVER(EnumSet.of(FulfillmentStatus.SHIPPED), FulfillmentStatus.DELIVERED,
+            "deliveredAt", "to be marked as delivered"),
+    COMPLETE(EnumSet.of(FulfillmentStatus.DELIVERED), FulfillmentStatus.COMPLETED,
+            null, "to be completed");
+
+    private final Set<FulfillmentStatus> from;
+    private final FulfillmentStatus to;
+    private final String timestampField;
+    private final String action;
+
+    FulfillmentTransition(Set<FulfillmentStatus> from, FulfillmentStatus to, String timestampField, String action) {
+        this.from = from;
+        this.to = to;
+        this.timestampField = timestampField;
+        this.action = action;
+    }
+
+    /**
+     * Statuses the transition may start from
+     */
+    public Set<FulfillmentStatus> getFrom() {
+        return from;
+    }
+
+    /**
+     * Status the transition leads to
+     */
+    public FulfillmentStatus getTo() {
+        return to;
+    }
+
+    /**
+     * Order attribute set to the transition time, or null if none
+     */
+    public String getTimestampField() {
+        return timestampField;
+    }
+
+    /**
+     * Describe why an order in another status cannot take the transition
+     */
+    public String describeConflict() {
+        String expected = from.size() == 1 ? from.iterator().next().name() : from.toString();
+        return "Fulfillment order must be in " + expected + " status " + action;
+    }
+}
@@ -0,0 +1,11 @@
+package com.gogidix.warehousing.fulfillment.enums;
+
+/**
+ * Status of an asynchronous shipping label request
+ */
+public enum LabelRequestStatus {
+    PENDING,
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,20 @@
+package com.gogidix.warehousing.fulfillment.enums;
+
+/**
+ * Carrier-reported status of a shipment in transit
+ */
+public enum TrackingStatus {
+    LABEL_CREATED,
+    IN_TRANSIT,
+    OUT_FOR_DELIVERY,
+    EXCEPTION,
+    DELIVERED,
+    RETURNED;
+
+    /**
+     * Whether the status can no longer change
+     */
+    public boolean isTerminal() {
+        return this == DELIVERED || this == RETURNED;
+    }
+}
@@ -0,0 +1,27 @@
+package com.gogidix.warehousing.fulfillment.event;
+
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Status change of a fulfillment order, published to downstream services through
+ * the outbox
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FulfillmentStatusChangedEvent {
+
+    private UUID eventId;
+    private String fulfillmentOrderId;
+    private FulfillmentStatus status;
+    private String reason;
+    private Instant timestamp;
+}
@@ -0,0 +1,29 @@
+package com.gogidix.warehousing.fulfillment.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Availability update for a SKU in a warehouse, to be published by the inventory
+ * service whenever the on-hand or reserved quantity of the item changes. This is the
+ * contract the fulfillment service expects; the inventory service does not publish
+ * it, nor is its topic created, yet.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryAvailabilityEvent {
+
+    private String eventType;
+    private UUID warehouseId;
+    private String sku;
+    private Integer availableQuantity;
+    private Integer reservedQuantity;
+    private Instant timestamp;
+}
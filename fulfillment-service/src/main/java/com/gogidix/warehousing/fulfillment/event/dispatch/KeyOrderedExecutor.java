@@ -0,0 +1,85 @@
+package com.gogidix.warehousing.fulfillment.event.dispatch;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor that runs tasks on a fixed set of single-threaded lanes chosen by key.
+ * Tasks sharing a key always land on the same lane and therefore run in
+ * submission order, while tasks for different keys proceed in parallel.
+ */
+public class KeyOrderedExecutor implements AutoCloseable {
+
+    private final ExecutorService[] lanes;
+
+    /**
+     * Create an executor with the given number of lanes
+     *
+     * @param name the thread name prefix
+     * @param laneCount the number of lanes
+     */
+    public KeyOrderedExecutor(String name, int laneCount) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("Lane count must be positive: " + laneCount);
+        }
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = name + "-" + i;
+            AtomicInteger generation = new AtomicInteger();
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName + "." + generation.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Submit a task to the lane owning the key
+     *
+     * @param key the ordering key
+     * @param task the task to run
+     * @return a future completing when the task has run
+     */
+    public CompletableFuture<Void> submit(Object key, Runnable task) {
+        return CompletableFuture.runAsync(task, lanes[laneFor(key)]);
+    }
+
+    /**
+     * Get the number of lanes
+     *
+     * @return the lane count
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ExecutorService lane : lanes) {
+                if (!lane.awaitTermination(30, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (ExecutorService lane : lanes) {
+                lane.shutdownNow();
+            }
+        }
+    }
+
+    private int laneFor(Object key) {
+        int hash = key != null ? key.hashCode() : 0;
+        // Spread the hash so keys differing only in high bits still use all lanes
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, lanes.length);
+    }
+}
@@ -0,0 +1,183 @@
+package com.gogidix.warehousing.fulfillment.event.idempotency;
+
+import com.gogidix.warehousing.shared.events.*;
+import com.gogidix.warehousing.fulfillment.entity.ProcessedEvent;
+import com.gogidix.warehousing.fulfillment.repository.ProcessedEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Idempotency registry for inbound inventory reservation events.
+ * Event keys are checked against a bounded in-memory LRU first and fall back to
+ * the persisted processed-event table, so replays after a consumer rebalance are
+ * dropped before any fulfillment order is loaded.
+ */
+@Component
+@Slf4j
+public class ProcessedEventRegistry {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final long retentionHours;
+    private final Map<String, Boolean> recentKeys;
+
+    public ProcessedEventRegistry(
+            ProcessedEventRepository processedEventRepository,
+            @Value("${events.idempotency.cache-size:100000}") int cacheSize,
+            @Value("${events.idempotency.retention-hours:168}") long retentionHours) {
+        this.processedEventRepository = processedEventRepository;
+        this.retentionHours = retentionHours;
+        this.recentKeys = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Build the idempotency key of a reservation event: reservation ID, event type
+     * and a per-type version so that legitimate later transitions are not dropped.
+     *
+     * @param event the reservation event
+     * @return the idempotency key
+     */
+    public String eventKey(Object event) {
+        if (event instanceof InventoryReservationCreatedEvent created) {
+            return key(created.getReservationId(), "CREATED", "1");
+        }
+        if (event instanceof InventoryReservationStatusChangedEvent statusChanged) {
+            return key(statusChanged.getReservationId(), "STATUS_CHANGED",
+                    statusChanged.getPreviousStatus() + ">" + statusChanged.getNewStatus());
+        }
+        if (event instanceof InventoryReservationCompletedEvent completed) {
+            return key(completed.getReservationId(), "COMPLETED", String.valueOf(completed.getCompletedAt()));
+        }
+        if (event instanceof InventoryReservationCancelledEvent cancelled) {
+            return key(cancelled.getReservationId(), "CANCELLED", "1");
+        }
+        if (event instanceof InventoryReservationExpiredEvent expired) {
+            return key(expired.getReservationId(), "EXPIRED", String.valueOf(expired.getExpirationTime()));
+        }
+        throw new IllegalArgumentException("Unsupported reservation event type: " + event.getClass().getName());
+    }
+
+    /**
+     * Check whether an event has already been processed
+     *
+     * @param eventKey the idempotency key
+     * @return true if the event was processed before
+     */
+    @Transactional(readOnly = true)
+    public boolean isProcessed(String eventKey) {
+        if (recentKeys.containsKey(eventKey)) {
+            return true;
+        }
+        if (processedEventRepository.existsById(eventKey)) {
+            recentKeys.put(eventKey, Boolean.TRUE);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Find which of the given events have already been processed, using a single
+     * query for the keys that are not in the in-memory cache
+     *
+     * @param eventKeys the idempotency keys
+     * @return the subset of keys that were processed before
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findProcessed(Collection<String> eventKeys) {
+        Set<String> processed = new HashSet<>();
+        List<String> misses = new ArrayList<>();
+        for (String eventKey : eventKeys) {
+            if (recentKeys.containsKey(eventKey)) {
+                processed.add(eventKey);
+            } else {
+                misses.add(eventKey);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (String eventKey : processedEventRepository.findExistingKeys(misses)) {
+                recentKeys.put(eventKey, Boolean.TRUE);
+                processed.add(eventKey);
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * Record events as processed in the caller's transaction. The keys only enter
+     * the in-memory cache once that transaction commits.
+     *
+     * @param eventKeys the idempotency keys
+     */
+    @Transactional
+    public void markProcessed(Collection<String> eventKeys) {
+        if (eventKeys.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<ProcessedEvent> records = new ArrayList<>(eventKeys.size());
+        for (String eventKey : eventKeys) {
+            records.add(ProcessedEvent.builder()
+                    .eventKey(eventKey)
+                    .processedAt(now)
+                    .build());
+        }
+        processedEventRepository.saveAll(records);
+
+        List<String> committedKeys = List.copyOf(eventKeys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committedKeys.forEach(eventKey -> recentKeys.put(eventKey, Boolean.TRUE));
+                }
+            });
+        } else {
+            committedKeys.forEach(eventKey -> recentKeys.put(eventKey, Boolean.TRUE));
+        }
+    }
+
+    /**
+     * Record a single event as processed in the caller's transaction
+     *
+     * @param eventKey the idempotency key
+     */
+    @Transactional
+    public void markProcessed(String eventKey) {
+        markProcessed(List.of(eventKey));
+    }
+
+    /**
+     * Remove processed event records older than the retention period
+     */
+    @Scheduled(cron = "${events.idempotency.cleanup-cron:0 15 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = processedEventRepository.deleteProcessedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (removed > 0) {
+            log.info("Purged {} processed event records older than {} hours", removed, retentionHours);
+        }
+    }
+
+    private String key(String reservationId, String eventType, String version) {
+        return reservationId + "|" + eventType + "|" + version;
+    }
+}
@@ -0,0 +1,74 @@
+package com.gogidix.warehousing.fulfillment.event.listener;
+
+import com.gogidix.warehousing.fulfillment.event.InventoryAvailabilityEvent;
+import com.gogidix.warehousing.fulfillment.service.impl.InventoryAvailabilityView;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Event listener feeding the local inventory availability view.
+ * Every instance keeps its own full copy of the view, so it consumes all partitions
+ * under a group of its own, named after {@code fulfillment.instance-id} (the host
+ * name by default). The name must differ between instances and stay the same
+ * across restarts of one, so restarts reuse the group instead of leaving orphaned
+ * ones behind. On assignment it resumes after the offsets stored in the restored
+ * snapshot, or replays the topic from the beginning when there is none.
+ * <p>
+ * {@link InventoryAvailabilityEvent} and its topic are the contract expected from
+ * the inventory service, which does not publish them yet; until it does this
+ * listener receives nothing.
+ */
+@Component
+public class InventoryAvailabilityListener implements ConsumerSeekAware {
+    private static final Logger log = LoggerFactory.getLogger(InventoryAvailabilityListener.class);
+
+    private final InventoryAvailabilityView availabilityView;
+
+    @Autowired
+    public InventoryAvailabilityListener(InventoryAvailabilityView availabilityView) {
+        this.availabilityView = availabilityView;
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        for (TopicPartition partition : assignments.keySet()) {
+            Long offset = availabilityView.getRestoredOffset(partition.topic(), partition.partition());
+            if (offset != null) {
+                callback.seek(partition.topic(), partition.partition(), offset + 1);
+            } else {
+                callback.seekToBeginning(partition.topic(), partition.partition());
+            }
+        }
+        log.info("Inventory availability view consuming {}", assignments.keySet());
+    }
+
+    /**
+     * Handles inventory availability events.
+     *
+     * @param record The event record
+     */
+    @KafkaListener(
+            topics = "${events.topic.inventory.availability:inventory.availability}",
+            groupId = "fulfillment-availability-${fulfillment.instance-id:${HOSTNAME:local}}",
+            properties = "enable.auto.commit=false")
+    public void handleAvailabilityChanged(ConsumerRecord<String, InventoryAvailabilityEvent> record) {
+        InventoryAvailabilityEvent event = record.value();
+        if (event == null || event.getWarehouseId() == null || event.getSku() == null
+                || event.getAvailableQuantity() == null) {
+            log.warn("Skipping incomplete inventory availability event at {}-{}@{}",
+                    record.topic(), record.partition(), record.offset());
+        } else {
+            long timestamp = event.getTimestamp() != null ? event.getTimestamp().toEpochMilli() : record.timestamp();
+            availabilityView.apply(event.getWarehouseId(), event.getSku(), event.getAvailableQuantity(), timestamp);
+        }
+        availabilityView.recordOffset(record.topic(), record.partition(), record.offset());
+    }
+}
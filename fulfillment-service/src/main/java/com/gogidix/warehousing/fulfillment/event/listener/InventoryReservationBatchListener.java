@@ -0,0 +1,225 @@
+package com.gogidix.warehousing.fulfillment.event.listener;
+
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import com.gogidix.warehousing.fulfillment.event.idempotency.ProcessedEventRegistry;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderBatchRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batch event listener for inventory reservation events.
+ * Consumes a whole poll at a time: all referenced fulfillment orders are loaded
+ * with a single query, events are applied in offset order, and the resulting
+ * updates are flushed with JDBC batching in one transaction.
+ * <p>
+ * Events that trigger follow-up fulfillment steps (completed, cancelled and expired
+ * reservations) end their order's share of the transaction. The follow-up then runs
+ * in its own transaction after the commit, against the order as that event left it,
+ * and the event is marked processed only once the follow-up succeeds. Later events
+ * of the order are applied in a further pass, so most polls take a single pass.
+ * <p>
+ * Records that cannot be applied are routed to a dead-letter topic without
+ * failing the rest of the batch; once an event of an order has failed, the
+ * order's later events in the poll follow it there, so no order skips an event.
+ * Redelivered events are dropped before any order is loaded.
+ */
+@Component
+@ConditionalOnProperty(name = "events.reservation.listener-mode", havingValue = "batch")
+public class InventoryReservationBatchListener {
+    private static final Logger log = LoggerFactory.getLogger(InventoryReservationBatchListener.class);
+
+    private final FulfillmentOrderBatchRepository batchRepository;
+    private final ReservationEventApplier eventApplier;
+    private final ReservationDeadLetterPublisher deadLetterPublisher;
+    private final ProcessedEventRegistry processedEvents;
+    private final TransactionTemplate transactionTemplate;
+    private final int jdbcBatchSize;
+
+    @Autowired
+    public InventoryReservationBatchListener(
+            FulfillmentOrderBatchRepository batchRepository,
+            ReservationEventApplier eventApplier,
+            ReservationDeadLetterPublisher deadLetterPublisher,
+            ProcessedEventRegistry processedEvents,
+            PlatformTransactionManager transactionManager,
+            @Value("${events.reservation.batch.jdbc-batch-size:100}") int jdbcBatchSize) {
+        this.batchRepository = batchRepository;
+        this.eventApplier = eventApplier;
+        this.deadLetterPublisher = deadLetterPublisher;
+        this.processedEvents = processedEvents;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    /**
+     * Handles one poll of reservation events across all reservation topics.
+     *
+     * @param records The polled records, in offset order per partition
+     */
+    @KafkaListener(
+            id = "inventoryReservationBatchListener",
+            topics = {
+                    "${events.topic.reservation.created:inventory.reservations.created}",
+                    "${events.topic.reservation.status-changed:inventory.reservations.status-changed}",
+                    "${events.topic.reservation.completed:inventory.reservations.completed}",
+                    "${events.topic.reservation.cancelled:inventory.reservations.cancelled}",
+                    "${events.topic.reservation.expired:inventory.reservations.expired}"
+            },
+            containerFactory = "reservationBatchListenerContainerFactory",
+            properties = "max.poll.records=${events.reservation.batch.max-poll-records:1000}")
+    public void handleReservationEvents(List<ConsumerRecord<String, Object>> records) {
+        log.info("Received batch of {} reservation events", records.size());
+
+        // Key every record first so redeliveries can be dropped with one lookup
+        Map<ConsumerRecord<String, Object>, String> eventKeys = new LinkedHashMap<>();
+        for (ConsumerRecord<String, Object> record : records) {
+            try {
+                eventKeys.put(record, processedEvents.eventKey(record.value()));
+            } catch (Exception e) {
+                deadLetterPublisher.publish(record, e);
+            }
+        }
+        Set<String> alreadyProcessed = new HashSet<>(processedEvents.findProcessed(eventKeys.values()));
+
+        // Queue records per referenced order, in poll order, so orders can be loaded with one query
+        Map<String, Deque<ConsumerRecord<String, Object>>> pending = new LinkedHashMap<>();
+        for (Map.Entry<ConsumerRecord<String, Object>, String> entry : eventKeys.entrySet()) {
+            ConsumerRecord<String, Object> record = entry.getKey();
+            // add() also rejects a second copy of the same event within this poll
+            if (!alreadyProcessed.add(entry.getValue())) {
+                log.debug("Skipping already processed reservation event: {}", entry.getValue());
+                continue;
+            }
+            try {
+                String orderId = eventApplier.resolveOrderId(record.value());
+                if (orderId == null) {
+                    log.warn("Received reservation event with null orderId: {}",
+                            eventApplier.resolveReservationId(record.value()));
+                    continue;
+                }
+                pending.computeIfAbsent(orderId, k -> new ArrayDeque<>()).add(record);
+            } catch (Exception e) {
+                deadLetterPublisher.publish(record, e);
+            }
+        }
+
+        Set<String> failedOrders = new HashSet<>();
+        int applied = 0;
+        int passes = 0;
+        while (!pending.isEmpty()) {
+            Pass pass = transactionTemplate.execute(status -> applyPass(pending, eventKeys, failedOrders));
+            passes++;
+            applied += pass.applied();
+            for (ConsumerRecord<String, Object> record : pass.followUps()) {
+                runFollowUp(record, eventKeys.get(record), failedOrders);
+            }
+        }
+
+        log.info("Applied {} of {} reservation events in {} passes", applied, records.size(), passes);
+    }
+
+    /**
+     * Apply each pending order's events up to and including its first event with a
+     * follow-up, removing them from the queues
+     */
+    private Pass applyPass(Map<String, Deque<ConsumerRecord<String, Object>>> pending,
+                           Map<ConsumerRecord<String, Object>, String> eventKeys, Set<String> failedOrders) {
+        Map<String, FulfillmentOrder> ordersById = batchRepository.findAllByOrderIds(pending.keySet()).stream()
+                .collect(Collectors.toMap(FulfillmentOrder::getExternalOrderId, Function.identity(),
+                        (first, duplicate) -> first));
+
+        List<String> completedKeys = new ArrayList<>();
+        List<ConsumerRecord<String, Object>> followUps = new ArrayList<>();
+        int applied = 0;
+        Iterator<Map.Entry<String, Deque<ConsumerRecord<String, Object>>>> orders = pending.entrySet().iterator();
+        while (orders.hasNext()) {
+            Map.Entry<String, Deque<ConsumerRecord<String, Object>>> entry = orders.next();
+            String orderId = entry.getKey();
+            Deque<ConsumerRecord<String, Object>> queue = entry.getValue();
+            FulfillmentOrder order = ordersById.get(orderId);
+            if (order == null) {
+                log.warn("No fulfillment order found for orderId: {}", orderId);
+                orders.remove();
+                continue;
+            }
+
+            while (!queue.isEmpty()) {
+                ConsumerRecord<String, Object> record = queue.poll();
+                if (failedOrders.contains(orderId)) {
+                    deadLetterPublisher.publish(record, new IllegalStateException(
+                            "An earlier reservation event of order " + orderId + " failed"));
+                    continue;
+                }
+                try {
+                    eventApplier.apply(order, record.value());
+                } catch (Exception e) {
+                    failedOrders.add(orderId);
+                    deadLetterPublisher.publish(record, e);
+                    continue;
+                }
+                applied++;
+                if (eventApplier.hasFollowUp(record.value())) {
+                    followUps.add(record);
+                    break;
+                }
+                completedKeys.add(eventKeys.get(record));
+            }
+            if (queue.isEmpty()) {
+                orders.remove();
+            }
+        }
+
+        processedEvents.markProcessed(completedKeys);
+
+        // Orders are managed entities, so a single flush writes every change
+        batchRepository.flushInBatches(jdbcBatchSize);
+        return new Pass(applied, followUps);
+    }
+
+    /**
+     * Run the follow-up of an applied event in its own transaction, marking the event
+     * processed with it; on failure the event is dead-lettered and its order's later
+     * events follow it
+     */
+    private void runFollowUp(ConsumerRecord<String, Object> record, String eventKey, Set<String> failedOrders) {
+        String orderId = eventApplier.resolveOrderId(record.value());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                FulfillmentOrder order = batchRepository.findAllByOrderIds(List.of(orderId)).stream()
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("Fulfillment order " + orderId + " disappeared"));
+                eventApplier.afterApply(order, record.value());
+                processedEvents.markProcessed(eventKey);
+            });
+        } catch (Exception e) {
+            failedOrders.add(orderId);
+            deadLetterPublisher.publish(record, e);
+        }
+    }
+
+    /**
+     * Outcome of one pass over the pending events
+     */
+    private record Pass(int applied, List<ConsumerRecord<String, Object>> followUps) {
+    }
+}
@@ -2,39 +2,43 @@ package com.gogidix.warehousing.fulfillment.event.listener;
 
 import com.gogidix.warehousing.shared.events.*;
 import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
-import com.gogidix.warehousing.fulfillment.util.TypeConverterUtil;
-import com.gogidix.warehousing.fulfillment.enums.InventoryStatus;
+import com.gogidix.warehousing.fulfillment.event.idempotency.ProcessedEventRegistry;
 import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderRepository;
-import com.gogidix.warehousing.fulfillment.service.FulfillmentOrderService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 /**
  * Event listener for inventory reservation events.
  * This component consumes events from the inventory service and updates
- * fulfillment orders accordingly.
+ * fulfillment orders accordingly, one record per transaction. It is replaced by
+ * {@link InventoryReservationBatchListener} or
+ * {@link InventoryReservationParallelListener} depending on
+ * {@code events.reservation.listener-mode}.
  */
 @Component
+@ConditionalOnProperty(name = "events.reservation.listener-mode", havingValue = "record", matchIfMissing = true)
 public class InventoryReservationListener {
     private static final Logger log = LoggerFactory.getLogger(InventoryReservationListener.class);
     
     private final FulfillmentOrderRepository orderRepository;
-    private final FulfillmentOrderService orderService;
+    private final ReservationEventApplier eventApplier;
+    private final ProcessedEventRegistry processedEvents;
     
     @Autowired
     public InventoryReservationListener(
             FulfillmentOrderRepository orderRepository,
-            FulfillmentOrderService orderService) {
+            ReservationEventApplier eventApplier,
+            ProcessedEventRegistry processedEvents) {
         this.orderRepository = orderRepository;
-        this.orderService = orderService;
+        this.eventApplier = eventApplier;
+        this.processedEvents = processedEvents;
     }
     
     /**
@@ -53,6 +57,13 @@ public class InventoryReservationListener {
             return;
         }
         
+        // Drop redeliveries before touching the order
+        String eventKey = processedEvents.eventKey(event);
+        if (processedEvents.isProcessed(eventKey)) {
+            log.debug("Skipping already processed reservation event: {}", eventKey);
+            return;
+        }
+        
         FulfillmentOrder order = orderRepository.findByOrderIdString(orderId.toString()).orElse(null);
         
         if (order == null) {
@@ -60,19 +71,9 @@ public class InventoryReservationListener {
             return;
         }
         
-        // Update inventory status to RESERVED
-        order.setInventoryStatus(InventoryStatus.RESERVED);
-        order.setInventoryReservationId(UUID.fromString(event.getReservationId()));
-        order.setInventoryReservationExpiresAt(event.getExpiresAt());
-        
-        // Add reservation details to notes
-        Map<String, Object> reservationDetails = new HashMap<>();
-        reservationDetails.put("reservationId", event.getReservationId());
-        reservationDetails.put("expiresAt", event.getExpiresAt());
-        reservationDetails.put("totalItems", event.getItems().size());
-        
-        order.addNote("Inventory reservation created: " + reservationDetails);
+        eventApplier.apply(order, event);
         orderRepository.save(order);
+        processedEvents.markProcessed(eventKey);
         
         log.info("Updated fulfillment order {} with reservation {}", orderId, event.getReservationId());
     }
@@ -94,6 +95,13 @@ public class InventoryReservationListener {
             return;
         }
         
+        // Drop redeliveries before touching the order
+        String eventKey = processedEvents.eventKey(event);
+        if (processedEvents.isProcessed(eventKey)) {
+            log.debug("Skipping already processed reservation event: {}", eventKey);
+            return;
+        }
+        
         FulfillmentOrder order = orderRepository.findByOrderIdString(orderId.toString()).orElse(null);
         
         if (order == null) {
@@ -101,29 +109,10 @@ public class InventoryReservationListener {
             return;
         }
         
-        // Update inventory status based on the new reservation status
-        switch (event.getNewStatus()) {
-            case CONFIRMED:
-                order.setInventoryStatus(InventoryStatus.CONFIRMED);
-                break;
-            case FULFILLED:
-                order.setInventoryStatus(InventoryStatus.ALLOCATED);
-                break;
-            case CANCELLED:
-                order.setInventoryStatus(InventoryStatus.CANCELLED);
-                break;
-            case EXPIRED:
-                order.setInventoryStatus(InventoryStatus.EXPIRED);
-                break;
-            default:
-                log.warn("Unhandled reservation status: {}", event.getNewStatus());
-        }
-        
-        order.addNote("Inventory reservation status changed: " + 
-                event.getPreviousStatus() + " -> " + event.getNewStatus() + 
-                " (" + event.getReason() + ")");
+        eventApplier.apply(order, event);
         
         orderRepository.save(order);
+        processedEvents.markProcessed(eventKey);
         log.info("Updated fulfillment order {} inventory status to {}", 
                 orderId, order.getInventoryStatus());
     }
@@ -144,6 +133,13 @@ public class InventoryReservationListener {
             return;
         }
         
+        // Drop redeliveries before touching the order
+        String eventKey = processedEvents.eventKey(event);
+        if (processedEvents.isProcessed(eventKey)) {
+            log.debug("Skipping already processed reservation event: {}", eventKey);
+            return;
+        }
+        
         FulfillmentOrder order = orderRepository.findByOrderIdString(orderId).orElse(null);
         
         if (order == null) {
@@ -151,14 +147,12 @@ public class InventoryReservationListener {
             return;
         }
         
-        // Update inventory status to ALLOCATED
-        order.setInventoryStatus(InventoryStatus.ALLOCATED);
-        order.addNote("Inventory reservation completed at " + event.getCompletedAt());
-        
+        eventApplier.apply(order, event);
         orderRepository.save(order);
+        processedEvents.markProcessed(eventKey);
         
         // Proceed with next steps in the fulfillment process if needed
-        orderService.proceedToNextFulfillmentStage(order);
+        eventApplier.afterApply(order, event);
         
         log.info("Completed inventory allocation for fulfillment order {}", orderId);
     }
@@ -179,6 +173,13 @@ public class InventoryReservationListener {
             return;
         }
         
+        // Drop redeliveries before touching the order
+        String eventKey = processedEvents.eventKey(event);
+        if (processedEvents.isProcessed(eventKey)) {
+            log.debug("Skipping already processed reservation event: {}", eventKey);
+            return;
+        }
+        
         FulfillmentOrder order = orderRepository.findByOrderIdString(orderId).orElse(null);
         
         if (order == null) {
@@ -186,14 +187,12 @@ public class InventoryReservationListener {
             return;
         }
         
-        // Update inventory status to CANCELLED
-        order.setInventoryStatus(InventoryStatus.CANCELLED);
-        order.addNote("Inventory reservation cancelled");
-        
+        eventApplier.apply(order, event);
         orderRepository.save(order);
+        processedEvents.markProcessed(eventKey);
         
         // Handle cancellation in the order service
-        orderService.handleInventoryCancellation(order, "Inventory reservation cancelled");
+        eventApplier.afterApply(order, event);
         
         log.info("Handled inventory cancellation for fulfillment order {}", orderId);
     }
@@ -214,6 +213,13 @@ public class InventoryReservationListener {
             return;
         }
         
+        // Drop redeliveries before touching the order
+        String eventKey = processedEvents.eventKey(event);
+        if (processedEvents.isProcessed(eventKey)) {
+            log.debug("Skipping already processed reservation event: {}", eventKey);
+            return;
+        }
+        
         FulfillmentOrder order = orderRepository.findByOrderIdString(orderId).orElse(null);
         
         if (order == null) {
@@ -221,14 +227,12 @@ public class InventoryReservationListener {
             return;
         }
         
-        // Update inventory status to EXPIRED
-        order.setInventoryStatus(InventoryStatus.EXPIRED);
-        order.addNote("Inventory reservation expired at " + event.getExpirationTime());
-        
+        eventApplier.apply(order, event);
         orderRepository.save(order);
+        processedEvents.markProcessed(eventKey);
         
         // Handle expiration in the order service
-        orderService.handleInventoryExpiration(order);
+        eventApplier.afterApply(order, event);
         
         log.info("Handled inventory expiration for fulfillment order {}", orderId);
     }
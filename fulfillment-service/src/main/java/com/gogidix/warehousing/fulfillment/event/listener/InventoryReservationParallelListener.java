@@ -0,0 +1,312 @@
+package com.gogidix.warehousing.fulfillment.event.listener;
+
+import com.gogidix.warehousing.fulfillment.event.dispatch.KeyOrderedExecutor;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel event listener for inventory reservation events.
+ * Each poll is fanned out over key-ordered worker lanes by order ID, so events
+ * for the same order are applied in sequence while different orders proceed
+ * concurrently. The listener returns as soon as a poll is dispatched, so a slow
+ * order holds up only its own lane.
+ * <p>
+ * Completion is tracked per partition and offset, and each partition's offset is
+ * committed up to its lowest record still in flight, so a record is never committed
+ * before every earlier record of its partition is done. Commits are made on the
+ * consumer thread, on each poll and whenever the container goes idle.
+ * <p>
+ * The number of dispatched records still in flight is capped. Once a poll takes it
+ * past the cap the assigned partitions are paused, so the consumer thread keeps
+ * polling (and stays in the group) without fetching more, and they are resumed once
+ * the lanes have drained to half the cap. When partitions are revoked, the records
+ * already dispatched from them are given a bounded time to finish and their
+ * watermark is committed before the partitions move to another consumer; whatever
+ * is still in flight after that is redelivered to the new owner.
+ */
+@Component
+@ConditionalOnProperty(name = "events.reservation.listener-mode", havingValue = "parallel")
+public class InventoryReservationParallelListener implements ConsumerAwareRebalanceListener {
+    private static final Logger log = LoggerFactory.getLogger(InventoryReservationParallelListener.class);
+
+    private static final String LISTENER_ID = "inventoryReservationParallelListener";
+
+    private final ReservationEventProcessor eventProcessor;
+    private final ReservationEventApplier eventApplier;
+    private final ReservationDeadLetterPublisher deadLetterPublisher;
+    private final KeyOrderedExecutor executor;
+    private final int maxInFlight;
+    private final Duration revokeDrainTimeout;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<TopicPartition, PartitionProgress> progressByPartition = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InventoryReservationParallelListener(
+            ReservationEventProcessor eventProcessor,
+            ReservationEventApplier eventApplier,
+            ReservationDeadLetterPublisher deadLetterPublisher,
+            @Value("${events.reservation.parallel.lanes:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+            int laneCount,
+            @Value("${events.reservation.parallel.max-in-flight:5000}") int maxInFlight,
+            @Value("${events.reservation.parallel.revoke-drain-timeout-ms:10000}") long revokeDrainTimeoutMs) {
+        this.eventProcessor = eventProcessor;
+        this.eventApplier = eventApplier;
+        this.deadLetterPublisher = deadLetterPublisher;
+        this.executor = new KeyOrderedExecutor("reservation-lane", laneCount);
+        this.maxInFlight = maxInFlight;
+        this.revokeDrainTimeout = Duration.ofMillis(revokeDrainTimeoutMs);
+        log.info("Processing reservation events on {} ordered lanes with up to {} in flight", laneCount, maxInFlight);
+    }
+
+    /**
+     * Handles one poll of reservation events across all reservation topics.
+     *
+     * @param records The polled records, in offset order per partition
+     * @param consumer The consumer that polled them, used to commit completed offsets
+     */
+    @KafkaListener(
+            id = LISTENER_ID,
+            topics = {
+                    "${events.topic.reservation.created:inventory.reservations.created}",
+                    "${events.topic.reservation.status-changed:inventory.reservations.status-changed}",
+                    "${events.topic.reservation.completed:inventory.reservations.completed}",
+                    "${events.topic.reservation.cancelled:inventory.reservations.cancelled}",
+                    "${events.topic.reservation.expired:inventory.reservations.expired}"
+            },
+            containerFactory = "reservationParallelListenerContainerFactory",
+            properties = "max.poll.records=${events.reservation.parallel.max-poll-records:500}")
+    public void handleReservationEvents(List<ConsumerRecord<String, Object>> records, Consumer<?, ?> consumer) {
+        log.debug("Dispatching {} reservation events over {} lanes", records.size(), executor.getLaneCount());
+
+        for (ConsumerRecord<String, Object> record : records) {
+            PartitionProgress progress = progressByPartition.computeIfAbsent(
+                    new TopicPartition(record.topic(), record.partition()), partition -> new PartitionProgress());
+            long offset = record.offset();
+            String orderKey;
+            try {
+                orderKey = eventApplier.resolveOrderId(record.value());
+            } catch (Exception e) {
+                deadLetterPublisher.publish(record, e);
+                progress.skip(offset);
+                continue;
+            }
+
+            inFlight.incrementAndGet();
+            progress.start(offset);
+            executor.submit(orderKey, () -> process(record)).whenComplete((ignored, failure) -> {
+                progress.finish(offset);
+                inFlight.decrementAndGet();
+            });
+        }
+
+        commitCompleted(consumer);
+        applyBackpressure(consumer);
+    }
+
+    /**
+     * Commits offsets that completed after the last poll while no new records arrive.
+     * Idle events are published on the consumer thread, so the consumer may be used here.
+     *
+     * @param event The idle event of one of this listener's containers
+     */
+    @EventListener
+    public void onContainerIdle(ListenerContainerIdleEvent event) {
+        if (event.getListenerId() != null && event.getListenerId().startsWith(LISTENER_ID)) {
+            commitCompleted(event.getConsumer());
+            applyBackpressure(event.getConsumer());
+        }
+    }
+
+    /**
+     * Give the records in flight from revoked partitions time to finish and commit
+     * their watermark while this consumer still owns them, then stop tracking them
+     */
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        long deadline = System.nanoTime() + revokeDrainTimeout.toNanos();
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            PartitionProgress progress = progressByPartition.remove(partition);
+            if (progress == null) {
+                continue;
+            }
+            if (!progress.awaitDrained(deadline)) {
+                log.warn("Reservation events of revoked partition {} still in flight; they will be redelivered",
+                        partition);
+            }
+            long watermark = progress.advanceWatermark();
+            if (watermark >= 0) {
+                offsets.put(partition, new OffsetAndMetadata(watermark));
+            }
+        }
+        if (!offsets.isEmpty()) {
+            try {
+                consumer.commitSync(offsets);
+            } catch (RuntimeException e) {
+                log.warn("Failed to commit reservation event offsets {} on revocation: {}", offsets, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Keep newly assigned partitions paused while the lanes are backed up
+     */
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (inFlight.get() > maxInFlight / 2 && !partitions.isEmpty()) {
+            consumer.pause(partitions);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+
+    private void process(ConsumerRecord<String, Object> record) {
+        try {
+            eventProcessor.process(record.value());
+        } catch (Exception e) {
+            deadLetterPublisher.publish(record, e);
+        }
+    }
+
+    /**
+     * Pause the assigned partitions once the records in flight pass the cap, and
+     * resume them once the lanes have drained to half of it
+     */
+    private void applyBackpressure(Consumer<?, ?> consumer) {
+        int current = inFlight.get();
+        // The consumer's own pause state is used, as containers with concurrency share this listener
+        Set<TopicPartition> paused = consumer.paused();
+        if (paused.isEmpty() && current >= maxInFlight) {
+            consumer.pause(consumer.assignment());
+            log.debug("Paused reservation event consumption with {} events in flight", current);
+        } else if (!paused.isEmpty() && current <= maxInFlight / 2) {
+            consumer.resume(paused);
+            log.debug("Resumed reservation event consumption with {} events in flight", current);
+        }
+    }
+
+    /**
+     * Commit each assigned partition up to its contiguous completed watermark
+     */
+    private void commitCompleted(Consumer<?, ?> consumer) {
+        Set<TopicPartition> assigned = consumer.assignment();
+        // Partitions revoked with nothing in flight need no more tracking
+        progressByPartition.entrySet().removeIf(entry ->
+                !assigned.contains(entry.getKey()) && entry.getValue().isDrained());
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        progressByPartition.forEach((partition, progress) -> {
+            if (assigned.contains(partition)) {
+                long watermark = progress.advanceWatermark();
+                if (watermark >= 0) {
+                    offsets.put(partition, new OffsetAndMetadata(watermark));
+                }
+            }
+        });
+        if (offsets.isEmpty()) {
+            return;
+        }
+        consumer.commitAsync(offsets, (committed, e) -> {
+            if (e != null) {
+                log.warn("Failed to commit reservation event offsets {}: {}", committed, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Offsets of one partition that have been dispatched but not yet finished
+     */
+    private static class PartitionProgress {
+
+        private final ConcurrentSkipListSet<Long> pending = new ConcurrentSkipListSet<>();
+        // Both fields are only touched on the consumer thread
+        private long nextOffset = -1;
+        private long committedOffset = -1;
+
+        void start(long offset) {
+            pending.add(offset);
+            nextOffset = Math.max(nextOffset, offset + 1);
+        }
+
+        void skip(long offset) {
+            nextOffset = Math.max(nextOffset, offset + 1);
+        }
+
+        void finish(long offset) {
+            pending.remove(offset);
+            if (pending.isEmpty()) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+
+        boolean isDrained() {
+            return pending.isEmpty();
+        }
+
+        /**
+         * Wait until nothing is in flight or the deadline passes
+         *
+         * @param deadlineNanos the deadline in {@link System#nanoTime()} terms
+         * @return whether everything finished
+         */
+        synchronized boolean awaitDrained(long deadlineNanos) {
+            long remaining;
+            while (!pending.isEmpty() && (remaining = deadlineNanos - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return pending.isEmpty();
+                }
+            }
+            return pending.isEmpty();
+        }
+
+        /**
+         * Get the offset to commit, the lowest offset still in flight or the next
+         * offset after everything dispatched, if it moved since the last commit
+         *
+         * @return the new offset to commit, or -1 if there is nothing new
+         */
+        long advanceWatermark() {
+            // Read the dispatched high mark first: anything finishing meanwhile only raises the watermark
+            long next = nextOffset;
+            Long lowestPending = pending.ceiling(Long.MIN_VALUE);
+            long watermark = lowestPending != null ? Math.min(lowestPending, next) : next;
+            if (watermark <= committedOffset) {
+                return -1;
+            }
+            committedOffset = watermark;
+            return watermark;
+        }
+    }
+}
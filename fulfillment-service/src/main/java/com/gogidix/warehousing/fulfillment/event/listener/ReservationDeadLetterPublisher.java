@@ -0,0 +1,64 @@
+package com.gogidix.warehousing.fulfillment.event.listener;
+
+import com.gogidix.warehousing.fulfillment.util.TransactionCallbacks;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Routes reservation events that could not be applied to a dead-letter topic,
+ * so a single bad record does not block the rest of its batch.
+ */
+@Component
+public class ReservationDeadLetterPublisher {
+    private static final Logger log = LoggerFactory.getLogger(ReservationDeadLetterPublisher.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String topicSuffix;
+
+    @Autowired
+    public ReservationDeadLetterPublisher(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            @Value("${events.reservation.dead-letter.suffix:.DLT}") String topicSuffix) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topicSuffix = topicSuffix;
+    }
+
+    /**
+     * Publishes a failed record to {@code <original topic><suffix>}, keeping the
+     * original key and value and recording where and why it failed in headers.
+     * Inside a transaction the record is sent only once it commits, so a batch that
+     * rolls back and is redelivered does not dead-letter the same record twice.
+     *
+     * @param record The record that failed
+     * @param cause The failure
+     */
+    public void publish(ConsumerRecord<String, Object> record, Exception cause) {
+        String deadLetterTopic = record.topic() + topicSuffix;
+        log.error("Routing reservation event {}-{}@{} to {}: {}",
+                record.topic(), record.partition(), record.offset(), deadLetterTopic, cause.getMessage(), cause);
+
+        ProducerRecord<String, Object> deadLetter =
+                new ProducerRecord<>(deadLetterTopic, record.key(), record.value());
+        deadLetter.headers().add(KafkaHeaders.DLT_ORIGINAL_TOPIC, record.topic().getBytes(StandardCharsets.UTF_8));
+        deadLetter.headers().add(KafkaHeaders.DLT_ORIGINAL_PARTITION,
+                ByteBuffer.allocate(Integer.BYTES).putInt(record.partition()).array());
+        deadLetter.headers().add(KafkaHeaders.DLT_ORIGINAL_OFFSET,
+                ByteBuffer.allocate(Long.BYTES).putLong(record.offset()).array());
+        deadLetter.headers().add(KafkaHeaders.DLT_EXCEPTION_FQCN,
+                cause.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        deadLetter.headers().add(KafkaHeaders.DLT_EXCEPTION_MESSAGE,
+                String.valueOf(cause.getMessage()).getBytes(StandardCharsets.UTF_8));
+
+        TransactionCallbacks.afterCommit(() -> kafkaTemplate.send(deadLetter));
+    }
+}
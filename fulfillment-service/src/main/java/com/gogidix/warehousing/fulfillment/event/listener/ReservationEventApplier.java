@@ -0,0 +1,209 @@
+package com.gogidix.warehousing.fulfillment.event.listener;
+
+import com.gogidix.warehousing.shared.events.*;
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import com.gogidix.warehousing.fulfillment.enums.InventoryStatus;
+import com.gogidix.warehousing.fulfillment.service.FulfillmentOrderService;
+import com.gogidix.warehousing.fulfillment.service.OrderNoteService;
+import com.gogidix.warehousing.fulfillment.service.impl.DeadlineScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Applies inventory reservation events to fulfillment orders.
+ * Shared by all reservation listener modes so that each of them updates
+ * orders in exactly the same way.
+ */
+@Component
+public class ReservationEventApplier {
+    private static final Logger log = LoggerFactory.getLogger(ReservationEventApplier.class);
+
+    private final FulfillmentOrderService orderService;
+    private final OrderNoteService orderNoteService;
+    private final DeadlineScheduler deadlineScheduler;
+
+    @Autowired
+    public ReservationEventApplier(FulfillmentOrderService orderService, OrderNoteService orderNoteService,
+                                   DeadlineScheduler deadlineScheduler) {
+        this.orderService = orderService;
+        this.orderNoteService = orderNoteService;
+        this.deadlineScheduler = deadlineScheduler;
+    }
+
+    /**
+     * Resolves the order ID referenced by a reservation event.
+     *
+     * @param event The event data
+     * @return the order ID as a string, or null if the event carries none
+     */
+    public String resolveOrderId(Object event) {
+        if (event instanceof InventoryReservationCreatedEvent created) {
+            return created.getOrderId() != null ? created.getOrderId().toString() : null;
+        }
+        if (event instanceof InventoryReservationStatusChangedEvent statusChanged) {
+            return statusChanged.getOrderId() != null ? statusChanged.getOrderId().toString() : null;
+        }
+        if (event instanceof InventoryReservationCompletedEvent completed) {
+            return completed.getOrderId();
+        }
+        if (event instanceof InventoryReservationCancelledEvent cancelled) {
+            return cancelled.getOrderId();
+        }
+        if (event instanceof InventoryReservationExpiredEvent expired) {
+            return expired.getOrderId();
+        }
+        throw new IllegalArgumentException("Unsupported reservation event type: " + event.getClass().getName());
+    }
+
+    /**
+     * Resolves the reservation ID carried by a reservation event.
+     *
+     * @param event The event data
+     * @return the reservation ID
+     */
+    public String resolveReservationId(Object event) {
+        if (event instanceof InventoryReservationCreatedEvent created) {
+            return created.getReservationId();
+        }
+        if (event instanceof InventoryReservationStatusChangedEvent statusChanged) {
+            return statusChanged.getReservationId();
+        }
+        if (event instanceof InventoryReservationCompletedEvent completed) {
+            return completed.getReservationId();
+        }
+        if (event instanceof InventoryReservationCancelledEvent cancelled) {
+            return cancelled.getReservationId();
+        }
+        if (event instanceof InventoryReservationExpiredEvent expired) {
+            return expired.getReservationId();
+        }
+        throw new IllegalArgumentException("Unsupported reservation event type: " + event.getClass().getName());
+    }
+
+    /**
+     * Applies the state change carried by a reservation event to an order.
+     * The order is mutated in place; persisting it is left to the caller. Notes go
+     * to the append-only order history and are inserted with the caller's flush.
+     * Events are validated before the order is touched, so an event rejected with an
+     * exception leaves the order as it was. Deadline timers change only once the
+     * caller's transaction commits.
+     *
+     * @param order The fulfillment order referenced by the event
+     * @param event The event data
+     */
+    public void apply(FulfillmentOrder order, Object event) {
+        if (event instanceof InventoryReservationCreatedEvent created) {
+            applyCreated(order, created);
+        } else if (event instanceof InventoryReservationStatusChangedEvent statusChanged) {
+            applyStatusChanged(order, statusChanged);
+        } else if (event instanceof InventoryReservationCompletedEvent completed) {
+            // Update inventory status to ALLOCATED
+            order.setInventoryStatus(InventoryStatus.ALLOCATED);
+            deadlineScheduler.cancel(DeadlineScheduler.DeadlineType.RESERVATION, order.getId());
+            orderNoteService.appendNote(order.getId().toString(),
+                    "Inventory reservation completed at " + completed.getCompletedAt());
+        } else if (event instanceof InventoryReservationCancelledEvent) {
+            // Update inventory status to CANCELLED
+            order.setInventoryStatus(InventoryStatus.CANCELLED);
+            deadlineScheduler.cancel(DeadlineScheduler.DeadlineType.RESERVATION, order.getId());
+            orderNoteService.appendNote(order.getId().toString(), "Inventory reservation cancelled");
+        } else if (event instanceof InventoryReservationExpiredEvent expired) {
+            // Update inventory status to EXPIRED
+            order.setInventoryStatus(InventoryStatus.EXPIRED);
+            deadlineScheduler.cancel(DeadlineScheduler.DeadlineType.RESERVATION, order.getId());
+            orderNoteService.appendNote(order.getId().toString(),
+                    "Inventory reservation expired at " + expired.getExpirationTime());
+        } else {
+            throw new IllegalArgumentException("Unsupported reservation event type: " + event.getClass().getName());
+        }
+    }
+
+    /**
+     * Tells whether a reservation event triggers follow-up fulfillment steps in
+     * {@link #afterApply}
+     *
+     * @param event The event data
+     * @return true for completed, cancelled and expired reservations
+     */
+    public boolean hasFollowUp(Object event) {
+        return event instanceof InventoryReservationCompletedEvent
+                || event instanceof InventoryReservationCancelledEvent
+                || event instanceof InventoryReservationExpiredEvent;
+    }
+
+    /**
+     * Runs the follow-up fulfillment steps triggered by a reservation event.
+     * Must be called after the order changes from {@link #apply} have been persisted.
+     *
+     * @param order The fulfillment order referenced by the event
+     * @param event The event data
+     */
+    public void afterApply(FulfillmentOrder order, Object event) {
+        if (event instanceof InventoryReservationCompletedEvent) {
+            // Proceed with next steps in the fulfillment process if needed
+            orderService.proceedToNextFulfillmentStage(order);
+        } else if (event instanceof InventoryReservationCancelledEvent) {
+            // Handle cancellation in the order service
+            orderService.handleInventoryCancellation(order, "Inventory reservation cancelled");
+        } else if (event instanceof InventoryReservationExpiredEvent) {
+            // Handle expiration in the order service
+            orderService.handleInventoryExpiration(order);
+        }
+    }
+
+    private void applyCreated(FulfillmentOrder order, InventoryReservationCreatedEvent event) {
+        // Read and validate the whole event before mutating, so a malformed event
+        // leaves the order untouched when it is dead-lettered
+        if (event.getReservationId() == null) {
+            throw new IllegalArgumentException("Reservation created event has no reservationId");
+        }
+        UUID reservationId = UUID.fromString(event.getReservationId());
+        Map<String, Object> reservationDetails = new HashMap<>();
+        reservationDetails.put("reservationId", event.getReservationId());
+        reservationDetails.put("expiresAt", event.getExpiresAt());
+        reservationDetails.put("totalItems", event.getItems() != null ? event.getItems().size() : 0);
+
+        // Update inventory status to RESERVED
+        order.setInventoryStatus(InventoryStatus.RESERVED);
+        order.setInventoryReservationId(reservationId);
+        order.setInventoryReservationExpiresAt(event.getExpiresAt());
+        deadlineScheduler.schedule(DeadlineScheduler.DeadlineType.RESERVATION, order.getId(), event.getExpiresAt());
+
+        // Add reservation details to notes
+        orderNoteService.appendNote(order.getId().toString(), "Inventory reservation created: " + reservationDetails);
+    }
+
+    private void applyStatusChanged(FulfillmentOrder order, InventoryReservationStatusChangedEvent event) {
+        if (event.getNewStatus() == null) {
+            throw new IllegalArgumentException("Reservation status changed event has no newStatus");
+        }
+
+        // Update inventory status based on the new reservation status
+        switch (event.getNewStatus()) {
+            case CONFIRMED:
+                order.setInventoryStatus(InventoryStatus.CONFIRMED);
+                break;
+            case FULFILLED:
+                order.setInventoryStatus(InventoryStatus.ALLOCATED);
+                break;
+            case CANCELLED:
+                order.setInventoryStatus(InventoryStatus.CANCELLED);
+                break;
+            case EXPIRED:
+                order.setInventoryStatus(InventoryStatus.EXPIRED);
+                break;
+            default:
+                log.warn("Unhandled reservation status: {}", event.getNewStatus());
+        }
+
+        orderNoteService.appendNote(order.getId().toString(), "Inventory reservation status changed: " +
+                event.getPreviousStatus() + " -> " + event.getNewStatus() +
+                " (" + event.getReason() + ")");
+    }
+}
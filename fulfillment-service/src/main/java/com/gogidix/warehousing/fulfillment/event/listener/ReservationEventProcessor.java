@@ -0,0 +1,69 @@
+package com.gogidix.warehousing.fulfillment.event.listener;
+
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import com.gogidix.warehousing.fulfillment.event.idempotency.ProcessedEventRegistry;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies a single inventory reservation event in its own transaction.
+ * Used by listeners that hand events off to worker threads.
+ */
+@Component
+public class ReservationEventProcessor {
+    private static final Logger log = LoggerFactory.getLogger(ReservationEventProcessor.class);
+
+    private final FulfillmentOrderRepository orderRepository;
+    private final ReservationEventApplier eventApplier;
+    private final ProcessedEventRegistry processedEvents;
+
+    @Autowired
+    public ReservationEventProcessor(
+            FulfillmentOrderRepository orderRepository,
+            ReservationEventApplier eventApplier,
+            ProcessedEventRegistry processedEvents) {
+        this.orderRepository = orderRepository;
+        this.eventApplier = eventApplier;
+        this.processedEvents = processedEvents;
+    }
+
+    /**
+     * Applies a reservation event to the fulfillment order it references.
+     *
+     * @param event The event data
+     */
+    @Transactional
+    public void process(Object event) {
+        // Drop redeliveries before touching the order
+        String eventKey = processedEvents.eventKey(event);
+        if (processedEvents.isProcessed(eventKey)) {
+            log.debug("Skipping already processed reservation event: {}", eventKey);
+            return;
+        }
+
+        String orderId = eventApplier.resolveOrderId(event);
+        if (orderId == null) {
+            log.warn("Received reservation event with null orderId: {}", eventApplier.resolveReservationId(event));
+            return;
+        }
+
+        FulfillmentOrder order = orderRepository.findByOrderIdString(orderId).orElse(null);
+
+        if (order == null) {
+            log.warn("No fulfillment order found for orderId: {}", orderId);
+            return;
+        }
+
+        eventApplier.apply(order, event);
+        orderRepository.save(order);
+        processedEvents.markProcessed(eventKey);
+
+        eventApplier.afterApply(order, event);
+
+        log.debug("Applied reservation event {} to fulfillment order {}", eventKey, orderId);
+    }
+}
@@ -0,0 +1,145 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.enums.InventoryStatus;
+import com.gogidix.warehousing.fulfillment.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Data access for deadline tracking: streams the live deadlines of open tasks and
+ * reservations to rebuild the in-memory timers, and applies escalations as
+ * guarded bulk updates so a late or repeated firing changes nothing.
+ */
+@Repository
+public class DeadlineRepository {
+
+    static final List<TaskStatus> OPEN_TASK_STATUSES = List.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${fulfillment.deadlines.fetch-size:5000}")
+    private int fetchSize;
+
+    /**
+     * Stream the IDs and due times of open picking tasks. Must be consumed and
+     * closed within the calling read-only transaction.
+     *
+     * @return rows of task ID and due time
+     */
+    public Stream<Object[]> streamOpenPickingTaskDeadlines() {
+        return streamDeadlines("SELECT t.id, t.dueBy FROM PickingTask t " +
+                "WHERE t.status IN :open AND t.dueBy IS NOT NULL");
+    }
+
+    /**
+     * Stream the IDs and due times of open packing tasks
+     *
+     * @return rows of task ID and due time
+     */
+    public Stream<Object[]> streamOpenPackingTaskDeadlines() {
+        return streamDeadlines("SELECT t.id, t.dueBy FROM PackingTask t " +
+                "WHERE t.status IN :open AND t.dueBy IS NOT NULL");
+    }
+
+    /**
+     * Stream the IDs and reservation expiry times of orders holding a reservation
+     *
+     * @return rows of order ID and expiry time
+     */
+    public Stream<Object[]> streamReservationExpiries() {
+        return entityManager.createQuery(
+                        "SELECT o.id, o.inventoryReservationExpiresAt FROM FulfillmentOrder o " +
+                        "WHERE o.inventoryStatus = :reserved AND o.inventoryReservationExpiresAt IS NOT NULL",
+                        Object[].class)
+                .setParameter("reserved", InventoryStatus.RESERVED)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Raise the priority of open picking tasks that are overdue and move their due
+     * time to the next escalation point. Tasks no longer overdue are left alone,
+     * so another instance firing the same deadline has no effect.
+     *
+     * @param taskIds the task IDs
+     * @param now the current time
+     * @param nextDueBy the next escalation point
+     * @return the IDs of the tasks escalated
+     */
+    public List<Object> escalatePickingTasks(List<?> taskIds, LocalDateTime now, LocalDateTime nextDueBy) {
+        return escalate("PickingTask", taskIds, now, nextDueBy);
+    }
+
+    /**
+     * Raise the priority of open packing tasks that are overdue
+     *
+     * @see #escalatePickingTasks(List, LocalDateTime, LocalDateTime)
+     */
+    public List<Object> escalatePackingTasks(List<?> taskIds, LocalDateTime now, LocalDateTime nextDueBy) {
+        return escalate("PackingTask", taskIds, now, nextDueBy);
+    }
+
+    /**
+     * Mark the reservations of orders expired where they are still held past their expiry
+     *
+     * @param orderIds the fulfillment order IDs
+     * @param now the current time
+     * @return the number of orders updated
+     */
+    public int expireReservations(List<?> orderIds, LocalDateTime now) {
+        int updated = 0;
+        for (List<?> chunk : InventoryAllocationRepository.chunks(orderIds)) {
+            updated += entityManager.createQuery(
+                            "UPDATE FulfillmentOrder o SET o.inventoryStatus = :expired " +
+                            "WHERE o.id IN :ids AND o.inventoryStatus = :reserved " +
+                            "AND o.inventoryReservationExpiresAt <= :now")
+                    .setParameter("expired", InventoryStatus.EXPIRED)
+                    .setParameter("reserved", InventoryStatus.RESERVED)
+                    .setParameter("now", now)
+                    .setParameter("ids", chunk)
+                    .executeUpdate();
+        }
+        return updated;
+    }
+
+    private Stream<Object[]> streamDeadlines(String query) {
+        return entityManager.createQuery(query, Object[].class)
+                .setParameter("open", OPEN_TASK_STATUSES)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private List<Object> escalate(String entity, List<?> taskIds, LocalDateTime now, LocalDateTime nextDueBy) {
+        List<Object> escalated = new ArrayList<>();
+        for (List<?> chunk : InventoryAllocationRepository.chunks(taskIds)) {
+            int updated = entityManager.createQuery(
+                            "UPDATE " + entity + " t SET t.priority = COALESCE(t.priority, 0) + 1, t.dueBy = :nextDueBy " +
+                            "WHERE t.id IN :ids AND t.status IN :open AND t.dueBy <= :now")
+                    .setParameter("nextDueBy", nextDueBy)
+                    .setParameter("ids", chunk)
+                    .setParameter("open", OPEN_TASK_STATUSES)
+                    .setParameter("now", now)
+                    .executeUpdate();
+            if (updated > 0) {
+                escalated.addAll(entityManager.createQuery(
+                                "SELECT t.id FROM " + entity + " t WHERE t.id IN :ids AND t.dueBy = :nextDueBy",
+                                Object.class)
+                        .setParameter("ids", chunk)
+                        .setParameter("nextDueBy", nextDueBy)
+                        .getResultList());
+            }
+        }
+        return escalated;
+    }
+}
@@ -0,0 +1,70 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Set-based data access for fulfillment orders used by the high-volume
+ * processing paths, where loading and saving orders one at a time is too slow.
+ */
+@Repository
+public class FulfillmentOrderBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Find all fulfillment orders for the given external order IDs in a single query
+     *
+     * @param orderIds the external order IDs
+     * @return the matching fulfillment orders
+     */
+    public List<FulfillmentOrder> findAllByOrderIds(Collection<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return entityManager.createQuery(
+                        "SELECT o FROM FulfillmentOrder o WHERE o.externalOrderId IN :orderIds",
+                        FulfillmentOrder.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+    }
+
+    /**
+     * Insert new fulfillment orders, with their cascaded items, as JDBC batches and
+     * detach them afterwards so that large ingests run in constant memory
+     *
+     * @param orders the transient orders to insert
+     * @param batchSize the number of statements sent per JDBC batch
+     */
+    public void persistAll(Collection<FulfillmentOrder> orders, int batchSize) {
+        for (FulfillmentOrder order : orders) {
+            entityManager.persist(order);
+        }
+        flushInBatches(batchSize);
+        entityManager.clear();
+    }
+
+    /**
+     * Flush pending changes of the current persistence context using JDBC batching
+     *
+     * @param batchSize the number of statements sent per JDBC batch
+     */
+    public void flushInBatches(int batchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            entityManager.flush();
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrderDestination;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for FulfillmentOrderDestination entity
+ */
+@Repository
+public interface FulfillmentOrderDestinationRepository extends JpaRepository<FulfillmentOrderDestination, String> {
+}
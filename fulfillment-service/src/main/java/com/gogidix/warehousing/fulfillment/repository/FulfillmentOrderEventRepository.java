@@ -0,0 +1,20 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrderEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for FulfillmentOrderEvent entity
+ */
+@Repository
+public interface FulfillmentOrderEventRepository extends JpaRepository<FulfillmentOrderEvent, Long> {
+
+    /**
+     * Find the history of a fulfillment order, newest first, without counting the total
+     */
+    Slice<FulfillmentOrderEvent> findByFulfillmentOrderIdOrderByCreatedAtDescIdDesc(
+            String fulfillmentOrderId, Pageable pageable);
+}
@@ -0,0 +1,47 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderSummaryDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Forward-only reads of fulfillment orders for bulk export. Rows are fetched from
+ * a database cursor in batches of the configured fetch size and are never
+ * attached to the persistence context, so memory stays constant however many
+ * orders are exported.
+ */
+@Repository
+public class FulfillmentOrderExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${fulfillment.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Stream the summaries of the orders created in a period, oldest first.
+     * Must be consumed and closed within the calling read-only transaction.
+     *
+     * @param from the start of the period, inclusive
+     * @param to the end of the period, exclusive
+     * @return the order summaries
+     */
+    public Stream<FulfillmentOrderSummaryDTO> streamCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return entityManager.createQuery(
+                        FulfillmentOrderKeysetRepository.SUMMARY_SELECT +
+                        " WHERE o.createdAt >= :from AND o.createdAt < :to ORDER BY o.createdAt, o.id",
+                        FulfillmentOrderSummaryDTO.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,140 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderSummaryDTO;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.exception.FulfillmentException;
+import com.gogidix.warehousing.fulfillment.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Listings of fulfillment order summaries, selected as projections so no order
+ * entity or item is loaded. Keyset-paginated listings are ordered by
+ * (createdAt, id); each page seeks past the last row of the previous one, so it
+ * costs the same at any depth and never needs a COUNT. Offset pages are also
+ * offered for list views that need page numbers and totals.
+ */
+@Repository
+public class FulfillmentOrderKeysetRepository {
+
+    /**
+     * Projection of fulfillment orders to summaries, without a WHERE clause
+     */
+    static final String SUMMARY_SELECT =
+            "SELECT new com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderSummaryDTO(" +
+            "o.id, o.externalOrderId, o.orderReference, o.status, o.inventoryStatus, o.warehouseId, " +
+            "o.assignedWarehouseId, o.carrier, o.trackingNumber, SIZE(o.orderItems), o.createdAt) " +
+            "FROM FulfillmentOrder o";
+
+    /**
+     * Summary attributes a page may be sorted by, mapped to their JPQL paths
+     */
+    private static final Map<String, String> SORTABLE = Map.of(
+            "createdAt", "o.createdAt",
+            "status", "o.status",
+            "orderReference", "o.orderReference",
+            "externalOrderId", "o.externalOrderId");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Find a page of order summaries
+     *
+     * @param statuses the statuses to include, or null for all
+     * @param warehouseId the warehouse to include, or null for all
+     * @param pageable the page to read; sorting is limited to the summary attributes
+     *                 in {@link #SORTABLE}, newest first when unsorted
+     * @return the page of order summaries with the total count
+     */
+    public Page<FulfillmentOrderSummaryDTO> findSummaryPage(Collection<FulfillmentStatus> statuses,
+                                                            Long warehouseId, Pageable pageable) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (statuses != null) {
+            where.append(" AND o.status IN :statuses");
+        }
+        if (warehouseId != null) {
+            where.append(" AND o.warehouseId = :warehouseId");
+        }
+
+        StringBuilder orderBy = new StringBuilder();
+        for (Sort.Order order : pageable.getSort()) {
+            String path = SORTABLE.get(order.getProperty());
+            if (path == null) {
+                throw new FulfillmentException("Cannot sort fulfillment orders by " + order.getProperty());
+            }
+            orderBy.append(orderBy.length() == 0 ? " ORDER BY " : ", ")
+                    .append(path).append(order.isAscending() ? " ASC" : " DESC");
+        }
+        // The id tie-breaker keeps pages stable when sort values repeat
+        orderBy.append(orderBy.length() == 0 ? " ORDER BY o.createdAt DESC, o.id DESC" : ", o.id");
+
+        TypedQuery<FulfillmentOrderSummaryDTO> query = entityManager
+                .createQuery(SUMMARY_SELECT + where + orderBy, FulfillmentOrderSummaryDTO.class);
+        TypedQuery<Long> count = entityManager
+                .createQuery("SELECT COUNT(o) FROM FulfillmentOrder o" + where, Long.class);
+        if (statuses != null) {
+            query.setParameter("statuses", statuses);
+            count.setParameter("statuses", statuses);
+        }
+        if (warehouseId != null) {
+            query.setParameter("warehouseId", warehouseId);
+            count.setParameter("warehouseId", warehouseId);
+        }
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+
+        List<FulfillmentOrderSummaryDTO> content = query.getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, count::getSingleResult);
+    }
+
+    /**
+     * Find the summaries of the orders after a cursor
+     *
+     * @param statuses the statuses to include, or null for all
+     * @param warehouseId the warehouse to include, or null for all
+     * @param after the cursor to continue from, or null for the first page
+     * @param limit the maximum number of orders
+     * @return the order summaries in (createdAt, id) order
+     */
+    public List<FulfillmentOrderSummaryDTO> findSummariesAfter(Collection<FulfillmentStatus> statuses,
+                                                               Long warehouseId, KeysetCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder(SUMMARY_SELECT + " WHERE 1 = 1");
+        if (statuses != null) {
+            jpql.append(" AND o.status IN :statuses");
+        }
+        if (warehouseId != null) {
+            jpql.append(" AND o.warehouseId = :warehouseId");
+        }
+        if (after != null) {
+            jpql.append(" AND (o.createdAt > :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND o.id > :afterId))");
+        }
+        jpql.append(" ORDER BY o.createdAt, o.id");
+
+        TypedQuery<FulfillmentOrderSummaryDTO> query = entityManager
+                .createQuery(jpql.toString(), FulfillmentOrderSummaryDTO.class)
+                .setMaxResults(limit);
+        if (statuses != null) {
+            query.setParameter("statuses", statuses);
+        }
+        if (warehouseId != null) {
+            query.setParameter("warehouseId", warehouseId);
+        }
+        if (after != null) {
+            query.setParameter("afterCreatedAt", after.createdAt());
+            query.setParameter("afterId", after.id());
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,92 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrderPriority;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data access for fulfillment order priority scores, including the top-N
+ * selections that walk the status and score index instead of sorting orders in
+ * memory
+ */
+@Repository
+public class FulfillmentOrderPriorityRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Find the priority of a fulfillment order
+     *
+     * @param fulfillmentOrderId the fulfillment order ID
+     * @return the priority, or empty if none has been recorded
+     */
+    public Optional<FulfillmentOrderPriority> findById(String fulfillmentOrderId) {
+        return Optional.ofNullable(entityManager.find(FulfillmentOrderPriority.class, fulfillmentOrderId));
+    }
+
+    /**
+     * Insert the priorities of new orders without checking for existing rows
+     *
+     * @param priorities the priorities to insert
+     */
+    public void insertAll(Collection<FulfillmentOrderPriority> priorities) {
+        for (FulfillmentOrderPriority priority : priorities) {
+            entityManager.persist(priority);
+        }
+    }
+
+    /**
+     * Insert or update a priority
+     *
+     * @param priority the priority
+     * @return the managed priority
+     */
+    public FulfillmentOrderPriority save(FulfillmentOrderPriority priority) {
+        return entityManager.merge(priority);
+    }
+
+    /**
+     * Copy a status change of orders into their priority rows
+     *
+     * @param fulfillmentOrderIds the fulfillment order IDs
+     * @param status the new status
+     * @return the number of priority rows updated
+     */
+    public int updateOrderStatus(Collection<String> fulfillmentOrderIds, FulfillmentStatus status) {
+        int updated = 0;
+        for (List<String> chunk : InventoryAllocationRepository.chunks(new ArrayList<>(fulfillmentOrderIds))) {
+            updated += entityManager.createQuery(
+                            "UPDATE FulfillmentOrderPriority p SET p.orderStatus = :status " +
+                            "WHERE p.fulfillmentOrderId IN :ids")
+                    .setParameter("status", status)
+                    .setParameter("ids", chunk)
+                    .executeUpdate();
+        }
+        return updated;
+    }
+
+    /**
+     * Find the highest priority orders in the given statuses
+     *
+     * @param statuses the order statuses to include
+     * @param limit the maximum number of orders
+     * @return the order IDs, highest priority score first
+     */
+    public List<String> findTopOrderIds(Collection<FulfillmentStatus> statuses, int limit) {
+        return entityManager.createQuery(
+                        "SELECT p.fulfillmentOrderId FROM FulfillmentOrderPriority p " +
+                        "WHERE p.orderStatus IN :statuses " +
+                        "ORDER BY p.priorityScore DESC, p.fulfillmentOrderId", String.class)
+                .setParameter("statuses", statuses)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads of full fulfillment order graphs with explicit fetch joins, so that
+ * mapping an order or a page of orders to DTOs never triggers a query per row
+ */
+@Repository
+public class FulfillmentOrderReadRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Find a fulfillment order together with its items in a single query
+     *
+     * @param id the fulfillment order ID
+     * @return the order with its items initialized
+     */
+    public Optional<FulfillmentOrder> findDetailById(String id) {
+        return entityManager.createQuery(
+                        "SELECT DISTINCT o FROM FulfillmentOrder o LEFT JOIN FETCH o.orderItems WHERE o.id = :id",
+                        FulfillmentOrder.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Initialize the items of already loaded orders with one query, instead of one
+     * lazy load per order when they are mapped
+     *
+     * @param orders the managed orders
+     */
+    public void fetchItems(Collection<FulfillmentOrder> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<String> ids = orders.stream().map(order -> order.getId().toString()).toList();
+        entityManager.createQuery(
+                        "SELECT DISTINCT o FROM FulfillmentOrder o LEFT JOIN FETCH o.orderItems WHERE o.id IN :ids",
+                        FulfillmentOrder.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+}
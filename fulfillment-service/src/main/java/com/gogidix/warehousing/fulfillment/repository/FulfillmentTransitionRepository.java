@@ -0,0 +1,152 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentTransition;
+import com.gogidix.warehousing.fulfillment.enums.ItemFulfillmentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Applies workflow status transitions as conditional updates, so an order is
+ * moved only if it is still in one of the transition's source statuses and is
+ * never loaded to do so.
+ */
+@Repository
+public class FulfillmentTransitionRepository {
+
+    private static final String ORDER_ITEMS =
+            "i.id IN (SELECT it.id FROM FulfillmentOrder o JOIN o.orderItems it WHERE o.id = :orderId)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Apply a transition to an order if its status allows it
+     *
+     * @param orderId the fulfillment order ID
+     * @param transition the transition
+     * @param now the transition time
+     * @return true if the order was moved, false if it does not exist or is in another status
+     */
+    public boolean apply(String orderId, FulfillmentTransition transition, LocalDateTime now) {
+        String timestamp = transition.getTimestampField() != null
+                ? ", o." + transition.getTimestampField() + " = :now"
+                : "";
+        Query update = entityManager.createQuery(
+                        "UPDATE FulfillmentOrder o SET o.status = :to" + timestamp + " " +
+                        "WHERE o.id = :orderId AND o.status IN :from")
+                .setParameter("to", transition.getTo())
+                .setParameter("orderId", orderId)
+                .setParameter("from", transition.getFrom());
+        if (transition.getTimestampField() != null) {
+            update.setParameter("now", now);
+        }
+        return update.executeUpdate() > 0;
+    }
+
+    /**
+     * Apply a transition to every order of a set whose status allows it. The orders
+     * are locked in ID order first, so concurrent callers cannot both move one.
+     *
+     * @param orderIds the fulfillment order IDs
+     * @param transition the transition
+     * @param now the transition time
+     * @return the IDs of the orders moved
+     */
+    public List<String> applyAll(Collection<String> orderIds, FulfillmentTransition transition, LocalDateTime now) {
+        List<String> moved = new ArrayList<>();
+        for (List<String> chunk : InventoryAllocationRepository.chunks(new ArrayList<>(orderIds))) {
+            List<String> locked = entityManager.createQuery(
+                            "SELECT o.id FROM FulfillmentOrder o WHERE o.id IN :ids AND o.status IN :from " +
+                            "ORDER BY o.id", String.class)
+                    .setParameter("ids", chunk)
+                    .setParameter("from", transition.getFrom())
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+            if (locked.isEmpty()) {
+                continue;
+            }
+            String timestamp = transition.getTimestampField() != null
+                    ? ", o." + transition.getTimestampField() + " = :now"
+                    : "";
+            Query update = entityManager.createQuery(
+                            "UPDATE FulfillmentOrder o SET o.status = :to" + timestamp + " " +
+                            "WHERE o.id IN :ids AND o.status IN :from")
+                    .setParameter("to", transition.getTo())
+                    .setParameter("ids", locked)
+                    .setParameter("from", transition.getFrom());
+            if (transition.getTimestampField() != null) {
+                update.setParameter("now", now);
+            }
+            update.executeUpdate();
+            moved.addAll(locked);
+        }
+        return moved;
+    }
+
+    /**
+     * Read the current status of an order without loading it
+     *
+     * @param orderId the fulfillment order ID
+     * @return the status, or empty if the order does not exist
+     */
+    public Optional<FulfillmentStatus> findStatus(String orderId) {
+        List<FulfillmentStatus> statuses = entityManager.createQuery(
+                        "SELECT o.status FROM FulfillmentOrder o WHERE o.id = :orderId", FulfillmentStatus.class)
+                .setParameter("orderId", orderId)
+                .getResultList();
+        return statuses.stream().findFirst();
+    }
+
+    /**
+     * Set the status of every item of an order
+     *
+     * @return the number of items updated
+     */
+    public int updateItemStatus(String orderId, ItemFulfillmentStatus status) {
+        return entityManager.createQuery(
+                        "UPDATE FulfillmentOrderItem i SET i.status = :status WHERE " + ORDER_ITEMS)
+                .setParameter("status", status)
+                .setParameter("orderId", orderId)
+                .executeUpdate();
+    }
+
+    /**
+     * Mark every item of an order packed, defaulting the packed quantity to the
+     * ordered quantity where none was recorded
+     *
+     * @return the number of items updated
+     */
+    public int markItemsPacked(String orderId) {
+        return entityManager.createQuery(
+                        "UPDATE FulfillmentOrderItem i SET i.status = :packed, i.quantityPacked = " +
+                        "CASE WHEN i.quantityPacked IS NULL OR i.quantityPacked = 0 THEN i.quantity " +
+                        "ELSE i.quantityPacked END WHERE " + ORDER_ITEMS)
+                .setParameter("packed", ItemFulfillmentStatus.PACKED)
+                .setParameter("orderId", orderId)
+                .executeUpdate();
+    }
+
+    /**
+     * Mark every item of an order fulfilled for its full ordered quantity
+     *
+     * @return the number of items updated
+     */
+    public int markItemsFulfilled(String orderId) {
+        return entityManager.createQuery(
+                        "UPDATE FulfillmentOrderItem i SET i.status = :fulfilled, i.quantityFulfilled = i.quantity " +
+                        "WHERE " + ORDER_ITEMS)
+                .setParameter("fulfilled", ItemFulfillmentStatus.FULFILLED)
+                .setParameter("orderId", orderId)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,225 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based data access for inventory allocation. Reads open demand as flat
+ * projections instead of loading orders with their items, and applies the
+ * resulting status changes with bulk updates. Status updates first lock the orders
+ * that still match their guard and return those IDs, so the caller can record an
+ * event for exactly the orders that changed.
+ */
+@Repository
+public class InventoryAllocationRepository {
+
+    /**
+     * Maximum number of IDs bound to a single IN clause
+     */
+    static final int MAX_IN_CLAUSE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Find the next page of open demand for a SKU across orders in the given
+     * statuses, in allocation priority order (highest priority score first). Orders
+     * without a score rank last.
+     *
+     * @param sku the SKU
+     * @param statuses the order statuses to include
+     * @param after the last line of the previous page, or null for the first page
+     * @param limit the maximum number of lines
+     * @return one line per order with its open quantity of the SKU
+     */
+    public List<OrderDemand> findOpenDemand(String sku, Collection<FulfillmentStatus> statuses,
+                                            OrderDemand after, int limit) {
+        String keyset = after == null ? "" :
+                "AND (COALESCE(p.priorityScore, 0) < :afterScore " +
+                "OR (COALESCE(p.priorityScore, 0) = :afterScore AND o.id > :afterId)) ";
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                        "SELECT o.id, o.status, COALESCE(p.priorityScore, 0), " +
+                        "SUM(COALESCE(i.quantity, 0) - COALESCE(i.quantityFulfilled, 0)) " +
+                        "FROM FulfillmentOrder o JOIN o.orderItems i " +
+                        "LEFT JOIN FulfillmentOrderPriority p ON p.fulfillmentOrderId = o.id " +
+                        "WHERE i.sku = :sku AND o.status IN :statuses " + keyset +
+                        "GROUP BY o.id, o.status, p.priorityScore " +
+                        "ORDER BY COALESCE(p.priorityScore, 0) DESC, o.id", Object[].class)
+                .setParameter("sku", sku)
+                .setParameter("statuses", statuses)
+                .setMaxResults(limit);
+        if (after != null) {
+            query.setParameter("afterScore", after.priorityScore())
+                    .setParameter("afterId", after.orderId());
+        }
+        List<Object[]> rows = query.getResultList();
+        List<OrderDemand> demand = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            demand.add(new OrderDemand((String) row[0], (FulfillmentStatus) row[1],
+                    ((Number) row[2]).longValue(), ((Number) row[3]).longValue()));
+        }
+        return demand;
+    }
+
+    /**
+     * Find the open demand of orders in a warehouse for any of the given SKUs
+     *
+     * @param warehouseId the warehouse ID
+     * @param skus the SKUs
+     * @param statuses the order statuses to include
+     * @return one line per order and SKU with its open quantity and delivery region, ordered by order
+     */
+    public List<OrderSkuDemand> findOpenDemandBySku(Long warehouseId, List<String> skus,
+                                                    Collection<FulfillmentStatus> statuses) {
+        List<OrderSkuDemand> demand = new ArrayList<>();
+        for (List<String> chunk : chunks(skus)) {
+            List<Object[]> rows = entityManager.createQuery(
+                            "SELECT o.id, i.sku, " +
+                            "SUM(COALESCE(i.quantity, 0) - COALESCE(i.quantityFulfilled, 0)), d.region " +
+                            "FROM FulfillmentOrder o JOIN o.orderItems i " +
+                            "LEFT JOIN FulfillmentOrderDestination d ON d.fulfillmentOrderId = o.id " +
+                            "WHERE o.warehouseId = :warehouseId AND i.sku IN :skus AND o.status IN :statuses " +
+                            "GROUP BY o.id, i.sku, d.region " +
+                            "ORDER BY o.id, i.sku", Object[].class)
+                    .setParameter("warehouseId", warehouseId)
+                    .setParameter("skus", chunk)
+                    .setParameter("statuses", statuses)
+                    .getResultList();
+            for (Object[] row : rows) {
+                demand.add(new OrderSkuDemand((String) row[0], (String) row[1], ((Number) row[2]).longValue(),
+                        (String) row[3]));
+            }
+        }
+        return demand;
+    }
+
+    /**
+     * Move orders that are still in RECEIVED to PROCESSING
+     *
+     * @param orderIds the order IDs
+     * @param now the processing start time
+     * @return the IDs of the orders updated
+     */
+    public List<String> markProcessing(List<String> orderIds, LocalDateTime now) {
+        List<String> updated = new ArrayList<>();
+        for (List<String> chunk : chunks(orderIds)) {
+            List<String> locked = lockInStatus(chunk, List.of(FulfillmentStatus.RECEIVED));
+            if (locked.isEmpty()) {
+                continue;
+            }
+            entityManager.createQuery(
+                            "UPDATE FulfillmentOrder o SET o.status = :processing, o.processingStartedAt = :now " +
+                            "WHERE o.id IN :ids AND o.status = :received")
+                    .setParameter("processing", FulfillmentStatus.PROCESSING)
+                    .setParameter("received", FulfillmentStatus.RECEIVED)
+                    .setParameter("now", now)
+                    .setParameter("ids", locked)
+                    .executeUpdate();
+            updated.addAll(locked);
+        }
+        return updated;
+    }
+
+    /**
+     * Mark orders as backordered, provided they are still in one of the expected statuses
+     *
+     * @param orderIds the order IDs
+     * @param expectedStatuses the statuses the orders must still be in
+     * @param reason the backorder reason
+     * @param now the backorder time
+     * @return the IDs of the orders updated
+     */
+    public List<String> markBackordered(List<String> orderIds, Collection<FulfillmentStatus> expectedStatuses,
+                                        String reason, LocalDateTime now) {
+        List<String> updated = new ArrayList<>();
+        for (List<String> chunk : chunks(orderIds)) {
+            List<String> locked = lockInStatus(chunk, expectedStatuses);
+            if (locked.isEmpty()) {
+                continue;
+            }
+            entityManager.createQuery(
+                            "UPDATE FulfillmentOrder o SET o.status = :backordered, o.backorderedAt = :now, " +
+                            "o.backorderReason = :reason WHERE o.id IN :ids AND o.status IN :expected")
+                    .setParameter("backordered", FulfillmentStatus.BACKORDERED)
+                    .setParameter("now", now)
+                    .setParameter("reason", reason)
+                    .setParameter("ids", locked)
+                    .setParameter("expected", expectedStatuses)
+                    .executeUpdate();
+            updated.addAll(locked);
+        }
+        return updated;
+    }
+
+    /**
+     * Reassign orders to another warehouse, provided they are still in one of the expected statuses
+     *
+     * @param orderIds the order IDs
+     * @param targetWarehouseId the new warehouse
+     * @param expectedStatuses the statuses the orders must still be in
+     * @param reason the reassignment reason
+     * @param now the reassignment time
+     * @return the number of orders updated
+     */
+    public int markReassigned(List<String> orderIds, UUID targetWarehouseId,
+                              Collection<FulfillmentStatus> expectedStatuses, String reason, LocalDateTime now) {
+        int updated = 0;
+        for (List<String> chunk : chunks(orderIds)) {
+            updated += entityManager.createQuery(
+                            "UPDATE FulfillmentOrder o SET o.assignedWarehouseId = :target, o.reassignedAt = :now, " +
+                            "o.reassignmentReason = :reason WHERE o.id IN :ids AND o.status IN :expected")
+                    .setParameter("target", targetWarehouseId)
+                    .setParameter("now", now)
+                    .setParameter("reason", reason)
+                    .setParameter("ids", chunk)
+                    .setParameter("expected", expectedStatuses)
+                    .executeUpdate();
+        }
+        return updated;
+    }
+
+    /**
+     * Lock the orders that are still in one of the expected statuses, in ID order so
+     * concurrent callers cannot deadlock. The update that follows then changes
+     * exactly these orders.
+     */
+    private List<String> lockInStatus(List<String> orderIds, Collection<FulfillmentStatus> expectedStatuses) {
+        return entityManager.createQuery(
+                        "SELECT o.id FROM FulfillmentOrder o WHERE o.id IN :ids AND o.status IN :expected " +
+                        "ORDER BY o.id", String.class)
+                .setParameter("ids", orderIds)
+                .setParameter("expected", expectedStatuses)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    static <T> List<List<T>> chunks(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < values.size(); start += MAX_IN_CLAUSE) {
+            chunks.add(values.subList(start, Math.min(start + MAX_IN_CLAUSE, values.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Open quantity of a SKU on one order
+     */
+    public record OrderDemand(String orderId, FulfillmentStatus status, long priorityScore, long openQuantity) {
+    }
+
+    /**
+     * Open quantity of one SKU on one order
+     */
+    public record OrderSkuDemand(String orderId, String sku, long openQuantity, String region) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregate queries over packing tasks used to rebuild packing station queues
+ */
+@Repository
+public class PackingStationQueueRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Count open packing tasks per packing station
+     *
+     * @return open task count keyed by station ID
+     */
+    public Map<String, Long> countOpenTasksByStation() {
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT t.packingStation, COUNT(t) FROM PackingTask t " +
+                        "WHERE t.status IN :openStatuses GROUP BY t.packingStation", Object[].class)
+                .setParameter("openStatuses", List.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS))
+                .getResultList();
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+}
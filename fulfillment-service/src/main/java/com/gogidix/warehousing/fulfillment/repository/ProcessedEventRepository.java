@@ -0,0 +1,32 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.entity.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for ProcessedEvent entity
+ */
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
+
+    /**
+     * Find which of the given event keys have already been processed
+     */
+    @Query("SELECT e.eventKey FROM ProcessedEvent e WHERE e.eventKey IN :eventKeys")
+    List<String> findExistingKeys(@Param("eventKeys") Collection<String> eventKeys);
+
+    /**
+     * Delete processed event records older than the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM ProcessedEvent e WHERE e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,45 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.entity.ShipmentPackage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Set-based reads of shipment packages for the label pipeline
+ */
+@Repository
+public class ShipmentPackageBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Find the primary shipment package of each of the given orders in one query.
+     * As in single-order label generation, the primary package is the first one.
+     *
+     * @param fulfillmentOrderIds the fulfillment order IDs
+     * @return the primary package keyed by fulfillment order ID
+     */
+    public Map<UUID, ShipmentPackage> findPrimaryPackages(Collection<UUID> fulfillmentOrderIds) {
+        Map<UUID, ShipmentPackage> packages = new LinkedHashMap<>();
+        if (fulfillmentOrderIds.isEmpty()) {
+            return packages;
+        }
+        List<ShipmentPackage> rows = entityManager.createQuery(
+                        "SELECT p FROM ShipmentPackage p WHERE p.fulfillmentOrderId IN :orderIds " +
+                        "ORDER BY p.fulfillmentOrderId, p.createdAt, p.id", ShipmentPackage.class)
+                .setParameter("orderIds", fulfillmentOrderIds)
+                .getResultList();
+        for (ShipmentPackage shipmentPackage : rows) {
+            packages.putIfAbsent(shipmentPackage.getFulfillmentOrderId(), shipmentPackage);
+        }
+        return packages;
+    }
+}
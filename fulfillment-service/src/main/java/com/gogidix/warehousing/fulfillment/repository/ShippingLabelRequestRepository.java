@@ -0,0 +1,63 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.entity.ShippingLabelRequest;
+import com.gogidix.warehousing.fulfillment.enums.LabelRequestStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for ShippingLabelRequest entity
+ */
+@Repository
+public interface ShippingLabelRequestRepository extends JpaRepository<ShippingLabelRequest, Long> {
+
+    /**
+     * Lock the next pending requests that are due, plus in-progress requests whose
+     * claim has expired, skipping rows already locked by another instance
+     *
+     * @param now pending requests waiting to be retried after this are left alone
+     * @param staleBefore claims older than this are considered abandoned
+     * @param limit the maximum number of requests
+     * @return the locked requests
+     */
+    @Query(value = "SELECT * FROM shipping_label_requests " +
+                   "WHERE (status = 'PENDING' AND (next_attempt_at IS NULL OR next_attempt_at <= :now)) " +
+                   "OR (status = 'IN_PROGRESS' AND claimed_at < :staleBefore) " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ShippingLabelRequest> lockNextBatch(@Param("now") LocalDateTime now,
+                                             @Param("staleBefore") LocalDateTime staleBefore,
+                                             @Param("limit") int limit);
+
+    /**
+     * Lock requests by ID, in ID order so that concurrent writers cannot deadlock
+     *
+     * @param ids the request IDs
+     * @return the locked requests
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ShippingLabelRequest r WHERE r.id IN :ids ORDER BY r.id")
+    List<ShippingLabelRequest> lockAllById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Count the requests of a job per status
+     *
+     * @return rows of status and count
+     */
+    @Query("SELECT r.status, COUNT(r) FROM ShippingLabelRequest r WHERE r.jobId = :jobId GROUP BY r.status")
+    List<Object[]> countByJobIdGroupByStatus(@Param("jobId") UUID jobId);
+
+    /**
+     * Find the requests of a job in a status
+     */
+    List<ShippingLabelRequest> findByJobIdAndStatusOrderById(UUID jobId, LabelRequestStatus status, Pageable pageable);
+}
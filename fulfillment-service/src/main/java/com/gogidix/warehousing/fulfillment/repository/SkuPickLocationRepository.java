@@ -0,0 +1,20 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.entity.SkuPickLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for SkuPickLocation entity
+ */
+@Repository
+public interface SkuPickLocationRepository extends JpaRepository<SkuPickLocation, Long> {
+
+    /**
+     * Find the pick faces of a set of SKUs in a warehouse
+     */
+    List<SkuPickLocation> findByWarehouseIdAndSkuIn(Long warehouseId, Collection<String> skus);
+}
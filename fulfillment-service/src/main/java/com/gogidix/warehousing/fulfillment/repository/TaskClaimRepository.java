@@ -0,0 +1,109 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.entity.PackingTask;
+import com.gogidix.warehousing.fulfillment.entity.PickingTask;
+import com.gogidix.warehousing.fulfillment.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.LockOptions;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Data access for automatic task assignment: loads the unassigned work that feeds
+ * the in-memory work queues and claims single tasks with
+ * {@code FOR UPDATE SKIP LOCKED}, so two nodes can never assign the same task.
+ */
+@Repository
+public class TaskClaimRepository {
+
+    private static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Find the pending, unassigned picking tasks
+     *
+     * @return rows of task ID, zone, aisle, priority and due time
+     */
+    public List<Object[]> findUnassignedPickingTasks() {
+        return entityManager.createQuery(
+                        "SELECT t.id, t.zone, t.aisle, t.priority, t.dueBy FROM PickingTask t " +
+                        "WHERE t.status = :pending AND t.assignedStaffId IS NULL", Object[].class)
+                .setParameter("pending", TaskStatus.PENDING)
+                .getResultList();
+    }
+
+    /**
+     * Find the pending, unassigned packing tasks
+     *
+     * @return rows of task ID, packing station, priority and due time
+     */
+    public List<Object[]> findUnassignedPackingTasks() {
+        return entityManager.createQuery(
+                        "SELECT t.id, t.packingStation, t.priority, t.dueBy FROM PackingTask t " +
+                        "WHERE t.status = :pending AND t.assignedStaffId IS NULL", Object[].class)
+                .setParameter("pending", TaskStatus.PENDING)
+                .getResultList();
+    }
+
+    /**
+     * Count the open picking and packing tasks assigned to each staff member
+     *
+     * @return open task count keyed by staff ID
+     */
+    public Map<UUID, Long> countOpenAssignments() {
+        Map<UUID, Long> counts = new HashMap<>();
+        for (String entity : List.of("PickingTask", "PackingTask")) {
+            List<Object[]> rows = entityManager.createQuery(
+                            "SELECT t.assignedStaffId, COUNT(t) FROM " + entity + " t " +
+                            "WHERE t.status IN :open AND t.assignedStaffId IS NOT NULL " +
+                            "GROUP BY t.assignedStaffId", Object[].class)
+                    .setParameter("open", DeadlineRepository.OPEN_TASK_STATUSES)
+                    .getResultList();
+            for (Object[] row : rows) {
+                counts.merge((UUID) row[0], (Long) row[1], Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Lock a picking task if it is still pending and unassigned, skipping it if
+     * another transaction holds it
+     *
+     * @param taskId the task ID
+     * @return the locked task, or empty if it is taken or locked elsewhere
+     */
+    public Optional<PickingTask> lockUnassignedPickingTask(UUID taskId) {
+        return lockUnassigned(PickingTask.class, taskId);
+    }
+
+    /**
+     * Lock a packing task if it is still pending and unassigned
+     *
+     * @see #lockUnassignedPickingTask(UUID)
+     */
+    public Optional<PackingTask> lockUnassignedPackingTask(UUID taskId) {
+        return lockUnassigned(PackingTask.class, taskId);
+    }
+
+    private <T> Optional<T> lockUnassigned(Class<T> type, UUID taskId) {
+        return entityManager.createQuery(
+                        "SELECT t FROM " + type.getSimpleName() + " t " +
+                        "WHERE t.id = :id AND t.status = :pending AND t.assignedStaffId IS NULL", type)
+                .setParameter("id", taskId)
+                .setParameter("pending", TaskStatus.PENDING)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint(LOCK_TIMEOUT_HINT, LockOptions.SKIP_LOCKED)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,197 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Set-based data access for moving the open orders of a warehouse to other
+ * warehouses. Orders are read as keyset-paginated projections and moved with
+ * bulk updates, so a whole warehouse can be drained without loading entities.
+ * Each update first locks the orders that still match its guard and returns
+ * them, so the caller can record an event for exactly the orders that changed.
+ */
+@Repository
+public class WarehouseReassignmentRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Find the next chunk of open orders assigned to a warehouse, in ID order
+     *
+     * @param warehouseId the warehouse the orders are assigned to
+     * @param statuses the open statuses
+     * @param afterOrderId the last order ID of the previous chunk, or null for the first chunk
+     * @param limit the maximum number of orders
+     * @return the orders with their status, delivery region and SKUs
+     */
+    public List<ReassignmentCandidate> findCandidates(UUID warehouseId, Collection<FulfillmentStatus> statuses,
+                                                      String afterOrderId, int limit) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                        "SELECT o.id, o.status, d.region FROM FulfillmentOrder o " +
+                        "LEFT JOIN FulfillmentOrderDestination d ON d.fulfillmentOrderId = o.id " +
+                        "WHERE o.assignedWarehouseId = :warehouseId AND o.status IN :statuses " +
+                        (afterOrderId != null ? "AND o.id > :afterOrderId " : "") +
+                        "ORDER BY o.id", Object[].class)
+                .setParameter("warehouseId", warehouseId)
+                .setParameter("statuses", statuses)
+                .setMaxResults(limit);
+        if (afterOrderId != null) {
+            query.setParameter("afterOrderId", afterOrderId);
+        }
+        List<Object[]> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> orderIds = new ArrayList<>(rows.size());
+        rows.forEach(row -> orderIds.add((String) row[0]));
+        Map<String, SortedSet<String>> skus = findSkus(orderIds);
+
+        List<ReassignmentCandidate> candidates = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String orderId = (String) row[0];
+            candidates.add(new ReassignmentCandidate(orderId, (FulfillmentStatus) row[1], (String) row[2],
+                    skus.getOrDefault(orderId, new TreeSet<>())));
+        }
+        return candidates;
+    }
+
+    /**
+     * Move orders to another warehouse. Orders past PROCESSING go back to PROCESSING,
+     * since their picking and packing work was done in the old warehouse.
+     *
+     * @param orderIds the order IDs
+     * @param sourceWarehouseId the warehouse the orders must still be assigned to
+     * @param targetWarehouseId the new warehouse
+     * @param statuses the open statuses the orders must still be in
+     * @param reason the reassignment reason
+     * @param now the reassignment time
+     * @return the orders updated
+     */
+    public List<ReassignedOrder> reassign(List<String> orderIds, UUID sourceWarehouseId, UUID targetWarehouseId,
+                                          Collection<FulfillmentStatus> statuses, String reason, LocalDateTime now) {
+        List<FulfillmentStatus> pastProcessing = statuses.stream()
+                .filter(status -> status.ordinal() > FulfillmentStatus.PROCESSING.ordinal())
+                .toList();
+        List<Object[]> locked = lockMatching(orderIds, sourceWarehouseId, statuses);
+        if (locked.isEmpty()) {
+            return List.of();
+        }
+        List<String> lockedIds = new ArrayList<>(locked.size());
+        List<ReassignedOrder> reassigned = new ArrayList<>(locked.size());
+        for (Object[] row : locked) {
+            String orderId = (String) row[0];
+            lockedIds.add(orderId);
+            reassigned.add(new ReassignedOrder(orderId, pastProcessing.contains((FulfillmentStatus) row[1])));
+        }
+        entityManager.createQuery(
+                        "UPDATE FulfillmentOrder o SET o.assignedWarehouseId = :target, " +
+                        "o.reassignedAt = :now, o.reassignmentReason = :reason, " +
+                        "o.processingStartedAt = CASE WHEN o.status IN :pastProcessing " +
+                        "THEN :now ELSE o.processingStartedAt END, " +
+                        "o.status = CASE WHEN o.status IN :pastProcessing THEN :processing ELSE o.status END " +
+                        "WHERE o.id IN :ids AND o.assignedWarehouseId = :source AND o.status IN :statuses")
+                .setParameter("target", targetWarehouseId)
+                .setParameter("now", now)
+                .setParameter("reason", reason)
+                .setParameter("pastProcessing", pastProcessing.isEmpty() ? List.of(FulfillmentStatus.PROCESSING)
+                        : pastProcessing)
+                .setParameter("processing", FulfillmentStatus.PROCESSING)
+                .setParameter("ids", lockedIds)
+                .setParameter("source", sourceWarehouseId)
+                .setParameter("statuses", statuses)
+                .executeUpdate();
+        return reassigned;
+    }
+
+    /**
+     * Put orders on hold
+     *
+     * @param orderIds the order IDs
+     * @param sourceWarehouseId the warehouse the orders must still be assigned to
+     * @param statuses the open statuses the orders must still be in
+     * @param reason the hold reason
+     * @param now the hold start time
+     * @return the IDs of the orders updated
+     */
+    public List<String> hold(List<String> orderIds, UUID sourceWarehouseId, Collection<FulfillmentStatus> statuses,
+                             String reason, LocalDateTime now) {
+        List<String> lockedIds = new ArrayList<>();
+        lockMatching(orderIds, sourceWarehouseId, statuses).forEach(row -> lockedIds.add((String) row[0]));
+        if (lockedIds.isEmpty()) {
+            return lockedIds;
+        }
+        entityManager.createQuery(
+                        "UPDATE FulfillmentOrder o SET o.status = :onHold, o.holdStartedAt = :now, " +
+                        "o.holdReason = :reason " +
+                        "WHERE o.id IN :ids AND o.assignedWarehouseId = :source AND o.status IN :statuses")
+                .setParameter("onHold", FulfillmentStatus.ON_HOLD)
+                .setParameter("now", now)
+                .setParameter("reason", reason)
+                .setParameter("ids", lockedIds)
+                .setParameter("source", sourceWarehouseId)
+                .setParameter("statuses", statuses)
+                .executeUpdate();
+        return lockedIds;
+    }
+
+    /**
+     * Lock the orders still assigned to the warehouse and in one of the statuses, in
+     * ID order so concurrent callers cannot deadlock
+     *
+     * @return rows of order ID and current status
+     */
+    private List<Object[]> lockMatching(List<String> orderIds, UUID sourceWarehouseId,
+                                        Collection<FulfillmentStatus> statuses) {
+        return entityManager.createQuery(
+                        "SELECT o.id, o.status FROM FulfillmentOrder o " +
+                        "WHERE o.id IN :ids AND o.assignedWarehouseId = :source AND o.status IN :statuses " +
+                        "ORDER BY o.id", Object[].class)
+                .setParameter("ids", orderIds)
+                .setParameter("source", sourceWarehouseId)
+                .setParameter("statuses", statuses)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    private Map<String, SortedSet<String>> findSkus(List<String> orderIds) {
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT o.id, i.sku FROM FulfillmentOrder o JOIN o.orderItems i WHERE o.id IN :ids",
+                        Object[].class)
+                .setParameter("ids", orderIds)
+                .getResultList();
+        Map<String, SortedSet<String>> skus = new HashMap<>();
+        for (Object[] row : rows) {
+            skus.computeIfAbsent((String) row[0], k -> new TreeSet<>()).add((String) row[1]);
+        }
+        return skus;
+    }
+
+    /**
+     * An open order to be moved off a warehouse
+     */
+    public record ReassignmentCandidate(String orderId, FulfillmentStatus status, String region,
+                                        SortedSet<String> skus) {
+    }
+
+    /**
+     * An order moved to another warehouse, and whether it was sent back to PROCESSING
+     */
+    public record ReassignedOrder(String orderId, boolean backToProcessing) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.gogidix.warehousing.fulfillment.repository;
+
+import com.gogidix.warehousing.fulfillment.entity.WarehouseSite;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for WarehouseSite entity
+ */
+@Repository
+public interface WarehouseSiteRepository extends JpaRepository<WarehouseSite, UUID> {
+
+    /**
+     * Find all warehouses currently accepting orders
+     */
+    List<WarehouseSite> findByActiveTrue();
+
+    /**
+     * Count orders in the given statuses per assigned warehouse
+     *
+     * @return rows of warehouse ID and order count
+     */
+    @Query("SELECT o.assignedWarehouseId, COUNT(o) FROM FulfillmentOrder o " +
+           "WHERE o.status IN :statuses GROUP BY o.assignedWarehouseId")
+    List<Object[]> countOrdersByAssignedWarehouse(@Param("statuses") Collection<FulfillmentStatus> statuses);
+}
@@ -0,0 +1,30 @@
+package com.gogidix.warehousing.fulfillment.service;
+
+import com.gogidix.warehousing.fulfillment.dto.BulkIngestionResultDTO;
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderDTO;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Service for high-volume ingestion of fulfillment orders
+ */
+public interface BulkFulfillmentOrderService {
+
+    /**
+     * Create many fulfillment orders using batched inserts in chunked transactions
+     *
+     * @param orders the orders to create
+     * @return the per-order results
+     */
+    BulkIngestionResultDTO createFulfillmentOrders(List<FulfillmentOrderDTO> orders);
+
+    /**
+     * Create fulfillment orders read from a stream, holding at most one chunk in memory.
+     * A record the iterator fails to read is reported as a failed result at its index.
+     *
+     * @param orders the orders to create, consumed once
+     * @return the per-order results
+     */
+    BulkIngestionResultDTO createFulfillmentOrders(Iterator<FulfillmentOrderDTO> orders);
+}
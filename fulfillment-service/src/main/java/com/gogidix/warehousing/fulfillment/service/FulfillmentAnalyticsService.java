@@ -0,0 +1,22 @@
+package com.gogidix.warehousing.fulfillment.service;
+
+import com.gogidix.warehousing.fulfillment.dto.StageLatencyDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for live operational analytics of the fulfillment workflow
+ */
+public interface FulfillmentAnalyticsService {
+
+    /**
+     * Get the latency percentiles and throughput of each fulfillment stage over the
+     * last minutes
+     *
+     * @param warehouseId the warehouse ID, or null for all warehouses
+     * @param windowMinutes the number of minutes to cover
+     * @return one entry per stage
+     */
+    List<StageLatencyDTO> getStageLatencies(UUID warehouseId, int windowMinutes);
+}
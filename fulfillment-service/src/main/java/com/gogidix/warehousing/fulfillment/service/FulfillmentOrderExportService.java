@@ -0,0 +1,33 @@
+package com.gogidix.warehousing.fulfillment.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Service for exporting all fulfillment orders of a period
+ */
+public interface FulfillmentOrderExportService {
+
+    /**
+     * Supported export formats
+     */
+    enum Format {
+        CSV, NDJSON
+    }
+
+    /**
+     * Write the orders created in a period to a stream as they are read from the
+     * database. The stream is flushed but not closed.
+     *
+     * @param from the start of the period, inclusive
+     * @param to the end of the period, exclusive
+     * @param format the output format
+     * @param gzip whether to gzip the output
+     * @param out the stream to write to
+     * @return the number of orders exported
+     * @throws IOException if writing to the stream fails
+     */
+    long exportFulfillmentOrders(LocalDateTime from, LocalDateTime to, Format format, boolean gzip,
+                                 OutputStream out) throws IOException;
+}
@@ -0,0 +1,44 @@
+package com.gogidix.warehousing.fulfillment.service;
+
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderSummaryDTO;
+import com.gogidix.warehousing.fulfillment.dto.KeysetSliceDTO;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+/**
+ * Service for fulfillment order list views, served from summary projections
+ */
+public interface FulfillmentOrderQueryService {
+
+    /**
+     * Get a page of fulfillment order summaries, optionally filtered. Orders are
+     * selected as projections, so neither entities nor items are loaded.
+     *
+     * @param status the status to filter by, or null
+     * @param warehouseId the warehouse to filter by, or null
+     * @param activeOnly whether to include only orders that have not shipped yet
+     * @param pageable the page to read
+     * @return the page of order summaries
+     */
+    Page<FulfillmentOrderSummaryDTO> getFulfillmentOrderSummaries(FulfillmentStatus status, UUID warehouseId,
+                                                                  boolean activeOnly, Pageable pageable);
+
+    /**
+     * Get the next slice of fulfillment orders ordered by creation time, optionally
+     * filtered. Unlike the paged listings this never counts and does not slow down
+     * with depth.
+     *
+     * @param status the status to filter by, or null
+     * @param warehouseId the warehouse to filter by, or null
+     * @param activeOnly whether to include only orders that have not shipped yet
+     * @param continuationToken the token of the previous slice, or null for the first slice
+     * @param size the maximum number of orders in the slice
+     * @return the slice of order summaries with the token for the next one
+     */
+    KeysetSliceDTO<FulfillmentOrderSummaryDTO> scrollFulfillmentOrders(FulfillmentStatus status, UUID warehouseId,
+                                                                       boolean activeOnly, String continuationToken,
+                                                                       int size);
+}
@@ -0,0 +1,22 @@
+package com.gogidix.warehousing.fulfillment.service;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Service for reacting to inventory adjustments that cover many SKUs at once,
+ * such as the results of a cycle count
+ */
+public interface InventoryAdjustmentService {
+
+    /**
+     * Check the active orders of a warehouse against the current availability of
+     * the given SKUs. Allocated orders that can no longer be served are reassigned
+     * to another warehouse, or backordered if none is available.
+     *
+     * @param skus the adjusted SKUs
+     * @param warehouseId the warehouse ID
+     * @return the number of orders affected
+     */
+    int checkActiveOrdersForItems(Set<String> skus, UUID warehouseId);
+}
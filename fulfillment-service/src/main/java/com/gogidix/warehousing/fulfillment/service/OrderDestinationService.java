@@ -0,0 +1,28 @@
+package com.gogidix.warehousing.fulfillment.service;
+
+import com.gogidix.warehousing.fulfillment.dto.OrderDestinationDTO;
+
+import java.util.UUID;
+
+/**
+ * Service for the delivery locations used to route fulfillment orders
+ */
+public interface OrderDestinationService {
+
+    /**
+     * Record the delivery location of a fulfillment order
+     *
+     * @param fulfillmentOrderId the fulfillment order ID
+     * @param destination the delivery location; latitude and longitude are required
+     * @return the stored destination, including its region
+     */
+    OrderDestinationDTO setDestination(UUID fulfillmentOrderId, OrderDestinationDTO destination);
+
+    /**
+     * Get the delivery location of a fulfillment order
+     *
+     * @param fulfillmentOrderId the fulfillment order ID
+     * @return the destination
+     */
+    OrderDestinationDTO getDestination(UUID fulfillmentOrderId);
+}
@@ -0,0 +1,39 @@
+package com.gogidix.warehousing.fulfillment.service;
+
+import com.gogidix.warehousing.fulfillment.dto.OrderNoteDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Service for the append-only note history of fulfillment orders
+ */
+public interface OrderNoteService {
+
+    /**
+     * Append a note to the history of a fulfillment order. The insert is written
+     * with the next flush of the current transaction.
+     *
+     * @param fulfillmentOrderId the fulfillment order ID
+     * @param message the note text
+     */
+    void appendNote(String fulfillmentOrderId, String message);
+
+    /**
+     * Append several notes in one batched insert
+     *
+     * @param notes the notes to append
+     */
+    void appendNotes(Collection<OrderNoteDTO> notes);
+
+    /**
+     * Get a page of the history of a fulfillment order, newest first
+     *
+     * @param fulfillmentOrderId the fulfillment order ID
+     * @param pageable the page to read
+     * @return the page of notes
+     */
+    Slice<OrderNoteDTO> getNotes(UUID fulfillmentOrderId, Pageable pageable);
+}
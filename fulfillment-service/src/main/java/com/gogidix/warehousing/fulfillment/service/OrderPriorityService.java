@@ -0,0 +1,29 @@
+package com.gogidix.warehousing.fulfillment.service;
+
+import com.gogidix.warehousing.fulfillment.dto.OrderPriorityDTO;
+
+import java.util.UUID;
+
+/**
+ * Service for the priority inputs used to rank fulfillment orders for release and allocation
+ */
+public interface OrderPriorityService {
+
+    /**
+     * Set the customer tier and promised delivery date of a fulfillment order; the
+     * service level follows the order's priority and cannot be set here
+     *
+     * @param fulfillmentOrderId the fulfillment order ID
+     * @param priority the customer tier and promised date
+     * @return the stored priority, including its score
+     */
+    OrderPriorityDTO setPriority(UUID fulfillmentOrderId, OrderPriorityDTO priority);
+
+    /**
+     * Get the priority of a fulfillment order
+     *
+     * @param fulfillmentOrderId the fulfillment order ID
+     * @return the priority
+     */
+    OrderPriorityDTO getPriority(UUID fulfillmentOrderId);
+}
@@ -0,0 +1,30 @@
+package com.gogidix.warehousing.fulfillment.service;
+
+import com.gogidix.warehousing.fulfillment.dto.PickingTaskDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for releasing groups of fulfillment orders to picking together
+ */
+public interface PickingWaveService {
+
+    /**
+     * Start picking for several allocated orders at once. Picking tasks are split
+     * by zone and aisle, and tasks in the same zone share a batch across orders.
+     *
+     * @param ids the fulfillment order IDs
+     * @return the created picking tasks, grouped by batch in walk order
+     */
+    List<PickingTaskDTO> releasePickingWave(List<UUID> ids);
+
+    /**
+     * Start picking for the highest priority allocated orders, selected by the
+     * database from the persisted priority scores
+     *
+     * @param maxOrders the maximum number of orders to release
+     * @return the created picking tasks, grouped by batch in walk order
+     */
+    List<PickingTaskDTO> releaseNextPickingWave(int maxOrders);
+}
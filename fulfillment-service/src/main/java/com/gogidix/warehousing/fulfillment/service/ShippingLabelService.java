@@ -0,0 +1,29 @@
+package com.gogidix.warehousing.fulfillment.service;
+
+import com.gogidix.warehousing.fulfillment.dto.LabelJobStatusDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for generating shipping labels asynchronously in carrier batches
+ */
+public interface ShippingLabelService {
+
+    /**
+     * Queue label generation for several fulfillment orders. Orders that are not
+     * ready for a label are recorded as failed straight away.
+     *
+     * @param fulfillmentOrderIds the fulfillment order IDs
+     * @return the initial status of the job
+     */
+    LabelJobStatusDTO submitLabelJob(List<UUID> fulfillmentOrderIds);
+
+    /**
+     * Get the progress of a label job
+     *
+     * @param jobId the job ID
+     * @return the job status
+     */
+    LabelJobStatusDTO getLabelJobStatus(UUID jobId);
+}
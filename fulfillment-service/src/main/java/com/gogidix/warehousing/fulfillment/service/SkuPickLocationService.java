@@ -0,0 +1,32 @@
+package com.gogidix.warehousing.fulfillment.service;
+
+import com.gogidix.warehousing.fulfillment.dto.SkuPickLocationDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service for the SKU pick faces and unit dimensions used to plan picking and recommend cartons
+ */
+public interface SkuPickLocationService {
+
+    /**
+     * Create or update the pick locations of SKUs in a warehouse in one transaction.
+     * Fields left null keep their stored value, so slotting and item master data can
+     * each send only what they own; a SKU not yet known requires a zone.
+     *
+     * @param warehouseId the warehouse ID
+     * @param locations the pick locations, each carrying its SKU
+     * @return the stored pick locations
+     */
+    List<SkuPickLocationDTO> upsertLocations(Long warehouseId, List<SkuPickLocationDTO> locations);
+
+    /**
+     * Get the pick locations of SKUs in a warehouse
+     *
+     * @param warehouseId the warehouse ID
+     * @param skus the SKUs
+     * @return the pick locations found; unknown SKUs are omitted
+     */
+    List<SkuPickLocationDTO> getLocations(Long warehouseId, Collection<String> skus);
+}
@@ -0,0 +1,38 @@
+package com.gogidix.warehousing.fulfillment.service;
+
+import com.gogidix.warehousing.fulfillment.dto.PackingTaskDTO;
+import com.gogidix.warehousing.fulfillment.dto.PickingTaskDTO;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service for letting staff pull their next task instead of waiting for a supervisor
+ */
+public interface TaskAssignmentService {
+
+    /**
+     * Assign the best available picking task to a staff member
+     *
+     * @param staffId the staff member
+     * @return the assigned task, or empty if none is available or the member is at capacity
+     */
+    Optional<PickingTaskDTO> claimNextPickingTask(UUID staffId);
+
+    /**
+     * Assign the best available packing task to a staff member
+     *
+     * @param staffId the staff member
+     * @return the assigned task, or empty if none is available or the member is at capacity
+     */
+    Optional<PackingTaskDTO> claimNextPackingTask(UUID staffId);
+
+    /**
+     * Record where a staff member currently is
+     *
+     * @param staffId the staff member
+     * @param area the zone or packing station
+     * @param aisle the aisle, or null
+     */
+    void updateStaffLocation(UUID staffId, String area, String aisle);
+}
@@ -0,0 +1,44 @@
+package com.gogidix.warehousing.fulfillment.service;
+
+import com.gogidix.warehousing.fulfillment.dto.WarehouseSiteDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for the warehouse locations and capacities that fulfillment orders are routed by
+ */
+public interface WarehouseSiteService {
+
+    /**
+     * Create or replace the routing data of a warehouse
+     *
+     * @param warehouseId the warehouse ID
+     * @param site the location and capacity; latitude, longitude and daily capacity are required
+     * @return the stored warehouse site
+     */
+    WarehouseSiteDTO upsertSite(UUID warehouseId, WarehouseSiteDTO site);
+
+    /**
+     * Create or replace the routing data of many warehouses in one transaction
+     *
+     * @param sites the warehouse sites, each carrying its warehouse ID
+     * @return the stored warehouse sites
+     */
+    List<WarehouseSiteDTO> upsertSites(List<WarehouseSiteDTO> sites);
+
+    /**
+     * Get the routing data of a warehouse
+     *
+     * @param warehouseId the warehouse ID
+     * @return the warehouse site
+     */
+    WarehouseSiteDTO getSite(UUID warehouseId);
+
+    /**
+     * Get the routing data of every warehouse
+     *
+     * @return all warehouse sites
+     */
+    List<WarehouseSiteDTO> getAllSites();
+}
@@ -0,0 +1,187 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.dto.BulkIngestionResultDTO;
+import com.gogidix.warehousing.fulfillment.dto.BulkOrderResultDTO;
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderDTO;
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderBatchRepository;
+import com.gogidix.warehousing.fulfillment.service.BulkFulfillmentOrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Implementation of the BulkFulfillmentOrderService interface.
+ * Orders are inserted chunk by chunk, each chunk in its own transaction with JDBC
+ * batching. When a chunk fails, its orders are retried one by one so that the
+ * failure is reported against the offending order only.
+ */
+@Service
+@Slf4j
+public class BulkFulfillmentOrderServiceImpl implements BulkFulfillmentOrderService {
+
+    private final FulfillmentOrderAssembler orderAssembler;
+    private final FulfillmentOrderBatchRepository batchRepository;
+    private final OrderPriorityIndex orderPriorityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int jdbcBatchSize;
+
+    public BulkFulfillmentOrderServiceImpl(
+            FulfillmentOrderAssembler orderAssembler,
+            FulfillmentOrderBatchRepository batchRepository,
+            OrderPriorityIndex orderPriorityIndex,
+            TransactionTemplate transactionTemplate,
+            @Value("${fulfillment.bulk.chunk-size:500}") int chunkSize,
+            @Value("${fulfillment.bulk.jdbc-batch-size:100}") int jdbcBatchSize) {
+        this.orderAssembler = orderAssembler;
+        this.batchRepository = batchRepository;
+        this.orderPriorityIndex = orderPriorityIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    @Override
+    public BulkIngestionResultDTO createFulfillmentOrders(List<FulfillmentOrderDTO> orders) {
+        return createFulfillmentOrders(orders.iterator());
+    }
+
+    @Override
+    public BulkIngestionResultDTO createFulfillmentOrders(Iterator<FulfillmentOrderDTO> orders) {
+        long started = System.nanoTime();
+        List<BulkOrderResultDTO> results = new ArrayList<>();
+        List<FulfillmentOrderDTO> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        while (orders.hasNext()) {
+            // A record that cannot be read is reported at its position; later records still go in
+            FulfillmentOrderDTO order;
+            try {
+                order = orders.next();
+            } catch (RuntimeException e) {
+                order = null;
+                results.add(unreadable(index + chunk.size(), e));
+            }
+            chunk.add(order);
+            if (chunk.size() == chunkSize) {
+                results.addAll(ingestChunk(index, chunk));
+                index += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(ingestChunk(index, chunk));
+            index += chunk.size();
+        }
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        int created = (int) results.stream().filter(BulkOrderResultDTO::isSuccess).count();
+        double ordersPerSecond = elapsedMillis > 0 ? created * 1000.0 / elapsedMillis : created;
+        log.info("Bulk ingestion created {} of {} fulfillment orders in {} ms ({} orders/s)",
+                created, index, elapsedMillis, String.format("%.1f", ordersPerSecond));
+
+        return BulkIngestionResultDTO.builder()
+                .received(index)
+                .created(created)
+                .failed(index - created)
+                .elapsedMillis(elapsedMillis)
+                .ordersPerSecond(ordersPerSecond)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Insert one chunk in a single transaction, falling back to per-order
+     * transactions if the chunk as a whole cannot be written
+     */
+    private List<BulkOrderResultDTO> ingestChunk(int firstIndex, List<FulfillmentOrderDTO> chunk) {
+        List<BulkOrderResultDTO> results = new ArrayList<>(chunk.size());
+        List<FulfillmentOrder> orders = new ArrayList<>(chunk.size());
+        List<Integer> orderIndexes = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            FulfillmentOrderDTO dto = chunk.get(i);
+            if (dto == null) {
+                continue;
+            }
+            try {
+                orders.add(orderAssembler.assemble(dto));
+                orderIndexes.add(firstIndex + i);
+            } catch (Exception e) {
+                results.add(failure(firstIndex + i, dto, e));
+            }
+        }
+        if (orders.isEmpty()) {
+            return results;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistWithPriorities(orders));
+            for (int i = 0; i < orders.size(); i++) {
+                int orderIndex = orderIndexes.get(i);
+                results.add(success(orderIndex, chunk.get(orderIndex - firstIndex), orders.get(i)));
+            }
+        } catch (Exception chunkFailure) {
+            log.warn("Bulk ingestion chunk starting at {} failed, retrying orders individually: {}",
+                    firstIndex, chunkFailure.getMessage());
+            for (int orderIndex : orderIndexes) {
+                results.add(ingestSingle(orderIndex, chunk.get(orderIndex - firstIndex)));
+            }
+        }
+
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return results;
+    }
+
+    private void persistWithPriorities(List<FulfillmentOrder> orders) {
+        batchRepository.persistAll(orders, jdbcBatchSize);
+        orderPriorityIndex.registerNew(orders);
+        batchRepository.flushInBatches(jdbcBatchSize);
+    }
+
+    private BulkOrderResultDTO ingestSingle(int index, FulfillmentOrderDTO dto) {
+        try {
+            // Rebuild the entity: the one from the failed chunk may carry a stale generated ID
+            FulfillmentOrder order = orderAssembler.assemble(dto);
+            transactionTemplate.executeWithoutResult(status -> persistWithPriorities(List.of(order)));
+            return success(index, dto, order);
+        } catch (Exception e) {
+            return failure(index, dto, e);
+        }
+    }
+
+    private BulkOrderResultDTO success(int index, FulfillmentOrderDTO dto, FulfillmentOrder order) {
+        return BulkOrderResultDTO.builder()
+                .index(index)
+                .orderId(dto.getOrderId())
+                .fulfillmentOrderId(order.getId().toString())
+                .success(true)
+                .build();
+    }
+
+    private BulkOrderResultDTO unreadable(int index, RuntimeException e) {
+        log.debug("Bulk ingestion could not read the order at index {}: {}", index, e.getMessage());
+        return BulkOrderResultDTO.builder()
+                .index(index)
+                .success(false)
+                .error("Unreadable order: " + e.getMessage())
+                .build();
+    }
+
+    private BulkOrderResultDTO failure(int index, FulfillmentOrderDTO dto, Exception e) {
+        log.debug("Bulk ingestion of order at index {} failed: {}", index, e.getMessage());
+        return BulkOrderResultDTO.builder()
+                .index(index)
+                .orderId(dto.getOrderId())
+                .success(false)
+                .error(e.getMessage())
+                .build();
+    }
+}
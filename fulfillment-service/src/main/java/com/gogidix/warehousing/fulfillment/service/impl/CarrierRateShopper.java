@@ -0,0 +1,229 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.shipping.CarrierRateAdapter;
+import com.gogidix.warehousing.fulfillment.shipping.RateQuote;
+import com.gogidix.warehousing.fulfillment.shipping.RateRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds the cheapest carrier for a package by asking every {@link CarrierRateAdapter}
+ * for a quote at once.
+ * <p>
+ * All carriers are queried concurrently under one deadline, and the cheapest quote
+ * that has arrived when the deadline passes wins; calls that answer late are
+ * interrupted, so a slow carrier adds no latency beyond the deadline. Each carrier
+ * has a bulkhead of {@code max-calls-per-carrier} concurrent calls, so a carrier
+ * that hangs is skipped once its calls pile up instead of starving the others of
+ * threads. Calls wait in a queue of at most {@code queue-capacity}; a carrier whose
+ * call is rejected by a full queue is skipped for that request. When no carrier
+ * quotes, the caller keeps the preset carrier of the shipment. The winning
+ * quote is cached per lane, weight band and service level, as prices for the same
+ * route and size change rarely. The cache holds at most {@code max-entries} quotes,
+ * dropping the least recently used when full.
+ */
+@Component
+@Slf4j
+public class CarrierRateShopper {
+
+    private static final Comparator<RateQuote> CHEAPEST = Comparator.comparing(RateQuote::amount)
+            .thenComparing(RateQuote::transitDays, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final List<CarrierRateAdapter> adapters;
+    private final long deadlineNanos;
+    private final long ttlNanos;
+    private final double weightBandKg;
+    private final int postalPrefixLength;
+    private final ExecutorService executor;
+    private final Map<String, Semaphore> bulkheads;
+    private final Map<String, CachedQuote> cache;
+
+    public CarrierRateShopper(
+            List<CarrierRateAdapter> adapters,
+            @Value("${fulfillment.rates.deadline-ms:300}") long deadlineMs,
+            @Value("${fulfillment.rates.cache-ttl-seconds:900}") long ttlSeconds,
+            @Value("${fulfillment.rates.weight-band-kg:0.5}") double weightBandKg,
+            @Value("${fulfillment.rates.postal-prefix-length:3}") int postalPrefixLength,
+            @Value("${fulfillment.rates.max-entries:50000}") int maxEntries,
+            @Value("${fulfillment.rates.max-concurrency:32}") int maxConcurrency,
+            @Value("${fulfillment.rates.queue-capacity:256}") int queueCapacity,
+            @Value("${fulfillment.rates.max-calls-per-carrier:8}") int maxCallsPerCarrier) {
+        this.adapters = List.copyOf(adapters);
+        this.deadlineNanos = Duration.ofMillis(deadlineMs).toNanos();
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.weightBandKg = weightBandKg;
+        this.postalPrefixLength = postalPrefixLength;
+        this.bulkheads = new HashMap<>();
+        this.adapters.forEach(adapter -> bulkheads.put(adapter.carrierCode(), new Semaphore(maxCallsPerCarrier)));
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedQuote> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        // Carrier calls block on I/O, so threads are plentiful and idle ones expire
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "rates-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    /**
+     * Find the cheapest quote for a package
+     *
+     * @param request the package to quote
+     * @return the cheapest quote received before the deadline, or empty if no carrier quoted in time
+     */
+    public Optional<RateQuote> findCheapest(RateRequest request) {
+        String key = cacheKey(request);
+        CachedQuote cached = cache.get(key);
+        if (cached != null && cached.isFresh(System.nanoTime())) {
+            return Optional.of(cached.quote());
+        }
+        if (adapters.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Quote the top of the weight band, so the cached price holds for every package in it
+        RateRequest banded = new RateRequest(request.warehouseId(), request.destinationCountry(),
+                request.destinationPostalCode(), weightBand(request) * weightBandKg, request.serviceLevel());
+        long started = System.nanoTime();
+        Map<CarrierRateAdapter, Future<Optional<RateQuote>>> calls = new LinkedHashMap<>();
+        for (CarrierRateAdapter adapter : adapters) {
+            submit(adapter, banded).ifPresent(call -> calls.put(adapter, call));
+        }
+
+        // Calls run in parallel, so waiting on each in turn for what is left of the deadline
+        // bounds the whole search by the deadline
+        long deadline = started + deadlineNanos;
+        RateQuote best = null;
+        for (Map.Entry<CarrierRateAdapter, Future<Optional<RateQuote>>> entry : calls.entrySet()) {
+            Future<Optional<RateQuote>> call = entry.getValue();
+            Optional<RateQuote> quote;
+            try {
+                quote = call.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.debug("Carrier {} missed the rate shopping deadline", entry.getKey().carrierCode());
+                call.cancel(true);
+                continue;
+            } catch (ExecutionException e) {
+                log.warn("Carrier {} failed to quote: {}", entry.getKey().carrierCode(), e.getCause().getMessage());
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                calls.values().forEach(pending -> pending.cancel(true));
+                break;
+            }
+            if (quote.isPresent() && (best == null || CHEAPEST.compare(quote.get(), best) < 0)) {
+                best = quote.get();
+            }
+        }
+
+        log.debug("Rate shopping for {} chose {} in {} ms", key, best,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        if (best == null) {
+            return Optional.empty();
+        }
+        cache.put(key, new CachedQuote(best, System.nanoTime() + ttlNanos));
+        return Optional.of(best);
+    }
+
+    /**
+     * Start a quote call within the carrier's bulkhead
+     *
+     * @return the call, or empty if the carrier's bulkhead or the call queue is full
+     */
+    private Optional<Future<Optional<RateQuote>>> submit(CarrierRateAdapter adapter, RateRequest request) {
+        Semaphore bulkhead = bulkheads.get(adapter.carrierCode());
+        if (!bulkhead.tryAcquire()) {
+            log.debug("Skipping carrier {}: too many calls in flight", adapter.carrierCode());
+            return Optional.empty();
+        }
+        try {
+            // A future task, unlike a completable future, interrupts the call when cancelled
+            return Optional.of(executor.submit(() -> {
+                try {
+                    return adapter.quote(request);
+                } finally {
+                    bulkhead.release();
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            bulkhead.release();
+            log.warn("Skipping carrier {}: rate shopping queue is full", adapter.carrierCode());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Remove quotes that are no longer fresh
+     */
+    @Scheduled(fixedDelayString = "${fulfillment.rates.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        synchronized (cache) {
+            cache.values().removeIf(entry -> !entry.isFresh(now));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Key quotes by origin warehouse, destination country and postal prefix, weight
+     * band and service level
+     */
+    private String cacheKey(RateRequest request) {
+        String postalPrefix = "-";
+        if (request.destinationPostalCode() != null) {
+            String postalCode = request.destinationPostalCode().replace(" ", "").toUpperCase(Locale.ROOT);
+            postalPrefix = postalCode.substring(0, Math.min(postalPrefixLength, postalCode.length()));
+        }
+        return request.warehouseId() + ">" +
+                (request.destinationCountry() != null ? request.destinationCountry().toUpperCase(Locale.ROOT) : "-") +
+                "/" + postalPrefix + "|" + weightBand(request) + "|" +
+                (request.serviceLevel() != null ? request.serviceLevel().toUpperCase(Locale.ROOT) : "-");
+    }
+
+    private long weightBand(RateRequest request) {
+        return Math.max(1, (long) Math.ceil(request.weightKg() / weightBandKg));
+    }
+
+    private record CachedQuote(RateQuote quote, long expiresAtNanos) {
+
+        boolean isFresh(long now) {
+            return now - expiresAtNanos < 0;
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.config.CartonProperties;
+import com.gogidix.warehousing.fulfillment.entity.SkuPickLocation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Recommends the cartons to pack an order's items into.
+ * <p>
+ * Units are packed largest first (first-fit decreasing) with an extreme-point
+ * heuristic: every placed unit opens candidate corners in front of, beside and on
+ * top of it, and the next unit goes into the lowest, rearmost corner where one of
+ * its rotations fits without overlapping. The cheapest carton, then the smallest,
+ * that holds all remaining units is chosen; when none does, the carton packing the
+ * most item volume per unit of cost is filled and the rest is cartonized again.
+ * Recommendations are cached by item mix, since the same mixes recur across orders.
+ */
+@Component
+@Slf4j
+public class CartonizationEngine {
+
+    private static final double EPSILON = 1e-6;
+    private static final int[][] ROTATIONS = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+
+    private final List<CartonProperties.Carton> cartons;
+    private final int maxUnits;
+    private final Map<String, CartonizationPlan> cache;
+
+    public CartonizationEngine(CartonProperties properties) {
+        this.cartons = properties.getCartons().stream()
+                .sorted(Comparator.comparingDouble(CartonProperties.Carton::getCost)
+                        .thenComparingDouble(CartonProperties.Carton::volume))
+                .collect(Collectors.toUnmodifiableList());
+        if (cartons.isEmpty()) {
+            throw new IllegalStateException("At least one carton must be configured");
+        }
+        this.maxUnits = properties.getMaxUnits();
+        int cacheSize = properties.getCacheSize();
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CartonizationPlan> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Recommend cartons for a set of items
+     *
+     * @param quantities the quantity to pack of each SKU
+     * @param locations the pick locations of the SKUs, carrying their unit dimensions
+     * @return the recommendation, or empty if a SKU has no dimensions, the order is too
+     *         large to cartonize or a unit fits in no carton
+     */
+    public Optional<CartonizationPlan> recommend(Map<String, Integer> quantities, Map<String, SkuPickLocation> locations) {
+        if (quantities.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, Integer> sorted = new TreeMap<>(quantities);
+        StringBuilder key = new StringBuilder();
+        int unitCount = 0;
+        for (Map.Entry<String, Integer> line : sorted.entrySet()) {
+            SkuPickLocation location = locations.get(line.getKey());
+            if (location == null || location.getLengthCm() == null || location.getWidthCm() == null
+                    || location.getHeightCm() == null || location.getWeightKg() == null) {
+                log.debug("No dimensions for SKU {}, skipping cartonization", line.getKey());
+                return Optional.empty();
+            }
+            unitCount += line.getValue();
+            key.append(line.getKey()).append(':').append(line.getValue()).append(':')
+                    .append(location.getLengthCm()).append('x').append(location.getWidthCm()).append('x')
+                    .append(location.getHeightCm()).append('@').append(location.getWeightKg()).append(';');
+        }
+        if (unitCount > maxUnits) {
+            log.debug("Order of {} units exceeds the cartonization limit of {}", unitCount, maxUnits);
+            return Optional.empty();
+        }
+
+        CartonizationPlan cached = cache.get(key.toString());
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long started = System.nanoTime();
+        List<Unit> units = new ArrayList<>(unitCount);
+        for (Map.Entry<String, Integer> line : sorted.entrySet()) {
+            SkuPickLocation location = locations.get(line.getKey());
+            double[] dimensions = {location.getLengthCm(), location.getWidthCm(), location.getHeightCm()};
+            for (int i = 0; i < line.getValue(); i++) {
+                units.add(new Unit(line.getKey(), dimensions, location.getWeightKg()));
+            }
+        }
+        units.sort(Comparator.comparingDouble(Unit::volume).reversed()
+                .thenComparing(Comparator.comparingDouble(Unit::longestSide).reversed()));
+
+        CartonizationPlan plan = cartonize(units);
+        log.debug("Cartonized {} units into {} in {} us", unitCount,
+                plan != null ? plan.summary() : "nothing", (System.nanoTime() - started) / 1_000);
+        if (plan == null) {
+            return Optional.empty();
+        }
+        cache.put(key.toString(), plan);
+        return Optional.of(plan);
+    }
+
+    private CartonizationPlan cartonize(List<Unit> units) {
+        double itemVolume = units.stream().mapToDouble(Unit::volume).sum();
+        List<PackedCarton> packed = new ArrayList<>();
+        double totalCost = 0;
+        double shippedVolume = 0;
+        List<Unit> remaining = units;
+
+        while (!remaining.isEmpty()) {
+            Placement best = packAllInCheapestCarton(remaining);
+            if (best == null) {
+                best = packMostVolumePerCost(remaining);
+            }
+            if (best == null) {
+                log.debug("Unit of SKU {} fits in no carton", remaining.get(0).sku());
+                return null;
+            }
+
+            Map<String, Integer> quantities = new TreeMap<>();
+            double weight = 0;
+            List<Unit> rest = new ArrayList<>(remaining.size() - best.packed().size());
+            boolean[] taken = new boolean[remaining.size()];
+            for (int index : best.packed()) {
+                Unit unit = remaining.get(index);
+                taken[index] = true;
+                quantities.merge(unit.sku(), 1, Integer::sum);
+                weight += unit.weightKg();
+            }
+            for (int i = 0; i < remaining.size(); i++) {
+                if (!taken[i]) {
+                    rest.add(remaining.get(i));
+                }
+            }
+            packed.add(new PackedCarton(best.carton().getId(), Map.copyOf(quantities), weight));
+            totalCost += best.carton().getCost();
+            shippedVolume += best.carton().volume();
+            remaining = rest;
+        }
+        return new CartonizationPlan(List.copyOf(packed), totalCost, shippedVolume, itemVolume);
+    }
+
+    /**
+     * Pack every unit into the first carton, in cost order, that holds them all
+     */
+    private Placement packAllInCheapestCarton(List<Unit> units) {
+        double volume = 0;
+        double weight = 0;
+        for (Unit unit : units) {
+            volume += unit.volume();
+            weight += unit.weightKg();
+        }
+        for (CartonProperties.Carton carton : cartons) {
+            if (volume > carton.volume() + EPSILON || weight > carton.getMaxWeightKg() + EPSILON) {
+                continue;
+            }
+            Placement placement = pack(carton, units, true);
+            if (placement.packed().size() == units.size()) {
+                return placement;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fill the carton that packs the most item volume per unit of cost
+     */
+    private Placement packMostVolumePerCost(List<Unit> units) {
+        Placement best = null;
+        double bestScore = 0;
+        for (CartonProperties.Carton carton : cartons) {
+            Placement placement = pack(carton, units, false);
+            double score = placement.packedVolume() / Math.max(carton.getCost(), EPSILON);
+            if (score > bestScore + EPSILON) {
+                best = placement;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Place units in a carton at extreme points, skipping units that do not fit.
+     * Units of a SKU that once failed to fit are skipped without another search, as
+     * the carton only fills up further.
+     *
+     * @param requireAll stop at the first unit that does not fit
+     */
+    private Placement pack(CartonProperties.Carton carton, List<Unit> units, boolean requireAll) {
+        double[] bounds = {carton.getLengthCm(), carton.getWidthCm(), carton.getHeightCm()};
+        List<double[]> boxes = new ArrayList<>();
+        List<double[]> points = new ArrayList<>();
+        points.add(new double[]{0, 0, 0});
+        List<Integer> packed = new ArrayList<>();
+        Set<String> failed = new HashSet<>();
+        double weight = 0;
+        double volume = 0;
+
+        for (int u = 0; u < units.size(); u++) {
+            Unit unit = units.get(u);
+            double[] box = null;
+            if (weight + unit.weightKg() <= carton.getMaxWeightKg() + EPSILON && !failed.contains(unit.sku())) {
+                box = place(unit, bounds, boxes, points);
+            }
+            if (box == null) {
+                if (requireAll) {
+                    break;
+                }
+                failed.add(unit.sku());
+                continue;
+            }
+            boxes.add(box);
+            packed.add(u);
+            weight += unit.weightKg();
+            volume += unit.volume();
+        }
+        return new Placement(carton, packed, volume);
+    }
+
+    private double[] place(Unit unit, double[] bounds, List<double[]> boxes, List<double[]> points) {
+        for (int p = 0; p < points.size(); p++) {
+            double[] point = points.get(p);
+            for (int[] rotation : ROTATIONS) {
+                double[] box = {point[0], point[1], point[2],
+                        unit.dimensions()[rotation[0]], unit.dimensions()[rotation[1]], unit.dimensions()[rotation[2]]};
+                if (fits(box, bounds, boxes)) {
+                    points.remove(p);
+                    addPoint(points, bounds, box[0] + box[3], box[1], box[2]);
+                    addPoint(points, bounds, box[0], box[1] + box[4], box[2]);
+                    addPoint(points, bounds, box[0], box[1], box[2] + box[5]);
+                    return box;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean fits(double[] box, double[] bounds, List<double[]> boxes) {
+        for (int axis = 0; axis < 3; axis++) {
+            if (box[axis] + box[axis + 3] > bounds[axis] + EPSILON) {
+                return false;
+            }
+        }
+        for (double[] other : boxes) {
+            if (overlaps(box, other)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean overlaps(double[] a, double[] b) {
+        for (int axis = 0; axis < 3; axis++) {
+            if (a[axis] + a[axis + 3] <= b[axis] + EPSILON || b[axis] + b[axis + 3] <= a[axis] + EPSILON) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Insert a point keeping the list ordered bottom first, then rear, then left
+     */
+    private static void addPoint(List<double[]> points, double[] bounds, double x, double y, double z) {
+        if (x >= bounds[0] - EPSILON || y >= bounds[1] - EPSILON || z >= bounds[2] - EPSILON) {
+            return;
+        }
+        int index = 0;
+        while (index < points.size()) {
+            double[] point = points.get(index);
+            if (point[2] > z || (point[2] == z && (point[1] > y || (point[1] == y && point[0] > x)))) {
+                break;
+            }
+            if (point[0] == x && point[1] == y && point[2] == z) {
+                return;
+            }
+            index++;
+        }
+        points.add(index, new double[]{x, y, z});
+    }
+
+    /**
+     * Recommended cartons for an item mix
+     *
+     * @param cartons the cartons and what goes into each
+     * @param totalCost the combined cost of the cartons
+     * @param shippedVolumeCm3 the combined inner volume of the cartons
+     * @param itemVolumeCm3 the combined volume of the items
+     */
+    public record CartonizationPlan(List<PackedCarton> cartons, double totalCost, double shippedVolumeCm3,
+                                    double itemVolumeCm3) {
+
+        /**
+         * Carton IDs with counts, e.g. {@code BOX-L x2 + BOX-S}
+         */
+        public String summary() {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            cartons.forEach(carton -> counts.merge(carton.cartonId(), 1, Integer::sum));
+            return counts.entrySet().stream()
+                    .map(entry -> entry.getValue() > 1 ? entry.getKey() + " x" + entry.getValue() : entry.getKey())
+                    .collect(Collectors.joining(" + "));
+        }
+
+        /**
+         * Packing instruction listing the contents of each carton
+         */
+        public String describe() {
+            StringBuilder description = new StringBuilder(String.format("Recommended cartons (%.0f%% fill):",
+                    shippedVolumeCm3 > 0 ? 100 * itemVolumeCm3 / shippedVolumeCm3 : 0));
+            int number = 1;
+            for (PackedCarton carton : cartons) {
+                description.append("\n").append(number++).append(". ").append(carton.cartonId()).append(": ")
+                        .append(new TreeMap<>(carton.quantities()).entrySet().stream()
+                                .map(entry -> entry.getKey() + " x" + entry.getValue())
+                                .collect(Collectors.joining(", ")));
+            }
+            return description.toString();
+        }
+    }
+
+    /**
+     * One recommended carton
+     *
+     * @param cartonId the carton ID
+     * @param quantities the units of each SKU going into the carton
+     * @param weightKg the weight of the contents
+     */
+    public record PackedCarton(String cartonId, Map<String, Integer> quantities, double weightKg) {
+    }
+
+    private record Unit(String sku, double[] dimensions, double weightKg) {
+
+        double volume() {
+            return dimensions[0] * dimensions[1] * dimensions[2];
+        }
+
+        double longestSide() {
+            return Math.max(dimensions[0], Math.max(dimensions[1], dimensions[2]));
+        }
+    }
+
+    private record Placement(CartonProperties.Carton carton, List<Integer> packed, double packedVolume) {
+    }
+}
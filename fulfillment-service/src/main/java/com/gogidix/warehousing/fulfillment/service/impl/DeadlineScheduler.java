@@ -0,0 +1,220 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.repository.DeadlineRepository;
+import com.gogidix.warehousing.fulfillment.util.HierarchicalTimingWheel;
+import com.gogidix.warehousing.fulfillment.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Watches the due times of open picking and packing tasks and the expiry of
+ * inventory reservations with an in-memory hierarchical timing wheel, so no table
+ * has to be polled for overdue work.
+ * <p>
+ * Timers are rebuilt from the database when the service starts and are kept in
+ * step as tasks are created and completed. Fired timers are handled in batches:
+ * overdue tasks are raised one priority step and re-armed for the next escalation
+ * interval, and expired reservations are marked expired. Every handler is a
+ * guarded bulk update, so a stale timer, or the same timer firing on several
+ * instances, has no effect.
+ */
+@Component
+@Slf4j
+public class DeadlineScheduler {
+
+    /**
+     * Kind of deadline being watched
+     */
+    public enum DeadlineType {
+        PICKING_TASK,
+        PACKING_TASK,
+        RESERVATION
+    }
+
+    private final DeadlineRepository deadlineRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int batchSize;
+    private final Duration escalationInterval;
+    private final HierarchicalTimingWheel<DeadlineKey> wheel;
+
+    public DeadlineScheduler(
+            DeadlineRepository deadlineRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${fulfillment.deadlines.tick-ms:1000}") long tickMillis,
+            @Value("${fulfillment.deadlines.batch-size:1000}") int batchSize,
+            @Value("${fulfillment.deadlines.escalation-interval-minutes:30}") long escalationIntervalMinutes) {
+        this.deadlineRepository = deadlineRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.batchSize = batchSize;
+        this.escalationInterval = Duration.ofMinutes(escalationIntervalMinutes);
+        // 512 slots per level over four levels covers years at a one second tick
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, 9, 4, System.currentTimeMillis());
+    }
+
+    /**
+     * Load the deadlines of all open tasks and held reservations
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        int picking = load(DeadlineType.PICKING_TASK, deadlineRepository::streamOpenPickingTaskDeadlines);
+        int packing = load(DeadlineType.PACKING_TASK, deadlineRepository::streamOpenPackingTaskDeadlines);
+        int reservations = load(DeadlineType.RESERVATION, deadlineRepository::streamReservationExpiries);
+        log.info("Rebuilt deadline timers for {} picking tasks, {} packing tasks and {} reservations in {} ms",
+                picking, packing, reservations, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Watch a deadline, replacing any deadline already watched for the same entity.
+     * Inside a transaction the timer changes only once it commits.
+     *
+     * @param type the kind of deadline
+     * @param id the ID of the task or fulfillment order
+     * @param deadline when the deadline falls, or null to stop watching it
+     */
+    public void schedule(DeadlineType type, Object id, LocalDateTime deadline) {
+        DeadlineKey key = new DeadlineKey(type, id);
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (wheel) {
+                if (deadline == null) {
+                    wheel.cancel(key);
+                } else {
+                    wheel.schedule(key, toEpochMillis(deadline));
+                }
+            }
+        });
+    }
+
+    /**
+     * Stop watching a deadline. Inside a transaction the timer is removed only once
+     * it commits.
+     *
+     * @param type the kind of deadline
+     * @param id the ID of the task or fulfillment order
+     */
+    public void cancel(DeadlineType type, Object id) {
+        DeadlineKey key = new DeadlineKey(type, id);
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (wheel) {
+                wheel.cancel(key);
+            }
+        });
+    }
+
+    /**
+     * Get the number of deadlines being watched
+     */
+    public int getScheduledCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    /**
+     * Advance the wheel and handle every deadline that has fallen
+     */
+    @Scheduled(fixedDelayString = "${fulfillment.deadlines.tick-ms:1000}")
+    public void fireDue() {
+        List<DeadlineKey> fired;
+        synchronized (wheel) {
+            fired = wheel.advance(System.currentTimeMillis());
+        }
+        if (fired.isEmpty()) {
+            return;
+        }
+
+        Map<DeadlineType, List<Object>> idsByType = new EnumMap<>(DeadlineType.class);
+        for (DeadlineKey key : fired) {
+            idsByType.computeIfAbsent(key.type(), k -> new ArrayList<>()).add(key.id());
+        }
+        idsByType.forEach((type, ids) -> {
+            for (int start = 0; start < ids.size(); start += batchSize) {
+                List<Object> batch = ids.subList(start, Math.min(start + batchSize, ids.size()));
+                try {
+                    handle(type, batch);
+                } catch (RuntimeException e) {
+                    log.error("Failed to handle {} {} deadlines: {}", batch.size(), type, e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    private void handle(DeadlineType type, List<Object> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        if (type == DeadlineType.RESERVATION) {
+            Integer expired = transactionTemplate.execute(status -> deadlineRepository.expireReservations(ids, now));
+            log.info("Marked {} of {} inventory reservations expired", expired, ids.size());
+            return;
+        }
+
+        LocalDateTime nextDueBy = now.plus(escalationInterval);
+        List<Object> escalated = transactionTemplate.execute(status -> type == DeadlineType.PICKING_TASK
+                ? deadlineRepository.escalatePickingTasks(ids, now, nextDueBy)
+                : deadlineRepository.escalatePackingTasks(ids, now, nextDueBy));
+        if (escalated == null || escalated.isEmpty()) {
+            return;
+        }
+        long nextDeadline = toEpochMillis(nextDueBy);
+        synchronized (wheel) {
+            escalated.forEach(id -> wheel.schedule(new DeadlineKey(type, id), nextDeadline));
+        }
+        log.warn("Escalated {} overdue {} deadlines", escalated.size(), type);
+    }
+
+    private int load(DeadlineType type, Supplier<Stream<Object[]>> query) {
+        Integer loaded = readOnlyTransactionTemplate.execute(status -> {
+            int count = 0;
+            try (Stream<Object[]> rows = query.get()) {
+                // Schedule in batches so the wheel lock is not held for the whole load
+                List<Object[]> batch = new ArrayList<>(batchSize);
+                for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                    batch.add(it.next());
+                    if (batch.size() == batchSize) {
+                        count += scheduleAll(type, batch);
+                    }
+                }
+                count += scheduleAll(type, batch);
+            }
+            return count;
+        });
+        return loaded != null ? loaded : 0;
+    }
+
+    private int scheduleAll(DeadlineType type, List<Object[]> rows) {
+        int count = rows.size();
+        synchronized (wheel) {
+            for (Object[] row : rows) {
+                wheel.schedule(new DeadlineKey(type, row[0]), toEpochMillis((LocalDateTime) row[1]));
+            }
+        }
+        rows.clear();
+        return count;
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record DeadlineKey(DeadlineType type, Object id) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.dto.StageLatencyDTO;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStage;
+import com.gogidix.warehousing.fulfillment.service.FulfillmentAnalyticsService;
+import com.gogidix.warehousing.fulfillment.util.EntityIds;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the FulfillmentAnalyticsService interface.
+ * Reads from the in-memory {@link StageLatencyAggregator}; no query is issued.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FulfillmentAnalyticsServiceImpl implements FulfillmentAnalyticsService {
+
+    private final StageLatencyAggregator stageLatencyAggregator;
+
+    @Override
+    public List<StageLatencyDTO> getStageLatencies(UUID warehouseId, int windowMinutes) {
+        log.debug("Getting stage latencies for warehouse: {} over {} minutes", warehouseId, windowMinutes);
+
+        Long warehouseKey = warehouseId != null ? EntityIds.toLongKey(warehouseId) : null;
+        Map<FulfillmentStage, StageLatencyAggregator.StageSummary> summaries =
+                stageLatencyAggregator.summarize(warehouseKey, windowMinutes);
+
+        List<StageLatencyDTO> latencies = new ArrayList<>(summaries.size());
+        summaries.forEach((stage, summary) -> latencies.add(StageLatencyDTO.builder()
+                .warehouseId(warehouseId)
+                .stage(stage)
+                .windowMinutes(summary.perMinute().length)
+                .count(summary.count())
+                .p50Millis(summary.p50Millis())
+                .p90Millis(summary.p90Millis())
+                .p99Millis(summary.p99Millis())
+                .maxMillis(summary.maxMillis())
+                .throughputPerMinute(Arrays.stream(summary.perMinute()).boxed().collect(Collectors.toList()))
+                .build()));
+        return latencies;
+    }
+}
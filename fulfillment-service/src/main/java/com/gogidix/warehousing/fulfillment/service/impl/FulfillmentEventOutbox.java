@@ -0,0 +1,116 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gogidix.warehousing.fulfillment.entity.OutboxEvent;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.event.FulfillmentStatusChangedEvent;
+import com.gogidix.warehousing.fulfillment.exception.FulfillmentException;
+import com.gogidix.warehousing.fulfillment.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records fulfillment status changes in the outbox. Events are written in the
+ * transaction that changes the status, so an event exists exactly when its change
+ * was committed; {@link OutboxRelay} publishes them afterwards, in id order. The
+ * order's row must be locked when an event is appended, which a guarded update or a
+ * flushed entity update does, so each order's events get ids in commit order.
+ * Since every status change passes through here, the change is also copied to the
+ * order's priority row, which the release queries select by status.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FulfillmentEventOutbox {
+
+    static final String STATUS_CHANGED = "FULFILLMENT_STATUS_CHANGED";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderPriorityIndex orderPriorityIndex;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Append a status change event for a fulfillment order
+     *
+     * @param fulfillmentOrderId the fulfillment order ID
+     * @param status the new status
+     * @param reason the reason for the change, if any
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(String fulfillmentOrderId, FulfillmentStatus status, String reason) {
+        // Flush the order's pending update first, so its row is locked before the event id is drawn and
+        // a concurrent change of the same order waits for this one to commit before drawing its own
+        outboxEventRepository.flush();
+        outboxEventRepository.save(toOutboxEvent(fulfillmentOrderId, status, reason));
+        orderPriorityIndex.statusChanged(List.of(fulfillmentOrderId), status);
+        log.debug("Queued status change of fulfillment order {} to {}", fulfillmentOrderId, status);
+    }
+
+    /**
+     * Append a status change event for each of several fulfillment orders moved by a
+     * bulk update. The update must have locked the orders' rows.
+     *
+     * @param fulfillmentOrderIds the fulfillment order IDs
+     * @param status the new status
+     * @param reason the reason for the change, if any
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Collection<String> fulfillmentOrderIds, FulfillmentStatus status, String reason) {
+        if (fulfillmentOrderIds.isEmpty()) {
+            return;
+        }
+        List<OutboxEvent> events = new ArrayList<>(fulfillmentOrderIds.size());
+        for (String fulfillmentOrderId : fulfillmentOrderIds) {
+            events.add(toOutboxEvent(fulfillmentOrderId, status, reason));
+        }
+        outboxEventRepository.flush();
+        outboxEventRepository.saveAll(events);
+        orderPriorityIndex.statusChanged(fulfillmentOrderIds, status);
+        log.debug("Queued status change of {} fulfillment orders to {}", events.size(), status);
+    }
+
+    /**
+     * Append a status change event without a reason
+     *
+     * @param fulfillmentOrderId the fulfillment order ID
+     * @param status the new status
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(String fulfillmentOrderId, FulfillmentStatus status) {
+        statusChanged(fulfillmentOrderId, status, null);
+    }
+
+    private OutboxEvent toOutboxEvent(String fulfillmentOrderId, FulfillmentStatus status, String reason) {
+        FulfillmentStatusChangedEvent event = FulfillmentStatusChangedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .fulfillmentOrderId(fulfillmentOrderId)
+                .status(status)
+                .reason(reason)
+                .timestamp(Instant.now())
+                .build();
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new FulfillmentException("Failed to serialize status change of fulfillment order " + fulfillmentOrderId);
+        }
+        return OutboxEvent.builder()
+                .aggregateId(fulfillmentOrderId)
+                .eventType(STATUS_CHANGED)
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
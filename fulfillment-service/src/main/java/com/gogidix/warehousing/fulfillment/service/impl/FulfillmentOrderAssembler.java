@@ -0,0 +1,67 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderDTO;
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderItemDTO;
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrderItem;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.enums.ItemFulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.mapper.FulfillmentOrderItemMapper;
+import com.gogidix.warehousing.fulfillment.mapper.FulfillmentOrderMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds new fulfillment order entities, including their items, from DTOs so
+ * that an order can be persisted with a single save
+ */
+@Component
+@RequiredArgsConstructor
+public class FulfillmentOrderAssembler {
+
+    private final FulfillmentOrderMapper orderMapper;
+    private final FulfillmentOrderItemMapper itemMapper;
+
+    /**
+     * Create an unsaved fulfillment order with its items attached and defaults applied
+     *
+     * @param fulfillmentOrderDTO the order to create
+     * @return the new, transient order entity
+     */
+    public FulfillmentOrder assemble(FulfillmentOrderDTO fulfillmentOrderDTO) {
+        // Set initial status if not provided
+        if (fulfillmentOrderDTO.getStatus() == null) {
+            fulfillmentOrderDTO.setStatus(FulfillmentStatus.RECEIVED);
+        }
+        
+        // Convert DTO to entity
+        FulfillmentOrder order = orderMapper.toEntity(fulfillmentOrderDTO);
+        
+        // Add items with proper parent reference; they are cascaded with the order
+        if (fulfillmentOrderDTO.getItems() != null && !fulfillmentOrderDTO.getItems().isEmpty()) {
+            for (FulfillmentOrderItemDTO itemDTO : fulfillmentOrderDTO.getItems()) {
+                FulfillmentOrderItem item = itemMapper.toEntity(itemDTO, order);
+                
+                // Set initial status if not provided
+                if (item.getStatus() == null) {
+                    item.setStatus(ItemFulfillmentStatus.PENDING);
+                }
+                
+                // Initialize quantities if null
+                if (item.getQuantityFulfilled() == null) {
+                    item.setQuantityFulfilled(0);
+                }
+                if (item.getQuantityPicked() == null) {
+                    item.setQuantityPicked(0);
+                }
+                if (item.getQuantityPacked() == null) {
+                    item.setQuantityPacked(0);
+                }
+                
+                order.addOrderItem(item);
+            }
+        }
+        
+        return order;
+    }
+}
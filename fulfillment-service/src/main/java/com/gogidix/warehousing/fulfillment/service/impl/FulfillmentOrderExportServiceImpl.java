@@ -0,0 +1,105 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderSummaryDTO;
+import com.gogidix.warehousing.fulfillment.exception.FulfillmentException;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderExportRepository;
+import com.gogidix.warehousing.fulfillment.service.FulfillmentOrderExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of the FulfillmentOrderExportService interface.
+ * Orders are read from a forward-only cursor and written one row at a time, so
+ * an export holds at most one fetch batch in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FulfillmentOrderExportServiceImpl implements FulfillmentOrderExportService {
+
+    static final String CSV_HEADER = "id,externalOrderId,orderReference,status,inventoryStatus,warehouseId," +
+            "assignedWarehouseId,carrier,trackingNumber,itemCount,createdAt";
+
+    private final FulfillmentOrderExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportFulfillmentOrders(LocalDateTime from, LocalDateTime to, Format format, boolean gzip,
+                                        OutputStream out) throws IOException {
+        if (!from.isBefore(to)) {
+            throw new FulfillmentException("Export period start must be before its end");
+        }
+        long started = System.nanoTime();
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, 64 * 1024) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? gzipOut : out, StandardCharsets.UTF_8),
+                64 * 1024);
+
+        long count = 0;
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<FulfillmentOrderSummaryDTO> orders = exportRepository.streamCreatedBetween(from, to)) {
+            Iterator<FulfillmentOrderSummaryDTO> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                FulfillmentOrderSummaryDTO order = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, order);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(order));
+                    writer.write('\n');
+                }
+                count++;
+            }
+        }
+
+        writer.flush();
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+        out.flush();
+
+        log.info("Exported {} fulfillment orders created between {} and {} as {} in {} ms",
+                count, from, to, format, (System.nanoTime() - started) / 1_000_000);
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, FulfillmentOrderSummaryDTO order) throws IOException {
+        Object[] values = {
+                order.getId(), order.getExternalOrderId(), order.getOrderReference(), order.getStatus(),
+                order.getInventoryStatus(), order.getWarehouseId(), order.getAssignedWarehouseId(),
+                order.getCarrier(), order.getTrackingNumber(), order.getItemCount(), order.getCreatedAt()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    private String csvField(Object value) {
+        String text = Objects.toString(value, "");
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
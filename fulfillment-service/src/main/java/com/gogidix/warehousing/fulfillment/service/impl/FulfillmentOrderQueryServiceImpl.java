@@ -0,0 +1,99 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderSummaryDTO;
+import com.gogidix.warehousing.fulfillment.dto.KeysetSliceDTO;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatuses;
+import com.gogidix.warehousing.fulfillment.exception.FulfillmentException;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderKeysetRepository;
+import com.gogidix.warehousing.fulfillment.service.FulfillmentOrderQueryService;
+import com.gogidix.warehousing.fulfillment.util.EntityIds;
+import com.gogidix.warehousing.fulfillment.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of the FulfillmentOrderQueryService interface
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class FulfillmentOrderQueryServiceImpl implements FulfillmentOrderQueryService {
+
+    static final int MAX_SLICE_SIZE = 500;
+
+    private final FulfillmentOrderKeysetRepository keysetRepository;
+
+    @Override
+    public Page<FulfillmentOrderSummaryDTO> getFulfillmentOrderSummaries(FulfillmentStatus status, UUID warehouseId,
+                                                                         boolean activeOnly, Pageable pageable) {
+        log.debug("Getting fulfillment order summaries - status: {}, warehouse: {}, active only: {}",
+                status, warehouseId, activeOnly);
+        if (status != null && activeOnly && !FulfillmentStatuses.OPEN.contains(status)) {
+            return Page.empty(pageable);
+        }
+        return keysetRepository.findSummaryPage(statusFilter(status, activeOnly), warehouseKey(warehouseId), pageable);
+    }
+
+    @Override
+    public KeysetSliceDTO<FulfillmentOrderSummaryDTO> scrollFulfillmentOrders(FulfillmentStatus status,
+                                                                              UUID warehouseId, boolean activeOnly,
+                                                                              String continuationToken, int size) {
+        log.debug("Scrolling fulfillment orders - status: {}, warehouse: {}, active only: {}",
+                status, warehouseId, activeOnly);
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new FulfillmentException("Slice size must be between 1 and " + MAX_SLICE_SIZE);
+        }
+
+        if (status != null && activeOnly && !FulfillmentStatuses.OPEN.contains(status)) {
+            return KeysetSliceDTO.<FulfillmentOrderSummaryDTO>builder().content(List.of()).size(0).build();
+        }
+
+        // Fetch one extra row to learn whether another slice follows
+        List<FulfillmentOrderSummaryDTO> orders = keysetRepository.findSummariesAfter(
+                statusFilter(status, activeOnly), warehouseKey(warehouseId),
+                KeysetCursor.fromToken(continuationToken), size + 1);
+        boolean hasNext = orders.size() > size;
+        if (hasNext) {
+            orders = orders.subList(0, size);
+        }
+
+        String nextToken = null;
+        if (hasNext) {
+            FulfillmentOrderSummaryDTO last = orders.get(orders.size() - 1);
+            nextToken = new KeysetCursor(last.getCreatedAt(), last.getId()).toToken();
+        }
+        return KeysetSliceDTO.<FulfillmentOrderSummaryDTO>builder()
+                .content(orders)
+                .size(orders.size())
+                .hasNext(hasNext)
+                .nextToken(nextToken)
+                .build();
+    }
+
+    /**
+     * Statuses to include, or null for all
+     */
+    private static Collection<FulfillmentStatus> statusFilter(FulfillmentStatus status, boolean activeOnly) {
+        if (status != null) {
+            return List.of(status);
+        }
+        return activeOnly ? FulfillmentStatuses.OPEN : null;
+    }
+
+    /**
+     * Warehouse key as stored on orders, or null for all warehouses
+     */
+    private static Long warehouseKey(UUID warehouseId) {
+        return warehouseId != null ? EntityIds.toLongKey(warehouseId) : null;
+    }
+}
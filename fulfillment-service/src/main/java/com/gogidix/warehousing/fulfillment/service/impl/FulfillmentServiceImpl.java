@@ -12,32 +12,64 @@ import com.gogidix.warehousing.fulfillment.exception.ResourceNotFoundException;
 import com.gogidix.warehousing.fulfillment.mapper.FulfillmentOrderItemMapper;
 import com.gogidix.warehousing.fulfillment.mapper.FulfillmentOrderMapper;
 import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrderDestination;
 import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrderItem;
 import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentTransition;
 import com.gogidix.warehousing.fulfillment.enums.ItemFulfillmentStatus;
 import com.gogidix.warehousing.fulfillment.entity.PackingTask;
 import com.gogidix.warehousing.fulfillment.entity.PickingTask;
 import com.gogidix.warehousing.fulfillment.entity.ShipmentPackage;
+import com.gogidix.warehousing.fulfillment.entity.SkuPickLocation;
 import com.gogidix.warehousing.fulfillment.enums.TaskStatus;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderDestinationRepository;
 import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderItemRepository;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderPriorityRepository;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderReadRepository;
 import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderRepository;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentTransitionRepository;
+import com.gogidix.warehousing.fulfillment.repository.InventoryAllocationRepository;
 import com.gogidix.warehousing.fulfillment.repository.PackingTaskRepository;
 import com.gogidix.warehousing.fulfillment.repository.PickingTaskRepository;
 import com.gogidix.warehousing.fulfillment.repository.ShipmentPackageRepository;
+import com.gogidix.warehousing.fulfillment.repository.SkuPickLocationRepository;
+import com.gogidix.warehousing.fulfillment.repository.TaskClaimRepository;
 import com.gogidix.warehousing.fulfillment.service.FulfillmentService;
+import com.gogidix.warehousing.fulfillment.service.InventoryAdjustmentService;
+import com.gogidix.warehousing.fulfillment.service.PickingWaveService;
+import com.gogidix.warehousing.fulfillment.service.TaskAssignmentService;
+import com.gogidix.warehousing.fulfillment.shipping.CarrierLabelAdapter;
+import com.gogidix.warehousing.fulfillment.shipping.CarrierLabelAdapterRegistry;
+import com.gogidix.warehousing.fulfillment.shipping.LabelRequest;
+import com.gogidix.warehousing.fulfillment.shipping.LabelResult;
+import com.gogidix.warehousing.fulfillment.shipping.RateRequest;
+import com.gogidix.warehousing.fulfillment.shipping.TrackingInfo;
+import com.gogidix.warehousing.fulfillment.util.EntityIds;
+import com.gogidix.warehousing.fulfillment.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -48,7 +80,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
-public class FulfillmentServiceImpl implements FulfillmentService {
+public class FulfillmentServiceImpl implements FulfillmentService, PickingWaveService, InventoryAdjustmentService,
+        TaskAssignmentService {
 
     private final FulfillmentOrderRepository fulfillmentOrderRepository;
     private final FulfillmentOrderItemRepository itemRepository;
@@ -57,12 +90,39 @@ public class FulfillmentServiceImpl implements FulfillmentService {
     private final ShipmentPackageRepository shipmentPackageRepository;
     private final FulfillmentOrderMapper orderMapper;
     private final FulfillmentOrderItemMapper itemMapper;
+    private final FulfillmentOrderAssembler orderAssembler;
+    private final PickingTaskPlanner pickingTaskPlanner;
+    private final PackingStationScheduler packingStationScheduler;
+    private final SkuPickLocationRepository skuPickLocationRepository;
+    private final InventoryAvailabilityView inventoryAvailabilityView;
+    private final InventoryAllocationEngine inventoryAllocationEngine;
+    private final InventoryAllocationRepository inventoryAllocationRepository;
+    private final WarehouseReassignmentPipeline reassignmentPipeline;
+    private final WarehouseSelector warehouseSelector;
+    private final FulfillmentOrderReadRepository fulfillmentOrderReadRepository;
+    private final CarrierLabelAdapterRegistry labelAdapterRegistry;
+    private final ShipmentTrackingCache shipmentTrackingCache;
+    private final FulfillmentTransitionEngine transitionEngine;
+    private final FulfillmentTransitionRepository transitionRepository;
+    private final DeadlineScheduler deadlineScheduler;
+    private final StageLatencyAggregator stageLatencyAggregator;
+    private final TaskAssignmentEngine taskAssignmentEngine;
+    private final TaskClaimRepository taskClaimRepository;
+    private final FulfillmentEventOutbox eventOutbox;
+    private final CartonizationEngine cartonizationEngine;
+    private final CarrierRateShopper carrierRateShopper;
+    private final FulfillmentOrderDestinationRepository orderDestinationRepository;
+    private final OrderPriorityIndex orderPriorityIndex;
+    private final FulfillmentOrderPriorityRepository orderPriorityRepository;
+    private final PlatformTransactionManager transactionManager;
     
     @Override
     @Transactional(readOnly = true)
     public FulfillmentOrderDTO getFulfillmentOrder(UUID id) {
         log.debug("Getting fulfillment order with id: {}", id);
-        return orderMapper.toDTO(getFulfillmentOrderEntity(id));
+        return fulfillmentOrderReadRepository.findDetailById(id.toString())
+                .map(orderMapper::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("FulfillmentOrder", "id", id));
     }
     
     @Override
@@ -78,16 +138,18 @@ public class FulfillmentServiceImpl implements FulfillmentService {
     @Transactional(readOnly = true)
     public Page<FulfillmentOrderDTO> getAllFulfillmentOrders(Pageable pageable) {
         log.debug("Getting all fulfillment orders with pagination");
-        return fulfillmentOrderRepository.findAll(pageable)
-                .map(orderMapper::toDTO);
+        Page<FulfillmentOrder> orders = fulfillmentOrderRepository.findAll(pageable);
+        fulfillmentOrderReadRepository.fetchItems(orders.getContent());
+        return orders.map(orderMapper::toDTO);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<FulfillmentOrderDTO> getFulfillmentOrdersByStatus(FulfillmentStatus status, Pageable pageable) {
         log.debug("Getting fulfillment orders by status: {} with pagination", status);
-        return fulfillmentOrderRepository.findAllByStatus(status, pageable)
-                .map(orderMapper::toDTO);
+        Page<FulfillmentOrder> orders = fulfillmentOrderRepository.findAllByStatus(status, pageable);
+        fulfillmentOrderReadRepository.fetchItems(orders.getContent());
+        return orders.map(orderMapper::toDTO);
     }
     
     @Override
@@ -95,60 +157,28 @@ public class FulfillmentServiceImpl implements FulfillmentService {
     public Page<FulfillmentOrderDTO> getFulfillmentOrdersByWarehouse(UUID warehouseId, Pageable pageable) {
         log.debug("Getting fulfillment orders by warehouse id: {} with pagination", warehouseId);
         Long warehouseIdLong = uuidToLong(warehouseId);
-        return fulfillmentOrderRepository.findAllByWarehouseId(warehouseIdLong, pageable)
-                .map(orderMapper::toDTO);
+        Page<FulfillmentOrder> orders = fulfillmentOrderRepository.findAllByWarehouseId(warehouseIdLong, pageable);
+        fulfillmentOrderReadRepository.fetchItems(orders.getContent());
+        return orders.map(orderMapper::toDTO);
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<FulfillmentOrderDTO> getActiveFulfillmentOrders(Pageable pageable) {
         log.debug("Getting active fulfillment orders with pagination");
-        return fulfillmentOrderRepository.findAllActiveOrders(pageable)
-                .map(orderMapper::toDTO);
+        Page<FulfillmentOrder> orders = fulfillmentOrderRepository.findAllActiveOrders(pageable);
+        fulfillmentOrderReadRepository.fetchItems(orders.getContent());
+        return orders.map(orderMapper::toDTO);
     }
     
     @Override
     public FulfillmentOrderDTO createFulfillmentOrder(FulfillmentOrderDTO fulfillmentOrderDTO) {
         log.debug("Creating new fulfillment order: {}", fulfillmentOrderDTO);
         
-        // Set initial status if not provided
-        if (fulfillmentOrderDTO.getStatus() == null) {
-            fulfillmentOrderDTO.setStatus(FulfillmentStatus.RECEIVED);
-        }
-        
-        // Convert DTO to entity
-        FulfillmentOrder order = orderMapper.toEntity(fulfillmentOrderDTO);
-        
-        // Save order first to get ID
+        // Build the order with its items so it is inserted in a single save
+        FulfillmentOrder order = orderAssembler.assemble(fulfillmentOrderDTO);
         FulfillmentOrder savedOrder = fulfillmentOrderRepository.save(order);
-        
-        // Add items with proper parent reference
-        if (fulfillmentOrderDTO.getItems() != null && !fulfillmentOrderDTO.getItems().isEmpty()) {
-            for (FulfillmentOrderItemDTO itemDTO : fulfillmentOrderDTO.getItems()) {
-                FulfillmentOrderItem item = itemMapper.toEntity(itemDTO, savedOrder);
-                
-                // Set initial status if not provided
-                if (item.getStatus() == null) {
-                    item.setStatus(ItemFulfillmentStatus.PENDING);
-                }
-                
-                // Initialize quantities if null
-                if (item.getQuantityFulfilled() == null) {
-                    item.setQuantityFulfilled(0);
-                }
-                if (item.getQuantityPicked() == null) {
-                    item.setQuantityPicked(0);
-                }
-                if (item.getQuantityPacked() == null) {
-                    item.setQuantityPacked(0);
-                }
-                
-                savedOrder.addOrderItem(item);
-            }
-            
-            // Save again with items
-            savedOrder = fulfillmentOrderRepository.save(savedOrder);
-        }
+        orderPriorityIndex.registerNew(List.of(savedOrder));
         
         return orderMapper.toDTO(savedOrder);
     }
@@ -164,6 +194,7 @@ public class FulfillmentServiceImpl implements FulfillmentService {
         
         // Save changes
         FulfillmentOrder savedOrder = fulfillmentOrderRepository.save(existingOrder);
+        orderPriorityIndex.register(savedOrder);
         
         return orderMapper.toDTO(savedOrder);
     }
@@ -182,6 +213,8 @@ public class FulfillmentServiceImpl implements FulfillmentService {
         
         // Save changes
         FulfillmentOrder savedOrder = fulfillmentOrderRepository.save(order);
+        eventOutbox.statusChanged(id.toString(), status);
+        stageLatencyAggregator.onStatusChanged(savedOrder, status);
         
         return orderMapper.toDTO(savedOrder);
     }
@@ -231,6 +264,7 @@ public class FulfillmentServiceImpl implements FulfillmentService {
         
         // Save changes
         FulfillmentOrder savedOrder = fulfillmentOrderRepository.save(order);
+        eventOutbox.statusChanged(id.toString(), FulfillmentStatus.CANCELLED, reason);
         
         return orderMapper.toDTO(savedOrder);
     }
@@ -253,6 +287,7 @@ public class FulfillmentServiceImpl implements FulfillmentService {
         
         // Save changes
         FulfillmentOrder savedOrder = fulfillmentOrderRepository.save(order);
+        eventOutbox.statusChanged(id.toString(), FulfillmentStatus.PROCESSING);
         
         return orderMapper.toDTO(savedOrder);
     }
@@ -286,6 +321,7 @@ public class FulfillmentServiceImpl implements FulfillmentService {
         
         // Save changes
         FulfillmentOrder savedOrder = fulfillmentOrderRepository.save(order);
+        eventOutbox.statusChanged(id.toString(), FulfillmentStatus.ALLOCATED);
         
         return orderMapper.toDTO(savedOrder);
     }
@@ -294,24 +330,74 @@ public class FulfillmentServiceImpl implements FulfillmentService {
     public List<PickingTaskDTO> startPicking(UUID id) {
         log.debug("Starting picking for fulfillment order with id: {}", id);
         
-        FulfillmentOrder order = getFulfillmentOrderEntity(id);
+        // Move to PICKING with a single conditional update
+        transitionEngine.apply(id, FulfillmentTransition.START_PICKING);
+        FulfillmentOrder order = getFulfillmentOrderDetail(id);
+        stageLatencyAggregator.onStatusChanged(order, FulfillmentStatus.PICKING);
         
-        // Validate status
-        if (order.getStatus() != FulfillmentStatus.ALLOCATED) {
-            throw new FulfillmentException("Fulfillment order must be in ALLOCATED status to start picking");
-        }
+        // Create picking tasks
+        List<PickingTask> pickingTasks = createPickingTasks(order);
         
-        // Update status and timestamp
-        order.setStatus(FulfillmentStatus.PICKING);
-        order.setPickingStartedAt(LocalDateTime.now());
+        // Convert to DTOs
+        return pickingTasks.stream()
+                .map(this::convertToPickingTaskDTO)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<PickingTaskDTO> releaseNextPickingWave(int maxOrders) {
+        log.debug("Releasing the next {} allocated fulfillment orders for picking", maxOrders);
         
-        // Save changes
-        FulfillmentOrder savedOrder = fulfillmentOrderRepository.save(order);
+        // Take the highest priority allocated orders straight from the score index
+        List<UUID> ids = orderPriorityRepository.findTopOrderIds(List.of(FulfillmentStatus.ALLOCATED), maxOrders)
+                .stream()
+                .map(UUID::fromString)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return releasePickingWave(ids);
+    }
+    
+    @Override
+    public List<PickingTaskDTO> releasePickingWave(List<UUID> ids) {
+        log.debug("Releasing picking wave for {} fulfillment orders", ids.size());
+        
+        // An order listed twice is released once
+        Set<UUID> uniqueIds = new LinkedHashSet<>(ids);
+        
+        // Move the wave with one guarded update; an order another release already moved is not moved again
+        List<String> moved = transitionEngine.tryApplyAll(uniqueIds, FulfillmentTransition.START_PICKING);
+        if (moved.size() != uniqueIds.size()) {
+            Set<String> movedIds = new HashSet<>(moved);
+            for (UUID id : uniqueIds) {
+                if (movedIds.contains(id.toString())) {
+                    continue;
+                }
+                FulfillmentStatus current = transitionEngine.currentStatus(id);
+                if (current == null) {
+                    throw new ResourceNotFoundException("FulfillmentOrder", "id", id);
+                }
+                if (current != FulfillmentStatus.PICKING) {
+                    throw new FulfillmentException("Fulfillment order " + id +
+                            " must be in ALLOCATED status to start picking");
+                }
+                log.info("Fulfillment order {} was already released for picking, skipping it", id);
+            }
+        }
+        if (moved.isEmpty()) {
+            return List.of();
+        }
         
-        // Create picking tasks
-        List<PickingTask> pickingTasks = createPickingTasks(savedOrder);
+        List<FulfillmentOrder> orders = fulfillmentOrderRepository.findAllById(moved);
+        for (FulfillmentOrder order : orders) {
+            stageLatencyAggregator.onStatusChanged(order, FulfillmentStatus.PICKING);
+        }
+        
+        // Create picking tasks batched across the orders this release moved
+        List<PickingTask> pickingTasks = pickingTaskRepository.saveAll(pickingTaskPlanner.plan(orders));
+        pickingTasks.forEach(this::trackNewPickingTask);
         
-        // Convert to DTOs
         return pickingTasks.stream()
                 .map(this::convertToPickingTaskDTO)
                 .collect(Collectors.toList());
@@ -321,33 +407,28 @@ public class FulfillmentServiceImpl implements FulfillmentService {
      * Helper method to create picking tasks for a fulfillment order
      */
     private List<PickingTask> createPickingTasks(FulfillmentOrder order) {
-        List<PickingTask> tasks = new ArrayList<>();
-        
-        // Create a picking task for each item or group items by zone for efficient picking
-        // This is a simplified implementation - in a real system, this might be more complex
-        // with batch picking, zone-based picking, etc.
-        
-        // For this implementation, we'll create one task per order
-        PickingTask task = PickingTask.builder()
-                .fulfillmentOrderId(stringToUuid(order.getId().toString()))
-                .status(TaskStatus.PENDING)
-                .priority(order.getPriority() != null ? order.getPriority().ordinal() : 1)
-                .dueBy(LocalDateTime.now().plusHours(2)) // Set due time to 2 hours from now
-                .instruction("Pick all items for order " + order.getOrderReference())
-                .build();
-        
-        PickingTask savedTask = pickingTaskRepository.save(task);
-        tasks.add(savedTask);
-        
+        // One task per zone and aisle, with stops in walk order
+        List<PickingTask> tasks = pickingTaskRepository.saveAll(pickingTaskPlanner.plan(List.of(order)));
+        tasks.forEach(this::trackNewPickingTask);
         return tasks;
     }
     
+    /**
+     * Helper method to watch the due time of a new picking task and queue it for assignment
+     */
+    private void trackNewPickingTask(PickingTask task) {
+        deadlineScheduler.schedule(DeadlineScheduler.DeadlineType.PICKING_TASK, task.getId(), task.getDueBy());
+        // Queued only once committed, so staff are never offered a task that does not exist
+        TransactionCallbacks.afterCommit(() -> taskAssignmentEngine.enqueue(TaskAssignmentEngine.TaskKind.PICKING,
+                task.getId(), task.getZone(), task.getAisle(), task.getPriority(), task.getDueBy()));
+    }
+    
     /**
      * Helper method to convert a PickingTask entity to DTO
      */
     private PickingTaskDTO convertToPickingTaskDTO(PickingTask task) {
         return PickingTaskDTO.builder()
-                .id(stringToUuid(task.getId().toString()))
+                .id(EntityIds.toUuid(task.getId().toString()))
                 .fulfillmentOrderId(task.getFulfillmentOrderId())
                 .assignedStaffId(task.getAssignedStaffId())
                 .status(task.getStatus())
@@ -367,28 +448,12 @@ public class FulfillmentServiceImpl implements FulfillmentService {
                 .build();
     }
     
-    /**
-     * Helper method to convert String to UUID with validation
-     */
-    private UUID stringToUuid(String str) {
-        if (str == null || str.trim().isEmpty()) return null;
-        try {
-            return UUID.fromString(str);
-        } catch (IllegalArgumentException e) {
-            return UUID.nameUUIDFromBytes(str.getBytes());
-        }
-    }
-    
     @Override
     public FulfillmentOrderDTO completePicking(UUID id) {
         log.debug("Completing picking for fulfillment order with id: {}", id);
         
-        FulfillmentOrder order = getFulfillmentOrderEntity(id);
-        
-        // Validate status
-        if (order.getStatus() != FulfillmentStatus.PICKING) {
-            throw new FulfillmentException("Fulfillment order must be in PICKING status to complete picking");
-        }
+        // Move to PICKING_COMPLETE; the update is rolled back if tasks are still open
+        transitionEngine.apply(id, FulfillmentTransition.COMPLETE_PICKING);
         
         // Verify all picking tasks are completed
         List<PickingTask> pickingTasks = pickingTaskRepository.findAllByFulfillmentOrderId(id);
@@ -399,41 +464,22 @@ public class FulfillmentServiceImpl implements FulfillmentService {
             throw new FulfillmentException("Cannot complete picking as some picking tasks are not completed");
         }
         
-        // Update order status and timestamp
-        order.setStatus(FulfillmentStatus.PICKING_COMPLETE);
-        order.setPickingCompletedAt(LocalDateTime.now());
-        
         // Update items status
-        for (FulfillmentOrderItem item : order.getOrderItems()) {
-            item.setStatus(ItemFulfillmentStatus.PICKED);
-        }
-        
-        // Save changes
-        FulfillmentOrder savedOrder = fulfillmentOrderRepository.save(order);
+        transitionRepository.updateItemStatus(id.toString(), ItemFulfillmentStatus.PICKED);
         
-        return orderMapper.toDTO(savedOrder);
+        return orderMapper.toDTO(getFulfillmentOrderDetail(id));
     }
     
     @Override
     public List<PackingTaskDTO> startPacking(UUID id) {
         log.debug("Starting packing for fulfillment order with id: {}", id);
         
-        FulfillmentOrder order = getFulfillmentOrderEntity(id);
-        
-        // Validate status
-        if (order.getStatus() != FulfillmentStatus.PICKING_COMPLETE) {
-            throw new FulfillmentException("Fulfillment order must be in PICKING_COMPLETE status to start packing");
-        }
-        
-        // Update status and timestamp
-        order.setStatus(FulfillmentStatus.PACKING);
-        order.setPackingStartedAt(LocalDateTime.now());
-        
-        // Save changes
-        FulfillmentOrder savedOrder = fulfillmentOrderRepository.save(order);
+        // Move to PACKING with a single conditional update
+        transitionEngine.apply(id, FulfillmentTransition.START_PACKING);
+        FulfillmentOrder order = getFulfillmentOrderDetail(id);
         
         // Create packing tasks
-        List<PackingTask> packingTasks = createPackingTasks(savedOrder);
+        List<PackingTask> packingTasks = createPackingTasks(order);
         
         // Convert to DTOs
         return packingTasks.stream()
@@ -447,29 +493,71 @@ public class FulfillmentServiceImpl implements FulfillmentService {
     private List<PackingTask> createPackingTasks(FulfillmentOrder order) {
         List<PackingTask> tasks = new ArrayList<>();
         
-        // Create a packing task for the order
-        // For simplicity, we'll create one task per order
+        // Create a packing task for the order at the station with the shortest expected wait
+        Map<String, SkuPickLocation> locations = getPickLocations(order);
+        Set<String> handlingClasses = getHandlingClasses(locations.values());
+        
+        // Recommend cartons when the dimensions of every SKU are known
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (FulfillmentOrderItem item : order.getOrderItems()) {
+            if (item.getQuantity() != null && item.getQuantity() > 0) {
+                quantities.merge(item.getSku(), item.getQuantity(), Integer::sum);
+            }
+        }
+        Optional<CartonizationEngine.CartonizationPlan> cartons = cartonizationEngine.recommend(quantities, locations);
+        String instruction = "Pack all items for order " + order.getOrderReference();
+        
         PackingTask task = PackingTask.builder()
-                .fulfillmentOrderId(stringToUuid(order.getId().toString()))
+                .fulfillmentOrderId(EntityIds.toUuid(order.getId().toString()))
                 .status(TaskStatus.PENDING)
                 .priority(order.getPriority() != null ? order.getPriority().ordinal() : 1)
-                .packingStation("Pack-01") // This would be dynamically assigned in a real system
-                .instruction("Pack all items for order " + order.getOrderReference())
+                .packingStation(packingStationScheduler.assign(handlingClasses))
+                .instruction(cartons.map(plan -> instruction + "\n" + plan.describe()).orElse(instruction))
+                .packagingType(cartons.map(CartonizationEngine.CartonizationPlan::summary).orElse(null))
+                .specialHandlingRequired(!handlingClasses.isEmpty())
+                .specialHandlingInstructions(handlingClasses.isEmpty() ? null : String.join(", ", handlingClasses))
                 .dueBy(LocalDateTime.now().plusHours(2)) // Set due time to 2 hours from now
                 .build();
         
         PackingTask savedTask = packingTaskRepository.save(task);
+        deadlineScheduler.schedule(DeadlineScheduler.DeadlineType.PACKING_TASK, savedTask.getId(), savedTask.getDueBy());
+        TransactionCallbacks.afterCommit(() -> taskAssignmentEngine.enqueue(TaskAssignmentEngine.TaskKind.PACKING,
+                savedTask.getId(), savedTask.getPackingStation(), null, savedTask.getPriority(), savedTask.getDueBy()));
         tasks.add(savedTask);
         
         return tasks;
     }
     
+    /**
+     * Helper method to load the pick locations of the SKUs in an order, keyed by SKU
+     */
+    private Map<String, SkuPickLocation> getPickLocations(FulfillmentOrder order) {
+        if (order.getWarehouseId() == null || order.getOrderItems().isEmpty()) {
+            return Map.of();
+        }
+        Set<String> skus = order.getOrderItems().stream()
+                .map(FulfillmentOrderItem::getSku)
+                .collect(Collectors.toSet());
+        return skuPickLocationRepository.findByWarehouseIdAndSkuIn(order.getWarehouseId(), skus).stream()
+                .collect(Collectors.toMap(SkuPickLocation::getSku, location -> location, (a, b) -> a));
+    }
+    
+    /**
+     * Helper method to get the special handling classes of an order's pick locations
+     */
+    private Set<String> getHandlingClasses(Collection<SkuPickLocation> locations) {
+        return locations.stream()
+                .map(SkuPickLocation::getHandlingClass)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+    
     /**
      * Helper method to convert a PackingTask entity to DTO
      */
     private PackingTaskDTO convertToPackingTaskDTO(PackingTask task) {
         return PackingTaskDTO.builder()
-                .id(stringToUuid(task.getId().toString()))
+                .id(EntityIds.toUuid(task.getId().toString()))
                 .fulfillmentOrderId(task.getFulfillmentOrderId())
                 .assignedStaffId(task.getAssignedStaffId())
                 .status(task.getStatus())
@@ -496,12 +584,8 @@ public class FulfillmentServiceImpl implements FulfillmentService {
     public FulfillmentOrderDTO completePacking(UUID id) {
         log.debug("Completing packing for fulfillment order with id: {}", id);
         
-        FulfillmentOrder order = getFulfillmentOrderEntity(id);
-        
-        // Validate status
-        if (order.getStatus() != FulfillmentStatus.PACKING) {
-            throw new FulfillmentException("Fulfillment order must be in PACKING status to complete packing");
-        }
+        // Move to PACKING_COMPLETE; the update is rolled back if tasks are still open
+        transitionEngine.apply(id, FulfillmentTransition.COMPLETE_PACKING);
         
         // Verify all packing tasks are completed
         List<PackingTask> packingTasks = packingTaskRepository.findAllByFulfillmentOrderId(id);
@@ -512,44 +596,21 @@ public class FulfillmentServiceImpl implements FulfillmentService {
             throw new FulfillmentException("Cannot complete packing as some packing tasks are not completed");
         }
         
-        // Update order status and timestamp
-        order.setStatus(FulfillmentStatus.PACKING_COMPLETE);
-        order.setPackingCompletedAt(LocalDateTime.now());
-        
-        // Update items status
-        for (FulfillmentOrderItem item : order.getOrderItems()) {
-            item.setStatus(ItemFulfillmentStatus.PACKED);
-            
-            // Update packed quantity if not already set
-            if (item.getQuantityPacked() == null || item.getQuantityPacked() == 0) {
-                item.setQuantityPacked(item.getQuantity());
-            }
-        }
-        
-        // Save changes
-        FulfillmentOrder savedOrder = fulfillmentOrderRepository.save(order);
+        // Update items status and packed quantities
+        transitionRepository.markItemsPacked(id.toString());
         
-        return orderMapper.toDTO(savedOrder);
+        FulfillmentOrder order = getFulfillmentOrderDetail(id);
+        stageLatencyAggregator.onStatusChanged(order, FulfillmentStatus.PACKING_COMPLETE);
+        return orderMapper.toDTO(order);
     }
     
     @Override
     public FulfillmentOrderDTO readyToShip(UUID id) {
         log.debug("Marking fulfillment order as ready to ship with id: {}", id);
         
-        FulfillmentOrder order = getFulfillmentOrderEntity(id);
+        transitionEngine.apply(id, FulfillmentTransition.READY_TO_SHIP);
         
-        // Validate status
-        if (order.getStatus() != FulfillmentStatus.PACKING_COMPLETE) {
-            throw new FulfillmentException("Fulfillment order must be in PACKING_COMPLETE status to be ready to ship");
-        }
-        
-        // Update status
-        order.setStatus(FulfillmentStatus.READY_TO_SHIP);
-        
-        // Save changes
-        FulfillmentOrder savedOrder = fulfillmentOrderRepository.save(order);
-        
-        return orderMapper.toDTO(savedOrder);
+        return orderMapper.toDTO(getFulfillmentOrderDetail(id));
     }
     
     @Override
@@ -605,6 +666,8 @@ public class FulfillmentServiceImpl implements FulfillmentService {
         
         // Save order changes
         fulfillmentOrderRepository.save(order);
+        eventOutbox.statusChanged(id.toString(), FulfillmentStatus.SHIPPED);
+        stageLatencyAggregator.onStatusChanged(order, FulfillmentStatus.SHIPPED);
         
         // Convert and return the saved package as DTO
         return convertToShipmentPackageDTO(savedPackage);
@@ -615,7 +678,7 @@ public class FulfillmentServiceImpl implements FulfillmentService {
      */
     private ShipmentPackageDTO convertToShipmentPackageDTO(ShipmentPackage pkg) {
         return ShipmentPackageDTO.builder()
-                .id(stringToUuid(pkg.getId().toString()))
+                .id(EntityIds.toUuid(pkg.getId().toString()))
                 .fulfillmentOrderId(pkg.getFulfillmentOrderId())
                 .trackingNumber(pkg.getTrackingNumber())
                 .carrier(pkg.getCarrier())
@@ -641,49 +704,21 @@ public class FulfillmentServiceImpl implements FulfillmentService {
     public FulfillmentOrderDTO markAsDelivered(UUID id) {
         log.debug("Marking fulfillment order as delivered with id: {}", id);
         
-        FulfillmentOrder order = getFulfillmentOrderEntity(id);
-        
-        // Validate status
-        if (order.getStatus() != FulfillmentStatus.SHIPPED) {
-            throw new FulfillmentException("Fulfillment order must be in SHIPPED status to be marked as delivered");
-        }
-        
-        // Update status and timestamp
-        order.setStatus(FulfillmentStatus.DELIVERED);
-        order.setDeliveredAt(LocalDateTime.now());
-        
-        // Save changes
-        FulfillmentOrder savedOrder = fulfillmentOrderRepository.save(order);
+        transitionEngine.apply(id, FulfillmentTransition.DELIVER);
         
-        return orderMapper.toDTO(savedOrder);
+        return orderMapper.toDTO(getFulfillmentOrderDetail(id));
     }
     
     @Override
     public FulfillmentOrderDTO completeFulfillmentOrder(UUID id) {
         log.debug("Completing fulfillment order with id: {}", id);
         
-        FulfillmentOrder order = getFulfillmentOrderEntity(id);
-        
-        // Validate status
-        if (order.getStatus() != FulfillmentStatus.DELIVERED) {
-            throw new FulfillmentException("Fulfillment order must be in DELIVERED status to be completed");
-        }
-        
-        // Update status
-        order.setStatus(FulfillmentStatus.COMPLETED);
-        
-        // Update items status
-        for (FulfillmentOrderItem item : order.getOrderItems()) {
-            item.setStatus(ItemFulfillmentStatus.FULFILLED);
-            
-            // Ensure fulfilled quantity matches ordered quantity
-            item.setQuantityFulfilled(item.getQuantity());
-        }
+        transitionEngine.apply(id, FulfillmentTransition.COMPLETE);
         
-        // Save changes
-        FulfillmentOrder savedOrder = fulfillmentOrderRepository.save(order);
+        // Update items status and fulfilled quantities
+        transitionRepository.markItemsFulfilled(id.toString());
         
-        return orderMapper.toDTO(savedOrder);
+        return orderMapper.toDTO(getFulfillmentOrderDetail(id));
     }
     
     /**
@@ -831,6 +866,7 @@ public class FulfillmentServiceImpl implements FulfillmentService {
         
         // Save changes
         PickingTask savedTask = pickingTaskRepository.save(task);
+        recordAssignmentOnCommit(taskId, staffId, savedTask.getZone(), savedTask.getAisle());
         
         return convertToPickingTaskDTO(savedTask);
     }
@@ -880,6 +916,11 @@ public class FulfillmentServiceImpl implements FulfillmentService {
         
         // Save changes
         PickingTask savedTask = pickingTaskRepository.save(task);
+        deadlineScheduler.cancel(DeadlineScheduler.DeadlineType.PICKING_TASK, savedTask.getId());
+        UUID pickerId = savedTask.getAssignedStaffId();
+        String zone = savedTask.getZone();
+        String aisle = savedTask.getAisle();
+        TransactionCallbacks.afterCommit(() -> taskAssignmentEngine.onCompleted(pickerId, zone, aisle));
         
         // Update order items to reflect picking progress
         FulfillmentOrder order = getFulfillmentOrderEntity(task.getFulfillmentOrderId());
@@ -912,6 +953,7 @@ public class FulfillmentServiceImpl implements FulfillmentService {
         
         // Save changes
         PackingTask savedTask = packingTaskRepository.save(task);
+        recordAssignmentOnCommit(taskId, staffId, savedTask.getPackingStation(), null);
         
         return convertToPackingTaskDTO(savedTask);
     }
@@ -960,192 +1002,203 @@ public class FulfillmentServiceImpl implements FulfillmentService {
         
         // Save changes
         PackingTask savedTask = packingTaskRepository.save(task);
+        deadlineScheduler.cancel(DeadlineScheduler.DeadlineType.PACKING_TASK, savedTask.getId());
+        UUID packerId = savedTask.getAssignedStaffId();
+        String station = savedTask.getPackingStation();
+        TransactionCallbacks.afterCommit(() -> taskAssignmentEngine.onCompleted(packerId, station, null));
+        
+        // Release the station slot and feed its observed packing time back to the scheduler
+        packingStationScheduler.onTaskCompleted(savedTask.getPackingStation(),
+                savedTask.getStartedAt(), savedTask.getCompletedAt());
         
         return convertToPackingTaskDTO(savedTask);
     }
     
     @Override
+    public Optional<PickingTaskDTO> claimNextPickingTask(UUID staffId) {
+        log.debug("Claiming next picking task for staff: {}", staffId);
+        
+        // Walk the ranked candidates; a task taken or locked by another node is dropped from the
+        // queues and the scan moves past it
+        return taskAssignmentEngine.claimNext(TaskAssignmentEngine.TaskKind.PICKING, staffId,
+                taskId -> taskClaimRepository.lockUnassignedPickingTask(taskId).map(task -> {
+                    task.setAssignedStaffId(staffId);
+                    recordAssignmentOnCommit(taskId, staffId, task.getZone(), task.getAisle());
+                    return convertToPickingTaskDTO(task);
+                }));
+    }
+    
+    @Override
+    public Optional<PackingTaskDTO> claimNextPackingTask(UUID staffId) {
+        log.debug("Claiming next packing task for staff: {}", staffId);
+        
+        return taskAssignmentEngine.claimNext(TaskAssignmentEngine.TaskKind.PACKING, staffId,
+                taskId -> taskClaimRepository.lockUnassignedPackingTask(taskId).map(task -> {
+                    task.setAssignedStaffId(staffId);
+                    recordAssignmentOnCommit(taskId, staffId, task.getPackingStation(), null);
+                    return convertToPackingTaskDTO(task);
+                }));
+    }
+    
+    /**
+     * Take an assigned task off the queue and count it against the staff member once the
+     * assignment commits, so a rolled-back claim leaves the task queued and the load unchanged
+     */
+    private void recordAssignmentOnCommit(UUID taskId, UUID staffId, String area, String aisle) {
+        TransactionCallbacks.afterCommit(() -> {
+            taskAssignmentEngine.dequeue(taskId);
+            taskAssignmentEngine.onAssigned(staffId, area, aisle);
+        });
+    }
+    
+    @Override
+    public void updateStaffLocation(UUID staffId, String area, String aisle) {
+        taskAssignmentEngine.updateLocation(staffId, area, aisle);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String generateShippingLabel(UUID fulfillmentOrderId) {
         log.debug("Generating shipping label for fulfillment order with id: {}", fulfillmentOrderId);
         
-        FulfillmentOrder order = getFulfillmentOrderEntity(fulfillmentOrderId);
-        
-        // Validate status
-        if (order.getStatus() != FulfillmentStatus.PACKING_COMPLETE && 
-            order.getStatus() != FulfillmentStatus.READY_TO_SHIP) {
-            throw new FulfillmentException(
-                "Fulfillment order must be in PACKING_COMPLETE or READY_TO_SHIP status to generate shipping label");
-        }
-        
-        // Get or create the shipment package
-        List<ShipmentPackage> shipments = shipmentPackageRepository.findByFulfillmentOrderId(fulfillmentOrderId);
-        if (shipments.isEmpty()) {
-            throw new ResourceNotFoundException("ShipmentPackage", "fulfillmentOrderId", fulfillmentOrderId.toString());
-        }
-        ShipmentPackage shipment = shipments.get(0); // Get the first/only shipment package
-        
-        // Integration with shipping carrier API to generate the label
-        try {
-            String carrier = shipment.getCarrier().toLowerCase();
-            String labelUrl;
-            String trackingNumber;
+        // Carriers are called between two short transactions, so a slow carrier holds no connection
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        LabelJob job = transactionTemplate.execute(status -> {
+            FulfillmentOrder order = getFulfillmentOrderEntity(fulfillmentOrderId);
             
-            // For development purposes, we'll create a mock implementation
-            // In a real implementation, this would be based on environment profiles
-            // but using a simple boolean flag for now
-            boolean isDevelopment = true; // In production, this would be determined by environment
+            // Validate status
+            if (order.getStatus() != FulfillmentStatus.PACKING_COMPLETE && 
+                order.getStatus() != FulfillmentStatus.READY_TO_SHIP) {
+                throw new FulfillmentException(
+                    "Fulfillment order must be in PACKING_COMPLETE or READY_TO_SHIP status to generate shipping label");
+            }
             
-            if (isDevelopment) {
-                // Create mock tracking number if not already set
-                if (shipment.getTrackingNumber() == null) {
-                    trackingNumber = carrier.toUpperCase().substring(0, 3) + "-" + 
-                            UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-                    shipment.setTrackingNumber(trackingNumber);
-                }
-                
-                // Create mock label URL
-                labelUrl = "https://shipping-labels.example.com/" + carrier + "/" + shipment.getId() + ".pdf";
-            } else {
-                // In production, we would integrate with the actual shipping carrier APIs
-                switch (carrier) {
-                    case "fedex":
-                        // FedEx API integration would go here
-                        labelUrl = "https://shipping-labels.prod.example.com/fedex/" + shipment.getId() + ".pdf";
-                        trackingNumber = "FDX" + System.currentTimeMillis();
-                        break;
-                    case "ups":
-                        // UPS API integration would go here
-                        labelUrl = "https://shipping-labels.prod.example.com/ups/" + shipment.getId() + ".pdf";
-                        trackingNumber = "1Z" + System.currentTimeMillis();
-                        break;
-                    case "usps":
-                        // USPS API integration would go here
-                        labelUrl = "https://shipping-labels.prod.example.com/usps/" + shipment.getId() + ".pdf";
-                        trackingNumber = "9400" + System.currentTimeMillis();
-                        break;
-                    case "dhl":
-                        // DHL API integration would go here
-                        labelUrl = "https://shipping-labels.prod.example.com/dhl/" + shipment.getId() + ".pdf";
-                        trackingNumber = "DHL" + System.currentTimeMillis();
-                        break;
-                    default:
-                        // Generic shipping label
-                        labelUrl = "https://shipping-labels.prod.example.com/generic/" + shipment.getId() + ".pdf";
-                        trackingNumber = "GEN" + System.currentTimeMillis();
-                }
-                
-                if (shipment.getTrackingNumber() == null) {
-                    shipment.setTrackingNumber(trackingNumber);
-                }
+            // Get or create the shipment package
+            List<ShipmentPackage> shipments = shipmentPackageRepository.findByFulfillmentOrderId(fulfillmentOrderId);
+            if (shipments.isEmpty()) {
+                throw new ResourceNotFoundException("ShipmentPackage", "fulfillmentOrderId", fulfillmentOrderId.toString());
             }
+            ShipmentPackage shipment = shipments.get(0); // Get the first/only shipment package
             
-            // Update the shipment with the label URL
-            shipment.setShippingLabelUrl(labelUrl);
-            shipmentPackageRepository.save(shipment);
+            // Ship with the cheapest carrier unless a label was already bought with the preset one
+            RateRequest rateRequest = null;
+            if (shipment.getTrackingNumber() == null && shipment.getWeight() != null) {
+                FulfillmentOrderDestination destination = orderDestinationRepository.findById(order.getId().toString())
+                        .orElse(null);
+                rateRequest = new RateRequest(order.getWarehouseId(),
+                        destination != null ? destination.getCountryCode() : null,
+                        destination != null ? destination.getPostalCode() : null,
+                        shipment.getWeight(), shipment.getServiceLevel());
+            }
+            return new LabelJob(shipment, rateRequest);
+        });
+        
+        ShipmentPackage shipment = job.shipment();
+        if (job.rateRequest() != null) {
+            carrierRateShopper.findCheapest(job.rateRequest()).ifPresent(quote -> {
+                log.debug("Shipping fulfillment order {} with {} at {} {} (preset carrier: {})",
+                        fulfillmentOrderId, quote.carrier(), quote.amount(), quote.currency(), shipment.getCarrier());
+                shipment.setCarrier(quote.carrier());
+                shipment.setShippingCost(quote.amount());
+                shipment.setCurrency(quote.currency());
+            });
+        }
         
-        return labelUrl;
+        // Generate the label through the carrier's adapter as a single-request batch
+        CarrierLabelAdapter adapter = labelAdapterRegistry.adapterFor(shipment.getCarrier());
+        LabelRequest request = new LabelRequest(shipment.getId().toString(), shipment.getId().toString(),
+                shipment.getCarrier(), shipment.getServiceLevel(), shipment.getTrackingNumber());
+        LabelResult result;
+        try {
+            result = adapter.createLabels(List.of(request)).get(0);
         } catch (Exception e) {
             log.error("Error generating shipping label: {}", e.getMessage(), e);
             throw new FulfillmentException("Error generating shipping label: " + e.getMessage());
         }
+        if (!result.isSuccess()) {
+            throw new FulfillmentException("Error generating shipping label: " + result.error());
+        }
+
+        if (shipment.getTrackingNumber() == null) {
+            shipment.setTrackingNumber(result.trackingNumber());
+        }
+        shipment.setShippingLabelUrl(result.labelUrl());
+        transactionTemplate.executeWithoutResult(status -> shipmentPackageRepository.save(shipment));
+
+        return result.labelUrl();
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String trackShipment(String trackingNumber) {
         log.debug("Tracking shipment with tracking number: {}", trackingNumber);
         
-        // TODO: Implement integration with shipping carrier API to get real tracking information
-        // This is a mock implementation
-        return "{\n" +
-               "  \"carrier\": \"MOCK\",\n" +
-               "  \"trackingNumber\": \"" + trackingNumber + "\",\n" +
-               "  \"status\": \"In Transit\",\n" +
-               "  \"estimatedDelivery\": \"" + LocalDateTime.now().plusDays(2).toLocalDate() + "\",\n" +
-               "  \"events\": [\n" +
-               "    {\n" +
-               "      \"timestamp\": \"" + LocalDateTime.now().minusDays(1) + "\",\n" +
-               "      \"location\": \"Sorting Facility\",\n" +
-               "      \"description\": \"Package processed\"\n" +
-               "    },\n" +
-               "    {\n" +
-               "      \"timestamp\": \"" + LocalDateTime.now().minusHours(12) + "\",\n" +
-               "      \"location\": \"Distribution Center\",\n" +
-               "      \"description\": \"Package in transit\"\n" +
-               "    },\n" +
-               "    {\n" +
-               "      \"timestamp\": \"" + LocalDateTime.now().minusHours(2) + "\",\n" +
-               "      \"location\": \"Local Facility\",\n" +
-               "      \"description\": \"Out for delivery\"\n" +
-               "    }\n" +
-               "  ]\n" +
-               "}";
+        return shipmentTrackingCache.lookup(trackingNumber)
+                .map(TrackingInfo::payload)
+                .orElseThrow(() -> new ResourceNotFoundException("Shipment", "trackingNumber", trackingNumber));
     }
     
     @Override
     public int checkActiveOrdersForItem(String sku, UUID warehouseId) {
         log.info("Checking active orders for item with SKU: {} in warehouse: {}", sku, warehouseId);
+        return checkActiveOrdersForItems(Set.of(sku), warehouseId);
+    }
+    
+    @Override
+    public int checkActiveOrdersForItems(Set<String> skus, UUID warehouseId) {
+        log.info("Checking active orders for {} SKUs in warehouse: {}", skus.size(), warehouseId);
         
-        // Get all active orders in the warehouse that contain the SKU
-        Long warehouseIdLong = uuidToLong(warehouseId);
-        List<FulfillmentOrder> activeOrders = fulfillmentOrderRepository.findActiveOrdersWithSku(warehouseIdLong, sku);
+        // Only allocated orders hold inventory that can become insufficient
+        List<FulfillmentStatus> allocated = List.of(FulfillmentStatus.ALLOCATED);
+        List<InventoryAllocationRepository.OrderSkuDemand> demand = inventoryAllocationRepository
+                .findOpenDemandBySku(uuidToLong(warehouseId), new ArrayList<>(new TreeSet<>(skus)), allocated);
         
-        if (activeOrders.isEmpty()) {
-            log.debug("No active orders found for SKU: {} in warehouse: {}", sku, warehouseId);
+        if (demand.isEmpty()) {
+            log.debug("No active orders found for {} SKUs in warehouse: {}", skus.size(), warehouseId);
             return 0;
         }
         
-        int ordersAffected = 0;
-        
-        for (FulfillmentOrder order : activeOrders) {
-            // Skip orders not in a status that would be affected by inventory changes
-            if (!isStatusAffectedByInventory(order.getStatus())) {
+        // Evaluate availability in memory; lines arrive grouped by order, so an order
+        // is decided on its first SKU that is short
+        Map<UUID, List<String>> reassignments = new LinkedHashMap<>();
+        List<String> backorders = new ArrayList<>();
+        String lastOrderId = null;
+        for (InventoryAllocationRepository.OrderSkuDemand line : demand) {
+            if (line.orderId().equals(lastOrderId)
+                    || checkItemInventoryAvailability(line.sku(), warehouseId, (int) line.openQuantity())) {
                 continue;
             }
+            lastOrderId = line.orderId();
+            log.warn("Inventory no longer sufficient for allocated order: {} (SKU: {})", line.orderId(), line.sku());
             
-            // Get current inventory levels for this item
-            boolean inventoryAvailable = checkItemInventoryAvailability(sku, warehouseId, 
-                    getOrderQuantityForSku(order, sku));
-            
-            if (!inventoryAvailable && order.getStatus() == FulfillmentStatus.ALLOCATED) {
-                // If we're allocated but inventory is now insufficient, we need to take action
-                log.warn("Inventory no longer sufficient for allocated order: {} (SKU: {})", 
-                        order.getId(), sku);
-                
-                // Try to find an alternative warehouse with sufficient inventory
-                UUID alternateWarehouse = findAlternateWarehouseForSku(sku, 
-                        getOrderQuantityForSku(order, sku), warehouseId);
-                
-                if (alternateWarehouse != null) {
-                    log.info("Reassigning order: {} from warehouse: {} to warehouse: {}", 
-                            order.getId(), warehouseId, alternateWarehouse);
-                    
-                    // Update the warehouse assignment
-                    order.setAssignedWarehouseId(alternateWarehouse);
-                    order.setReassignedAt(LocalDateTime.now());
-                    order.setReassignmentReason("Inventory no longer available in original warehouse");
-                    fulfillmentOrderRepository.save(order);
-                    
-                    // Re-allocate inventory in the new warehouse
-                    // In a real implementation, this would release inventory in the old warehouse
-                    // and allocate in the new one
-                    
-                    ordersAffected++;
-                } else {
-                    // No alternate warehouse available, mark the order as backordered
-                    log.warn("No alternate warehouse available for order: {} (SKU: {}). Marking as BACKORDERED.", 
-                            order.getId(), sku);
-                    
-                    order.setStatus(FulfillmentStatus.BACKORDERED);
-                    order.setBackorderedAt(LocalDateTime.now());
-                    order.setBackorderReason("Inventory no longer available");
-                    fulfillmentOrderRepository.save(order);
-                    
-                    ordersAffected++;
-                }
+            // Try to find an alternative warehouse with sufficient inventory
+            Optional<UUID> alternateWarehouse = warehouseSelector.selectForSku(
+                    line.sku(), (int) line.openQuantity(), line.region(), warehouseId);
+            if (alternateWarehouse.isPresent()) {
+                reassignments.computeIfAbsent(alternateWarehouse.get(), k -> new ArrayList<>()).add(line.orderId());
+            } else {
+                backorders.add(line.orderId());
             }
         }
         
-        log.info("Completed checking active orders for SKU: {}. Orders affected: {}", sku, ordersAffected);
+        // Apply reassignments and backorders in bulk, one statement per target warehouse
+        LocalDateTime now = LocalDateTime.now();
+        int ordersAffected = 0;
+        for (Map.Entry<UUID, List<String>> reassignment : reassignments.entrySet()) {
+            log.info("Reassigning {} orders from warehouse: {} to warehouse: {}", 
+                    reassignment.getValue().size(), warehouseId, reassignment.getKey());
+            ordersAffected += inventoryAllocationRepository.markReassigned(reassignment.getValue(),
+                    reassignment.getKey(), allocated, "Inventory no longer available in original warehouse", now);
+        }
+        if (!backorders.isEmpty()) {
+            log.warn("No alternate warehouse available for {} orders. Marking as BACKORDERED.", backorders.size());
+            String reason = "Inventory no longer available";
+            List<String> backordered = inventoryAllocationRepository.markBackordered(backorders, allocated, reason, now);
+            eventOutbox.statusChanged(backordered, FulfillmentStatus.BACKORDERED, reason);
+            ordersAffected += backordered.size();
+        }
+        
+        log.info("Completed checking active orders for {} SKUs. Orders affected: {}", skus.size(), ordersAffected);
         return ordersAffected;
     }
     
@@ -1153,195 +1206,47 @@ public class FulfillmentServiceImpl implements FulfillmentService {
     public void handleLowStockAlert(String sku, UUID warehouseId) {
         log.info("Handling low stock alert for SKU: {} in warehouse: {}", sku, warehouseId);
         
-        // 1. Get all pending orders that contain this SKU
-        List<FulfillmentOrder> pendingOrders = fulfillmentOrderRepository.findPendingOrdersWithSku(sku);
+        // Get current available inventory
+        Integer availableInventory = getAvailableInventory(sku, warehouseId);
         
-        if (pendingOrders.isEmpty()) {
-            log.debug("No pending orders found for low stock SKU: {}", sku);
+        if (availableInventory == null) {
+            log.warn("No availability known yet for SKU: {} in warehouse: {}, skipping allocation", sku, warehouseId);
             return;
         }
         
-        // 2. Sort orders by priority (based on order date, customer tier, etc.)
-        pendingOrders.sort(this::compareOrderPriority);
-        
-        // 3. Get current available inventory
-        Integer availableInventory = getAvailableInventory(sku, warehouseId);
-        
-        if (availableInventory == null || availableInventory <= 0) {
+        if (availableInventory <= 0) {
             log.warn("No inventory available for SKU: {} in warehouse: {}", sku, warehouseId);
-            // Mark all pending orders as backordered
-            for (FulfillmentOrder order : pendingOrders) {
-                order.setStatus(FulfillmentStatus.BACKORDERED);
-                order.setBackorderedAt(LocalDateTime.now());
-                order.setBackorderReason("Insufficient inventory");
-                fulfillmentOrderRepository.save(order);
-            }
-            return;
         }
         
-        // 4. Allocate remaining inventory to highest priority orders
-        int remainingInventory = availableInventory;
+        // Allocate the remaining inventory to the highest priority pending orders;
+        // orders that cannot be served are backordered
+        InventoryAllocationEngine.AllocationResult result = inventoryAllocationEngine.allocate(sku, availableInventory);
         
-        for (FulfillmentOrder order : pendingOrders) {
-            int orderQuantity = getOrderQuantityForSku(order, sku);
-            
-            if (remainingInventory >= orderQuantity) {
-                // We have enough inventory for this order
-                remainingInventory -= orderQuantity;
-                
-                // If order is in RECEIVED status, move it to PROCESSING
-                if (order.getStatus() == FulfillmentStatus.RECEIVED) {
-                    order.setStatus(FulfillmentStatus.PROCESSING);
-                    order.setProcessingStartedAt(LocalDateTime.now());
-                    fulfillmentOrderRepository.save(order);
-                }
-            } else {
-                // Not enough inventory for this order
-                order.setStatus(FulfillmentStatus.BACKORDERED);
-                order.setBackorderedAt(LocalDateTime.now());
-                order.setBackorderReason("Insufficient inventory due to low stock");
-                fulfillmentOrderRepository.save(order);
-            }
-            
-            if (remainingInventory <= 0) {
-                break;
-            }
+        if (result.ordersConsidered() == 0) {
+            log.debug("No pending orders found for low stock SKU: {}", sku);
+            return;
         }
         
-        log.info("Completed handling low stock alert for SKU: {}. Remaining inventory: {}", 
-                sku, remainingInventory);
+        log.info("Completed handling low stock alert for SKU: {}. Processing: {}, backordered: {}, remaining inventory: {}", 
+                sku, result.ordersProcessing(), result.ordersBackordered(), result.remainingInventory());
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public int reassignOrdersFromWarehouse(UUID warehouseId) {
         log.info("Reassigning orders from warehouse: {}", warehouseId);
         
-        // Find all orders assigned to the warehouse that haven't been shipped yet
-        Long warehouseIdLong = uuidToLong(warehouseId);
-        List<FulfillmentOrder> ordersToReassign = fulfillmentOrderRepository
-                .findByAssignedWarehouseIdAndStatusIn(
-                        warehouseIdLong, 
-                        Arrays.asList(
-                                FulfillmentStatus.RECEIVED,
-                                FulfillmentStatus.PROCESSING,
-                                FulfillmentStatus.ALLOCATED,
-                                FulfillmentStatus.PICKING,
-                                FulfillmentStatus.PICKING_COMPLETE,
-                                FulfillmentStatus.PACKING,
-                                FulfillmentStatus.PACKING_COMPLETE,
-                                FulfillmentStatus.READY_TO_SHIP
-                        )
-                );
-        
-        if (ordersToReassign.isEmpty()) {
-            log.info("No orders to reassign from warehouse: {}", warehouseId);
-            return 0;
-        }
-        
-        int reassignedCount = 0;
-        
-        for (FulfillmentOrder order : ordersToReassign) {
-            // Find the best alternate warehouse for this order
-            UUID alternateWarehouse = findBestAlternateWarehouse(order, warehouseId);
-            
-            if (alternateWarehouse != null) {
-                // We found an alternate warehouse
-                log.info("Reassigning order: {} from warehouse: {} to warehouse: {}", 
-                        order.getId(), warehouseId, alternateWarehouse);
-                
-                // Update the warehouse assignment
-                order.setAssignedWarehouseId(alternateWarehouse);
-                order.setReassignedAt(LocalDateTime.now());
-                order.setReassignmentReason("Original warehouse unavailable");
-                
-                // Reset status based on current status
-                if (order.getStatus().ordinal() > FulfillmentStatus.PROCESSING.ordinal()) {
-                    // If we were already past PROCESSING, go back to PROCESSING
-                    order.setStatus(FulfillmentStatus.PROCESSING);
-                    order.setProcessingStartedAt(LocalDateTime.now());
-                }
-                
-                fulfillmentOrderRepository.save(order);
-                reassignedCount++;
-            } else {
-                // No alternate warehouse available
-                log.warn("No alternate warehouse available for order: {}. Marking as ON_HOLD.", 
-                        order.getId());
-                
-                order.setStatus(FulfillmentStatus.ON_HOLD);
-                order.setHoldStartedAt(LocalDateTime.now());
-                order.setHoldReason("Original warehouse unavailable and no alternate found");
-                fulfillmentOrderRepository.save(order);
-            }
-        }
+        // Orders are streamed in chunks and moved with bulk updates, one transaction per chunk
+        WarehouseReassignmentPipeline.ReassignmentResult result = reassignmentPipeline.reassignAll(warehouseId);
         
         log.info("Completed reassigning orders from warehouse: {}. Orders reassigned: {}", 
-                warehouseId, reassignedCount);
+                warehouseId, result.reassigned());
         
-        return reassignedCount;
+        return result.reassigned();
     }
     
     // Helper methods
     
-    /**
-     * Check if a fulfillment status is affected by inventory changes
-     */
-    private boolean isStatusAffectedByInventory(FulfillmentStatus status) {
-        return status == FulfillmentStatus.RECEIVED ||
-               status == FulfillmentStatus.PROCESSING ||
-               status == FulfillmentStatus.ALLOCATED;
-    }
-    
-    /**
-     * Get the order quantity for a specific SKU in an order
-     */
-    private int getOrderQuantityForSku(FulfillmentOrder order, String sku) {
-        return order.getItems().stream()
-                .filter(item -> item.getSku().equals(sku))
-                .mapToInt(item -> item.getQuantity() - item.getQuantityFulfilled())
-                .sum();
-    }
-    
-    /**
-     * Find an alternate warehouse for a specific SKU
-     */
-    private UUID findAlternateWarehouseForSku(String sku, int quantity, UUID currentWarehouseId) {
-        // In a real implementation, this would query the Inventory Service
-        // to find warehouses with sufficient inventory
-        
-        // Mock implementation for development
-        // In production, this should be replaced with actual inventory service calls
-        return UUID.randomUUID(); // Simulate finding an alternate warehouse
-    }
-    
-    /**
-     * Compare order priority for sorting
-     * Higher priority orders should come first
-     */
-    private int compareOrderPriority(FulfillmentOrder o1, FulfillmentOrder o2) {
-        // In a real implementation, this would consider multiple factors:
-        // - Customer tier (premium, standard)
-        // - Order date (older orders first)
-        // - Order value (higher value first)
-        // - Shipping method (express before standard)
-        
-        // For this implementation, we'll just use the order date
-        return o1.getCreatedAt().compareTo(o2.getCreatedAt());
-    }
-    
-    /**
-     * Find the best alternate warehouse for an order
-     */
-    private UUID findBestAlternateWarehouse(FulfillmentOrder order, UUID currentWarehouseId) {
-        // In a real implementation, this would:
-        // 1. Find warehouses with sufficient inventory for all items
-        // 2. Choose the warehouse closest to the delivery address
-        // 3. Consider warehouse capacity and current workload
-        
-        // Mock implementation for development
-        return UUID.randomUUID(); // Simulate finding an alternate warehouse
-    }
-    
     /**
      * Check if sufficient inventory is available for a specific SKU in a warehouse
      * 
@@ -1351,28 +1256,31 @@ public class FulfillmentServiceImpl implements FulfillmentService {
      * @return true if sufficient inventory is available, false otherwise
      */
     private boolean checkItemInventoryAvailability(String sku, UUID warehouseId, int quantity) {
-        int available = getAvailableInventory(sku, warehouseId);
-        return available >= quantity;
+        Integer available = getAvailableInventory(sku, warehouseId);
+        // Without availability data there is no evidence of a shortage
+        return available == null || available >= quantity;
     }
     
     /**
-     * Get available inventory for a SKU in a warehouse
+     * Get available inventory for a SKU in a warehouse from the local availability view
      *
      * @param sku the SKU to check
      * @param warehouseId the warehouse ID
-     * @return the available quantity
+     * @return the available quantity, or null if no availability has been received yet
      */
-    private int getAvailableInventory(String sku, UUID warehouseId) {
-        // In a real implementation, this would call the inventory service
-        // For this demo, we'll simulate inventory availability
-        return 100;  // Simulate having 100 units available
+    private Integer getAvailableInventory(String sku, UUID warehouseId) {
+        if (warehouseId == null) {
+            return null;
+        }
+        OptionalInt available = inventoryAvailabilityView.getAvailable(warehouseId, sku);
+        return available.isPresent() ? available.getAsInt() : null;
     }
     
     /**
      * Convert UUID to Long for entity ID mapping
      */
     private Long uuidToLong(UUID uuid) {
-        return uuid != null ? uuid.getMostSignificantBits() & Long.MAX_VALUE : null;
+        return uuid != null ? EntityIds.toLongKey(uuid) : null;
     }
     
     /**
@@ -1391,6 +1299,14 @@ public class FulfillmentServiceImpl implements FulfillmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("FulfillmentOrder", "id", id));
     }
 
+    /**
+     * Load an order with its items in one query, after it has been updated in bulk
+     */
+    private FulfillmentOrder getFulfillmentOrderDetail(UUID id) {
+        return fulfillmentOrderReadRepository.findDetailById(id.toString())
+                .orElseThrow(() -> new ResourceNotFoundException("FulfillmentOrder", "id", id));
+    }
+
     @Override
     public void updateFulfillmentStatus(String fulfillmentId, String status) {
         log.debug("Updating fulfillment status - ID: {}, Status: {}", fulfillmentId, status);
@@ -1404,6 +1320,7 @@ public class FulfillmentServiceImpl implements FulfillmentService {
             // Note: FulfillmentOrder entity doesn't have setLastUpdated method
             
             fulfillmentOrderRepository.save(order);
+            eventOutbox.statusChanged(fulfillmentId, newStatus);
             log.info("Successfully updated fulfillment status - ID: {}, Status: {}", fulfillmentId, status);
         } catch (IllegalArgumentException e) {
             log.error("Invalid fulfillment status: {}", status);
@@ -1411,6 +1328,13 @@ public class FulfillmentServiceImpl implements FulfillmentService {
         }
     }
 
+    /**
+     * Shipment package loaded for label generation, with the rate request to shop for
+     * its carrier, or null if the carrier is already fixed
+     */
+    private record LabelJob(ShipmentPackage shipment, RateRequest rateRequest) {
+    }
+
     @Override
     public FulfillmentResult processFulfillment(FulfillmentRequest request) {
         log.debug("Processing fulfillment request: {}", request);
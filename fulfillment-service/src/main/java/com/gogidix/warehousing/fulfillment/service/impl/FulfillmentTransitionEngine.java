@@ -0,0 +1,104 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentTransition;
+import com.gogidix.warehousing.fulfillment.exception.FulfillmentException;
+import com.gogidix.warehousing.fulfillment.exception.ResourceNotFoundException;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentTransitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Moves fulfillment orders through the workflow defined by
+ * {@link FulfillmentTransition}. A transition is a single conditional update;
+ * only when it matches no row is the order's status read to tell a missing order
+ * from a conflicting one. Applied transitions are recorded in the outbox in the
+ * caller's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FulfillmentTransitionEngine {
+
+    private final FulfillmentTransitionRepository transitionRepository;
+    private final FulfillmentEventOutbox eventOutbox;
+
+    /**
+     * Apply a transition, failing if the order is missing or in another status
+     *
+     * @param id the fulfillment order ID
+     * @param transition the transition
+     * @throws ResourceNotFoundException if the order does not exist
+     * @throws FulfillmentException if the order's status does not allow the transition
+     */
+    public void apply(UUID id, FulfillmentTransition transition) {
+        TransitionOutcome outcome = tryApply(id, transition);
+        if (outcome.applied()) {
+            return;
+        }
+        if (outcome.currentStatus() == null) {
+            throw new ResourceNotFoundException("FulfillmentOrder", "id", id);
+        }
+        throw new FulfillmentException(transition.describeConflict());
+    }
+
+    /**
+     * Apply a transition if the order's status allows it
+     *
+     * @param id the fulfillment order ID
+     * @param transition the transition
+     * @return whether the transition was applied and, if not, the order's current status
+     */
+    public TransitionOutcome tryApply(UUID id, FulfillmentTransition transition) {
+        String orderId = id.toString();
+        if (transitionRepository.apply(orderId, transition, LocalDateTime.now())) {
+            eventOutbox.statusChanged(orderId, transition.getTo());
+            return new TransitionOutcome(true, transition.getTo());
+        }
+        FulfillmentStatus current = transitionRepository.findStatus(orderId).orElse(null);
+        log.debug("Transition {} of fulfillment order {} rejected in status {}", transition, id, current);
+        return new TransitionOutcome(false, current);
+    }
+
+    /**
+     * Apply a transition to every order of a set whose status allows it; orders in
+     * another status are left alone
+     *
+     * @param ids the fulfillment order IDs
+     * @param transition the transition
+     * @return the IDs of the orders moved
+     */
+    public List<String> tryApplyAll(Collection<UUID> ids, FulfillmentTransition transition) {
+        List<String> moved = transitionRepository.applyAll(
+                ids.stream().map(UUID::toString).collect(Collectors.toList()), transition, LocalDateTime.now());
+        eventOutbox.statusChanged(moved, transition.getTo(), null);
+        log.debug("Transition {} applied to {} of {} fulfillment orders", transition, moved.size(), ids.size());
+        return moved;
+    }
+
+    /**
+     * Read the current status of an order
+     *
+     * @param id the fulfillment order ID
+     * @return the status, or null if the order does not exist
+     */
+    public FulfillmentStatus currentStatus(UUID id) {
+        return transitionRepository.findStatus(id.toString()).orElse(null);
+    }
+
+    /**
+     * Result of a transition attempt
+     *
+     * @param applied whether the order was moved
+     * @param currentStatus the order's status afterwards, or null if the order does not exist
+     */
+    public record TransitionOutcome(boolean applied, FulfillmentStatus currentStatus) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.repository.InventoryAllocationRepository;
+import com.gogidix.warehousing.fulfillment.repository.InventoryAllocationRepository.OrderDemand;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Allocates the available stock of a SKU across pending orders in priority order.
+ * Demand is read as projections already sorted by the database, a page at a time
+ * until the stock runs out, allocations are computed in a single pass and the
+ * resulting status changes are written with one bulk update per target status,
+ * with a status change event in the outbox for every order the updates moved.
+ */
+@Component
+@Slf4j
+public class InventoryAllocationEngine {
+
+    static final List<FulfillmentStatus> PENDING_STATUSES =
+            List.of(FulfillmentStatus.RECEIVED, FulfillmentStatus.PROCESSING);
+
+    private final InventoryAllocationRepository allocationRepository;
+    private final FulfillmentEventOutbox eventOutbox;
+    private final int pageSize;
+
+    public InventoryAllocationEngine(
+            InventoryAllocationRepository allocationRepository,
+            FulfillmentEventOutbox eventOutbox,
+            @Value("${fulfillment.allocation.page-size:200}") int pageSize) {
+        this.allocationRepository = allocationRepository;
+        this.eventOutbox = eventOutbox;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Allocate the available stock of a SKU to pending orders. Orders are served
+     * highest priority score first; an order that does not fit is backordered, and
+     * orders after the stock runs out are left untouched and not read.
+     *
+     * @param sku the SKU
+     * @param available the available quantity
+     * @return the allocation outcome
+     */
+    public AllocationResult allocate(String sku, int available) {
+        List<String> toProcessing = new ArrayList<>();
+        List<String> toBackorder = new ArrayList<>();
+        String backorderReason = available <= 0 ? "Insufficient inventory" : "Insufficient inventory due to low stock";
+        long remaining = available;
+        int considered = 0;
+
+        OrderDemand last = null;
+        boolean stockUsedUp = false;
+        while (!stockUsedUp) {
+            List<OrderDemand> page = allocationRepository.findOpenDemand(sku, PENDING_STATUSES, last, pageSize);
+            for (OrderDemand line : page) {
+                considered++;
+                if (available <= 0) {
+                    toBackorder.add(line.orderId());
+                    continue;
+                }
+                if (remaining >= line.openQuantity()) {
+                    remaining -= line.openQuantity();
+                    if (line.status() == FulfillmentStatus.RECEIVED) {
+                        toProcessing.add(line.orderId());
+                    }
+                } else {
+                    toBackorder.add(line.orderId());
+                }
+                if (remaining <= 0) {
+                    stockUsedUp = true;
+                    break;
+                }
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+            last = page.get(page.size() - 1);
+        }
+        if (considered == 0) {
+            return new AllocationResult(0, 0, 0, available);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> processing = toProcessing.isEmpty() ? List.of()
+                : allocationRepository.markProcessing(toProcessing, now);
+        List<String> backordered = toBackorder.isEmpty() ? List.of()
+                : allocationRepository.markBackordered(toBackorder, PENDING_STATUSES, backorderReason, now);
+        eventOutbox.statusChanged(processing, FulfillmentStatus.PROCESSING, null);
+        eventOutbox.statusChanged(backordered, FulfillmentStatus.BACKORDERED, backorderReason);
+
+        log.debug("Allocated SKU {} over {} pending orders: {} to processing, {} backordered",
+                sku, considered, processing.size(), backordered.size());
+        return new AllocationResult(considered, processing.size(), backordered.size(), (int) Math.max(remaining, 0));
+    }
+
+    /**
+     * Outcome of allocating one SKU
+     */
+    public record AllocationResult(int ordersConsidered, int ordersProcessing, int ordersBackordered,
+                                   int remainingInventory) {
+    }
+}
@@ -0,0 +1,367 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.util.EntityIds;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Local materialized view of available inventory per warehouse and SKU, fed by the
+ * inventory availability event stream.
+ * <p>
+ * SKUs are interned to dense int IDs and each warehouse keeps quantities and event
+ * timestamps in atomic primitive arrays indexed by SKU ID. Warehouses sit in an
+ * open-addressed table keyed by their primitive long key, so a lookup is two hash
+ * probes and an array read with no boxing, allocation or locking. The view is
+ * periodically snapshotted to disk together with the consumed offsets; on startup the
+ * snapshot is restored and the listener resumes from those offsets, so staleness is
+ * bounded by consumer lag rather than by a full replay.
+ * <p>
+ * The feeding {@link com.gogidix.warehousing.fulfillment.event.InventoryAvailabilityEvent}
+ * and its topic are the contract this service expects from the inventory service;
+ * neither is published there yet. Until they are, the view stays empty and every
+ * lookup reports no data, which callers treat as no evidence of a shortage.
+ */
+@Component
+@Slf4j
+public class InventoryAvailabilityView {
+
+    private static final int SNAPSHOT_MAGIC = 0x46494156;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Path snapshotPath;
+    private final ConcurrentHashMap<String, Integer> skuIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSkuId = new AtomicInteger();
+    private final WarehouseTable warehouses = new WarehouseTable();
+    private final ConcurrentHashMap<String, Long> consumedOffsets = new ConcurrentHashMap<>();
+    private volatile Map<String, Long> restoredOffsets = Map.of();
+
+    public InventoryAvailabilityView(
+            @Value("${fulfillment.availability.snapshot-path:data/inventory-availability.snapshot}") String snapshotPath) {
+        this.snapshotPath = Paths.get(snapshotPath);
+    }
+
+    /**
+     * Get the available quantity of a SKU in a warehouse
+     *
+     * @param warehouseId the warehouse ID
+     * @param sku the SKU
+     * @return the available quantity, or empty if no availability has been received for it
+     */
+    public OptionalInt getAvailable(UUID warehouseId, String sku) {
+        Integer skuId = skuIds.get(sku);
+        WarehouseAvailability warehouse = warehouses.get(warehouseKey(warehouseId));
+        if (skuId == null || warehouse == null) {
+            return OptionalInt.empty();
+        }
+        return warehouse.get(skuId);
+    }
+
+    /**
+     * Apply an availability update; updates older than the stored one are ignored
+     *
+     * @param warehouseId the warehouse ID
+     * @param sku the SKU
+     * @param available the available quantity
+     * @param timestampMillis the event time in epoch milliseconds
+     */
+    public void apply(UUID warehouseId, String sku, int available, long timestampMillis) {
+        int skuId = skuIds.computeIfAbsent(sku, k -> nextSkuId.getAndIncrement());
+        warehouses.getOrCreate(warehouseKey(warehouseId)).set(skuId, available, timestampMillis);
+    }
+
+    /**
+     * Record that every event up to and including the offset has been applied
+     */
+    public void recordOffset(String topic, int partition, long offset) {
+        consumedOffsets.merge(topic + ":" + partition, offset, Math::max);
+    }
+
+    /**
+     * Get the last applied offset for a partition as restored from the snapshot
+     *
+     * @return the offset, or null if the snapshot has none for the partition
+     */
+    public Long getRestoredOffset(String topic, int partition) {
+        return restoredOffsets.get(topic + ":" + partition);
+    }
+
+    /**
+     * Restore the view from the last snapshot, if any
+     */
+    @PostConstruct
+    public void restore() {
+        if (!Files.exists(snapshotPath)) {
+            log.info("No inventory availability snapshot at {}, starting empty", snapshotPath);
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring unrecognized inventory availability snapshot at {}", snapshotPath);
+                return;
+            }
+            Map<String, Long> offsets = new HashMap<>();
+            int offsetCount = in.readInt();
+            for (int i = 0; i < offsetCount; i++) {
+                offsets.put(in.readUTF(), in.readLong());
+            }
+            int skuCount = in.readInt();
+            String[] skus = new String[skuCount];
+            for (int i = 0; i < skuCount; i++) {
+                skus[i] = in.readUTF();
+            }
+            int warehouseCount = in.readInt();
+            int entries = 0;
+            for (int w = 0; w < warehouseCount; w++) {
+                long warehouseKey = in.readLong();
+                int entryCount = in.readInt();
+                WarehouseAvailability warehouse = warehouses.getOrCreate(warehouseKey);
+                for (int e = 0; e < entryCount; e++) {
+                    int skuId = skuIds.computeIfAbsent(skus[in.readInt()], k -> nextSkuId.getAndIncrement());
+                    warehouse.set(skuId, in.readInt(), in.readLong());
+                }
+                entries += entryCount;
+            }
+            consumedOffsets.putAll(offsets);
+            restoredOffsets = Map.copyOf(offsets);
+            log.info("Restored {} inventory availability entries for {} warehouses from {}",
+                    entries, warehouseCount, snapshotPath);
+        } catch (IOException e) {
+            log.warn("Failed to restore inventory availability snapshot from {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Write the view to disk. Offsets are captured before the data, so on restore
+     * some events may be re-applied, which is harmless for absolute quantities.
+     */
+    @Scheduled(fixedDelayString = "${fulfillment.availability.snapshot-interval-ms:60000}")
+    @PreDestroy
+    public void snapshot() {
+        Map<String, Long> offsets = new HashMap<>(consumedOffsets);
+        if (offsets.isEmpty()) {
+            return;
+        }
+        String[] skus = new String[nextSkuId.get()];
+        skuIds.forEach((sku, id) -> {
+            if (id < skus.length) {
+                skus[id] = sku;
+            }
+        });
+
+        try {
+            Path parent = snapshotPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(offsets.size());
+                for (Map.Entry<String, Long> offset : offsets.entrySet()) {
+                    out.writeUTF(offset.getKey());
+                    out.writeLong(offset.getValue());
+                }
+                out.writeInt(skus.length);
+                for (String sku : skus) {
+                    out.writeUTF(sku != null ? sku : "");
+                }
+                WarehouseTable.Slots slots = warehouses.slots;
+                out.writeInt(slots.size);
+                for (int i = 0; i < slots.keys.length; i++) {
+                    if (slots.values[i] != null) {
+                        out.writeLong(slots.keys[i]);
+                        slots.values[i].writeTo(out, skus.length);
+                    }
+                }
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote inventory availability snapshot with {} SKUs to {}", skus.length, snapshotPath);
+        } catch (IOException e) {
+            log.warn("Failed to write inventory availability snapshot to {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private long warehouseKey(UUID warehouseId) {
+        return EntityIds.toLongKey(warehouseId);
+    }
+
+    /**
+     * Warehouses keyed by primitive long key in an open-addressed table with linear
+     * probing. Readers probe the current slots without locking or boxing; adding a
+     * warehouse, which happens a handful of times over the life of the view, copies
+     * the slots and publishes the copy.
+     */
+    private static final class WarehouseTable {
+        private volatile Slots slots = new Slots(16);
+
+        WarehouseAvailability get(long key) {
+            Slots current = slots;
+            int mask = current.keys.length - 1;
+            for (int i = slot(key, mask); current.values[i] != null; i = (i + 1) & mask) {
+                if (current.keys[i] == key) {
+                    return current.values[i];
+                }
+            }
+            return null;
+        }
+
+        WarehouseAvailability getOrCreate(long key) {
+            WarehouseAvailability existing = get(key);
+            return existing != null ? existing : create(key);
+        }
+
+        private synchronized WarehouseAvailability create(long key) {
+            WarehouseAvailability existing = get(key);
+            if (existing != null) {
+                return existing;
+            }
+            Slots current = slots;
+            // Keep the table at most half full so probes stay short
+            int capacity = (current.size + 1) * 2 > current.keys.length ? current.keys.length * 2 : current.keys.length;
+            Slots grown = new Slots(capacity);
+            for (int i = 0; i < current.keys.length; i++) {
+                if (current.values[i] != null) {
+                    grown.put(current.keys[i], current.values[i]);
+                }
+            }
+            WarehouseAvailability created = new WarehouseAvailability();
+            grown.put(key, created);
+            slots = grown;
+            return created;
+        }
+
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        /**
+         * Slots of the table; never modified once published
+         */
+        private static final class Slots {
+            private final long[] keys;
+            private final WarehouseAvailability[] values;
+            private int size;
+
+            Slots(int capacity) {
+                keys = new long[capacity];
+                values = new WarehouseAvailability[capacity];
+            }
+
+            void put(long key, WarehouseAvailability value) {
+                int mask = keys.length - 1;
+                int i = slot(key, mask);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = value;
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Availability of one warehouse, indexed by SKU ID. Reads are lock-free; writes
+     * and array growth are serialized on the instance.
+     */
+    private static final class WarehouseAvailability {
+        private volatile Columns columns = new Columns(INITIAL_CAPACITY);
+
+        OptionalInt get(int skuId) {
+            Columns current = columns;
+            // The quantity is written before the timestamp, so a set timestamp implies its quantity
+            if (skuId >= current.length() || current.timestamps.get(skuId) == 0) {
+                return OptionalInt.empty();
+            }
+            return OptionalInt.of(current.quantities.get(skuId));
+        }
+
+        synchronized void set(int skuId, int quantity, long timestampMillis) {
+            ensureCapacity(skuId + 1);
+            Columns current = columns;
+            long stored = current.timestamps.get(skuId);
+            if (stored != 0 && timestampMillis < stored) {
+                return;
+            }
+            current.quantities.set(skuId, quantity);
+            current.timestamps.set(skuId, Math.max(timestampMillis, 1));
+        }
+
+        synchronized void writeTo(DataOutputStream out, int skuCount) throws IOException {
+            Columns current = columns;
+            int limit = Math.min(skuCount, current.length());
+            int entryCount = 0;
+            for (int i = 0; i < limit; i++) {
+                if (current.timestamps.get(i) != 0) {
+                    entryCount++;
+                }
+            }
+            out.writeInt(entryCount);
+            for (int i = 0; i < limit; i++) {
+                if (current.timestamps.get(i) != 0) {
+                    out.writeInt(i);
+                    out.writeInt(current.quantities.get(i));
+                    out.writeLong(current.timestamps.get(i));
+                }
+            }
+        }
+
+        /**
+         * Grow the columns, publishing the grown copy only once every slot has been
+         * copied, so a reader sees either the old columns or complete new ones
+         */
+        private void ensureCapacity(int capacity) {
+            Columns current = columns;
+            int length = current.length();
+            if (capacity <= length) {
+                return;
+            }
+            Columns grown = new Columns(Math.max(capacity, length * 2));
+            for (int i = 0; i < length; i++) {
+                grown.quantities.set(i, current.quantities.get(i));
+                grown.timestamps.set(i, current.timestamps.get(i));
+            }
+            columns = grown;
+        }
+    }
+
+    /**
+     * Quantity and timestamp columns of equal length, published together; a zero
+     * timestamp means no update has been received for the slot
+     */
+    private record Columns(AtomicIntegerArray quantities, AtomicLongArray timestamps) {
+
+        Columns(int length) {
+            this(new AtomicIntegerArray(length), new AtomicLongArray(length));
+        }
+
+        int length() {
+            return timestamps.length();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.dto.OrderDestinationDTO;
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrderDestination;
+import com.gogidix.warehousing.fulfillment.exception.FulfillmentException;
+import com.gogidix.warehousing.fulfillment.exception.ResourceNotFoundException;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderDestinationRepository;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderRepository;
+import com.gogidix.warehousing.fulfillment.service.OrderDestinationService;
+import com.gogidix.warehousing.fulfillment.util.GeoHash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Implementation of the OrderDestinationService interface
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class OrderDestinationServiceImpl implements OrderDestinationService {
+
+    /**
+     * Geohash precision of a delivery region, roughly 40 by 20 km
+     */
+    static final int REGION_PRECISION = 4;
+
+    private final FulfillmentOrderDestinationRepository destinationRepository;
+    private final FulfillmentOrderRepository fulfillmentOrderRepository;
+
+    @Override
+    public OrderDestinationDTO setDestination(UUID fulfillmentOrderId, OrderDestinationDTO destination) {
+        log.debug("Setting destination of fulfillment order: {}", fulfillmentOrderId);
+
+        String orderId = fulfillmentOrderId.toString();
+        if (!fulfillmentOrderRepository.existsById(orderId)) {
+            throw new ResourceNotFoundException("FulfillmentOrder", "id", fulfillmentOrderId);
+        }
+        if (destination.getLatitude() == null || destination.getLongitude() == null) {
+            throw new FulfillmentException("Destination latitude and longitude are required");
+        }
+
+        FulfillmentOrderDestination entity = FulfillmentOrderDestination.builder()
+                .fulfillmentOrderId(orderId)
+                .countryCode(destination.getCountryCode())
+                .postalCode(destination.getPostalCode())
+                .latitude(destination.getLatitude())
+                .longitude(destination.getLongitude())
+                .region(GeoHash.encode(destination.getLatitude(), destination.getLongitude(), REGION_PRECISION))
+                .updatedAt(LocalDateTime.now())
+                .build();
+        return toDTO(destinationRepository.save(entity));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderDestinationDTO getDestination(UUID fulfillmentOrderId) {
+        return destinationRepository.findById(fulfillmentOrderId.toString())
+                .map(this::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("FulfillmentOrderDestination", "id", fulfillmentOrderId));
+    }
+
+    private OrderDestinationDTO toDTO(FulfillmentOrderDestination entity) {
+        return OrderDestinationDTO.builder()
+                .countryCode(entity.getCountryCode())
+                .postalCode(entity.getPostalCode())
+                .latitude(entity.getLatitude())
+                .longitude(entity.getLongitude())
+                .region(entity.getRegion())
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.dto.OrderNoteDTO;
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrderEvent;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderEventRepository;
+import com.gogidix.warehousing.fulfillment.service.OrderNoteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the OrderNoteService interface
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class OrderNoteServiceImpl implements OrderNoteService {
+
+    static final String NOTE_EVENT_TYPE = "NOTE";
+
+    private final FulfillmentOrderEventRepository orderEventRepository;
+
+    @Override
+    public void appendNote(String fulfillmentOrderId, String message) {
+        orderEventRepository.save(FulfillmentOrderEvent.builder()
+                .fulfillmentOrderId(fulfillmentOrderId)
+                .eventType(NOTE_EVENT_TYPE)
+                .message(message)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Override
+    public void appendNotes(Collection<OrderNoteDTO> notes) {
+        if (notes.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<FulfillmentOrderEvent> events = notes.stream()
+                .map(note -> FulfillmentOrderEvent.builder()
+                        .fulfillmentOrderId(note.getFulfillmentOrderId())
+                        .eventType(note.getEventType() != null ? note.getEventType() : NOTE_EVENT_TYPE)
+                        .message(note.getMessage())
+                        .createdAt(note.getCreatedAt() != null ? note.getCreatedAt() : now)
+                        .build())
+                .collect(Collectors.toList());
+        orderEventRepository.saveAll(events);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<OrderNoteDTO> getNotes(UUID fulfillmentOrderId, Pageable pageable) {
+        log.debug("Getting notes for fulfillment order with id: {}", fulfillmentOrderId);
+        return orderEventRepository
+                .findByFulfillmentOrderIdOrderByCreatedAtDescIdDesc(fulfillmentOrderId.toString(), pageable)
+                .map(this::toDTO);
+    }
+
+    private OrderNoteDTO toDTO(FulfillmentOrderEvent event) {
+        return OrderNoteDTO.builder()
+                .id(event.getId())
+                .fulfillmentOrderId(event.getFulfillmentOrderId())
+                .eventType(event.getEventType())
+                .message(event.getMessage())
+                .createdAt(event.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrderPriority;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderPriorityRepository;
+import com.gogidix.warehousing.fulfillment.util.PriorityScore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the persisted priority score of fulfillment orders in step with the
+ * orders. The service level follows the order's priority and is refreshed every
+ * time the order is written; the customer tier and promised date are kept until
+ * they are set again. The order's status is copied on every status change, so
+ * the score index can be searched by status without joining the orders.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderPriorityIndex {
+
+    private final FulfillmentOrderPriorityRepository priorityRepository;
+
+    /**
+     * Record the priority of a new or updated order
+     *
+     * @param order the saved order
+     */
+    public void register(FulfillmentOrder order) {
+        String orderId = order.getId().toString();
+        FulfillmentOrderPriority priority = priorityRepository.findById(orderId)
+                .orElseGet(() -> newPriority(order));
+        priority.setServiceLevel(serviceLevel(order));
+        priority.setOrderStatus(order.getStatus());
+        priorityRepository.save(rescore(priority));
+    }
+
+    /**
+     * Record a status change of orders
+     *
+     * @param fulfillmentOrderIds the fulfillment order IDs
+     * @param status the new status
+     */
+    public void statusChanged(Collection<String> fulfillmentOrderIds, FulfillmentStatus status) {
+        if (!fulfillmentOrderIds.isEmpty()) {
+            priorityRepository.updateOrderStatus(fulfillmentOrderIds, status);
+        }
+    }
+
+    /**
+     * Record the priorities of orders that were just inserted
+     *
+     * @param orders the inserted orders
+     */
+    public void registerNew(Collection<FulfillmentOrder> orders) {
+        List<FulfillmentOrderPriority> priorities = new ArrayList<>(orders.size());
+        for (FulfillmentOrder order : orders) {
+            priorities.add(rescore(newPriority(order)));
+        }
+        priorityRepository.insertAll(priorities);
+    }
+
+    /**
+     * Set the customer tier and promised date of an order, keeping its service level
+     *
+     * @param order the order
+     * @param customerTier the customer tier, or null to keep the current one
+     * @param promisedBy the promised delivery date, or null to clear it
+     * @return the updated priority
+     */
+    public FulfillmentOrderPriority update(FulfillmentOrder order, Integer customerTier, LocalDateTime promisedBy) {
+        FulfillmentOrderPriority priority = priorityRepository.findById(order.getId().toString())
+                .orElseGet(() -> newPriority(order));
+        if (customerTier != null) {
+            priority.setCustomerTier(PriorityScore.clampLevel(customerTier));
+        }
+        priority.setPromisedBy(promisedBy);
+        priority.setServiceLevel(serviceLevel(order));
+        return priorityRepository.save(rescore(priority));
+    }
+
+    private FulfillmentOrderPriority newPriority(FulfillmentOrder order) {
+        return FulfillmentOrderPriority.builder()
+                .fulfillmentOrderId(order.getId().toString())
+                .serviceLevel(serviceLevel(order))
+                .customerTier(0)
+                .orderStatus(order.getStatus())
+                .orderCreatedAt(order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now())
+                .build();
+    }
+
+    private FulfillmentOrderPriority rescore(FulfillmentOrderPriority priority) {
+        priority.setPriorityScore(PriorityScore.compute(priority.getServiceLevel(), priority.getCustomerTier(),
+                priority.getPromisedBy(), priority.getOrderCreatedAt()));
+        priority.setUpdatedAt(LocalDateTime.now());
+        return priority;
+    }
+
+    private int serviceLevel(FulfillmentOrder order) {
+        return order.getPriority() != null ? PriorityScore.clampLevel(order.getPriority().ordinal()) : 0;
+    }
+}
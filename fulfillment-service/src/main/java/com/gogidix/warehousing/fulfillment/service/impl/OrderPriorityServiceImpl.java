@@ -0,0 +1,55 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.dto.OrderPriorityDTO;
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrderPriority;
+import com.gogidix.warehousing.fulfillment.exception.ResourceNotFoundException;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderPriorityRepository;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderRepository;
+import com.gogidix.warehousing.fulfillment.service.OrderPriorityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Implementation of the OrderPriorityService interface
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class OrderPriorityServiceImpl implements OrderPriorityService {
+
+    private final OrderPriorityIndex priorityIndex;
+    private final FulfillmentOrderPriorityRepository priorityRepository;
+    private final FulfillmentOrderRepository fulfillmentOrderRepository;
+
+    @Override
+    public OrderPriorityDTO setPriority(UUID fulfillmentOrderId, OrderPriorityDTO priority) {
+        log.debug("Setting priority of fulfillment order: {}", fulfillmentOrderId);
+
+        FulfillmentOrder order = fulfillmentOrderRepository.findById(fulfillmentOrderId.toString())
+                .orElseThrow(() -> new ResourceNotFoundException("FulfillmentOrder", "id", fulfillmentOrderId));
+        return toDTO(priorityIndex.update(order, priority.getCustomerTier(), priority.getPromisedBy()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPriorityDTO getPriority(UUID fulfillmentOrderId) {
+        return priorityRepository.findById(fulfillmentOrderId.toString())
+                .map(this::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("FulfillmentOrderPriority", "id", fulfillmentOrderId));
+    }
+
+    private OrderPriorityDTO toDTO(FulfillmentOrderPriority entity) {
+        return OrderPriorityDTO.builder()
+                .serviceLevel(entity.getServiceLevel())
+                .customerTier(entity.getCustomerTier())
+                .promisedBy(entity.getPromisedBy())
+                .priorityScore(entity.getPriorityScore())
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.entity.OutboxEvent;
+import com.gogidix.warehousing.fulfillment.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox events to Kafka in batches.
+ * <p>
+ * Each batch is read, sent and deleted in one transaction that also holds an
+ * advisory lock, so only one instance drains the outbox at a time and events are
+ * sent in the order they were written. Events are keyed by fulfillment order ID,
+ * which keeps each order's events on one partition, and the idempotent producer
+ * keeps them in order across retries. Rows are deleted only after every send of
+ * the batch has been acknowledged; if any send fails the batch is rolled back and
+ * sent again, so delivery is at least once and consumers deduplicate on the event ID.
+ * <p>
+ * The producer is private to the relay rather than a bean, which would replace the
+ * auto-configured template, and is tuned for throughput: sends linger to fill
+ * large batches and batches are compressed.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final long RELAY_LOCK_KEY = 0x46554C464F425831L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DefaultKafkaProducerFactory<String, String> producerFactory;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topic;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long sendTimeoutMs;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            PlatformTransactionManager transactionManager,
+            KafkaProperties kafkaProperties,
+            @Value("${events.fulfillment.status.topic:fulfillment-status-events}") String topic,
+            @Value("${fulfillment.outbox.batch-size:500}") int batchSize,
+            @Value("${fulfillment.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${fulfillment.outbox.send-timeout-ms:30000}") long sendTimeoutMs,
+            @Value("${fulfillment.outbox.producer.compression-type:lz4}") String compressionType,
+            @Value("${fulfillment.outbox.producer.linger-ms:20}") int lingerMs,
+            @Value("${fulfillment.outbox.producer.batch-size:65536}") int producerBatchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.topic = topic;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sendTimeoutMs = sendTimeoutMs;
+
+        Map<String, Object> config = kafkaProperties.buildProducerProperties();
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, producerBatchSize);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        this.producerFactory = new DefaultKafkaProducerFactory<>(config);
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+    }
+
+    /**
+     * Drain the outbox until it is empty or the per-run batch limit is reached
+     */
+    @Scheduled(fixedDelayString = "${fulfillment.outbox.poll-interval-ms:200}")
+    public void relay() {
+        int published = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer sent;
+            try {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay failed, the batch will be retried: {}", e.getMessage());
+                break;
+            }
+            if (sent == null || sent < 0) {
+                break;
+            }
+            published += sent;
+            if (sent < batchSize) {
+                break;
+            }
+        }
+        if (published > 0) {
+            log.debug("Published {} outbox events to {}", published, topic);
+        }
+    }
+
+    /**
+     * Send and delete one batch
+     *
+     * @return the number of events published, or -1 if another instance holds the relay lock
+     */
+    private int relayBatch() {
+        if (!outboxEventRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return -1;
+        }
+        List<OutboxEvent> events = outboxEventRepository.findNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(events.size());
+        List<Long> ids = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            sends.add(kafkaTemplate.send(topic, event.getAggregateId(), event.getPayload()));
+            ids.add(event.getId());
+        }
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish outbox batch starting at event " + ids.get(0), e);
+        }
+
+        outboxEventRepository.deleteByIdIn(ids);
+        return events.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        producerFactory.destroy();
+    }
+}
@@ -0,0 +1,160 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.config.PackingStationProperties;
+import com.gogidix.warehousing.fulfillment.repository.PackingStationQueueRepository;
+import com.gogidix.warehousing.fulfillment.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assigns packing tasks to packing stations using join-shortest-expected-wait.
+ * Each station keeps its queue depth and a smoothed service time in atomic
+ * counters, so assignment never takes a lock; the expected wait of a station is
+ * its queue depth plus one, times its service time. Only stations offering every
+ * required handling capability are considered. A task no station can handle, for
+ * example any special handling under the default single station without
+ * capabilities, goes to the station with the shortest expected wait overall and a
+ * warning is logged, so packing is never blocked by missing station configuration.
+ * Queue depth changes are
+ * applied once the assigning or completing transaction commits, and depths are
+ * rebuilt from open packing tasks when the service starts and periodically after,
+ * which also accounts for tasks cancelled elsewhere.
+ */
+@Component
+@Slf4j
+public class PackingStationScheduler {
+
+    private final PackingStationQueueRepository queueRepository;
+    private final double smoothing;
+    private final Map<String, StationState> stations;
+
+    public PackingStationScheduler(PackingStationQueueRepository queueRepository,
+                                   PackingStationProperties properties) {
+        this.queueRepository = queueRepository;
+        this.smoothing = properties.getServiceTimeSmoothing();
+        Map<String, StationState> configured = new LinkedHashMap<>();
+        for (PackingStationProperties.Station station : properties.getStations()) {
+            long nominalMillis = (long) (3_600_000 / Math.max(station.getTasksPerHour(), 0.01));
+            configured.put(station.getId(), new StationState(station.getId(),
+                    Set.copyOf(station.getCapabilities()), nominalMillis));
+        }
+        if (configured.isEmpty()) {
+            throw new IllegalStateException("At least one packing station must be configured");
+        }
+        this.stations = Collections.unmodifiableMap(configured);
+    }
+
+    /**
+     * Reload station queue depths from the open packing tasks
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${fulfillment.packing.queue-resync-interval-ms:60000}",
+            fixedDelayString = "${fulfillment.packing.queue-resync-interval-ms:60000}")
+    @Transactional(readOnly = true)
+    public void rebuildQueues() {
+        Map<String, Long> openTasks = queueRepository.countOpenTasksByStation();
+        for (StationState station : stations.values()) {
+            station.queueDepth.set(openTasks.getOrDefault(station.id, 0L).intValue());
+        }
+        log.debug("Rebuilt packing station queues: {}", openTasks);
+    }
+
+    /**
+     * Choose the station with the shortest expected wait among those able to handle
+     * the required capabilities, or among all stations if none can. The new task is
+     * counted against the station's queue once the caller's transaction commits.
+     *
+     * @param requiredCapabilities the special handling the task needs
+     * @return the chosen station ID
+     */
+    public String assign(Set<String> requiredCapabilities) {
+        StationState best = selectStation(requiredCapabilities);
+        if (best == null) {
+            best = selectStation(Set.of());
+            log.warn("No packing station supports the required handling {}; assigning to least loaded station {}",
+                    requiredCapabilities, best.id);
+        }
+        TransactionCallbacks.afterCommit(best.queueDepth::incrementAndGet);
+        return best.id;
+    }
+
+    /**
+     * Record the completion of a task at a station, updating its queue depth and service
+     * time once the caller's transaction commits
+     *
+     * @param stationId the station ID
+     * @param startedAt when packing started, or null if unknown
+     * @param completedAt when packing completed
+     */
+    public void onTaskCompleted(String stationId, LocalDateTime startedAt, LocalDateTime completedAt) {
+        StationState station = stations.get(stationId);
+        if (station == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            station.queueDepth.updateAndGet(depth -> Math.max(0, depth - 1));
+            if (startedAt != null && completedAt != null) {
+                long sampleMillis = Math.max(0, Duration.between(startedAt, completedAt).toMillis());
+                station.serviceMillis.getAndUpdate(
+                        previous -> Math.round(smoothing * sampleMillis + (1 - smoothing) * previous));
+            }
+        });
+    }
+
+    /**
+     * Get the current queue depth of each station
+     *
+     * @return queue depth keyed by station ID
+     */
+    public Map<String, Integer> getQueueDepths() {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        stations.values().forEach(station -> depths.put(station.id, station.queueDepth.get()));
+        return depths;
+    }
+
+    private StationState selectStation(Set<String> requiredCapabilities) {
+        StationState best = null;
+        long bestWait = Long.MAX_VALUE;
+        for (StationState station : stations.values()) {
+            if (!station.capabilities.containsAll(requiredCapabilities)) {
+                continue;
+            }
+            long expectedWait = station.expectedWaitMillis();
+            if (expectedWait < bestWait) {
+                best = station;
+                bestWait = expectedWait;
+            }
+        }
+        return best;
+    }
+
+    private static final class StationState {
+        private final String id;
+        private final Set<String> capabilities;
+        private final AtomicInteger queueDepth = new AtomicInteger();
+        private final AtomicLong serviceMillis;
+
+        private StationState(String id, Set<String> capabilities, long nominalServiceMillis) {
+            this.id = id;
+            this.capabilities = capabilities;
+            this.serviceMillis = new AtomicLong(nominalServiceMillis);
+        }
+
+        private long expectedWaitMillis() {
+            return (queueDepth.get() + 1L) * serviceMillis.get();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrderItem;
+import com.gogidix.warehousing.fulfillment.entity.PickingTask;
+import com.gogidix.warehousing.fulfillment.entity.SkuPickLocation;
+import com.gogidix.warehousing.fulfillment.enums.TaskStatus;
+import com.gogidix.warehousing.fulfillment.repository.SkuPickLocationRepository;
+import com.gogidix.warehousing.fulfillment.util.EntityIds;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Plans picking tasks for a set of concurrently released fulfillment orders.
+ * Each order's items are split into one task per zone and aisle; tasks in the same
+ * zone are grouped across orders into shared pick batches, and both the tasks of a
+ * batch and the stops within each task are ordered along the pick path.
+ */
+@Component
+@Slf4j
+public class PickingTaskPlanner {
+
+    static final String UNSLOTTED_ZONE = "UNSLOTTED";
+
+    private final SkuPickLocationRepository pickLocationRepository;
+    private final int maxOrdersPerBatch;
+
+    public PickingTaskPlanner(
+            SkuPickLocationRepository pickLocationRepository,
+            @Value("${fulfillment.picking.max-orders-per-batch:12}") int maxOrdersPerBatch) {
+        this.pickLocationRepository = pickLocationRepository;
+        this.maxOrdersPerBatch = maxOrdersPerBatch;
+    }
+
+    /**
+     * Plan the picking tasks for the given orders. Tasks are returned unsaved,
+     * grouped by batch and in walk order within each batch.
+     *
+     * @param orders the orders being released for picking
+     * @return the planned tasks
+     */
+    public List<PickingTask> plan(List<FulfillmentOrder> orders) {
+        Map<Long, Map<String, SkuPickLocation>> locations = resolveLocations(orders);
+
+        // Bucket every open line by warehouse and zone, then by order and aisle
+        Map<String, Map<String, OrderStops>> stopsByZone = new LinkedHashMap<>();
+        for (FulfillmentOrder order : orders) {
+            Map<String, SkuPickLocation> warehouseLocations =
+                    locations.getOrDefault(order.getWarehouseId(), Map.of());
+            for (FulfillmentOrderItem item : order.getOrderItems()) {
+                int quantity = openQuantity(item);
+                if (quantity <= 0) {
+                    continue;
+                }
+                SkuPickLocation location = warehouseLocations.get(item.getSku());
+                PickStop stop = new PickStop(item.getSku(), quantity, location);
+                stopsByZone
+                        .computeIfAbsent(order.getWarehouseId() + "/" + stop.zone(), k -> new LinkedHashMap<>())
+                        .computeIfAbsent(order.getId().toString(), k -> new OrderStops(order, new LinkedHashMap<>()))
+                        .stopsByAisle()
+                        .computeIfAbsent(stop.aisle(), k -> new ArrayList<>())
+                        .add(stop);
+            }
+        }
+
+        List<PickingTask> tasks = new ArrayList<>();
+        LocalDateTime dueBy = LocalDateTime.now().plusHours(2);
+        for (Map<String, OrderStops> zoneOrders : stopsByZone.values()) {
+            tasks.addAll(planZone(new ArrayList<>(zoneOrders.values()), dueBy));
+        }
+
+        log.debug("Planned {} picking tasks for {} orders across {} zones",
+                tasks.size(), orders.size(), stopsByZone.size());
+        return tasks;
+    }
+
+    /**
+     * Split one zone's work into batches of at most {@code maxOrdersPerBatch} orders
+     * and emit each batch's tasks in walk order
+     */
+    private List<PickingTask> planZone(List<OrderStops> zoneOrders, LocalDateTime dueBy) {
+        List<PickingTask> tasks = new ArrayList<>();
+
+        for (int start = 0; start < zoneOrders.size(); start += maxOrdersPerBatch) {
+            List<OrderStops> batch = zoneOrders.subList(start, Math.min(start + maxOrdersPerBatch, zoneOrders.size()));
+            UUID batchId = UUID.randomUUID();
+
+            // Rank the aisles visited by this batch so racks can be walked in a serpentine
+            Set<String> aisles = new HashSet<>();
+            batch.forEach(orderStops -> aisles.addAll(orderStops.stopsByAisle().keySet()));
+            List<String> aisleOrder = aisles.stream()
+                    .sorted(Comparator.nullsLast(Comparator.naturalOrder()))
+                    .collect(Collectors.toList());
+            Map<String, Integer> aisleRank = new HashMap<>();
+            for (int i = 0; i < aisleOrder.size(); i++) {
+                aisleRank.put(aisleOrder.get(i), i);
+            }
+
+            List<PlannedTask> planned = new ArrayList<>();
+            for (OrderStops orderStops : batch) {
+                for (Map.Entry<String, List<PickStop>> aisleStops : orderStops.stopsByAisle().entrySet()) {
+                    int rank = aisleRank.get(aisleStops.getKey());
+                    List<PickStop> stops = new ArrayList<>(aisleStops.getValue());
+                    stops.sort(walkOrder(rank % 2 == 1));
+                    planned.add(new PlannedTask(orderStops.order(), rank, stops));
+                }
+            }
+            planned.sort(Comparator.comparingInt(PlannedTask::aisleRank)
+                    .thenComparing(task -> task.stops().get(0), walkOrder(false)));
+
+            for (PlannedTask task : planned) {
+                tasks.add(toPickingTask(task, batchId, dueBy));
+            }
+        }
+        return tasks;
+    }
+
+    private PickingTask toPickingTask(PlannedTask planned, UUID batchId, LocalDateTime dueBy) {
+        FulfillmentOrder order = planned.order();
+        PickStop first = planned.stops().get(0);
+
+        StringBuilder instruction = new StringBuilder("Pick for order ")
+                .append(order.getOrderReference())
+                .append(" in zone ").append(first.zone());
+        if (first.aisle() != null) {
+            instruction.append(", aisle ").append(first.aisle());
+        }
+        instruction.append(':');
+        int stopNumber = 1;
+        for (PickStop stop : planned.stops()) {
+            instruction.append("\n").append(stopNumber++).append(". ")
+                    .append(stop.label()).append(" - ")
+                    .append(stop.sku()).append(" x").append(stop.quantity());
+        }
+
+        return PickingTask.builder()
+                .fulfillmentOrderId(EntityIds.toUuid(order.getId().toString()))
+                .status(TaskStatus.PENDING)
+                .priority(order.getPriority() != null ? order.getPriority().ordinal() : 1)
+                .batchId(batchId)
+                .zone(first.zone())
+                .aisle(first.aisle())
+                .rack(first.rack())
+                .bin(first.bin())
+                .dueBy(dueBy)
+                .instruction(instruction.toString())
+                .build();
+    }
+
+    /**
+     * Load the pick faces of every SKU in the release with one query per warehouse
+     */
+    private Map<Long, Map<String, SkuPickLocation>> resolveLocations(List<FulfillmentOrder> orders) {
+        Map<Long, Set<String>> skusByWarehouse = new HashMap<>();
+        for (FulfillmentOrder order : orders) {
+            Set<String> skus = skusByWarehouse.computeIfAbsent(order.getWarehouseId(), k -> new HashSet<>());
+            for (FulfillmentOrderItem item : order.getOrderItems()) {
+                skus.add(item.getSku());
+            }
+        }
+
+        Map<Long, Map<String, SkuPickLocation>> locations = new HashMap<>();
+        for (Map.Entry<Long, Set<String>> entry : skusByWarehouse.entrySet()) {
+            if (entry.getKey() == null || entry.getValue().isEmpty()) {
+                continue;
+            }
+            Map<String, SkuPickLocation> bySku = new HashMap<>();
+            for (SkuPickLocation location : pickLocationRepository
+                    .findByWarehouseIdAndSkuIn(entry.getKey(), entry.getValue())) {
+                bySku.put(location.getSku(), location);
+            }
+            locations.put(entry.getKey(), bySku);
+        }
+        return locations;
+    }
+
+    private int openQuantity(FulfillmentOrderItem item) {
+        int quantity = item.getQuantity() != null ? item.getQuantity() : 0;
+        int picked = item.getQuantityPicked() != null ? item.getQuantityPicked() : 0;
+        return quantity - picked;
+    }
+
+    /**
+     * Order stops by slotting walk sequence when known, otherwise by rack and bin;
+     * racks run in reverse on every other aisle so the picker never backtracks
+     */
+    private static Comparator<PickStop> walkOrder(boolean reverseRacks) {
+        Comparator<String> rackOrder = Comparator.nullsLast(Comparator.<String>naturalOrder());
+        if (reverseRacks) {
+            rackOrder = Comparator.nullsLast(Comparator.<String>reverseOrder());
+        }
+        return Comparator.comparing(PickStop::walkSequence, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+                .thenComparing(PickStop::rack, rackOrder)
+                .thenComparing(PickStop::bin, Comparator.nullsLast(Comparator.<String>naturalOrder()));
+    }
+
+    private record PickStop(String sku, int quantity, SkuPickLocation location) {
+
+        String zone() {
+            return location != null ? location.getZone() : UNSLOTTED_ZONE;
+        }
+
+        String aisle() {
+            return location != null ? location.getAisle() : null;
+        }
+
+        String rack() {
+            return location != null ? location.getRack() : null;
+        }
+
+        String bin() {
+            return location != null ? location.getBin() : null;
+        }
+
+        Integer walkSequence() {
+            return location != null ? location.getWalkSequence() : null;
+        }
+
+        String label() {
+            if (location == null) {
+                return UNSLOTTED_ZONE;
+            }
+            return String.join("/", zone(), Objects.toString(aisle(), "-"),
+                    Objects.toString(rack(), "-"), Objects.toString(bin(), "-"));
+        }
+    }
+
+    private record OrderStops(FulfillmentOrder order, Map<String, List<PickStop>> stopsByAisle) {
+    }
+
+    private record PlannedTask(FulfillmentOrder order, int aisleRank, List<PickStop> stops) {
+    }
+}
@@ -0,0 +1,182 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.enums.TrackingStatus;
+import com.gogidix.warehousing.fulfillment.exception.FulfillmentException;
+import com.gogidix.warehousing.fulfillment.shipping.CarrierTrackingClient;
+import com.gogidix.warehousing.fulfillment.shipping.TrackingInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches carrier tracking lookups in front of {@link CarrierTrackingClient}.
+ * <p>
+ * Concurrent lookups of the same tracking number are coalesced: the first caller
+ * queries the carrier and every other caller waits for its result, so a burst of
+ * requests costs one upstream call. Results are kept for a time that depends on
+ * how quickly the shipment can still change, from minutes while it is out for
+ * delivery to a day once it is delivered; numbers unknown to every carrier are
+ * cached briefly as well. When a carrier call fails, a stale result is served if
+ * one is still held. The cache is bounded: once it holds {@code max-entries}
+ * results, the least recently used one is dropped for each new result.
+ */
+@Component
+@Slf4j
+public class ShipmentTrackingCache {
+
+    private final CarrierTrackingClient trackingClient;
+    private final long activeTtlNanos;
+    private final long outForDeliveryTtlNanos;
+    private final long terminalTtlNanos;
+    private final long notFoundTtlNanos;
+    private final long staleGraceNanos;
+    private final Map<String, CachedLookup> cache;
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<TrackingInfo>>> inFlight =
+            new ConcurrentHashMap<>();
+
+    public ShipmentTrackingCache(
+            CarrierTrackingClient trackingClient,
+            @Value("${fulfillment.tracking.ttl.active-seconds:300}") long activeTtlSeconds,
+            @Value("${fulfillment.tracking.ttl.out-for-delivery-seconds:60}") long outForDeliveryTtlSeconds,
+            @Value("${fulfillment.tracking.ttl.terminal-seconds:86400}") long terminalTtlSeconds,
+            @Value("${fulfillment.tracking.ttl.not-found-seconds:60}") long notFoundTtlSeconds,
+            @Value("${fulfillment.tracking.stale-grace-seconds:3600}") long staleGraceSeconds,
+            @Value("${fulfillment.tracking.max-entries:100000}") int maxEntries) {
+        this.trackingClient = trackingClient;
+        this.activeTtlNanos = Duration.ofSeconds(activeTtlSeconds).toNanos();
+        this.outForDeliveryTtlNanos = Duration.ofSeconds(outForDeliveryTtlSeconds).toNanos();
+        this.terminalTtlNanos = Duration.ofSeconds(terminalTtlSeconds).toNanos();
+        this.notFoundTtlNanos = Duration.ofSeconds(notFoundTtlSeconds).toNanos();
+        this.staleGraceNanos = Duration.ofSeconds(staleGraceSeconds).toNanos();
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedLookup> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Look up a tracking number, from the cache when the cached result is fresh
+     *
+     * @param trackingNumber the tracking number
+     * @return the tracking information, or empty if no carrier knows the number
+     * @throws FulfillmentException if the carrier call fails and nothing is cached
+     */
+    public Optional<TrackingInfo> lookup(String trackingNumber) {
+        String key = trackingNumber.trim().toUpperCase(Locale.ROOT);
+        CachedLookup cached = cache.get(key);
+        if (cached != null && cached.isFresh(System.nanoTime())) {
+            return cached.result();
+        }
+
+        CompletableFuture<Optional<TrackingInfo>> call = new CompletableFuture<>();
+        CompletableFuture<Optional<TrackingInfo>> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            return await(leader);
+        }
+        try {
+            Optional<TrackingInfo> result = fetch(key, trackingNumber.trim(), cached);
+            call.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Drop a tracking number from the cache, for example when a carrier pushes an update
+     */
+    public void invalidate(String trackingNumber) {
+        cache.remove(trackingNumber.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Remove entries that are past their stale grace period
+     */
+    @Scheduled(fixedDelayString = "${fulfillment.tracking.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        int before;
+        int after;
+        synchronized (cache) {
+            before = cache.size();
+            cache.values().removeIf(entry -> !entry.isUsable(now, staleGraceNanos));
+            after = cache.size();
+        }
+        log.debug("Evicted {} tracking cache entries, {} remain", before - after, after);
+    }
+
+    private Optional<TrackingInfo> fetch(String key, String trackingNumber, CachedLookup stale) {
+        // Another caller may have refreshed the entry while this one was deciding to fetch
+        CachedLookup current = cache.get(key);
+        if (current != null && current != stale && current.isFresh(System.nanoTime())) {
+            return current.result();
+        }
+
+        Optional<TrackingInfo> result;
+        try {
+            result = trackingClient.track(trackingNumber);
+        } catch (RuntimeException e) {
+            if (stale != null && stale.isUsable(System.nanoTime(), staleGraceNanos)) {
+                log.warn("Carrier tracking lookup failed for {}, serving stale result: {}",
+                        trackingNumber, e.getMessage());
+                return stale.result();
+            }
+            throw new FulfillmentException("Error tracking shipment: " + e.getMessage());
+        }
+
+        cache.put(key, new CachedLookup(result, System.nanoTime() + ttlFor(result)));
+        return result;
+    }
+
+    private long ttlFor(Optional<TrackingInfo> result) {
+        if (result.isEmpty()) {
+            return notFoundTtlNanos;
+        }
+        TrackingStatus status = result.get().status();
+        if (status == null) {
+            return activeTtlNanos;
+        }
+        if (status.isTerminal()) {
+            return terminalTtlNanos;
+        }
+        return status == TrackingStatus.OUT_FOR_DELIVERY ? outForDeliveryTtlNanos : activeTtlNanos;
+    }
+
+    private Optional<TrackingInfo> await(CompletableFuture<Optional<TrackingInfo>> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record CachedLookup(Optional<TrackingInfo> result, long expiresAtNanos) {
+
+        boolean isFresh(long now) {
+            return now - expiresAtNanos < 0;
+        }
+
+        boolean isUsable(long now, long graceNanos) {
+            return now - expiresAtNanos < graceNanos;
+        }
+    }
+}
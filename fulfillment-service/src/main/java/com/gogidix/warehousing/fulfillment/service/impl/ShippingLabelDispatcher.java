@@ -0,0 +1,338 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.entity.ShipmentPackage;
+import com.gogidix.warehousing.fulfillment.entity.ShippingLabelRequest;
+import com.gogidix.warehousing.fulfillment.enums.LabelRequestStatus;
+import com.gogidix.warehousing.fulfillment.exception.FulfillmentException;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderBatchRepository;
+import com.gogidix.warehousing.fulfillment.repository.ShipmentPackageBatchRepository;
+import com.gogidix.warehousing.fulfillment.repository.ShippingLabelRequestRepository;
+import com.gogidix.warehousing.fulfillment.shipping.CarrierLabelAdapter;
+import com.gogidix.warehousing.fulfillment.shipping.CarrierLabelAdapterRegistry;
+import com.gogidix.warehousing.fulfillment.shipping.LabelRequest;
+import com.gogidix.warehousing.fulfillment.shipping.LabelResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Works off the queue of shipping label requests.
+ * <p>
+ * Each poll claims pending requests with {@code FOR UPDATE SKIP LOCKED}, so any
+ * number of instances can share the queue, and marks them in progress under a
+ * lease; requests whose lease expires (for example after a crash) are claimed
+ * again. Every claim increments the request's attempt count, which serves as the
+ * claim token: results are only written under the lock of the request row and
+ * while its attempt count still matches the claim, so a late result from an
+ * expired claim never overwrites the outcome of the claim that replaced it. Claimed requests are grouped by carrier adapter, cut into batches of the
+ * adapter's maximum batch size and submitted to a per-adapter executor sized to
+ * the adapter's concurrency limit, so one slow carrier cannot starve the others.
+ * Results of a batch are written back in one transaction using JDBC batching.
+ * When a whole batch fails (a carrier timeout or server error), its requests go
+ * back to the queue with exponential backoff until they have used up their
+ * attempts; only a label the carrier rejects fails at once.
+ */
+@Component
+@Slf4j
+public class ShippingLabelDispatcher {
+
+    /**
+     * Length of the error message column
+     */
+    static final int MAX_ERROR_LENGTH = 500;
+
+    private final ShippingLabelRequestRepository requestRepository;
+    private final ShipmentPackageBatchRepository shipmentPackageBatchRepository;
+    private final FulfillmentOrderBatchRepository batchRepository;
+    private final CarrierLabelAdapterRegistry adapterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final int claimSize;
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final int jdbcBatchSize;
+
+    private final Map<CarrierLabelAdapter, ExecutorService> executors = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public ShippingLabelDispatcher(
+            ShippingLabelRequestRepository requestRepository,
+            ShipmentPackageBatchRepository shipmentPackageBatchRepository,
+            FulfillmentOrderBatchRepository batchRepository,
+            CarrierLabelAdapterRegistry adapterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${fulfillment.labels.claim-size:200}") int claimSize,
+            @Value("${fulfillment.labels.max-in-flight:1000}") int maxInFlight,
+            @Value("${fulfillment.labels.max-attempts:3}") int maxAttempts,
+            @Value("${fulfillment.labels.lease-seconds:300}") long leaseSeconds,
+            @Value("${fulfillment.labels.retry-backoff-seconds:30}") long retryBackoffSeconds,
+            @Value("${fulfillment.labels.jdbc-batch-size:100}") int jdbcBatchSize) {
+        this.requestRepository = requestRepository;
+        this.shipmentPackageBatchRepository = shipmentPackageBatchRepository;
+        this.batchRepository = batchRepository;
+        this.adapterRegistry = adapterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.claimSize = claimSize;
+        this.maxInFlight = maxInFlight;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retryBackoff = Duration.ofSeconds(retryBackoffSeconds);
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    /**
+     * Claim pending label requests and submit them to their carriers
+     */
+    @Scheduled(fixedDelayString = "${fulfillment.labels.poll-interval-ms:500}")
+    public void dispatch() {
+        int capacity = Math.min(claimSize, maxInFlight - inFlight.get());
+        if (capacity <= 0) {
+            return;
+        }
+        List<ClaimedRequest> claimed = transactionTemplate.execute(status -> claim(capacity));
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        Map<CarrierLabelAdapter, List<ClaimedRequest>> byAdapter = new IdentityHashMap<>();
+        List<LabelResult> rejected = new ArrayList<>();
+        Map<Long, Integer> rejectedClaims = new HashMap<>();
+        for (ClaimedRequest request : claimed) {
+            if (request.label() == null) {
+                rejected.add(LabelResult.failure(request.key(), request.error()));
+                rejectedClaims.put(request.id(), request.attempt());
+                continue;
+            }
+            try {
+                byAdapter.computeIfAbsent(adapterRegistry.adapterFor(request.label().carrier()),
+                        k -> new ArrayList<>()).add(request);
+            } catch (FulfillmentException e) {
+                rejected.add(LabelResult.failure(request.key(), e.getMessage()));
+                rejectedClaims.put(request.id(), request.attempt());
+            }
+        }
+        if (!rejected.isEmpty()) {
+            writeResults(rejected, rejectedClaims, false);
+        }
+
+        for (Map.Entry<CarrierLabelAdapter, List<ClaimedRequest>> entry : byAdapter.entrySet()) {
+            CarrierLabelAdapter adapter = entry.getKey();
+            List<ClaimedRequest> requests = entry.getValue();
+            int batchSize = Math.max(1, adapter.maxBatchSize());
+            for (int start = 0; start < requests.size(); start += batchSize) {
+                submit(adapter, requests.subList(start, Math.min(start + batchSize, requests.size())));
+            }
+        }
+        log.debug("Dispatched {} shipping label requests to {} carrier adapters", claimed.size(), byAdapter.size());
+    }
+
+    /**
+     * Get the number of label requests currently being processed by carriers
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ExecutorService::shutdown);
+    }
+
+    private List<ClaimedRequest> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ShippingLabelRequest> locked = requestRepository.lockNextBatch(now, now.minus(lease), limit);
+        if (locked.isEmpty()) {
+            return List.of();
+        }
+        Set<UUID> orderIds = locked.stream()
+                .map(ShippingLabelRequest::getFulfillmentOrderId)
+                .collect(Collectors.toSet());
+        Map<UUID, ShipmentPackage> packages = shipmentPackageBatchRepository.findPrimaryPackages(orderIds);
+
+        List<ClaimedRequest> claimed = new ArrayList<>(locked.size());
+        for (ShippingLabelRequest request : locked) {
+            String key = request.getId().toString();
+            ShipmentPackage shipmentPackage = packages.get(request.getFulfillmentOrderId());
+            int attempts = request.getAttempts() != null ? request.getAttempts() : 0;
+            int attempt = attempts + 1;
+            if (attempts >= maxAttempts) {
+                claimed.add(new ClaimedRequest(request.getId(), attempt, null, "Gave up after " + attempts + " attempts"));
+            } else if (shipmentPackage == null) {
+                claimed.add(new ClaimedRequest(request.getId(), attempt, null, "No shipment package found"));
+            } else {
+                claimed.add(new ClaimedRequest(request.getId(), attempt, new LabelRequest(key,
+                        shipmentPackage.getId().toString(), shipmentPackage.getCarrier(),
+                        shipmentPackage.getServiceLevel(), shipmentPackage.getTrackingNumber()), null));
+            }
+            request.setStatus(LabelRequestStatus.IN_PROGRESS);
+            request.setClaimedAt(now);
+            request.setNextAttemptAt(null);
+            request.setAttempts(attempt);
+        }
+        batchRepository.flushInBatches(jdbcBatchSize);
+        return claimed;
+    }
+
+    private void submit(CarrierLabelAdapter adapter, List<ClaimedRequest> batch) {
+        List<LabelRequest> labels = batch.stream().map(ClaimedRequest::label).collect(Collectors.toList());
+        Map<Long, Integer> claims = new HashMap<>();
+        batch.forEach(request -> claims.put(request.id(), request.attempt()));
+        inFlight.addAndGet(labels.size());
+        CompletableFuture
+                .supplyAsync(() -> adapter.createLabels(labels), executorFor(adapter))
+                .handle((results, e) -> {
+                    if (e == null) {
+                        writeResults(results, claims, true);
+                    } else {
+                        log.warn("Label batch of {} requests failed for carrier adapter {}: {}",
+                                labels.size(), adapter.carrierCode(), e.getMessage());
+                        requeueOrFail(claims, "Carrier error: " + e.getMessage());
+                    }
+                    return null;
+                })
+                .whenComplete((ignored, e) -> {
+                    inFlight.addAndGet(-labels.size());
+                    if (e != null) {
+                        // Requests stay in progress and are retried once their lease expires
+                        log.error("Failed to record label results: {}", e.getMessage(), e);
+                    }
+                });
+    }
+
+    private ExecutorService executorFor(CarrierLabelAdapter adapter) {
+        return executors.computeIfAbsent(adapter, key -> {
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newFixedThreadPool(Math.max(1, key.maxConcurrency()), runnable -> {
+                Thread thread = new Thread(runnable, "labels-" + key.carrierCode() + "-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        });
+    }
+
+    /**
+     * Record the results of a batch and, when requested, copy successful labels
+     * onto the shipment packages. Results of requests claimed again since are dropped.
+     *
+     * @param claims the attempt each request was claimed with, keyed by request ID
+     */
+    private void writeResults(List<LabelResult> results, Map<Long, Integer> claims, boolean updatePackages) {
+        Map<Long, LabelResult> resultsById = new LinkedHashMap<>();
+        results.forEach(result -> resultsById.put(Long.valueOf(result.requestKey()), result));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<ShippingLabelRequest> requests = stillClaimed(
+                    requestRepository.lockAllById(resultsById.keySet()), claims);
+            Map<UUID, ShipmentPackage> packages = new HashMap<>();
+            if (updatePackages) {
+                packages = shipmentPackageBatchRepository.findPrimaryPackages(requests.stream()
+                        .map(ShippingLabelRequest::getFulfillmentOrderId)
+                        .collect(Collectors.toSet()));
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            for (ShippingLabelRequest request : requests) {
+                LabelResult result = resultsById.get(request.getId());
+                ShipmentPackage shipmentPackage = packages.get(request.getFulfillmentOrderId());
+                if (result.isSuccess() && shipmentPackage != null) {
+                    if (shipmentPackage.getTrackingNumber() == null) {
+                        shipmentPackage.setTrackingNumber(result.trackingNumber());
+                    }
+                    shipmentPackage.setShippingLabelUrl(result.labelUrl());
+                    request.setStatus(LabelRequestStatus.COMPLETED);
+                    request.setTrackingNumber(shipmentPackage.getTrackingNumber());
+                    request.setLabelUrl(result.labelUrl());
+                    request.setErrorMessage(null);
+                } else {
+                    request.setStatus(LabelRequestStatus.FAILED);
+                    request.setErrorMessage(truncate(result.isSuccess() ? "No shipment package found" : result.error()));
+                }
+                request.setCompletedAt(now);
+            }
+            batchRepository.flushInBatches(jdbcBatchSize);
+        });
+    }
+
+    /**
+     * Return requests of a failed batch to the queue, to be claimed again after a
+     * backoff that doubles with each attempt, and fail those out of attempts
+     */
+    private void requeueOrFail(Map<Long, Integer> claims, String error) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int requeued = 0;
+            for (ShippingLabelRequest request : stillClaimed(requestRepository.lockAllById(claims.keySet()), claims)) {
+                int attempts = request.getAttempts();
+                request.setErrorMessage(truncate(error));
+                if (attempts < maxAttempts) {
+                    request.setStatus(LabelRequestStatus.PENDING);
+                    request.setClaimedAt(null);
+                    request.setNextAttemptAt(now.plus(retryBackoff.multipliedBy(1L << Math.max(0, Math.min(attempts - 1, 16)))));
+                    requeued++;
+                } else {
+                    request.setStatus(LabelRequestStatus.FAILED);
+                    request.setCompletedAt(now);
+                }
+            }
+            batchRepository.flushInBatches(jdbcBatchSize);
+            log.info("Requeued {} of {} label requests after a carrier failure", requeued, claims.size());
+        });
+    }
+
+    /**
+     * Keep the locked requests that are still in progress under the claim that
+     * produced the result
+     */
+    private List<ShippingLabelRequest> stillClaimed(List<ShippingLabelRequest> locked, Map<Long, Integer> claims) {
+        List<ShippingLabelRequest> current = new ArrayList<>(locked.size());
+        for (ShippingLabelRequest request : locked) {
+            if (request.getStatus() == LabelRequestStatus.IN_PROGRESS
+                    && claims.get(request.getId()).equals(request.getAttempts())) {
+                current.add(request);
+            } else {
+                log.debug("Dropping the result of label request {} from attempt {}: claimed again or finished",
+                        request.getId(), claims.get(request.getId()));
+            }
+        }
+        return current;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > MAX_ERROR_LENGTH
+                ? message.substring(0, MAX_ERROR_LENGTH)
+                : message;
+    }
+
+    /**
+     * A claimed request with the attempt it was claimed for; {@code label} is null
+     * when the request cannot be sent and {@code error} says why
+     */
+    private record ClaimedRequest(Long id, int attempt, LabelRequest label, String error) {
+
+        String key() {
+            return id.toString();
+        }
+    }
+}
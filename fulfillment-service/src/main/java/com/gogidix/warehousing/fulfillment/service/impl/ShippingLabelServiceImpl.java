@@ -0,0 +1,138 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.dto.LabelJobStatusDTO;
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import com.gogidix.warehousing.fulfillment.entity.ShipmentPackage;
+import com.gogidix.warehousing.fulfillment.entity.ShippingLabelRequest;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.enums.LabelRequestStatus;
+import com.gogidix.warehousing.fulfillment.exception.ResourceNotFoundException;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderBatchRepository;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderRepository;
+import com.gogidix.warehousing.fulfillment.repository.ShipmentPackageBatchRepository;
+import com.gogidix.warehousing.fulfillment.repository.ShippingLabelRequestRepository;
+import com.gogidix.warehousing.fulfillment.service.ShippingLabelService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the ShippingLabelService interface.
+ * Submitting a job only validates the orders and queues one request per order;
+ * labels are generated by {@link ShippingLabelDispatcher}.
+ */
+@Service
+@Slf4j
+@Transactional
+public class ShippingLabelServiceImpl implements ShippingLabelService {
+
+    static final int MAX_REPORTED_FAILURES = 100;
+
+    private final ShippingLabelRequestRepository requestRepository;
+    private final FulfillmentOrderRepository fulfillmentOrderRepository;
+    private final ShipmentPackageBatchRepository shipmentPackageBatchRepository;
+    private final FulfillmentOrderBatchRepository batchRepository;
+    private final int jdbcBatchSize;
+
+    public ShippingLabelServiceImpl(
+            ShippingLabelRequestRepository requestRepository,
+            FulfillmentOrderRepository fulfillmentOrderRepository,
+            ShipmentPackageBatchRepository shipmentPackageBatchRepository,
+            FulfillmentOrderBatchRepository batchRepository,
+            @Value("${fulfillment.labels.jdbc-batch-size:100}") int jdbcBatchSize) {
+        this.requestRepository = requestRepository;
+        this.fulfillmentOrderRepository = fulfillmentOrderRepository;
+        this.shipmentPackageBatchRepository = shipmentPackageBatchRepository;
+        this.batchRepository = batchRepository;
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    @Override
+    public LabelJobStatusDTO submitLabelJob(List<UUID> fulfillmentOrderIds) {
+        Set<UUID> orderIds = new LinkedHashSet<>(fulfillmentOrderIds);
+        UUID jobId = UUID.randomUUID();
+        log.debug("Submitting shipping label job {} for {} fulfillment orders", jobId, orderIds.size());
+
+        Map<String, FulfillmentOrder> orders = fulfillmentOrderRepository
+                .findAllById(orderIds.stream().map(UUID::toString).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(order -> order.getId().toString(), Function.identity()));
+        Map<UUID, ShipmentPackage> packages = shipmentPackageBatchRepository.findPrimaryPackages(orderIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ShippingLabelRequest> requests = new ArrayList<>(orderIds.size());
+        for (UUID orderId : orderIds) {
+            FulfillmentOrder order = orders.get(orderId.toString());
+            ShipmentPackage shipmentPackage = packages.get(orderId);
+            String error = null;
+            if (order == null) {
+                error = "Fulfillment order not found";
+            } else if (order.getStatus() != FulfillmentStatus.PACKING_COMPLETE
+                    && order.getStatus() != FulfillmentStatus.READY_TO_SHIP) {
+                error = "Fulfillment order must be in PACKING_COMPLETE or READY_TO_SHIP status to generate shipping label";
+            } else if (shipmentPackage == null) {
+                error = "No shipment package found";
+            }
+            requests.add(ShippingLabelRequest.builder()
+                    .jobId(jobId)
+                    .fulfillmentOrderId(orderId)
+                    .carrier(shipmentPackage != null ? shipmentPackage.getCarrier() : null)
+                    .status(error == null ? LabelRequestStatus.PENDING : LabelRequestStatus.FAILED)
+                    .errorMessage(error)
+                    .attempts(0)
+                    .createdAt(now)
+                    .completedAt(error == null ? null : now)
+                    .build());
+        }
+        requestRepository.saveAll(requests);
+        batchRepository.flushInBatches(jdbcBatchSize);
+
+        return getLabelJobStatus(jobId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LabelJobStatusDTO getLabelJobStatus(UUID jobId) {
+        Map<LabelRequestStatus, Long> counts = new EnumMap<>(LabelRequestStatus.class);
+        for (Object[] row : requestRepository.countByJobIdGroupByStatus(jobId)) {
+            counts.put((LabelRequestStatus) row[0], (Long) row[1]);
+        }
+        if (counts.isEmpty()) {
+            throw new ResourceNotFoundException("LabelJob", "id", jobId);
+        }
+
+        Map<UUID, String> failures = new LinkedHashMap<>();
+        if (counts.getOrDefault(LabelRequestStatus.FAILED, 0L) > 0) {
+            requestRepository.findByJobIdAndStatusOrderById(jobId, LabelRequestStatus.FAILED,
+                            PageRequest.of(0, MAX_REPORTED_FAILURES))
+                    .forEach(request -> failures.put(request.getFulfillmentOrderId(), request.getErrorMessage()));
+        }
+
+        long pending = counts.getOrDefault(LabelRequestStatus.PENDING, 0L);
+        long inProgress = counts.getOrDefault(LabelRequestStatus.IN_PROGRESS, 0L);
+        return LabelJobStatusDTO.builder()
+                .jobId(jobId)
+                .total(counts.values().stream().mapToLong(Long::longValue).sum())
+                .pending(pending)
+                .inProgress(inProgress)
+                .completed(counts.getOrDefault(LabelRequestStatus.COMPLETED, 0L))
+                .failed(counts.getOrDefault(LabelRequestStatus.FAILED, 0L))
+                .done(pending == 0 && inProgress == 0)
+                .failures(failures)
+                .build();
+    }
+}
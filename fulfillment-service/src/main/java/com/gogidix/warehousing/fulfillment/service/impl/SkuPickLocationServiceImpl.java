@@ -0,0 +1,149 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.dto.SkuPickLocationDTO;
+import com.gogidix.warehousing.fulfillment.entity.SkuPickLocation;
+import com.gogidix.warehousing.fulfillment.exception.FulfillmentException;
+import com.gogidix.warehousing.fulfillment.repository.SkuPickLocationRepository;
+import com.gogidix.warehousing.fulfillment.service.SkuPickLocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the SkuPickLocationService interface.
+ * Stored locations are read by picking task planning and cartonization on their next use.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SkuPickLocationServiceImpl implements SkuPickLocationService {
+
+    private final SkuPickLocationRepository skuPickLocationRepository;
+
+    @Override
+    public List<SkuPickLocationDTO> upsertLocations(Long warehouseId, List<SkuPickLocationDTO> locations) {
+        log.debug("Upserting {} SKU pick locations in warehouse: {}", locations.size(), warehouseId);
+        if (warehouseId == null) {
+            throw new FulfillmentException("Warehouse ID is required for SKU pick locations");
+        }
+
+        // Later entries for the same SKU win, as they would if sent one at a time
+        Map<String, SkuPickLocationDTO> bySku = new LinkedHashMap<>();
+        for (SkuPickLocationDTO location : locations) {
+            if (location.getSku() == null || location.getSku().isBlank()) {
+                throw new FulfillmentException("SKU is required for every pick location");
+            }
+            validateDimensions(location);
+            bySku.put(location.getSku(), location);
+        }
+        if (bySku.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, SkuPickLocation> existing = skuPickLocationRepository
+                .findByWarehouseIdAndSkuIn(warehouseId, bySku.keySet()).stream()
+                .collect(Collectors.toMap(SkuPickLocation::getSku, location -> location));
+        LocalDateTime now = LocalDateTime.now();
+        List<SkuPickLocation> entities = new ArrayList<>(bySku.size());
+        for (SkuPickLocationDTO location : bySku.values()) {
+            SkuPickLocation entity = existing.get(location.getSku());
+            if (entity == null) {
+                if (location.getZone() == null || location.getZone().isBlank()) {
+                    throw new FulfillmentException("Zone is required for new pick location of SKU " +
+                            location.getSku() + " in warehouse " + warehouseId);
+                }
+                entity = SkuPickLocation.builder()
+                        .warehouseId(warehouseId)
+                        .sku(location.getSku())
+                        .build();
+            }
+            merge(entity, location);
+            entity.setUpdatedAt(now);
+            entities.add(entity);
+        }
+        return skuPickLocationRepository.saveAll(entities).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SkuPickLocationDTO> getLocations(Long warehouseId, Collection<String> skus) {
+        if (skus.isEmpty()) {
+            return List.of();
+        }
+        return skuPickLocationRepository.findByWarehouseIdAndSkuIn(warehouseId, skus).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private void validateDimensions(SkuPickLocationDTO location) {
+        for (Double value : new Double[] {location.getLengthCm(), location.getWidthCm(),
+                location.getHeightCm(), location.getWeightKg()}) {
+            if (value != null && (value.isNaN() || value.isInfinite() || value <= 0)) {
+                throw new FulfillmentException("Dimensions and weight must be positive for SKU " + location.getSku());
+            }
+        }
+    }
+
+    private void merge(SkuPickLocation entity, SkuPickLocationDTO location) {
+        if (location.getZone() != null) {
+            entity.setZone(location.getZone());
+        }
+        if (location.getAisle() != null) {
+            entity.setAisle(location.getAisle());
+        }
+        if (location.getRack() != null) {
+            entity.setRack(location.getRack());
+        }
+        if (location.getBin() != null) {
+            entity.setBin(location.getBin());
+        }
+        if (location.getWalkSequence() != null) {
+            entity.setWalkSequence(location.getWalkSequence());
+        }
+        if (location.getHandlingClass() != null) {
+            entity.setHandlingClass(location.getHandlingClass());
+        }
+        if (location.getLengthCm() != null) {
+            entity.setLengthCm(location.getLengthCm());
+        }
+        if (location.getWidthCm() != null) {
+            entity.setWidthCm(location.getWidthCm());
+        }
+        if (location.getHeightCm() != null) {
+            entity.setHeightCm(location.getHeightCm());
+        }
+        if (location.getWeightKg() != null) {
+            entity.setWeightKg(location.getWeightKg());
+        }
+    }
+
+    private SkuPickLocationDTO toDTO(SkuPickLocation entity) {
+        return SkuPickLocationDTO.builder()
+                .warehouseId(entity.getWarehouseId())
+                .sku(entity.getSku())
+                .zone(entity.getZone())
+                .aisle(entity.getAisle())
+                .rack(entity.getRack())
+                .bin(entity.getBin())
+                .walkSequence(entity.getWalkSequence())
+                .handlingClass(entity.getHandlingClass())
+                .lengthCm(entity.getLengthCm())
+                .widthCm(entity.getWidthCm())
+                .heightCm(entity.getHeightCm())
+                .weightKg(entity.getWeightKg())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
+}
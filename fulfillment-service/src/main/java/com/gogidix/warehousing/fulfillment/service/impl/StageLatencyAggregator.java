@@ -0,0 +1,150 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStage;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.util.TransactionCallbacks;
+import com.gogidix.warehousing.fulfillment.util.WindowedHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aggregates the latency of each fulfillment stage per warehouse as orders move
+ * through the workflow. Every stage of every warehouse keeps a sliding window of
+ * per-minute histograms, so percentiles and throughput over the last minutes can
+ * be read at any time without touching the database.
+ * <p>
+ * Each instance aggregates the transitions it handles itself; the figures are
+ * live operational signals, not a replacement for reporting.
+ */
+@Component
+@Slf4j
+public class StageLatencyAggregator {
+
+    private final int windowMinutes;
+    private final ConcurrentHashMap<StageKey, WindowedHistogram> histograms = new ConcurrentHashMap<>();
+
+    public StageLatencyAggregator(@Value("${fulfillment.analytics.window-minutes:60}") int windowMinutes) {
+        this.windowMinutes = windowMinutes;
+    }
+
+    /**
+     * Record the stage an order has just completed by moving to a new status. Inside
+     * a transaction the stage is recorded only once it commits, so a transition that
+     * rolls back never reaches the histograms.
+     *
+     * @param order the order, with its workflow timestamps
+     * @param newStatus the status the order moved to
+     */
+    public void onStatusChanged(FulfillmentOrder order, FulfillmentStatus newStatus) {
+        switch (newStatus) {
+            case PICKING:
+                recordOnCommit(order.getWarehouseId(), FulfillmentStage.RECEIVED_TO_PICKING,
+                        order.getCreatedAt(), order.getPickingStartedAt());
+                break;
+            case PACKING_COMPLETE:
+                recordOnCommit(order.getWarehouseId(), FulfillmentStage.PICKING_TO_PACKED,
+                        order.getPickingStartedAt(), order.getPackingCompletedAt());
+                break;
+            case SHIPPED:
+                recordOnCommit(order.getWarehouseId(), FulfillmentStage.PACKED_TO_SHIPPED,
+                        order.getPackingCompletedAt(), order.getShippedAt());
+                break;
+            default:
+                // Not the end of a measured stage
+                break;
+        }
+    }
+
+    private void recordOnCommit(Long warehouseId, FulfillmentStage stage, LocalDateTime startedAt,
+                                LocalDateTime completedAt) {
+        // Timestamps are read now, as the order may change again before the commit
+        TransactionCallbacks.afterCommit(() -> record(warehouseId, stage, startedAt, completedAt));
+    }
+
+    /**
+     * Record one completed stage
+     *
+     * @param warehouseId the warehouse ID, as stored on the order
+     * @param stage the stage
+     * @param startedAt when the stage started
+     * @param completedAt when the stage completed
+     */
+    public void record(Long warehouseId, FulfillmentStage stage, LocalDateTime startedAt, LocalDateTime completedAt) {
+        if (startedAt == null || completedAt == null) {
+            return;
+        }
+        long latencyMillis = Duration.between(startedAt, completedAt).toMillis();
+        long completedMillis = completedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        histograms.computeIfAbsent(new StageKey(warehouseId, stage), k -> new WindowedHistogram(windowMinutes))
+                .record(latencyMillis, completedMillis);
+    }
+
+    /**
+     * Summarize the last minutes of each stage
+     *
+     * @param warehouseId the warehouse ID as stored on orders, or null for all warehouses
+     * @param minutes the number of minutes, including the current one
+     * @return the summary of each stage
+     */
+    public Map<FulfillmentStage, StageSummary> summarize(Long warehouseId, int minutes) {
+        int span = Math.max(1, Math.min(minutes, windowMinutes));
+        long now = System.currentTimeMillis();
+        Map<FulfillmentStage, long[]> buckets = new EnumMap<>(FulfillmentStage.class);
+        Map<FulfillmentStage, long[]> perMinute = new EnumMap<>(FulfillmentStage.class);
+        Map<FulfillmentStage, Long> max = new EnumMap<>(FulfillmentStage.class);
+        for (FulfillmentStage stage : FulfillmentStage.values()) {
+            buckets.put(stage, new long[WindowedHistogram.BUCKET_COUNT]);
+            perMinute.put(stage, new long[span]);
+            max.put(stage, 0L);
+        }
+
+        histograms.forEach((key, histogram) -> {
+            if (warehouseId != null && !warehouseId.equals(key.warehouseId())) {
+                return;
+            }
+            long stageMax = histogram.collect(span, now, buckets.get(key.stage()), perMinute.get(key.stage()));
+            max.merge(key.stage(), stageMax, Math::max);
+        });
+
+        Map<FulfillmentStage, StageSummary> summaries = new EnumMap<>(FulfillmentStage.class);
+        for (FulfillmentStage stage : FulfillmentStage.values()) {
+            long[] stageBuckets = buckets.get(stage);
+            long count = 0;
+            for (long n : stageBuckets) {
+                count += n;
+            }
+            summaries.put(stage, new StageSummary(count,
+                    WindowedHistogram.percentile(stageBuckets, count, 50),
+                    WindowedHistogram.percentile(stageBuckets, count, 90),
+                    WindowedHistogram.percentile(stageBuckets, count, 99),
+                    max.get(stage), perMinute.get(stage)));
+        }
+        return summaries;
+    }
+
+    /**
+     * Latency summary of one stage
+     *
+     * @param count the number of orders that completed the stage
+     * @param p50Millis the median latency
+     * @param p90Millis the 90th percentile latency
+     * @param p99Millis the 99th percentile latency
+     * @param maxMillis the largest latency
+     * @param perMinute the number of completions per minute, oldest first
+     */
+    public record StageSummary(long count, long p50Millis, long p90Millis, long p99Millis, long maxMillis,
+                               long[] perMinute) {
+    }
+
+    private record StageKey(Long warehouseId, FulfillmentStage stage) {
+    }
+}
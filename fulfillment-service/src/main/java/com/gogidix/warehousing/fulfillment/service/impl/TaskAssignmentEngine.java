@@ -0,0 +1,318 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.repository.TaskClaimRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Chooses the next task for a staff member from in-memory work queues.
+ * <p>
+ * Unassigned tasks sit in lock-free skip-list queues per kind and area (zone for
+ * picking, station for packing), ordered by priority and then due time. To pick
+ * for a staff member the engine looks at the head of every queue and ranks those
+ * candidates by travel from the member's last known location, scaled by how many
+ * tasks they already hold, against priority and urgency. {@link #claimNext} claims
+ * the candidates in order in the database; queues are only a shortlist, and the
+ * database claim is what prevents double assignment across nodes. A candidate
+ * that cannot be claimed is dropped from the queues and the scan moves on to the
+ * tasks behind it. Queues and workloads are resynchronized from the database
+ * periodically to pick up tasks created or assigned on other nodes, and to restore
+ * a dropped task whose claim elsewhere rolled back.
+ */
+@Component
+@Slf4j
+public class TaskAssignmentEngine {
+
+    /**
+     * Kind of task being assigned
+     */
+    public enum TaskKind {
+        PICKING,
+        PACKING
+    }
+
+    private static final Comparator<QueuedTask> QUEUE_ORDER = Comparator
+            .comparingInt(QueuedTask::priority).reversed()
+            .thenComparingLong(QueuedTask::dueByMillis)
+            .thenComparing(QueuedTask::id);
+
+    /**
+     * Tasks due further out than this carry no urgency
+     */
+    static final double URGENCY_HORIZON_HOURS = 4;
+
+    private final TaskClaimRepository claimRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int candidatesPerArea;
+    private final int maxLoad;
+    private final double areaSwitchCost;
+    private final double aisleSwitchCost;
+    private final double priorityWeight;
+    private final double urgencyWeightPerHour;
+
+    /**
+     * Queues and their task index, replaced as one on resync
+     */
+    private volatile WorkQueues workQueues = new WorkQueues();
+    private final ConcurrentHashMap<UUID, StaffState> staff = new ConcurrentHashMap<>();
+
+    public TaskAssignmentEngine(
+            TaskClaimRepository claimRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${fulfillment.assignment.candidates-per-area:4}") int candidatesPerArea,
+            @Value("${fulfillment.assignment.max-load:3}") int maxLoad,
+            @Value("${fulfillment.assignment.area-switch-cost:5.0}") double areaSwitchCost,
+            @Value("${fulfillment.assignment.aisle-switch-cost:1.0}") double aisleSwitchCost,
+            @Value("${fulfillment.assignment.priority-weight:2.0}") double priorityWeight,
+            @Value("${fulfillment.assignment.urgency-weight-per-hour:3.0}") double urgencyWeightPerHour) {
+        this.claimRepository = claimRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.candidatesPerArea = candidatesPerArea;
+        this.maxLoad = maxLoad;
+        this.areaSwitchCost = areaSwitchCost;
+        this.aisleSwitchCost = aisleSwitchCost;
+        this.priorityWeight = priorityWeight;
+        this.urgencyWeightPerHour = urgencyWeightPerHour;
+    }
+
+    /**
+     * Add an unassigned task to the work queue of its area
+     *
+     * @param kind the kind of task
+     * @param taskId the task ID
+     * @param area the zone or packing station
+     * @param aisle the aisle, or null
+     * @param priority the task priority, higher first
+     * @param dueBy the due time, or null
+     */
+    public void enqueue(TaskKind kind, UUID taskId, String area, String aisle, Integer priority, LocalDateTime dueBy) {
+        workQueues.add(queuedTask(kind, taskId, area, aisle, priority, dueBy));
+    }
+
+    /**
+     * Remove a task from the work queues, for example once it is assigned
+     *
+     * @param taskId the task ID
+     */
+    public void dequeue(UUID taskId) {
+        workQueues.remove(taskId);
+    }
+
+    /**
+     * Claim the best task a staff member could take next. Candidates are offered to
+     * the claim function in rank order; one it cannot claim, because it is taken or
+     * locked by another node, is dropped from the queues and the scan continues with
+     * the tasks queued behind it until a claim succeeds or the queues run dry.
+     *
+     * @param kind the kind of task
+     * @param staffId the staff member
+     * @param claim claims a task in the database, returning empty if it cannot be had
+     * @return the claimed task, or empty if none could be claimed
+     */
+    public <T> Optional<T> claimNext(TaskKind kind, UUID staffId, Function<UUID, Optional<T>> claim) {
+        List<UUID> candidates = candidatesFor(kind, staffId);
+        while (!candidates.isEmpty()) {
+            for (UUID taskId : candidates) {
+                Optional<T> claimed = claim.apply(taskId);
+                if (claimed.isPresent()) {
+                    return claimed;
+                }
+                // Taken or being claimed elsewhere; resync restores it if that claim rolls back
+                dequeue(taskId);
+            }
+            candidates = candidatesFor(kind, staffId);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Rank the queued tasks a staff member could take next
+     *
+     * @param kind the kind of task
+     * @param staffId the staff member
+     * @return the candidates, best first; empty if none are queued or the member is at capacity
+     */
+    public List<UUID> candidatesFor(TaskKind kind, UUID staffId) {
+        StaffState state = staff.computeIfAbsent(staffId, k -> new StaffState());
+        int load = state.load.get();
+        if (load >= maxLoad) {
+            return List.of();
+        }
+
+        long now = System.currentTimeMillis();
+        List<ScoredTask> scored = new ArrayList<>();
+        for (ConcurrentSkipListSet<QueuedTask> queue : workQueues.queues.get(kind).values()) {
+            Iterator<QueuedTask> it = queue.iterator();
+            for (int i = 0; i < candidatesPerArea && it.hasNext(); i++) {
+                QueuedTask task = it.next();
+                scored.add(new ScoredTask(task.id(), cost(task, state, load, now)));
+            }
+        }
+        scored.sort(Comparator.comparingDouble(ScoredTask::cost));
+        List<UUID> candidates = new ArrayList<>(scored.size());
+        scored.forEach(task -> candidates.add(task.id()));
+        return candidates;
+    }
+
+    /**
+     * Record that a staff member took on a task at a location
+     */
+    public void onAssigned(UUID staffId, String area, String aisle) {
+        StaffState state = staff.computeIfAbsent(staffId, k -> new StaffState());
+        state.load.incrementAndGet();
+        state.moveTo(area, aisle);
+    }
+
+    /**
+     * Record that a staff member finished a task at a location
+     */
+    public void onCompleted(UUID staffId, String area, String aisle) {
+        if (staffId == null) {
+            return;
+        }
+        StaffState state = staff.computeIfAbsent(staffId, k -> new StaffState());
+        state.load.updateAndGet(load -> Math.max(0, load - 1));
+        state.moveTo(area, aisle);
+    }
+
+    /**
+     * Record the last known location of a staff member, for example from a location scan
+     */
+    public void updateLocation(UUID staffId, String area, String aisle) {
+        staff.computeIfAbsent(staffId, k -> new StaffState()).moveTo(area, aisle);
+    }
+
+    /**
+     * Rebuild the work queues and staff workloads from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${fulfillment.assignment.resync-interval-ms:30000}",
+            fixedDelayString = "${fulfillment.assignment.resync-interval-ms:30000}")
+    public void resync() {
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            WorkQueues rebuilt = new WorkQueues();
+            for (Object[] row : claimRepository.findUnassignedPickingTasks()) {
+                rebuilt.add(queuedTask(TaskKind.PICKING, (UUID) row[0], (String) row[1], (String) row[2],
+                        (Integer) row[3], (LocalDateTime) row[4]));
+            }
+            for (Object[] row : claimRepository.findUnassignedPackingTasks()) {
+                rebuilt.add(queuedTask(TaskKind.PACKING, (UUID) row[0], (String) row[1], null,
+                        (Integer) row[2], (LocalDateTime) row[3]));
+            }
+            workQueues = rebuilt;
+
+            Map<UUID, Long> loads = claimRepository.countOpenAssignments();
+            staff.forEach((staffId, state) -> state.load.set(loads.getOrDefault(staffId, 0L).intValue()));
+            loads.forEach((staffId, load) -> staff.computeIfAbsent(staffId, k -> new StaffState())
+                    .load.set(load.intValue()));
+            log.debug("Resynchronized work queues with {} unassigned tasks and {} active staff",
+                    rebuilt.index.size(), loads.size());
+        });
+    }
+
+    private double cost(QueuedTask task, StaffState state, int load, long now) {
+        double travel;
+        String area = state.area;
+        if (area == null) {
+            travel = aisleSwitchCost;
+        } else if (!area.equals(task.area())) {
+            travel = areaSwitchCost;
+        } else if (!Objects.equals(state.aisle, task.aisle())) {
+            travel = aisleSwitchCost;
+        } else {
+            travel = 0;
+        }
+        // Staff already holding work are kept close to where they are
+        travel *= 1 + load;
+
+        // Urgency grows as the due time approaches and is greatest once overdue
+        double hoursToDue = Math.max(0, (task.dueByMillis() - now) / 3_600_000.0);
+        double urgency = Math.max(0, URGENCY_HORIZON_HOURS - hoursToDue) * urgencyWeightPerHour;
+        return travel - task.priority() * priorityWeight - urgency;
+    }
+
+
+    private static QueuedTask queuedTask(TaskKind kind, UUID id, String area, String aisle,
+                                         Integer priority, LocalDateTime dueBy) {
+        return new QueuedTask(id, kind, Objects.toString(area, ""), aisle,
+                priority != null ? priority : 0,
+                dueBy != null ? dueBy.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : Long.MAX_VALUE);
+    }
+
+    private record QueuedTask(UUID id, TaskKind kind, String area, String aisle, int priority, long dueByMillis) {
+    }
+
+    private record ScoredTask(UUID id, double cost) {
+    }
+
+    /**
+     * Work queues per kind and area together with the index of queued tasks by ID
+     */
+    private static final class WorkQueues {
+        private final Map<TaskKind, ConcurrentHashMap<String, ConcurrentSkipListSet<QueuedTask>>> queues =
+                new EnumMap<>(TaskKind.class);
+        private final ConcurrentHashMap<UUID, QueuedTask> index = new ConcurrentHashMap<>();
+
+        WorkQueues() {
+            for (TaskKind kind : TaskKind.values()) {
+                queues.put(kind, new ConcurrentHashMap<>());
+            }
+        }
+
+        void add(QueuedTask task) {
+            QueuedTask previous = index.put(task.id(), task);
+            if (previous != null) {
+                queueOf(previous).remove(previous);
+            }
+            queueOf(task).add(task);
+        }
+
+        void remove(UUID taskId) {
+            QueuedTask task = index.remove(taskId);
+            if (task != null) {
+                queueOf(task).remove(task);
+            }
+        }
+
+        private ConcurrentSkipListSet<QueuedTask> queueOf(QueuedTask task) {
+            return queues.get(task.kind()).computeIfAbsent(task.area(),
+                    k -> new ConcurrentSkipListSet<>(QUEUE_ORDER));
+        }
+    }
+
+    private static final class StaffState {
+        private final AtomicInteger load = new AtomicInteger();
+        private volatile String area;
+        private volatile String aisle;
+
+        void moveTo(String newArea, String newAisle) {
+            if (newArea != null) {
+                area = newArea;
+                aisle = newAisle;
+            }
+        }
+    }
+}
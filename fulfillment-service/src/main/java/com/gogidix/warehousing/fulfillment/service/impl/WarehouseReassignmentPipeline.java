@@ -0,0 +1,222 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatuses;
+import com.gogidix.warehousing.fulfillment.repository.WarehouseReassignmentRepository;
+import com.gogidix.warehousing.fulfillment.repository.WarehouseReassignmentRepository.ReassignedOrder;
+import com.gogidix.warehousing.fulfillment.repository.WarehouseReassignmentRepository.ReassignmentCandidate;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves all open orders off a warehouse that has become unavailable.
+ * <p>
+ * Orders are read in keyset-paginated chunks of projections. Each chunk is
+ * evaluated on a worker pool against a ranking of alternate warehouses memoized
+ * per SKU set and delivery region, since orders in an outage overwhelmingly share
+ * both. Each order goes to the best ranked warehouse that still has headroom in
+ * its daily capacity, counting the orders this run has already sent there; once
+ * every ranked warehouse is full, the overflow goes to the least loaded. The decisions of
+ * a chunk are then committed as one bulk update per target warehouse plus one for
+ * the orders put on hold, and a status change event is written to the outbox for
+ * every order sent back to PROCESSING or put on hold. Reading, evaluation and
+ * commits overlap, with at most {@code parallelism} chunks in flight.
+ */
+@Component
+@Slf4j
+public class WarehouseReassignmentPipeline {
+
+    private final WarehouseReassignmentRepository reassignmentRepository;
+    private final WarehouseSelector warehouseSelector;
+    private final FulfillmentEventOutbox eventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    public WarehouseReassignmentPipeline(
+            WarehouseReassignmentRepository reassignmentRepository,
+            WarehouseSelector warehouseSelector,
+            FulfillmentEventOutbox eventOutbox,
+            TransactionTemplate transactionTemplate,
+            @Value("${fulfillment.reassignment.chunk-size:500}") int chunkSize,
+            @Value("${fulfillment.reassignment.parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+            int parallelism) {
+        this.reassignmentRepository = reassignmentRepository;
+        this.warehouseSelector = warehouseSelector;
+        this.eventOutbox = eventOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.parallelism = Math.max(1, parallelism);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "reassignment-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reassign every open order of a warehouse, putting orders that no other
+     * warehouse can serve on hold. Each chunk is committed in its own transaction.
+     *
+     * @param sourceWarehouseId the unavailable warehouse
+     * @return the outcome of the run
+     */
+    public ReassignmentResult reassignAll(UUID sourceWarehouseId) {
+        long started = System.nanoTime();
+        Map<ScoringKey, List<WarehouseRoutingIndex.Site>> rankings = new ConcurrentHashMap<>();
+        Map<UUID, AtomicLong> assignedInRun = new ConcurrentHashMap<>();
+        Deque<CompletableFuture<ChunkDecision>> inFlight = new ArrayDeque<>();
+        int[] totals = new int[2];
+
+        String afterOrderId = null;
+        while (true) {
+            String cursor = afterOrderId;
+            List<ReassignmentCandidate> chunk = transactionTemplate.execute(status ->
+                    reassignmentRepository.findCandidates(sourceWarehouseId, FulfillmentStatuses.OPEN, cursor, chunkSize));
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            afterOrderId = chunk.get(chunk.size() - 1).orderId();
+            inFlight.add(CompletableFuture.supplyAsync(() -> decide(chunk, sourceWarehouseId, rankings, assignedInRun), executor));
+
+            while (inFlight.size() >= parallelism) {
+                commit(inFlight.poll().join(), sourceWarehouseId, totals);
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            commit(inFlight.poll().join(), sourceWarehouseId, totals);
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Reassigned {} orders and held {} from warehouse: {} in {} ms using {} distinct scorings",
+                totals[0], totals[1], sourceWarehouseId, elapsedMillis, rankings.size());
+        return new ReassignmentResult(totals[0], totals[1], elapsedMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ChunkDecision decide(List<ReassignmentCandidate> chunk, UUID sourceWarehouseId,
+                                 Map<ScoringKey, List<WarehouseRoutingIndex.Site>> rankings,
+                                 Map<UUID, AtomicLong> assignedInRun) {
+        Map<UUID, List<String>> byTarget = new LinkedHashMap<>();
+        List<String> held = new ArrayList<>();
+        for (ReassignmentCandidate candidate : chunk) {
+            List<WarehouseRoutingIndex.Site> ranked = rankings.computeIfAbsent(
+                    new ScoringKey(Set.copyOf(candidate.skus()), candidate.region()),
+                    key -> warehouseSelector.rankAlternates(key.skus(), key.region(), sourceWarehouseId));
+            Optional<UUID> target = claim(ranked, assignedInRun);
+            if (target.isPresent()) {
+                byTarget.computeIfAbsent(target.get(), k -> new ArrayList<>()).add(candidate.orderId());
+            } else {
+                held.add(candidate.orderId());
+            }
+        }
+        return new ChunkDecision(byTarget, held);
+    }
+
+    /**
+     * Take one order's worth of capacity from the best ranked warehouse with headroom
+     * left, or from the least loaded one once all are full. Warehouses without a
+     * recorded capacity are only used for overflow.
+     */
+    private Optional<UUID> claim(List<WarehouseRoutingIndex.Site> ranked, Map<UUID, AtomicLong> assignedInRun) {
+        if (ranked.isEmpty()) {
+            return Optional.empty();
+        }
+        for (WarehouseRoutingIndex.Site site : ranked) {
+            if (!site.hasKnownCapacity()) {
+                continue;
+            }
+            long headroom = site.dailyOrderCapacity() - site.openOrders();
+            AtomicLong assigned = assignedInRun.computeIfAbsent(site.warehouseId(), k -> new AtomicLong());
+            long current;
+            while ((current = assigned.get()) < headroom) {
+                if (assigned.compareAndSet(current, current + 1)) {
+                    return Optional.of(site.warehouseId());
+                }
+            }
+        }
+
+        // Every ranked warehouse is full: spread the overflow by projected utilization. Warehouses
+        // without a known capacity are compared by order count and only used when none has one.
+        WarehouseRoutingIndex.Site leastLoaded = null;
+        double leastLoad = 0;
+        for (WarehouseRoutingIndex.Site site : ranked) {
+            AtomicLong assigned = assignedInRun.get(site.warehouseId());
+            long load = site.openOrders() + (assigned != null ? assigned.get() : 0);
+            double projected = site.hasKnownCapacity() ? site.utilization(load) : load;
+            if (leastLoaded == null
+                    || site.hasKnownCapacity() && !leastLoaded.hasKnownCapacity()
+                    || site.hasKnownCapacity() == leastLoaded.hasKnownCapacity() && projected < leastLoad) {
+                leastLoad = projected;
+                leastLoaded = site;
+            }
+        }
+        assignedInRun.computeIfAbsent(leastLoaded.warehouseId(), k -> new AtomicLong()).incrementAndGet();
+        return Optional.of(leastLoaded.warehouseId());
+    }
+
+    private void commit(ChunkDecision decision, UUID sourceWarehouseId, int[] totals) {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            String reassignReason = "Original warehouse unavailable";
+            List<String> backToProcessing = new ArrayList<>();
+            for (Map.Entry<UUID, List<String>> target : decision.byTarget().entrySet()) {
+                List<ReassignedOrder> reassigned = reassignmentRepository.reassign(target.getValue(),
+                        sourceWarehouseId, target.getKey(), FulfillmentStatuses.OPEN, reassignReason, now);
+                for (ReassignedOrder order : reassigned) {
+                    if (order.backToProcessing()) {
+                        backToProcessing.add(order.orderId());
+                    }
+                }
+                totals[0] += reassigned.size();
+            }
+            eventOutbox.statusChanged(backToProcessing, FulfillmentStatus.PROCESSING, reassignReason);
+            if (!decision.held().isEmpty()) {
+                log.warn("No alternate warehouse available for {} orders. Marking as ON_HOLD.", decision.held().size());
+                String holdReason = "Original warehouse unavailable and no alternate found";
+                List<String> held = reassignmentRepository.hold(decision.held(), sourceWarehouseId,
+                        FulfillmentStatuses.OPEN, holdReason, now);
+                eventOutbox.statusChanged(held, FulfillmentStatus.ON_HOLD, holdReason);
+                totals[1] += held.size();
+            }
+        });
+    }
+
+    private record ScoringKey(Set<String> skus, String region) {
+    }
+
+    private record ChunkDecision(Map<UUID, List<String>> byTarget, List<String> held) {
+    }
+
+    /**
+     * Outcome of draining a warehouse
+     */
+    public record ReassignmentResult(int reassigned, int held, long elapsedMillis) {
+    }
+}
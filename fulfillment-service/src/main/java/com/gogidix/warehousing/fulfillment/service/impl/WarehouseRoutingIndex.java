@@ -0,0 +1,150 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.entity.WarehouseSite;
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatuses;
+import com.gogidix.warehousing.fulfillment.repository.WarehouseSiteRepository;
+import com.gogidix.warehousing.fulfillment.util.GeoHash;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory index of active warehouses used for routing. Warehouses are bucketed
+ * by geohash prefix so that the warehouses near a destination are found with a
+ * few map lookups: the destination's cell and the eight cells around it, so a
+ * warehouse just across a cell border is not missed. Each warehouse carries its open order count from a periodically refreshed
+ * capacity snapshot. The whole index is rebuilt off to the side and swapped in,
+ * so lookups never block.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WarehouseRoutingIndex {
+
+    /**
+     * Geohash prefix lengths indexed, from the narrowest cell (about 150 km) to the widest
+     */
+    static final int[] CELL_PRECISIONS = {3, 2, 1};
+
+    private final WarehouseSiteRepository warehouseSiteRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Rebuild the index from the warehouse sites and current open order counts
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${fulfillment.routing.refresh-interval-ms:30000}",
+            initialDelayString = "${fulfillment.routing.refresh-interval-ms:30000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        Map<UUID, Long> openOrders = new HashMap<>();
+        for (Object[] row : warehouseSiteRepository.countOrdersByAssignedWarehouse(
+                FulfillmentStatuses.OPEN)) {
+            if (row[0] != null) {
+                openOrders.put((UUID) row[0], (Long) row[1]);
+            }
+        }
+
+        List<Site> sites = new ArrayList<>();
+        List<Map<String, List<Site>>> cells = new ArrayList<>();
+        for (int i = 0; i < CELL_PRECISIONS.length; i++) {
+            cells.add(new HashMap<>());
+        }
+        for (WarehouseSite warehouse : warehouseSiteRepository.findByActiveTrue()) {
+            String geohash = GeoHash.encode(warehouse.getLatitude(), warehouse.getLongitude(), CELL_PRECISIONS[0]);
+            // The capacity column is required, so an unset capacity is stored as zero
+            Integer capacity = warehouse.getDailyOrderCapacity() != null && warehouse.getDailyOrderCapacity() > 0
+                    ? warehouse.getDailyOrderCapacity() : null;
+            Site site = new Site(warehouse.getWarehouseId(), warehouse.getLatitude(), warehouse.getLongitude(),
+                    capacity, openOrders.getOrDefault(warehouse.getWarehouseId(), 0L));
+            sites.add(site);
+            for (int i = 0; i < CELL_PRECISIONS.length; i++) {
+                cells.get(i).computeIfAbsent(geohash.substring(0, CELL_PRECISIONS[i]), k -> new ArrayList<>()).add(site);
+            }
+        }
+
+        snapshot = new Snapshot(List.copyOf(sites), cells);
+        log.debug("Refreshed warehouse routing index with {} active warehouses", sites.size());
+    }
+
+    /**
+     * Get the active warehouses in the geohash cell containing a location and in the
+     * cells bordering it
+     *
+     * @param geohash a geohash of the location, at least as long as the cell precision
+     * @param level the index into {@link #CELL_PRECISIONS}
+     * @return the warehouses in the cell and its neighbours
+     */
+    public List<Site> cell(String geohash, int level) {
+        int precision = CELL_PRECISIONS[level];
+        if (geohash.length() < precision) {
+            return List.of();
+        }
+        String cell = geohash.substring(0, precision);
+        Map<String, List<Site>> cells = snapshot.cells().get(level);
+        List<Site> sites = new ArrayList<>(cells.getOrDefault(cell, List.of()));
+        for (String neighbour : GeoHash.neighbours(cell)) {
+            sites.addAll(cells.getOrDefault(neighbour, List.of()));
+        }
+        return sites;
+    }
+
+    /**
+     * Get all active warehouses
+     */
+    public List<Site> all() {
+        return snapshot.sites();
+    }
+
+    /**
+     * An active warehouse as of the last refresh; {@code dailyOrderCapacity} is
+     * positive, or null when no capacity is recorded for it
+     */
+    public record Site(UUID warehouseId, double latitude, double longitude, Integer dailyOrderCapacity,
+                       long openOrders) {
+
+        /**
+         * Whether the warehouse has a daily capacity recorded
+         */
+        boolean hasKnownCapacity() {
+            return dailyOrderCapacity != null;
+        }
+
+        /**
+         * Open orders as a fraction of daily capacity
+         *
+         * @throws IllegalStateException if the capacity is unknown
+         */
+        double utilization() {
+            return utilization(openOrders);
+        }
+
+        /**
+         * A number of orders as a fraction of daily capacity
+         *
+         * @throws IllegalStateException if the capacity is unknown
+         */
+        double utilization(long orders) {
+            if (dailyOrderCapacity == null) {
+                throw new IllegalStateException("Capacity of warehouse " + warehouseId + " is unknown");
+            }
+            return (double) orders / dailyOrderCapacity;
+        }
+    }
+
+    private record Snapshot(List<Site> sites, List<Map<String, List<Site>>> cells) {
+        static final Snapshot EMPTY = new Snapshot(List.of(),
+                List.of(Map.of(), Map.of(), Map.of()));
+    }
+}
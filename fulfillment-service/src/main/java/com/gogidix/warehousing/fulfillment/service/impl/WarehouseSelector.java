@@ -0,0 +1,200 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.util.GeoHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Chooses the warehouse an order should be fulfilled from.
+ * <p>
+ * Candidates are scored by a weighted cost of distance to the delivery region,
+ * SKU coverage and current workload; the lowest cost wins. The workload of a
+ * warehouse without a recorded daily capacity is taken as an assumed utilization
+ * rather than as full. A warehouse known to be short of any requested SKU is never
+ * chosen, while SKUs without availability data only lower its coverage. The
+ * search starts in the geohash cell of the destination and the cells around it,
+ * and widens until enough eligible warehouses are found. All inputs come from
+ * in-memory indexes, so a selection makes no remote calls.
+ */
+@Component
+@Slf4j
+public class WarehouseSelector {
+
+    private final WarehouseRoutingIndex routingIndex;
+    private final InventoryAvailabilityView availabilityView;
+    private final double distanceWeight;
+    private final double coverageWeight;
+    private final double workloadWeight;
+    private final double unknownCapacityUtilization;
+    private final int minCandidates;
+
+    public WarehouseSelector(
+            WarehouseRoutingIndex routingIndex,
+            InventoryAvailabilityView availabilityView,
+            @Value("${fulfillment.routing.distance-weight:1.0}") double distanceWeight,
+            @Value("${fulfillment.routing.coverage-weight:5.0}") double coverageWeight,
+            @Value("${fulfillment.routing.workload-weight:2.0}") double workloadWeight,
+            @Value("${fulfillment.routing.unknown-capacity-utilization:0.5}") double unknownCapacityUtilization,
+            @Value("${fulfillment.routing.min-candidates:3}") int minCandidates) {
+        this.routingIndex = routingIndex;
+        this.availabilityView = availabilityView;
+        this.distanceWeight = distanceWeight;
+        this.coverageWeight = coverageWeight;
+        this.workloadWeight = workloadWeight;
+        this.unknownCapacityUtilization = unknownCapacityUtilization;
+        this.minCandidates = minCandidates;
+    }
+
+    /**
+     * Select the best warehouse, other than the excluded one, to ship the given
+     * SKUs to a delivery region
+     *
+     * @param skus the SKUs to ship
+     * @param region the delivery region, or null if unknown
+     * @param excludedWarehouseId the warehouse that must not be chosen
+     * @return the selected warehouse, or empty if none can serve the order
+     */
+    public Optional<UUID> selectAlternate(Set<String> skus, String region, UUID excludedWarehouseId) {
+        Map<String, Integer> demand = new LinkedHashMap<>();
+        skus.forEach(sku -> demand.put(sku, 1));
+        return select(demand, region, excludedWarehouseId);
+    }
+
+    /**
+     * Rank every warehouse, other than the excluded one, that can ship the given
+     * SKUs to a delivery region, lowest cost first. Meant for placing many orders
+     * at once, where the caller moves down the ranking as warehouses fill up.
+     *
+     * @param skus the SKUs to ship
+     * @param region the delivery region, or null if unknown
+     * @param excludedWarehouseId the warehouse that must not be ranked
+     * @return the eligible warehouses, best first
+     */
+    public List<WarehouseRoutingIndex.Site> rankAlternates(Set<String> skus, String region,
+                                                            UUID excludedWarehouseId) {
+        Map<String, Integer> demand = new LinkedHashMap<>();
+        skus.forEach(sku -> demand.put(sku, 1));
+        double[] destination = region != null ? GeoHash.decode(region) : null;
+
+        List<Ranked> ranked = new ArrayList<>();
+        for (WarehouseRoutingIndex.Site site : routingIndex.all()) {
+            if (site.warehouseId().equals(excludedWarehouseId)) {
+                continue;
+            }
+            double cost = cost(site, demand, destination);
+            if (!Double.isNaN(cost)) {
+                ranked.add(new Ranked(site, cost));
+            }
+        }
+        ranked.sort(Comparator.comparingDouble(Ranked::cost));
+        return ranked.stream().map(Ranked::site).collect(Collectors.toList());
+    }
+
+    /**
+     * Select the best warehouse, other than the excluded one, holding the given
+     * quantity of a SKU
+     *
+     * @param sku the SKU
+     * @param quantity the required quantity
+     * @param region the delivery region, or null if unknown
+     * @param excludedWarehouseId the warehouse that must not be chosen
+     * @return the selected warehouse, or empty if none can serve the quantity
+     */
+    public Optional<UUID> selectForSku(String sku, int quantity, String region, UUID excludedWarehouseId) {
+        return select(Map.of(sku, quantity), region, excludedWarehouseId);
+    }
+
+    private Optional<UUID> select(Map<String, Integer> demand, String region, UUID excludedWarehouseId) {
+        double[] destination = region != null ? GeoHash.decode(region) : null;
+
+        if (destination != null) {
+            for (int level = 0; level < WarehouseRoutingIndex.CELL_PRECISIONS.length; level++) {
+                Best best = best(routingIndex.cell(region, level), demand, destination, excludedWarehouseId);
+                if (best.eligible() >= minCandidates) {
+                    return Optional.of(best.warehouseId());
+                }
+            }
+        }
+        Best best = best(routingIndex.all(), demand, destination, excludedWarehouseId);
+        return Optional.ofNullable(best.warehouseId());
+    }
+
+    private Best best(List<WarehouseRoutingIndex.Site> sites, Map<String, Integer> demand, double[] destination,
+                      UUID excludedWarehouseId) {
+        UUID bestWarehouse = null;
+        double bestCost = Double.MAX_VALUE;
+        int eligible = 0;
+
+        for (WarehouseRoutingIndex.Site site : sites) {
+            if (site.warehouseId().equals(excludedWarehouseId)) {
+                continue;
+            }
+            double cost = cost(site, demand, destination);
+            if (Double.isNaN(cost)) {
+                continue;
+            }
+            eligible++;
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestWarehouse = site.warehouseId();
+            }
+        }
+        return new Best(bestWarehouse, eligible);
+    }
+
+    /**
+     * Weighted cost of serving the demand from a warehouse, or NaN if it is known to
+     * be short of a SKU
+     */
+    private double cost(WarehouseRoutingIndex.Site site, Map<String, Integer> demand, double[] destination) {
+        double coverage = coverage(site.warehouseId(), demand);
+        if (coverage < 0) {
+            return Double.NaN;
+        }
+        double distanceKm = destination != null
+                ? GeoHash.distanceKm(destination[0], destination[1], site.latitude(), site.longitude())
+                : 0;
+        return distanceWeight * distanceKm / 100
+                + coverageWeight * (1 - coverage)
+                + workloadWeight * (site.hasKnownCapacity() ? site.utilization() : unknownCapacityUtilization);
+    }
+
+    /**
+     * Fraction of the demanded SKUs the warehouse is known to hold enough of, or
+     * -1 if it is known to be short of any of them
+     */
+    private double coverage(UUID warehouseId, Map<String, Integer> demand) {
+        if (demand.isEmpty()) {
+            return 1.0;
+        }
+        int confirmed = 0;
+        for (Map.Entry<String, Integer> line : demand.entrySet()) {
+            OptionalInt available = availabilityView.getAvailable(warehouseId, line.getKey());
+            if (available.isPresent()) {
+                if (available.getAsInt() < line.getValue()) {
+                    return -1;
+                }
+                confirmed++;
+            }
+        }
+        return (double) confirmed / demand.size();
+    }
+
+    private record Best(UUID warehouseId, int eligible) {
+    }
+
+    private record Ranked(WarehouseRoutingIndex.Site site, double cost) {
+    }
+}
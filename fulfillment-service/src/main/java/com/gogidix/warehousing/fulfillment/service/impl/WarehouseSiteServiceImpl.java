@@ -0,0 +1,105 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.dto.WarehouseSiteDTO;
+import com.gogidix.warehousing.fulfillment.entity.WarehouseSite;
+import com.gogidix.warehousing.fulfillment.exception.FulfillmentException;
+import com.gogidix.warehousing.fulfillment.exception.ResourceNotFoundException;
+import com.gogidix.warehousing.fulfillment.repository.WarehouseSiteRepository;
+import com.gogidix.warehousing.fulfillment.service.WarehouseSiteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the WarehouseSiteService interface.
+ * Changes reach the routing index at its next refresh.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class WarehouseSiteServiceImpl implements WarehouseSiteService {
+
+    private final WarehouseSiteRepository warehouseSiteRepository;
+
+    @Override
+    public WarehouseSiteDTO upsertSite(UUID warehouseId, WarehouseSiteDTO site) {
+        log.debug("Upserting warehouse site: {}", warehouseId);
+        return toDTO(warehouseSiteRepository.save(toEntity(warehouseId, site, LocalDateTime.now())));
+    }
+
+    @Override
+    public List<WarehouseSiteDTO> upsertSites(List<WarehouseSiteDTO> sites) {
+        log.debug("Upserting {} warehouse sites", sites.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<WarehouseSite> entities = new ArrayList<>(sites.size());
+        for (WarehouseSiteDTO site : sites) {
+            if (site.getWarehouseId() == null) {
+                throw new FulfillmentException("Warehouse ID is required for every warehouse site");
+            }
+            entities.add(toEntity(site.getWarehouseId(), site, now));
+        }
+        return warehouseSiteRepository.saveAll(entities).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WarehouseSiteDTO getSite(UUID warehouseId) {
+        return warehouseSiteRepository.findById(warehouseId)
+                .map(this::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("WarehouseSite", "warehouseId", warehouseId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WarehouseSiteDTO> getAllSites() {
+        return warehouseSiteRepository.findAll().stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private WarehouseSite toEntity(UUID warehouseId, WarehouseSiteDTO site, LocalDateTime now) {
+        if (site.getLatitude() == null || site.getLongitude() == null) {
+            throw new FulfillmentException("Latitude and longitude are required for warehouse " + warehouseId);
+        }
+        if (site.getLatitude() < -90 || site.getLatitude() > 90
+                || site.getLongitude() < -180 || site.getLongitude() > 180) {
+            throw new FulfillmentException("Invalid coordinates for warehouse " + warehouseId);
+        }
+        if (site.getDailyOrderCapacity() == null || site.getDailyOrderCapacity() < 0) {
+            throw new FulfillmentException("A non-negative daily order capacity is required for warehouse " +
+                    warehouseId);
+        }
+
+        return WarehouseSite.builder()
+                .warehouseId(warehouseId)
+                .name(site.getName())
+                .latitude(site.getLatitude())
+                .longitude(site.getLongitude())
+                .dailyOrderCapacity(site.getDailyOrderCapacity())
+                .active(site.getActive() == null || site.getActive())
+                .updatedAt(now)
+                .build();
+    }
+
+    private WarehouseSiteDTO toDTO(WarehouseSite entity) {
+        return WarehouseSiteDTO.builder()
+                .warehouseId(entity.getWarehouseId())
+                .name(entity.getName())
+                .latitude(entity.getLatitude())
+                .longitude(entity.getLongitude())
+                .dailyOrderCapacity(entity.getDailyOrderCapacity())
+                .active(entity.getActive())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.gogidix.warehousing.fulfillment.shipping;
+
+import java.util.List;
+
+/**
+ * Adapter to the label API of a shipping carrier. Implementations are Spring
+ * beans and are picked by {@link CarrierLabelAdapterRegistry} based on
+ * {@link #carrierCode()}.
+ */
+public interface CarrierLabelAdapter {
+
+    /**
+     * Carrier code served by this adapter, matched case-insensitively against the
+     * shipment carrier, or {@code *} to serve any carrier without its own adapter
+     */
+    String carrierCode();
+
+    /**
+     * Maximum number of labels the carrier accepts in one call
+     */
+    int maxBatchSize();
+
+    /**
+     * Maximum number of concurrent calls the carrier allows
+     */
+    int maxConcurrency();
+
+    /**
+     * Create labels for a batch of shipments. A failure of one label is reported
+     * in its result; an exception fails the whole batch.
+     *
+     * @param requests at most {@link #maxBatchSize()} requests for this carrier
+     * @return one result per request, in any order
+     */
+    List<LabelResult> createLabels(List<LabelRequest> requests);
+}
@@ -0,0 +1,54 @@
+package com.gogidix.warehousing.fulfillment.shipping;
+
+import com.gogidix.warehousing.fulfillment.exception.FulfillmentException;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Looks up the label adapter serving a carrier
+ */
+@Component
+public class CarrierLabelAdapterRegistry {
+
+    /**
+     * Carrier code of an adapter serving every carrier without its own adapter
+     */
+    public static final String ANY_CARRIER = "*";
+
+    private final Map<String, CarrierLabelAdapter> adapters = new HashMap<>();
+    private final CarrierLabelAdapter fallback;
+
+    public CarrierLabelAdapterRegistry(List<CarrierLabelAdapter> adapters) {
+        CarrierLabelAdapter any = null;
+        for (CarrierLabelAdapter adapter : adapters) {
+            if (ANY_CARRIER.equals(adapter.carrierCode())) {
+                any = adapter;
+            } else {
+                this.adapters.put(adapter.carrierCode().toLowerCase(Locale.ROOT), adapter);
+            }
+        }
+        this.fallback = any;
+    }
+
+    /**
+     * Get the adapter for a carrier
+     *
+     * @param carrier the carrier code
+     * @return the adapter
+     * @throws FulfillmentException if no adapter serves the carrier
+     */
+    public CarrierLabelAdapter adapterFor(String carrier) {
+        if (carrier == null) {
+            throw new FulfillmentException("Shipment package has no carrier");
+        }
+        CarrierLabelAdapter adapter = adapters.getOrDefault(carrier.toLowerCase(Locale.ROOT), fallback);
+        if (adapter == null) {
+            throw new FulfillmentException("No label adapter configured for carrier: " + carrier);
+        }
+        return adapter;
+    }
+}
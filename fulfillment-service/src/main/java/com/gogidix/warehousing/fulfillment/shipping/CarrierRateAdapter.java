@@ -0,0 +1,25 @@
+package com.gogidix.warehousing.fulfillment.shipping;
+
+import java.util.Optional;
+
+/**
+ * Adapter to the rating API of a shipping carrier. Every adapter bean is asked
+ * for a quote when a label is generated, see
+ * {@link com.gogidix.warehousing.fulfillment.service.impl.CarrierRateShopper}.
+ */
+public interface CarrierRateAdapter {
+
+    /**
+     * Carrier code of the quotes, which must be served by a label adapter
+     */
+    String carrierCode();
+
+    /**
+     * Quote the price of shipping a package. Called concurrently and interrupted when
+     * it does not answer within the rate shopping deadline.
+     *
+     * @param request the package to quote
+     * @return the quote, or empty if the carrier does not serve the lane, weight or service level
+     */
+    Optional<RateQuote> quote(RateRequest request);
+}
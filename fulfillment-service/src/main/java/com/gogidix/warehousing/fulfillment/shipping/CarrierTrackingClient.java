@@ -0,0 +1,17 @@
+package com.gogidix.warehousing.fulfillment.shipping;
+
+import java.util.Optional;
+
+/**
+ * Client for the tracking APIs of the shipping carriers
+ */
+public interface CarrierTrackingClient {
+
+    /**
+     * Look up a tracking number with the carriers
+     *
+     * @param trackingNumber the tracking number
+     * @return the tracking information, or empty if no carrier knows the number
+     */
+    Optional<TrackingInfo> track(String trackingNumber);
+}
@@ -0,0 +1,14 @@
+package com.gogidix.warehousing.fulfillment.shipping;
+
+/**
+ * A request to a carrier for the label of one shipment package
+ *
+ * @param requestKey the key that identifies the request in its result
+ * @param shipmentPackageId the shipment package ID
+ * @param carrier the carrier code of the package
+ * @param serviceLevel the carrier service level
+ * @param trackingNumber the tracking number already assigned, or null
+ */
+public record LabelRequest(String requestKey, String shipmentPackageId, String carrier, String serviceLevel,
+                           String trackingNumber) {
+}
@@ -0,0 +1,24 @@
+package com.gogidix.warehousing.fulfillment.shipping;
+
+/**
+ * Outcome of one label request
+ *
+ * @param requestKey the key of the request
+ * @param trackingNumber the tracking number of the package
+ * @param labelUrl the URL of the generated label
+ * @param error the reason the label could not be created, or null on success
+ */
+public record LabelResult(String requestKey, String trackingNumber, String labelUrl, String error) {
+
+    public static LabelResult success(String requestKey, String trackingNumber, String labelUrl) {
+        return new LabelResult(requestKey, trackingNumber, labelUrl, null);
+    }
+
+    public static LabelResult failure(String requestKey, String error) {
+        return new LabelResult(requestKey, null, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
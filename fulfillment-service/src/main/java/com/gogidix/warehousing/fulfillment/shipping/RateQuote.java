@@ -0,0 +1,16 @@
+package com.gogidix.warehousing.fulfillment.shipping;
+
+import java.math.BigDecimal;
+
+/**
+ * Price a carrier quoted for shipping a package
+ *
+ * @param carrier the carrier code
+ * @param serviceLevel the service level quoted
+ * @param amount the price
+ * @param currency the currency of the price
+ * @param transitDays the expected transit time, or null if the carrier gives none
+ */
+public record RateQuote(String carrier, String serviceLevel, BigDecimal amount, String currency,
+                        Integer transitDays) {
+}
@@ -0,0 +1,14 @@
+package com.gogidix.warehousing.fulfillment.shipping;
+
+/**
+ * A request to a carrier for the price of shipping one package
+ *
+ * @param warehouseId the ID of the warehouse the package ships from
+ * @param destinationCountry the destination country code, or null if unknown
+ * @param destinationPostalCode the destination postal code, or null if unknown
+ * @param weightKg the package weight
+ * @param serviceLevel the requested service level, or null for the carrier's standard service
+ */
+public record RateRequest(Long warehouseId, String destinationCountry, String destinationPostalCode,
+                          double weightKg, String serviceLevel) {
+}
@@ -0,0 +1,64 @@
+package com.gogidix.warehousing.fulfillment.shipping;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Local stand-in for carrier label APIs, serving every carrier without a real
+ * adapter. Generates mock tracking numbers and label URLs without any remote call.
+ * Enabled only by {@code fulfillment.labels.stub.enabled=true}, as set by the local
+ * and test profiles.
+ */
+@Component
+@ConditionalOnProperty(name = "fulfillment.labels.stub.enabled", havingValue = "true")
+public class StubCarrierLabelAdapter implements CarrierLabelAdapter {
+
+    private final int maxBatchSize;
+    private final int maxConcurrency;
+
+    public StubCarrierLabelAdapter(
+            @Value("${fulfillment.labels.stub.max-batch-size:50}") int maxBatchSize,
+            @Value("${fulfillment.labels.stub.max-concurrency:4}") int maxConcurrency) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public String carrierCode() {
+        return CarrierLabelAdapterRegistry.ANY_CARRIER;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public List<LabelResult> createLabels(List<LabelRequest> requests) {
+        List<LabelResult> results = new ArrayList<>(requests.size());
+        for (LabelRequest request : requests) {
+            String carrier = request.carrier().toLowerCase(Locale.ROOT);
+            String trackingNumber = request.trackingNumber();
+            if (trackingNumber == null) {
+                String prefix = carrier.toUpperCase(Locale.ROOT);
+                trackingNumber = prefix.substring(0, Math.min(3, prefix.length())) + "-" +
+                        UUID.randomUUID().toString().substring(0, 8).toUpperCase(Locale.ROOT);
+            }
+            String labelUrl = "https://shipping-labels.example.com/" + carrier + "/" +
+                    request.shipmentPackageId() + ".pdf";
+            results.add(LabelResult.success(request.requestKey(), trackingNumber, labelUrl));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,54 @@
+package com.gogidix.warehousing.fulfillment.shipping;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for a carrier rating API. Prices packages with a base rate plus
+ * a rate per kilogram, after a simulated response time, without any remote call.
+ */
+public class StubCarrierRateAdapter implements CarrierRateAdapter {
+
+    private final String carrierCode;
+    private final BigDecimal baseRate;
+    private final BigDecimal ratePerKg;
+    private final double maxWeightKg;
+    private final int transitDays;
+    private final long minLatencyMs;
+    private final long maxLatencyMs;
+
+    public StubCarrierRateAdapter(String carrierCode, String baseRate, String ratePerKg, double maxWeightKg,
+                                  int transitDays, long minLatencyMs, long maxLatencyMs) {
+        this.carrierCode = carrierCode;
+        this.baseRate = new BigDecimal(baseRate);
+        this.ratePerKg = new BigDecimal(ratePerKg);
+        this.maxWeightKg = maxWeightKg;
+        this.transitDays = transitDays;
+        this.minLatencyMs = minLatencyMs;
+        this.maxLatencyMs = Math.max(minLatencyMs, maxLatencyMs);
+    }
+
+    @Override
+    public String carrierCode() {
+        return carrierCode;
+    }
+
+    @Override
+    public Optional<RateQuote> quote(RateRequest request) {
+        if (request.weightKg() > maxWeightKg) {
+            return Optional.empty();
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(minLatencyMs, maxLatencyMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+        BigDecimal amount = baseRate.add(ratePerKg.multiply(BigDecimal.valueOf(request.weightKg())))
+                .setScale(2, RoundingMode.HALF_UP);
+        String serviceLevel = request.serviceLevel() != null ? request.serviceLevel() : "STANDARD";
+        return Optional.of(new RateQuote(carrierCode, serviceLevel, amount, "USD", transitDays));
+    }
+}
@@ -0,0 +1,46 @@
+package com.gogidix.warehousing.fulfillment.shipping;
+
+import com.gogidix.warehousing.fulfillment.enums.TrackingStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Local stand-in for carrier tracking APIs. Reports every tracking number as in
+ * transit with a fixed set of mock events. Enabled only by
+ * {@code fulfillment.tracking.stub.enabled=true}, as set by the local and test profiles.
+ */
+@Component
+@ConditionalOnProperty(name = "fulfillment.tracking.stub.enabled", havingValue = "true")
+public class StubCarrierTrackingClient implements CarrierTrackingClient {
+
+    @Override
+    public Optional<TrackingInfo> track(String trackingNumber) {
+        String payload = "{\n" +
+                "  \"carrier\": \"MOCK\",\n" +
+                "  \"trackingNumber\": \"" + trackingNumber + "\",\n" +
+                "  \"status\": \"In Transit\",\n" +
+                "  \"estimatedDelivery\": \"" + LocalDateTime.now().plusDays(2).toLocalDate() + "\",\n" +
+                "  \"events\": [\n" +
+                "    {\n" +
+                "      \"timestamp\": \"" + LocalDateTime.now().minusDays(1) + "\",\n" +
+                "      \"location\": \"Sorting Facility\",\n" +
+                "      \"description\": \"Package processed\"\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"timestamp\": \"" + LocalDateTime.now().minusHours(12) + "\",\n" +
+                "      \"location\": \"Distribution Center\",\n" +
+                "      \"description\": \"Package in transit\"\n" +
+                "    },\n" +
+                "    {\n" +
+                "      \"timestamp\": \"" + LocalDateTime.now().minusHours(2) + "\",\n" +
+                "      \"location\": \"Local Facility\",\n" +
+                "      \"description\": \"Out for delivery\"\n" +
+                "    }\n" +
+                "  ]\n" +
+                "}";
+        return Optional.of(new TrackingInfo("MOCK", trackingNumber, TrackingStatus.IN_TRANSIT, payload));
+    }
+}
@@ -0,0 +1,14 @@
+package com.gogidix.warehousing.fulfillment.shipping;
+
+import com.gogidix.warehousing.fulfillment.enums.TrackingStatus;
+
+/**
+ * Tracking information reported by a carrier
+ *
+ * @param carrier the carrier code
+ * @param trackingNumber the tracking number
+ * @param status the current status of the shipment
+ * @param payload the tracking details as JSON
+ */
+public record TrackingInfo(String carrier, String trackingNumber, TrackingStatus status, String payload) {
+}
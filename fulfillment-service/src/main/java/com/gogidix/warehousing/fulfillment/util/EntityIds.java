@@ -0,0 +1,42 @@
+package com.gogidix.warehousing.fulfillment.util;
+
+import java.util.UUID;
+
+/**
+ * Conversions between the string IDs stored on fulfillment entities and the UUIDs
+ * exposed by the API, and the long keys warehouse UUIDs are stored under
+ */
+public final class EntityIds {
+
+    private EntityIds() {
+    }
+
+    /**
+     * Convert a stored ID to a UUID. IDs that are not UUIDs map to a stable
+     * name-based UUID, so the same ID always yields the same UUID.
+     *
+     * @param id the stored ID
+     * @return the UUID, or null if the ID is null or blank
+     */
+    public static UUID toUuid(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(id.getBytes());
+        }
+    }
+
+    /**
+     * Fold a UUID to the non-negative long key it is stored under on orders and in
+     * the in-memory indexes keyed by warehouse
+     *
+     * @param uuid the UUID, not null
+     * @return the key
+     */
+    public static long toLongKey(UUID uuid) {
+        return uuid.getMostSignificantBits() & Long.MAX_VALUE;
+    }
+}
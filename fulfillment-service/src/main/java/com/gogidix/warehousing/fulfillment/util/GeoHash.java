@@ -0,0 +1,164 @@
+package com.gogidix.warehousing.fulfillment.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash encoding and distance helpers for routing orders to warehouses
+ */
+public final class GeoHash {
+
+    private static final String BASE32_INDEX = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final char[] BASE32 = BASE32_INDEX.toCharArray();
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private GeoHash() {
+    }
+
+    /**
+     * Encode a location as a geohash
+     *
+     * @param latitude the latitude in degrees
+     * @param longitude the longitude in degrees
+     * @param precision the number of characters
+     * @return the geohash
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int value = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLon = mid;
+                } else {
+                    value <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[value]);
+                bit = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Decode a geohash to the centre of its cell
+     *
+     * @param geohash the geohash
+     * @return the latitude and longitude in degrees
+     */
+    public static double[] decode(String geohash) {
+        double[] bounds = bounds(geohash);
+        return new double[] {(bounds[0] + bounds[1]) / 2, (bounds[2] + bounds[3]) / 2};
+    }
+
+    /**
+     * Get the up to eight cells of the same precision that border a geohash cell,
+     * wrapping around the antimeridian; cells beyond a pole are left out
+     *
+     * @param geohash the geohash
+     * @return the neighbouring geohashes
+     */
+    public static List<String> neighbours(String geohash) {
+        double[] bounds = bounds(geohash);
+        double height = bounds[1] - bounds[0];
+        double width = bounds[3] - bounds[2];
+        double centreLat = (bounds[0] + bounds[1]) / 2;
+        double centreLon = (bounds[2] + bounds[3]) / 2;
+
+        Set<String> neighbours = new LinkedHashSet<>();
+        for (int dLat = -1; dLat <= 1; dLat++) {
+            double latitude = centreLat + dLat * height;
+            if (latitude < -90 || latitude > 90) {
+                continue;
+            }
+            for (int dLon = -1; dLon <= 1; dLon++) {
+                if (dLat == 0 && dLon == 0) {
+                    continue;
+                }
+                double longitude = centreLon + dLon * width;
+                if (longitude >= 180) {
+                    longitude -= 360;
+                } else if (longitude < -180) {
+                    longitude += 360;
+                }
+                neighbours.add(encode(latitude, longitude, geohash.length()));
+            }
+        }
+        neighbours.remove(geohash);
+        return new ArrayList<>(neighbours);
+    }
+
+    /**
+     * Bounds of a geohash cell as minimum and maximum latitude, then minimum and
+     * maximum longitude
+     */
+    private static double[] bounds(String geohash) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        boolean evenBit = true;
+
+        for (int i = 0; i < geohash.length(); i++) {
+            int value = BASE32_INDEX.indexOf(geohash.charAt(i));
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid geohash: " + geohash);
+            }
+            for (int bit = 4; bit >= 0; bit--) {
+                boolean set = ((value >> bit) & 1) == 1;
+                if (evenBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if (set) {
+                        minLon = mid;
+                    } else {
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new double[] {minLat, maxLat, minLon, maxLon};
+    }
+
+    /**
+     * Great-circle distance between two locations
+     *
+     * @return the distance in kilometres
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(Math.min(1, a)));
+    }
+}
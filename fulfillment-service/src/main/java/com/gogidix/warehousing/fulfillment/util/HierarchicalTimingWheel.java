@@ -0,0 +1,219 @@
+package com.gogidix.warehousing.fulfillment.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel holding one timer per key.
+ * <p>
+ * Level 0 has one slot per tick; every higher level has slots spanning a full
+ * revolution of the level below. A timer is linked into the slot of the lowest
+ * level whose range covers its deadline, and when the wheel reaches a slot of a
+ * higher level its timers cascade down. Scheduling and cancelling a timer are
+ * O(1) regardless of how many timers are live; advancing costs O(1) per tick
+ * plus the timers that expire or cascade. Deadlines beyond the range of the top
+ * level are parked in its furthest slot and re-placed when it comes round.
+ * <p>
+ * Not thread-safe; callers must serialize access.
+ *
+ * @param <K> the timer key
+ */
+public final class HierarchicalTimingWheel<K> {
+
+    private final long tickMillis;
+    private final int slotBits;
+    private final int slotMask;
+    private final Slot<K>[][] levels;
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+    private final List<K> overdue = new ArrayList<>();
+    private long currentTick;
+
+    /**
+     * @param tickMillis the resolution of the wheel
+     * @param slotBits log2 of the number of slots per level
+     * @param levelCount the number of levels
+     * @param startMillis the current time in epoch milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int slotBits, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || slotBits <= 0 || levelCount <= 0 || (long) slotBits * levelCount > 62) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.slotBits = slotBits;
+        this.slotMask = (1 << slotBits) - 1;
+        this.levels = new Slot[levelCount][];
+        for (int level = 0; level < levelCount; level++) {
+            levels[level] = new Slot[1 << slotBits];
+            for (int slot = 0; slot <= slotMask; slot++) {
+                levels[level][slot] = new Slot<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedule a timer, replacing any timer already scheduled for the key
+     *
+     * @param key the timer key
+     * @param deadlineMillis when the timer fires, in epoch milliseconds
+     */
+    public void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        Timer<K> timer = new Timer<>(key, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        timers.put(key, timer);
+        place(timer);
+    }
+
+    /**
+     * Cancel the timer of a key
+     *
+     * @param key the timer key
+     * @return true if a timer was scheduled for the key
+     */
+    public boolean cancel(K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        if (timer.slot != null) {
+            timer.slot.unlink(timer);
+        } else {
+            overdue.remove(key);
+        }
+        return true;
+    }
+
+    /**
+     * Advance the wheel to the given time
+     *
+     * @param nowMillis the current time in epoch milliseconds
+     * @return the keys of the timers that fired, in deadline order per tick
+     */
+    public List<K> advance(long nowMillis) {
+        List<K> fired = new ArrayList<>(overdue);
+        overdue.forEach(timers::remove);
+        overdue.clear();
+
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = 1; level < levels.length; level++) {
+                if ((currentTick & ((1L << (slotBits * level)) - 1)) != 0) {
+                    break;
+                }
+                cascade(levels[level][(int) ((currentTick >>> (slotBits * level)) & slotMask)]);
+            }
+            Slot<K> slot = levels[0][(int) (currentTick & slotMask)];
+            for (Timer<K> timer = slot.detachAll(); timer != null; ) {
+                Timer<K> next = timer.next;
+                timer.next = null;
+                timer.prev = null;
+                if (timer.deadlineTick <= currentTick) {
+                    timers.remove(timer.key);
+                    fired.add(timer.key);
+                } else {
+                    place(timer);
+                }
+                timer = next;
+            }
+            // Timers cascaded into an already passed position land in the overdue list
+            if (!overdue.isEmpty()) {
+                fired.addAll(overdue);
+                overdue.forEach(timers::remove);
+                overdue.clear();
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Get the number of live timers
+     */
+    public int size() {
+        return timers.size();
+    }
+
+    private void place(Timer<K> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        if (delta <= 0) {
+            timer.slot = null;
+            overdue.add(timer.key);
+            return;
+        }
+        int top = levels.length - 1;
+        for (int level = 0; level <= top; level++) {
+            long span = 1L << (slotBits * (level + 1));
+            if (delta < span || level == top) {
+                long tick = Math.min(timer.deadlineTick, currentTick + span - 1);
+                levels[level][(int) ((tick >>> (slotBits * level)) & slotMask)].link(timer);
+                return;
+            }
+        }
+    }
+
+    private void cascade(Slot<K> slot) {
+        for (Timer<K> timer = slot.detachAll(); timer != null; ) {
+            Timer<K> next = timer.next;
+            timer.next = null;
+            timer.prev = null;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private static final class Timer<K> {
+        private final K key;
+        private final long deadlineTick;
+        private Slot<K> slot;
+        private Timer<K> prev;
+        private Timer<K> next;
+
+        private Timer(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list of the timers in one slot
+     */
+    private static final class Slot<K> {
+        private Timer<K> head;
+
+        void link(Timer<K> timer) {
+            timer.slot = this;
+            timer.prev = null;
+            timer.next = head;
+            if (head != null) {
+                head.prev = timer;
+            }
+            head = timer;
+        }
+
+        void unlink(Timer<K> timer) {
+            if (timer.prev != null) {
+                timer.prev.next = timer.next;
+            } else {
+                head = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.prev = timer.prev;
+            }
+            timer.prev = null;
+            timer.next = null;
+            timer.slot = null;
+        }
+
+        Timer<K> detachAll() {
+            Timer<K> first = head;
+            head = null;
+            for (Timer<K> timer = first; timer != null; timer = timer.next) {
+                timer.slot = null;
+            }
+            return first;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.gogidix.warehousing.fulfillment.util;
+
+import com.gogidix.warehousing.fulfillment.exception.FulfillmentException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by (createdAt, id), exchanged with clients as an
+ * opaque continuation token
+ *
+ * @param createdAt the creation time of the last row returned
+ * @param id the ID of the last row returned
+ */
+public record KeysetCursor(LocalDateTime createdAt, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encode the cursor as a URL-safe token
+     */
+    public String toToken() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a continuation token
+     *
+     * @param token the token, or null for the first page
+     * @return the cursor, or null if no token was given
+     * @throws FulfillmentException if the token is malformed
+     */
+    public static KeysetCursor fromToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new FulfillmentException("Invalid continuation token");
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new FulfillmentException("Invalid continuation token");
+        }
+    }
+}
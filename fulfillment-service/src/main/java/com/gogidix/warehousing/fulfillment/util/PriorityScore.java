@@ -0,0 +1,52 @@
+package com.gogidix.warehousing.fulfillment.util;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Composite priority score of a fulfillment order; a higher score is served first.
+ * <p>
+ * The score packs, from most to least significant, the service level (3 bits), the
+ * customer tier (3 bits), the urgency of the promised date (27 bits) and the age of
+ * the order (27 bits) into one non-negative long, so that ordering by the score
+ * orders by each component in turn. Dates are counted in minutes since 2020; an
+ * earlier promise or creation time gives a larger component, and an order without
+ * a promise ranks after every promised order of the same level and tier.
+ */
+public final class PriorityScore {
+
+    public static final int MAX_LEVEL = 7;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final long MAX_MINUTES = (1L << 27) - 1;
+
+    private PriorityScore() {
+    }
+
+    /**
+     * Compute the priority score of an order
+     *
+     * @param serviceLevel the service level, 0 (lowest) to {@value #MAX_LEVEL}
+     * @param customerTier the customer tier, 0 (lowest) to {@value #MAX_LEVEL}
+     * @param promisedBy when delivery was promised, or null
+     * @param createdAt when the order was created
+     * @return the score
+     */
+    public static long compute(int serviceLevel, int customerTier, LocalDateTime promisedBy, LocalDateTime createdAt) {
+        long promise = promisedBy != null ? MAX_MINUTES - minutes(promisedBy) : 0;
+        long age = MAX_MINUTES - minutes(createdAt);
+        return ((long) clampLevel(serviceLevel) << 57) | ((long) clampLevel(customerTier) << 54) | (promise << 27) | age;
+    }
+
+    /**
+     * Clamp a service level or customer tier to the range the score can hold
+     */
+    public static int clampLevel(int level) {
+        return Math.max(0, Math.min(MAX_LEVEL, level));
+    }
+
+    private static long minutes(LocalDateTime time) {
+        long minutes = Duration.between(EPOCH, time).toMinutes();
+        return Math.max(0, Math.min(MAX_MINUTES, minutes));
+    }
+}
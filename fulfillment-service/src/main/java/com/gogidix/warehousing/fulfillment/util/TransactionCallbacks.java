@@ -0,0 +1,35 @@
+package com.gogidix.warehousing.fulfillment.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects until the surrounding transaction commits, so a
+ * rolled-back transaction leaves timers, queues, metrics and published messages
+ * untouched.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Run an action once the current transaction commits, or immediately when no
+     * transaction is active. Actions registered in one transaction run in the order
+     * they were registered; they are dropped if the transaction rolls back.
+     *
+     * @param action the side effect to run
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.gogidix.warehousing.fulfillment.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histogram over a sliding window of one-minute slots.
+ * <p>
+ * Values are counted in log-linear buckets, eight per power of two, so any
+ * recorded value is reported within 12.5% over a range of milliseconds to weeks
+ * in a fixed 256 counters per slot. Recording is lock-free; a slot is only locked
+ * when it rolls over to a new minute. Readers see counts that may be a few
+ * updates behind, which is fine for live monitoring.
+ */
+public final class WindowedHistogram {
+
+    public static final int BUCKET_COUNT = 256;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final long MINUTE_MILLIS = 60_000;
+
+    private final Slot[] slots;
+
+    /**
+     * @param windowMinutes the number of minutes retained
+     */
+    public WindowedHistogram(int windowMinutes) {
+        this.slots = new Slot[windowMinutes];
+        for (int i = 0; i < windowMinutes; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Record a value
+     *
+     * @param valueMillis the value in milliseconds
+     * @param atMillis when the value was observed, in epoch milliseconds
+     */
+    public void record(long valueMillis, long atMillis) {
+        long minute = atMillis / MINUTE_MILLIS;
+        Slot slot = slots[(int) Math.floorMod(minute, (long) slots.length)];
+        if (slot.minute != minute) {
+            if (!slot.rollTo(minute)) {
+                // Older than the window
+                return;
+            }
+        }
+        long value = Math.max(0, valueMillis);
+        slot.buckets.incrementAndGet(bucketOf(value));
+        slot.max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Add the contents of the last minutes of the window to the given accumulators
+     *
+     * @param minutes the number of minutes to collect, including the current one
+     * @param nowMillis the current time in epoch milliseconds
+     * @param buckets bucket counts, of length {@link #BUCKET_COUNT}
+     * @param perMinute event counts per minute, oldest first, of length {@code minutes}
+     * @return the largest value recorded in those minutes
+     */
+    public long collect(int minutes, long nowMillis, long[] buckets, long[] perMinute) {
+        long currentMinute = nowMillis / MINUTE_MILLIS;
+        int span = Math.min(minutes, slots.length);
+        long max = 0;
+        for (int i = 0; i < span; i++) {
+            long minute = currentMinute - i;
+            Slot slot = slots[(int) Math.floorMod(minute, (long) slots.length)];
+            if (slot.minute != minute) {
+                continue;
+            }
+            long count = 0;
+            for (int b = 0; b < BUCKET_COUNT; b++) {
+                long n = slot.buckets.get(b);
+                if (n != 0) {
+                    buckets[b] += n;
+                    count += n;
+                }
+            }
+            perMinute[minutes - 1 - i] += count;
+            max = Math.max(max, slot.max.get());
+        }
+        return max;
+    }
+
+    /**
+     * Compute a percentile from collected bucket counts
+     *
+     * @param buckets bucket counts, of length {@link #BUCKET_COUNT}
+     * @param total the sum of the bucket counts
+     * @param percentile the percentile, between 0 and 100
+     * @return the representative value of the bucket holding the percentile, or 0 if empty
+     */
+    public static long percentile(long[] buckets, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int b = 0; b < BUCKET_COUNT; b++) {
+            seen += buckets[b];
+            if (seen >= rank) {
+                return valueOf(b);
+            }
+        }
+        return valueOf(BUCKET_COUNT - 1);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub, BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Midpoint of a bucket
+     */
+    static long valueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (long) (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+        return lower + width / 2;
+    }
+
+    private static final class Slot {
+        private volatile long minute = Long.MIN_VALUE;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLong max = new AtomicLong();
+
+        /**
+         * Clear the slot for a new minute
+         *
+         * @return false if the slot already holds a later minute
+         */
+        synchronized boolean rollTo(long newMinute) {
+            if (minute == newMinute) {
+                return true;
+            }
+            if (minute > newMinute) {
+                return false;
+            }
+            for (int b = 0; b < BUCKET_COUNT; b++) {
+                buckets.set(b, 0);
+            }
+            max.set(0);
+            minute = newMinute;
+            return true;
+        }
+    }
+}
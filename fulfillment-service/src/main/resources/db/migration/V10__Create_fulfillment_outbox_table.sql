@@ -0,0 +1,13 @@
+-- Create fulfillment outbox table
+-- Description: Events written in the same transaction as the state change they
+-- describe, relayed to Kafka in id order and deleted once published
+
+CREATE SEQUENCE fulfillment_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE fulfillment_outbox (
+    id BIGINT PRIMARY KEY,
+    aggregate_id VARCHAR(64) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
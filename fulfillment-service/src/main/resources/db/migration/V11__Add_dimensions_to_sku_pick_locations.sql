@@ -0,0 +1,7 @@
+-- Add unit dimensions to SKU pick locations
+-- Description: Item size and weight used to recommend cartons for packing tasks
+
+ALTER TABLE sku_pick_locations ADD COLUMN length_cm DOUBLE PRECISION;
+ALTER TABLE sku_pick_locations ADD COLUMN width_cm DOUBLE PRECISION;
+ALTER TABLE sku_pick_locations ADD COLUMN height_cm DOUBLE PRECISION;
+ALTER TABLE sku_pick_locations ADD COLUMN weight_kg DOUBLE PRECISION;
@@ -0,0 +1,27 @@
+-- Create fulfillment order priorities table
+-- Description: Precomputed priority score of each fulfillment order (service level,
+-- customer tier, promised date, age) so release and allocation can select the
+-- highest priority orders with an ordered index scan
+
+CREATE TABLE fulfillment_order_priorities (
+    fulfillment_order_id VARCHAR(36) PRIMARY KEY,
+    service_level SMALLINT NOT NULL DEFAULT 0,
+    customer_tier SMALLINT NOT NULL DEFAULT 0,
+    promised_by TIMESTAMP,
+    order_created_at TIMESTAMP NOT NULL,
+    priority_score BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_fulfillment_order_priorities_score
+    ON fulfillment_order_priorities(priority_score DESC, fulfillment_order_id);
+
+-- Backfill existing orders by age only; service level, tier and promise are
+-- applied the next time an order is written. Must match PriorityScore.compute.
+INSERT INTO fulfillment_order_priorities
+    (fulfillment_order_id, service_level, customer_tier, order_created_at, priority_score)
+SELECT id, 0, 0, COALESCE(created_at, CURRENT_TIMESTAMP),
+       134217727 - LEAST(GREATEST(
+           FLOOR(EXTRACT(EPOCH FROM (COALESCE(created_at, CURRENT_TIMESTAMP) - TIMESTAMP '2020-01-01')) / 60),
+           0), 134217727)::BIGINT
+FROM fulfillment_orders;
@@ -0,0 +1,4 @@
+-- Add retry backoff to shipping label requests
+-- Description: Requests returned to the queue after a carrier failure wait until next_attempt_at before being claimed again
+
+ALTER TABLE shipping_label_requests ADD COLUMN next_attempt_at TIMESTAMP;
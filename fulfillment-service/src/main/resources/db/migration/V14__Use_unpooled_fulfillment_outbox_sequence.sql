@@ -0,0 +1,5 @@
+-- Use an unpooled fulfillment outbox sequence
+-- Description: Outbox ids are drawn one at a time, after the order row is locked, so that the id order of
+-- each order's events is the order in which their transactions committed and the relay publishes them in that order
+
+ALTER SEQUENCE fulfillment_outbox_seq INCREMENT BY 1;
@@ -0,0 +1,16 @@
+-- Add order status to fulfillment order priorities
+-- Description: Mirror each order's status in its priority row and lead the score index with it,
+-- so selecting the next N orders in a status is a top-N scan of that status alone rather than
+-- a walk over every historical order
+
+ALTER TABLE fulfillment_order_priorities ADD COLUMN order_status VARCHAR(30);
+
+UPDATE fulfillment_order_priorities p
+SET order_status = o.status
+FROM fulfillment_orders o
+WHERE o.id = p.fulfillment_order_id;
+
+DROP INDEX IF EXISTS idx_fulfillment_order_priorities_score;
+
+CREATE INDEX idx_fulfillment_order_priorities_status_score
+    ON fulfillment_order_priorities(order_status, priority_score DESC, fulfillment_order_id);
@@ -0,0 +1,9 @@
+-- Create processed events table
+-- Description: Idempotency records for inbound inventory reservation events
+
+CREATE TABLE processed_events (
+    event_key VARCHAR(160) PRIMARY KEY,
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_processed_events_processed_at ON processed_events(processed_at);
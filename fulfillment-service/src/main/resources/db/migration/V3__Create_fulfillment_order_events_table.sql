@@ -0,0 +1,15 @@
+-- Create fulfillment order events table
+-- Description: Append-only, time-ordered note history of fulfillment orders
+
+CREATE SEQUENCE fulfillment_order_events_seq INCREMENT BY 50;
+
+CREATE TABLE fulfillment_order_events (
+    id BIGINT PRIMARY KEY,
+    fulfillment_order_id VARCHAR(64) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    message TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_fulfillment_order_events_order_time
+    ON fulfillment_order_events(fulfillment_order_id, created_at, id);
@@ -0,0 +1,15 @@
+-- Create SKU pick locations table
+-- Description: Pick faces per warehouse and SKU, used to split and batch picking tasks
+
+CREATE TABLE sku_pick_locations (
+    id BIGSERIAL PRIMARY KEY,
+    warehouse_id BIGINT NOT NULL,
+    sku VARCHAR(100) NOT NULL,
+    zone VARCHAR(50) NOT NULL,
+    aisle VARCHAR(20),
+    rack VARCHAR(20),
+    bin VARCHAR(20),
+    walk_sequence INTEGER,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_sku_pick_locations_warehouse_sku UNIQUE (warehouse_id, sku)
+);
@@ -0,0 +1,4 @@
+-- Add handling class to SKU pick locations
+-- Description: Special handling required at packing (e.g. OVERSIZE, HAZMAT)
+
+ALTER TABLE sku_pick_locations ADD COLUMN handling_class VARCHAR(30);
@@ -0,0 +1,14 @@
+-- Create fulfillment order destinations table
+-- Description: Delivery location of each fulfillment order, used to route orders to warehouses
+
+CREATE TABLE fulfillment_order_destinations (
+    fulfillment_order_id VARCHAR(36) PRIMARY KEY,
+    country_code VARCHAR(2),
+    postal_code VARCHAR(20),
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    region VARCHAR(12) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_fulfillment_order_destinations_region ON fulfillment_order_destinations(region);
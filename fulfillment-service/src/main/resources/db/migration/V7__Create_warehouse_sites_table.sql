@@ -0,0 +1,12 @@
+-- Create warehouse sites table
+-- Description: Location and capacity of each warehouse, used to route fulfillment orders
+
+CREATE TABLE warehouse_sites (
+    warehouse_id UUID PRIMARY KEY,
+    name VARCHAR(100),
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    daily_order_capacity INTEGER NOT NULL,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,6 @@
+-- Add keyset pagination indexes to fulfillment orders
+-- Description: Support scrolling order listings by (created_at, id) without OFFSET or COUNT
+
+CREATE INDEX IF NOT EXISTS idx_fulfillment_orders_created_at_id ON fulfillment_orders(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_fulfillment_orders_status_created_at_id ON fulfillment_orders(status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_fulfillment_orders_warehouse_created_at_id ON fulfillment_orders(warehouse_id, created_at, id);
@@ -0,0 +1,23 @@
+-- Create shipping label requests table
+-- Description: Queue of asynchronous shipping label requests, grouped into jobs for progress reporting
+
+CREATE SEQUENCE shipping_label_requests_seq INCREMENT BY 50;
+
+CREATE TABLE shipping_label_requests (
+    id BIGINT PRIMARY KEY,
+    job_id UUID NOT NULL,
+    fulfillment_order_id UUID NOT NULL,
+    carrier VARCHAR(50),
+    status VARCHAR(20) NOT NULL,
+    tracking_number VARCHAR(100),
+    label_url VARCHAR(500),
+    error_message VARCHAR(500),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_at TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX idx_shipping_label_requests_job_id ON shipping_label_requests(job_id);
+CREATE INDEX idx_shipping_label_requests_open ON shipping_label_requests(status, id)
+    WHERE status IN ('PENDING', 'IN_PROGRESS');
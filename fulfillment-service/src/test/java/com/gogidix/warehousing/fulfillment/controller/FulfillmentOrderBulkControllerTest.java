@@ -0,0 +1,119 @@
+package com.gogidix.warehousing.fulfillment.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gogidix.warehousing.fulfillment.dto.BulkIngestionResultDTO;
+import com.gogidix.warehousing.fulfillment.dto.BulkOrderResultDTO;
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderDTO;
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderItemDTO;
+import com.gogidix.warehousing.fulfillment.service.FulfillmentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Ingests a newline-delimited JSON stream through the bulk endpoint against the
+ * test datasource. The chunk size is kept small so the stream spans several chunks.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "fulfillment.bulk.chunk-size=3")
+class FulfillmentOrderBulkControllerTest {
+
+    private static final int ORDERS = 7;
+    private static final int MALFORMED_INDEX = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FulfillmentService fulfillmentService;
+
+    @Test
+    void persistsEveryOrderOfStreamAndReportsEachLine() throws Exception {
+        UUID warehouseId = UUID.randomUUID();
+        List<FulfillmentOrderDTO> orders = new ArrayList<>();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < ORDERS; i++) {
+            if (i == MALFORMED_INDEX) {
+                body.append("{\"orderId\": \"not-a-uuid\"\n");
+            }
+            if (i == 2) {
+                // Blank lines are skipped without taking an index
+                body.append("\n");
+            }
+            FulfillmentOrderDTO order = order(warehouseId, i);
+            orders.add(order);
+            body.append(objectMapper.writeValueAsString(order)).append('\n');
+        }
+
+        MvcResult response = mockMvc.perform(post("/fulfillment-orders/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andReturn();
+        BulkIngestionResultDTO result = objectMapper.readValue(
+                response.getResponse().getContentAsString(), BulkIngestionResultDTO.class);
+
+        assertEquals(ORDERS + 1, result.getReceived());
+        assertEquals(ORDERS, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(ORDERS + 1, result.getResults().size());
+
+        int next = 0;
+        for (int index = 0; index < result.getResults().size(); index++) {
+            BulkOrderResultDTO line = result.getResults().get(index);
+            assertEquals(index, line.getIndex());
+            if (index == MALFORMED_INDEX) {
+                assertFalse(line.isSuccess());
+                assertNull(line.getFulfillmentOrderId());
+                assertTrue(line.getError().startsWith("Unreadable order"), line.getError());
+                continue;
+            }
+            FulfillmentOrderDTO submitted = orders.get(next++);
+            assertTrue(line.isSuccess(), line.getError());
+            assertEquals(submitted.getOrderId(), line.getOrderId());
+            assertNotNull(line.getFulfillmentOrderId());
+
+            FulfillmentOrderDTO stored = fulfillmentService.getFulfillmentOrderByOrderId(submitted.getOrderId());
+            assertEquals(warehouseId, stored.getWarehouseId());
+            assertEquals(submitted.getItems().size(), stored.getItems().size());
+        }
+    }
+
+    private static FulfillmentOrderDTO order(UUID warehouseId, int number) {
+        FulfillmentOrderDTO order = new FulfillmentOrderDTO();
+        order.setOrderId(UUID.randomUUID());
+        order.setWarehouseId(warehouseId);
+        List<FulfillmentOrderItemDTO> items = new ArrayList<>();
+        for (int j = 0; j <= number % 3; j++) {
+            FulfillmentOrderItemDTO item = new FulfillmentOrderItemDTO();
+            item.setSku("BULK-" + number + "-" + j);
+            item.setQuantity(1 + j);
+            items.add(item);
+        }
+        order.setItems(items);
+        return order;
+    }
+}
@@ -0,0 +1,54 @@
+package com.gogidix.warehousing.fulfillment.enums;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus.ALLOCATED;
+import static com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus.COMPLETED;
+import static com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus.DELIVERED;
+import static com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus.PACKING;
+import static com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus.PACKING_COMPLETE;
+import static com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus.PICKING;
+import static com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus.PICKING_COMPLETE;
+import static com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus.READY_TO_SHIP;
+import static com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus.SHIPPED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for the {@link FulfillmentTransition} table
+ */
+class FulfillmentTransitionTest {
+
+    @Test
+    void definesWorkflowTransitions() {
+        assertTransition(FulfillmentTransition.START_PICKING, ALLOCATED, PICKING, "pickingStartedAt");
+        assertTransition(FulfillmentTransition.COMPLETE_PICKING, PICKING, PICKING_COMPLETE, "pickingCompletedAt");
+        assertTransition(FulfillmentTransition.START_PACKING, PICKING_COMPLETE, PACKING, "packingStartedAt");
+        assertTransition(FulfillmentTransition.COMPLETE_PACKING, PACKING, PACKING_COMPLETE, "packingCompletedAt");
+        assertTransition(FulfillmentTransition.READY_TO_SHIP, PACKING_COMPLETE, READY_TO_SHIP, null);
+        assertTransition(FulfillmentTransition.DELIVER, SHIPPED, DELIVERED, "deliveredAt");
+        assertTransition(FulfillmentTransition.COMPLETE, DELIVERED, COMPLETED, null);
+        assertEquals(7, FulfillmentTransition.values().length);
+    }
+
+    @Test
+    void describesConflictWithExpectedStatus() {
+        assertEquals("Fulfillment order must be in ALLOCATED status to start picking",
+                FulfillmentTransition.START_PICKING.describeConflict());
+        assertEquals("Fulfillment order must be in SHIPPED status to be marked as delivered",
+                FulfillmentTransition.DELIVER.describeConflict());
+    }
+
+    private static void assertTransition(FulfillmentTransition transition, FulfillmentStatus from,
+                                         FulfillmentStatus to, String timestampField) {
+        assertEquals(Set.of(from), transition.getFrom(), transition.name());
+        assertEquals(to, transition.getTo(), transition.name());
+        if (timestampField == null) {
+            assertNull(transition.getTimestampField(), transition.name());
+        } else {
+            assertEquals(timestampField, transition.getTimestampField(), transition.name());
+        }
+    }
+}
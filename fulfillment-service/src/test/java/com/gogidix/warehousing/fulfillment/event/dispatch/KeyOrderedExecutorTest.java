@@ -0,0 +1,106 @@
+package com.gogidix.warehousing.fulfillment.event.dispatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link KeyOrderedExecutor}
+ */
+class KeyOrderedExecutorTest {
+
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor("test-lane", 4);
+
+    @AfterEach
+    void closeExecutor() {
+        executor.close();
+    }
+
+    @Test
+    void runsTasksOfSameKeyInSubmissionOrder() {
+        Map<String, List<Integer>> seen = new HashMap<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            String key = "order-" + (i % 25);
+            List<Integer> sequence = seen.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>()));
+            int value = i;
+            futures.add(executor.submit(key, () -> sequence.add(value)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        for (List<Integer> sequence : seen.values()) {
+            assertEquals(80, sequence.size());
+            for (int i = 1; i < sequence.size(); i++) {
+                assertTrue(sequence.get(i - 1) < sequence.get(i), sequence.toString());
+            }
+        }
+    }
+
+    @Test
+    void runsTasksOfDifferentLanesInParallel() throws Exception {
+        // "a" and "b" hash to different lanes; a blocked "a" must not hold up "b"
+        CountDownLatch released = new CountDownLatch(1);
+        CompletableFuture<Void> blocked = executor.submit("a", () -> {
+            try {
+                released.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        executor.submit("b", released::countDown).get(5, TimeUnit.SECONDS);
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void keepsLaneRunningAfterFailedTask() {
+        CompletableFuture<Void> failed = executor.submit("a", () -> {
+            throw new IllegalStateException("boom");
+        });
+        AtomicInteger ran = new AtomicInteger();
+
+        assertThrows(CompletionException.class, failed::join);
+        executor.submit("a", ran::incrementAndGet).join();
+        executor.submit(null, ran::incrementAndGet).join();
+        assertEquals(2, ran.get());
+    }
+
+    @Test
+    void closeRunsQueuedTasks() {
+        AtomicInteger ran = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            executor.submit("a", () -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                ran.incrementAndGet();
+            });
+        }
+
+        executor.close();
+
+        assertEquals(10, ran.get());
+    }
+
+    @Test
+    void rejectsNonPositiveLaneCount() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyOrderedExecutor("test-lane", 0));
+        assertEquals(4, executor.getLaneCount());
+    }
+}
@@ -0,0 +1,115 @@
+package com.gogidix.warehousing.fulfillment.event.idempotency;
+
+import com.gogidix.warehousing.fulfillment.entity.ProcessedEvent;
+import com.gogidix.warehousing.fulfillment.repository.ProcessedEventRepository;
+import com.gogidix.warehousing.shared.events.InventoryReservationCancelledEvent;
+import com.gogidix.warehousing.shared.events.InventoryReservationCreatedEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ProcessedEventRegistry} over a mocked processed event repository
+ */
+class ProcessedEventRegistryTest {
+
+    private final ProcessedEventRepository repository = mock(ProcessedEventRepository.class);
+    private final ProcessedEventRegistry registry = new ProcessedEventRegistry(repository, 100, 168);
+
+    @Test
+    void keysEventsByReservationAndType() {
+        InventoryReservationCreatedEvent created = mock(InventoryReservationCreatedEvent.class);
+        when(created.getReservationId()).thenReturn("R-1");
+        InventoryReservationCancelledEvent cancelled = mock(InventoryReservationCancelledEvent.class);
+        when(cancelled.getReservationId()).thenReturn("R-1");
+
+        assertEquals("R-1|CREATED|1", registry.eventKey(created));
+        assertEquals("R-1|CANCELLED|1", registry.eventKey(cancelled));
+        assertThrows(IllegalArgumentException.class, () -> registry.eventKey("not an event"));
+    }
+
+    @Test
+    void looksUpOnlyCacheMissesInOneQuery() {
+        registry.markProcessed(List.of("cached"));
+        when(repository.findExistingKeys(List.of("stored", "new"))).thenReturn(List.of("stored"));
+
+        assertEquals(Set.of("cached", "stored"), registry.findProcessed(List.of("cached", "stored", "new")));
+
+        // Keys found in the table are cached as well
+        assertEquals(Set.of("stored"), registry.findProcessed(List.of("stored")));
+        verify(repository, times(1)).findExistingKeys(anyCollection());
+    }
+
+    @Test
+    void checksSingleKeyAgainstCacheThenTable() {
+        when(repository.existsById("stored")).thenReturn(true);
+
+        assertTrue(registry.isProcessed("stored"));
+        assertTrue(registry.isProcessed("stored"));
+        assertFalse(registry.isProcessed("new"));
+        verify(repository, times(1)).existsById("stored");
+    }
+
+    @Test
+    void persistsProcessedKeys() {
+        registry.markProcessed(List.of("a", "b"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProcessedEvent>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        assertEquals(List.of("a", "b"),
+                saved.getValue().stream().map(ProcessedEvent::getEventKey).collect(Collectors.toList()));
+    }
+
+    @Test
+    void skipsEmptyBatch() {
+        registry.markProcessed(List.of());
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void cachesKeysOnlyOnceTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            registry.markProcessed("a");
+
+            assertFalse(registry.isProcessed("a"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(registry.isProcessed("a"));
+        verify(repository, times(1)).existsById(anyString());
+    }
+
+    @Test
+    void doesNotCacheKeysOfRolledBackTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            registry.markProcessed("a");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(registry.isProcessed("a"));
+    }
+}
@@ -0,0 +1,182 @@
+package com.gogidix.warehousing.fulfillment.event.listener;
+
+import com.gogidix.warehousing.fulfillment.entity.FulfillmentOrder;
+import com.gogidix.warehousing.fulfillment.event.idempotency.ProcessedEventRegistry;
+import com.gogidix.warehousing.fulfillment.repository.FulfillmentOrderBatchRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link InventoryReservationBatchListener}. Event payloads are plain
+ * strings; the mocked applier resolves them to orders and follow-ups.
+ */
+class InventoryReservationBatchListenerTest {
+
+    private final FulfillmentOrderBatchRepository batchRepository = mock(FulfillmentOrderBatchRepository.class);
+    private final ReservationEventApplier eventApplier = mock(ReservationEventApplier.class);
+    private final ReservationDeadLetterPublisher deadLetterPublisher = mock(ReservationDeadLetterPublisher.class);
+    private final ProcessedEventRegistry processedEvents = mock(ProcessedEventRegistry.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final InventoryReservationBatchListener listener = new InventoryReservationBatchListener(
+            batchRepository, eventApplier, deadLetterPublisher, processedEvents, transactionManager, 100);
+
+    private final FulfillmentOrder first = order("O1");
+    private final FulfillmentOrder second = order("O2");
+    private final Map<String, String> orderOfEvent = new HashMap<>();
+    private long offset;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(processedEvents.eventKey(any())).thenAnswer(invocation -> "key-" + invocation.getArgument(0));
+        when(processedEvents.findProcessed(anyCollection())).thenReturn(Set.of());
+        when(eventApplier.resolveOrderId(any())).thenAnswer(invocation -> orderOfEvent.get(invocation.getArgument(0)));
+        when(batchRepository.findAllByOrderIds(anyCollection())).thenReturn(List.of(first, second));
+    }
+
+    @Test
+    void appliesEventsInOffsetOrderAndMarksThemProcessed() {
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record("e1", "O1"), record("e2", "O2"), record("e3", "O1"));
+
+        listener.handleReservationEvents(records);
+
+        InOrder inOrder = inOrder(eventApplier);
+        inOrder.verify(eventApplier).apply(first, "e1");
+        inOrder.verify(eventApplier).apply(first, "e3");
+        verify(eventApplier).apply(second, "e2");
+        assertEquals(Set.of("key-e1", "key-e2", "key-e3"), Set.copyOf(markedInBatches()));
+        verify(batchRepository).findAllByOrderIds(anyCollection());
+        verify(batchRepository).flushInBatches(100);
+        verify(deadLetterPublisher, never()).publish(any(), any());
+    }
+
+    @Test
+    void dropsRedeliveredAndRepeatedEvents() {
+        when(processedEvents.findProcessed(anyCollection())).thenReturn(Set.of("key-e1"));
+
+        listener.handleReservationEvents(List.of(record("e1", "O1"), record("e2", "O1"), record("e2", "O1")));
+
+        verify(eventApplier, never()).apply(first, "e1");
+        verify(eventApplier, times(1)).apply(first, "e2");
+        assertEquals(List.of("key-e2"), markedInBatches());
+    }
+
+    @Test
+    void runsFollowUpBeforeApplyingLaterEventsOfOrder() {
+        when(eventApplier.hasFollowUp("e1")).thenReturn(true);
+
+        listener.handleReservationEvents(List.of(record("e1", "O1"), record("e2", "O1"), record("e3", "O2")));
+
+        InOrder inOrder = inOrder(eventApplier, processedEvents);
+        inOrder.verify(eventApplier).apply(first, "e1");
+        inOrder.verify(eventApplier).afterApply(first, "e1");
+        inOrder.verify(processedEvents).markProcessed("key-e1");
+        inOrder.verify(eventApplier).apply(first, "e2");
+        verify(eventApplier).apply(second, "e3");
+        assertEquals(Set.of("key-e2", "key-e3"), Set.copyOf(markedInBatches()));
+    }
+
+    @Test
+    void deadLettersFailedEventAndLaterEventsOfSameOrder() {
+        ConsumerRecord<String, Object> failing = record("e1", "O1");
+        ConsumerRecord<String, Object> later = record("e2", "O1");
+        IllegalStateException failure = new IllegalStateException("boom");
+        doThrow(failure).when(eventApplier).apply(first, "e1");
+
+        listener.handleReservationEvents(List.of(failing, record("e3", "O2"), later));
+
+        verify(deadLetterPublisher).publish(failing, failure);
+        verify(deadLetterPublisher).publish(eq(later), any(IllegalStateException.class));
+        verify(eventApplier, never()).apply(first, "e2");
+        verify(eventApplier).apply(second, "e3");
+        assertEquals(List.of("key-e3"), markedInBatches());
+    }
+
+    @Test
+    void deadLettersLaterEventsAfterFailedFollowUp() {
+        ConsumerRecord<String, Object> failing = record("e1", "O1");
+        ConsumerRecord<String, Object> later = record("e2", "O1");
+        IllegalStateException failure = new IllegalStateException("boom");
+        when(eventApplier.hasFollowUp("e1")).thenReturn(true);
+        doThrow(failure).when(eventApplier).afterApply(first, "e1");
+
+        listener.handleReservationEvents(List.of(failing, later));
+
+        verify(deadLetterPublisher).publish(failing, failure);
+        verify(deadLetterPublisher).publish(eq(later), any(IllegalStateException.class));
+        verify(eventApplier, never()).apply(first, "e2");
+        verify(processedEvents, never()).markProcessed(anyString());
+    }
+
+    @Test
+    void deadLettersRecordsThatCannotBeKeyed() {
+        ConsumerRecord<String, Object> unkeyable = record("bad", "O1");
+        IllegalArgumentException failure = new IllegalArgumentException("Unsupported reservation event type");
+        when(processedEvents.eventKey("bad")).thenThrow(failure);
+
+        listener.handleReservationEvents(List.of(unkeyable, record("e1", "O1")));
+
+        verify(deadLetterPublisher).publish(unkeyable, failure);
+        verify(eventApplier).apply(first, "e1");
+    }
+
+    @Test
+    void skipsEventsOfUnknownOrders() {
+        when(batchRepository.findAllByOrderIds(anyCollection())).thenReturn(List.of());
+
+        listener.handleReservationEvents(List.of(record("e1", "O9")));
+
+        verify(eventApplier, never()).apply(any(), any());
+        verify(deadLetterPublisher, never()).publish(any(), any());
+    }
+
+    /**
+     * Keys marked processed through the batch overload, across all passes
+     */
+    private List<String> markedInBatches() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> marked = ArgumentCaptor.forClass(Collection.class);
+        verify(processedEvents, atLeastOnce()).markProcessed(marked.capture());
+        List<String> keys = new ArrayList<>();
+        marked.getAllValues().forEach(keys::addAll);
+        return keys;
+    }
+
+    private ConsumerRecord<String, Object> record(String event, String orderId) {
+        orderOfEvent.put(event, orderId);
+        return new ConsumerRecord<>("inventory.reservations.status-changed", 0, offset++, orderId, event);
+    }
+
+    private static FulfillmentOrder order(String externalOrderId) {
+        FulfillmentOrder order = mock(FulfillmentOrder.class);
+        when(order.getExternalOrderId()).thenReturn(externalOrderId);
+        return order;
+    }
+}
@@ -0,0 +1,94 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.dto.BulkIngestionResultDTO;
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderDTO;
+import com.gogidix.warehousing.fulfillment.dto.FulfillmentOrderItemDTO;
+import com.gogidix.warehousing.fulfillment.service.BulkFulfillmentOrderService;
+import com.gogidix.warehousing.fulfillment.service.FulfillmentService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the throughput of bulk ingestion with the single-order create path.
+ * Run with -Dbenchmark=true against the test datasource; it is skipped otherwise.
+ * Correctness of bulk ingestion is covered by FulfillmentOrderBulkControllerTest.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BulkFulfillmentOrderIngestionBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkFulfillmentOrderIngestionBenchmark.class);
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 10_000);
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int WARMUP_ORDERS = 500;
+
+    @Autowired
+    private FulfillmentService fulfillmentService;
+
+    @Autowired
+    private BulkFulfillmentOrderService bulkOrderService;
+
+    @Test
+    void bulkIngestionOutperformsSingleOrderCreates() {
+        UUID warehouseId = UUID.randomUUID();
+
+        // Warm up both paths so JIT compilation and connection pool growth are not measured
+        orders(WARMUP_ORDERS, warehouseId).forEach(fulfillmentService::createFulfillmentOrder);
+        bulkOrderService.createFulfillmentOrders(orders(WARMUP_ORDERS, warehouseId));
+
+        List<FulfillmentOrderDTO> single = orders(ORDERS, warehouseId);
+        long started = System.nanoTime();
+        single.forEach(fulfillmentService::createFulfillmentOrder);
+        double singleSeconds = (System.nanoTime() - started) / 1e9;
+
+        List<FulfillmentOrderDTO> bulk = orders(ORDERS, warehouseId);
+        started = System.nanoTime();
+        BulkIngestionResultDTO result = bulkOrderService.createFulfillmentOrders(bulk);
+        double bulkSeconds = (System.nanoTime() - started) / 1e9;
+
+        log.info("Single-order path: {} orders in {} s ({} orders/s)",
+                ORDERS, String.format("%.2f", singleSeconds), String.format("%.0f", ORDERS / singleSeconds));
+        log.info("Bulk ingestion: {} orders in {} s ({} orders/s, {}x)",
+                ORDERS, String.format("%.2f", bulkSeconds), String.format("%.0f", ORDERS / bulkSeconds),
+                String.format("%.1f", singleSeconds / bulkSeconds));
+
+        assertEquals(ORDERS, result.getCreated());
+        assertTrue(bulkSeconds < singleSeconds,
+                String.format("bulk took %.2f s, single-order path %.2f s", bulkSeconds, singleSeconds));
+    }
+
+    private static List<FulfillmentOrderDTO> orders(int count, UUID warehouseId) {
+        List<FulfillmentOrderDTO> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            FulfillmentOrderDTO order = new FulfillmentOrderDTO();
+            order.setOrderId(UUID.randomUUID());
+            order.setWarehouseId(warehouseId);
+            List<FulfillmentOrderItemDTO> items = new ArrayList<>(ITEMS_PER_ORDER);
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                FulfillmentOrderItemDTO item = new FulfillmentOrderItemDTO();
+                item.setSku("BENCH-" + (i * ITEMS_PER_ORDER + j) % 250);
+                item.setQuantity(1 + j);
+                items.add(item);
+            }
+            order.setItems(items);
+            orders.add(order);
+        }
+        return orders;
+    }
+}
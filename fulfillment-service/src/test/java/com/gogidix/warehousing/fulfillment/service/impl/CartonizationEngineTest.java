@@ -0,0 +1,170 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.config.CartonProperties;
+import com.gogidix.warehousing.fulfillment.entity.SkuPickLocation;
+import com.gogidix.warehousing.fulfillment.service.impl.CartonizationEngine.CartonizationPlan;
+import com.gogidix.warehousing.fulfillment.service.impl.CartonizationEngine.PackedCarton;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link CartonizationEngine} against the default carton range
+ */
+class CartonizationEngineTest {
+
+    private final CartonizationEngine engine = new CartonizationEngine(new CartonProperties());
+
+    @Test
+    void packsSmallItemInSmallestCarton() {
+        CartonizationPlan plan = recommend(Map.of("A", 1), Map.of("A", location(10, 10, 5, 0.5)));
+
+        assertEquals("BOX-XS", plan.summary());
+        assertEquals(0.35, plan.totalCost(), 1e-9);
+        assertEquals(500, plan.itemVolumeCm3(), 1e-9);
+        assertEquals(3_000, plan.shippedVolumeCm3(), 1e-9);
+    }
+
+    @Test
+    void rotatesUnitToFitCarton() {
+        CartonizationPlan plan = recommend(Map.of("A", 1), Map.of("A", location(10, 18, 14, 1)));
+
+        assertEquals("BOX-XS", plan.summary());
+    }
+
+    @Test
+    void fillsCartonExactlyWithUniformUnits() {
+        CartonizationPlan plan = recommend(Map.of("A", 8), Map.of("A", location(10, 7.5, 5, 0.2)));
+
+        assertEquals("BOX-XS", plan.summary());
+        assertEquals(plan.shippedVolumeCm3(), plan.itemVolumeCm3(), 1e-9);
+    }
+
+    @Test
+    void movesUpWhenUnitsExceedCartonVolume() {
+        CartonizationPlan plan = recommend(Map.of("A", 9), Map.of("A", location(10, 7.5, 5, 0.2)));
+
+        assertEquals("BOX-S", plan.summary());
+    }
+
+    @Test
+    void movesUpWhenUnitsExceedCartonWeight() {
+        CartonizationPlan plan = recommend(Map.of("A", 2), Map.of("A", location(5, 5, 5, 4)));
+
+        assertEquals("BOX-S", plan.summary());
+    }
+
+    @Test
+    void splitsOrderAcrossCartonsWithinWeightLimits() {
+        Map<String, Integer> quantities = Map.of("HEAVY", 4, "LIGHT", 6);
+        CartonizationPlan plan = recommend(quantities, Map.of(
+                "HEAVY", location(20, 20, 20, 10),
+                "LIGHT", location(15, 10, 10, 0.5)));
+
+        assertTrue(plan.cartons().size() > 1, plan.summary());
+        assertContentsMatch(quantities, plan);
+        Map<String, Double> maxWeights = new HashMap<>();
+        new CartonProperties().getCartons().forEach(carton -> maxWeights.put(carton.getId(), carton.getMaxWeightKg()));
+        for (PackedCarton carton : plan.cartons()) {
+            assertTrue(carton.weightKg() <= maxWeights.get(carton.cartonId()) + 1e-9, carton.toString());
+        }
+        assertTrue(plan.itemVolumeCm3() <= plan.shippedVolumeCm3());
+    }
+
+    @Test
+    void packsEveryUnitOfMixedOrder() {
+        Map<String, Integer> quantities = Map.of("A", 3, "B", 5, "C", 2, "D", 7);
+        CartonizationPlan plan = recommend(quantities, Map.of(
+                "A", location(30, 20, 10, 1.2),
+                "B", location(12, 8, 6, 0.3),
+                "C", location(45, 35, 20, 4),
+                "D", location(5, 5, 5, 0.1)));
+
+        assertContentsMatch(quantities, plan);
+        assertEquals(plan.cartons().size(), plan.describe().lines().count() - 1);
+    }
+
+    @Test
+    void cachesRecommendationPerItemMix() {
+        Map<String, SkuPickLocation> locations = Map.of("A", location(10, 10, 10, 1));
+
+        CartonizationPlan first = recommend(Map.of("A", 2), locations);
+
+        assertSame(first, recommend(Map.of("A", 2), locations));
+        assertFalse(first == recommend(Map.of("A", 3), locations));
+    }
+
+    @Test
+    void skipsOrdersItCannotCartonize() {
+        SkuPickLocation noDimensions = SkuPickLocation.builder().sku("A").lengthCm(10.0).build();
+
+        assertEquals(Optional.empty(), engine.recommend(Map.of("A", 1), Map.of("A", noDimensions)));
+        assertEquals(Optional.empty(), engine.recommend(Map.of("A", 1), Map.of()));
+        assertEquals(Optional.empty(), engine.recommend(Map.of("A", 1), Map.of("A", location(100, 100, 100, 1))));
+        assertEquals(Optional.empty(), engine.recommend(Map.of("A", 101), Map.of("A", location(1, 1, 1, 0.01))));
+        assertEquals(Optional.empty(), engine.recommend(Map.of(), Map.of()));
+    }
+
+    @Test
+    void requiresConfiguredCartons() {
+        CartonProperties properties = new CartonProperties();
+        properties.getCartons().clear();
+
+        assertThrows(IllegalStateException.class, () -> new CartonizationEngine(properties));
+    }
+
+    @Test
+    void answersTypicalOrdersInUnderFiveMilliseconds() {
+        int runs = 200;
+        long[] nanos = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            // Vary the dimensions so every run misses the cache
+            double jitter = run * 0.01;
+            Map<String, SkuPickLocation> locations = new LinkedHashMap<>();
+            locations.put("A", location(22 + jitter, 14, 9, 0.8));
+            locations.put("B", location(12, 8 + jitter, 6, 0.3));
+            locations.put("C", location(30, 20, 4 + jitter, 0.6));
+            locations.put("D", location(6, 6, 6, 0.1));
+            Map<String, Integer> quantities = Map.of("A", 2, "B", 4, "C", 1, "D", 5);
+
+            long started = System.nanoTime();
+            recommend(quantities, locations);
+            nanos[run] = System.nanoTime() - started;
+        }
+
+        // The first half warms up the JIT
+        long[] measured = Arrays.copyOfRange(nanos, runs / 2, runs);
+        Arrays.sort(measured);
+        long medianMicros = measured[measured.length / 2] / 1_000;
+        assertTrue(medianMicros < 5_000, "median " + medianMicros + " us");
+    }
+
+    private CartonizationPlan recommend(Map<String, Integer> quantities, Map<String, SkuPickLocation> locations) {
+        return engine.recommend(quantities, locations).orElseThrow();
+    }
+
+    private static void assertContentsMatch(Map<String, Integer> quantities, CartonizationPlan plan) {
+        Map<String, Integer> packed = new HashMap<>();
+        plan.cartons().forEach(carton -> carton.quantities().forEach((sku, count) -> packed.merge(sku, count, Integer::sum)));
+        assertEquals(quantities, packed);
+    }
+
+    private static SkuPickLocation location(double lengthCm, double widthCm, double heightCm, double weightKg) {
+        return SkuPickLocation.builder()
+                .lengthCm(lengthCm)
+                .widthCm(widthCm)
+                .heightCm(heightCm)
+                .weightKg(weightKg)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.enums.FulfillmentStatus;
+import com.gogidix.warehousing.fulfillment.repository.InventoryAllocationRepository;
+import com.gogidix.warehousing.fulfillment.repository.InventoryAllocationRepository.OrderDemand;
+import com.gogidix.warehousing.fulfillment.service.impl.InventoryAllocationEngine.AllocationResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link InventoryAllocationEngine} over a mocked allocation repository
+ */
+class InventoryAllocationEngineTest {
+
+    private static final String SKU = "SKU-1";
+    private static final int PAGE_SIZE = 2;
+    private static final String LOW_STOCK = "Insufficient inventory due to low stock";
+
+    private final InventoryAllocationRepository allocationRepository = mock(InventoryAllocationRepository.class);
+    private final FulfillmentEventOutbox eventOutbox = mock(FulfillmentEventOutbox.class);
+    private final InventoryAllocationEngine engine =
+            new InventoryAllocationEngine(allocationRepository, eventOutbox, PAGE_SIZE);
+
+    private final OrderDemand first = demand("O1", FulfillmentStatus.RECEIVED, 3);
+    private final OrderDemand second = demand("O2", FulfillmentStatus.PROCESSING, 2);
+    private final OrderDemand third = demand("O3", FulfillmentStatus.RECEIVED, 4);
+    private final OrderDemand fourth = demand("O4", FulfillmentStatus.RECEIVED, 1);
+
+    @Test
+    void allocatesInPriorityOrderAndStopsReadingWhenStockRunsOut() {
+        pages(List.of(first, second), List.of(third, fourth));
+        when(allocationRepository.markProcessing(eq(List.of("O1", "O4")), any(LocalDateTime.class)))
+                .thenReturn(List.of("O1", "O4"));
+        when(allocationRepository.markBackordered(eq(List.of("O3")), eq(InventoryAllocationEngine.PENDING_STATUSES),
+                eq(LOW_STOCK), any(LocalDateTime.class))).thenReturn(List.of("O3"));
+
+        AllocationResult result = engine.allocate(SKU, 6);
+
+        assertEquals(new AllocationResult(4, 2, 1, 0), result);
+        verify(allocationRepository, times(2)).findOpenDemand(eq(SKU), any(), any(), eq(PAGE_SIZE));
+        verify(eventOutbox).statusChanged(List.of("O1", "O4"), FulfillmentStatus.PROCESSING, null);
+        verify(eventOutbox).statusChanged(List.of("O3"), FulfillmentStatus.BACKORDERED, LOW_STOCK);
+    }
+
+    @Test
+    void leavesOrdersAfterStockRunsOutUntouched() {
+        pages(List.of(first, second), List.of(third, fourth));
+        when(allocationRepository.markProcessing(eq(List.of("O1")), any(LocalDateTime.class)))
+                .thenReturn(List.of("O1"));
+
+        AllocationResult result = engine.allocate(SKU, 3);
+
+        assertEquals(new AllocationResult(1, 1, 0, 0), result);
+        verify(allocationRepository, times(1)).findOpenDemand(eq(SKU), any(), any(), eq(PAGE_SIZE));
+        verify(allocationRepository, never()).markBackordered(anyList(), any(), any(), any());
+    }
+
+    @Test
+    void backordersAllDemandWithoutStock() {
+        pages(List.of(first, second), List.of(third));
+        List<String> all = List.of("O1", "O2", "O3");
+        when(allocationRepository.markBackordered(eq(all), eq(InventoryAllocationEngine.PENDING_STATUSES),
+                eq("Insufficient inventory"), any(LocalDateTime.class))).thenReturn(all);
+
+        AllocationResult result = engine.allocate(SKU, 0);
+
+        assertEquals(new AllocationResult(3, 0, 3, 0), result);
+        verify(allocationRepository, never()).markProcessing(anyList(), any());
+        verify(eventOutbox).statusChanged(all, FulfillmentStatus.BACKORDERED, "Insufficient inventory");
+    }
+
+    @Test
+    void reportsOnlyOrdersTheUpdatesMoved() {
+        pages(List.of(first, fourth));
+        // O4 changed status concurrently, so only O1 is moved
+        when(allocationRepository.markProcessing(eq(List.of("O1", "O4")), any(LocalDateTime.class)))
+                .thenReturn(List.of("O1"));
+
+        AllocationResult result = engine.allocate(SKU, 10);
+
+        assertEquals(new AllocationResult(2, 1, 0, 6), result);
+        verify(eventOutbox).statusChanged(List.of("O1"), FulfillmentStatus.PROCESSING, null);
+    }
+
+    @Test
+    void writesNothingWithoutDemand() {
+        pages(List.of());
+
+        assertEquals(new AllocationResult(0, 0, 0, 5), engine.allocate(SKU, 5));
+        verify(allocationRepository, never()).markProcessing(anyList(), any());
+        verifyNoInteractions(eventOutbox);
+    }
+
+    private void pages(List<OrderDemand> firstPage, List<OrderDemand> secondPage) {
+        pages(firstPage);
+        when(allocationRepository.findOpenDemand(eq(SKU), any(), eq(firstPage.get(firstPage.size() - 1)),
+                eq(PAGE_SIZE))).thenReturn(secondPage);
+    }
+
+    private void pages(List<OrderDemand> firstPage) {
+        when(allocationRepository.findOpenDemand(eq(SKU), eq(InventoryAllocationEngine.PENDING_STATUSES), isNull(),
+                eq(PAGE_SIZE))).thenReturn(firstPage);
+    }
+
+    private static OrderDemand demand(String orderId, FulfillmentStatus status, long openQuantity) {
+        return new OrderDemand(orderId, status, 0, openQuantity);
+    }
+}
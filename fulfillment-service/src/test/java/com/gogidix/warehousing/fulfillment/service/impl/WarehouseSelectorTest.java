@@ -0,0 +1,131 @@
+package com.gogidix.warehousing.fulfillment.service.impl;
+
+import com.gogidix.warehousing.fulfillment.service.impl.WarehouseRoutingIndex.Site;
+import com.gogidix.warehousing.fulfillment.util.GeoHash;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link WarehouseSelector} over a mocked routing index and a live
+ * availability view
+ */
+class WarehouseSelectorTest {
+
+    private static final String LONDON = GeoHash.encode(51.5074, -0.1278, 5);
+    private static final String SKU = "SKU-1";
+
+    private final WarehouseRoutingIndex routingIndex = mock(WarehouseRoutingIndex.class);
+    private final InventoryAvailabilityView availabilityView = new InventoryAvailabilityView("unused.snapshot");
+
+    private final Site reading = site(51.4543, -0.9781, 1_000, 100);
+    private final Site croydon = site(51.3762, -0.0982, 1_000, 100);
+    private final Site paris = site(48.8566, 2.3522, 1_000, 100);
+
+    @Test
+    void selectsNearestWarehouse() {
+        when(routingIndex.all()).thenReturn(List.of(paris, reading, croydon));
+
+        assertEquals(Optional.of(croydon.warehouseId()), selector(1).selectAlternate(Set.of(SKU), LONDON, null));
+    }
+
+    @Test
+    void neverSelectsExcludedWarehouse() {
+        when(routingIndex.all()).thenReturn(List.of(paris, reading, croydon));
+
+        assertEquals(Optional.of(reading.warehouseId()),
+                selector(1).selectAlternate(Set.of(SKU), LONDON, croydon.warehouseId()));
+    }
+
+    @Test
+    void skipsWarehouseKnownToBeShort() {
+        when(routingIndex.all()).thenReturn(List.of(paris, reading, croydon));
+        availabilityView.apply(croydon.warehouseId(), SKU, 4, 1);
+
+        assertEquals(Optional.of(reading.warehouseId()), selector(1).selectForSku(SKU, 5, LONDON, null));
+        assertEquals(Optional.of(croydon.warehouseId()), selector(1).selectForSku(SKU, 4, LONDON, null));
+    }
+
+    @Test
+    void prefersConfirmedStockOverUnknownAvailability() {
+        when(routingIndex.all()).thenReturn(List.of(paris, croydon));
+        availabilityView.apply(paris.warehouseId(), SKU, 10, 1);
+
+        assertEquals(Optional.of(paris.warehouseId()), selector(1).selectAlternate(Set.of(SKU), LONDON, null));
+    }
+
+    @Test
+    void prefersLessLoadedWarehouseAtSameLocation() {
+        Site busy = site(51.3762, -0.0982, 1_000, 900);
+        Site quiet = site(51.3762, -0.0982, 1_000, 100);
+        when(routingIndex.all()).thenReturn(List.of(busy, quiet));
+
+        assertEquals(Optional.of(quiet.warehouseId()), selector(1).selectAlternate(Set.of(SKU), LONDON, null));
+    }
+
+    @Test
+    void costsUnknownCapacityAsAssumedUtilization() {
+        Site unknown = site(51.3762, -0.0982, null, 5_000);
+        Site busy = site(51.3762, -0.0982, 1_000, 800);
+        Site quiet = site(51.3762, -0.0982, 1_000, 200);
+
+        when(routingIndex.all()).thenReturn(List.of(busy, unknown));
+        assertEquals(Optional.of(unknown.warehouseId()), selector(1).selectAlternate(Set.of(SKU), LONDON, null));
+
+        when(routingIndex.all()).thenReturn(List.of(unknown, quiet));
+        assertEquals(Optional.of(quiet.warehouseId()), selector(1).selectAlternate(Set.of(SKU), LONDON, null));
+    }
+
+    @Test
+    void widensSearchUntilEnoughCandidates() {
+        when(routingIndex.cell(LONDON, 0)).thenReturn(List.of(reading));
+        when(routingIndex.cell(LONDON, 1)).thenReturn(List.of(reading, croydon));
+        when(routingIndex.all()).thenReturn(List.of(paris));
+
+        assertEquals(Optional.of(croydon.warehouseId()), selector(2).selectAlternate(Set.of(SKU), LONDON, null));
+        assertEquals(Optional.of(reading.warehouseId()), selector(1).selectAlternate(Set.of(SKU), LONDON, null));
+        assertEquals(Optional.of(paris.warehouseId()), selector(3).selectAlternate(Set.of(SKU), LONDON, null));
+    }
+
+    @Test
+    void selectsWithoutRegionByCoverageAndWorkload() {
+        Site busy = site(10, 10, 1_000, 900);
+        Site quiet = site(-10, -10, 1_000, 100);
+        when(routingIndex.all()).thenReturn(List.of(busy, quiet));
+
+        assertEquals(Optional.of(quiet.warehouseId()), selector(3).selectAlternate(Set.of(SKU), null, null));
+    }
+
+    @Test
+    void returnsEmptyWhenNoWarehouseCanServe() {
+        when(routingIndex.all()).thenReturn(List.of(croydon));
+        availabilityView.apply(croydon.warehouseId(), SKU, 0, 1);
+
+        assertEquals(Optional.empty(), selector(1).selectForSku(SKU, 1, LONDON, null));
+        assertEquals(Optional.empty(), selector(1).selectAlternate(Set.of(), LONDON, croydon.warehouseId()));
+    }
+
+    @Test
+    void ranksEligibleAlternatesBestFirst() {
+        when(routingIndex.all()).thenReturn(List.of(paris, reading, croydon));
+        availabilityView.apply(reading.warehouseId(), SKU, 0, 1);
+
+        assertEquals(List.of(croydon, paris), selector(1).rankAlternates(Set.of(SKU), LONDON, null));
+        assertEquals(List.of(paris), selector(1).rankAlternates(Set.of(SKU), LONDON, croydon.warehouseId()));
+    }
+
+    private WarehouseSelector selector(int minCandidates) {
+        return new WarehouseSelector(routingIndex, availabilityView, 1.0, 5.0, 2.0, 0.5, minCandidates);
+    }
+
+    private static Site site(double latitude, double longitude, Integer capacity, long openOrders) {
+        return new Site(UUID.randomUUID(), latitude, longitude, capacity, openOrders);
+    }
+}
@@ -0,0 +1,77 @@
+package com.gogidix.warehousing.fulfillment.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link GeoHash}
+ */
+class GeoHashTest {
+
+    @Test
+    void encodesKnownLocation() {
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+        assertEquals("u4pru", GeoHash.encode(57.64911, 10.40744, 5));
+    }
+
+    @Test
+    void decodesToCentreOfCell() {
+        double[] location = GeoHash.decode("u4pruydqqvj");
+
+        assertEquals(57.64911, location[0], 1e-4);
+        assertEquals(10.40744, location[1], 1e-4);
+        assertEquals("u4pruydqqvj", GeoHash.encode(location[0], location[1], 11));
+    }
+
+    @Test
+    void rejectsInvalidCharacters() {
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.decode("u4pa"));
+    }
+
+    @Test
+    void findsEightNeighbours() {
+        assertEquals(Set.of("ezs48", "ezs49", "ezs43", "ezs41", "ezs40", "ezefp", "ezefr", "ezefx"),
+                Set.copyOf(GeoHash.neighbours("ezs42")));
+    }
+
+    @Test
+    void neighbourhoodIsSymmetric() {
+        for (String neighbour : GeoHash.neighbours("u4pru")) {
+            assertEquals(5, neighbour.length());
+            assertTrue(GeoHash.neighbours(neighbour).contains("u4pru"), neighbour);
+        }
+    }
+
+    @Test
+    void wrapsAroundAntimeridian() {
+        String east = GeoHash.encode(0, 179.9, 3);
+
+        List<String> neighbours = GeoHash.neighbours(east);
+
+        assertEquals(8, neighbours.size());
+        assertTrue(neighbours.stream().anyMatch(cell -> GeoHash.decode(cell)[1] < 0));
+    }
+
+    @Test
+    void leavesOutCellsBeyondPole() {
+        String north = GeoHash.encode(89.9, 0, 2);
+
+        List<String> neighbours = GeoHash.neighbours(north);
+
+        assertEquals(5, neighbours.size());
+        assertFalse(neighbours.contains(north));
+    }
+
+    @Test
+    void measuresGreatCircleDistance() {
+        assertEquals(343.5, GeoHash.distanceKm(51.5074, -0.1278, 48.8566, 2.3522), 2.0);
+        assertEquals(0.0, GeoHash.distanceKm(10, 20, 10, 20), 1e-9);
+    }
+}
@@ -0,0 +1,132 @@
+package com.gogidix.warehousing.fulfillment.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link HierarchicalTimingWheel}. The wheel under test has 10 ms ticks
+ * and three levels of 16 slots, so level 0 covers 160 ms, level 1 2.56 s and the
+ * top level 40.96 s.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+
+    private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 0);
+
+    @Test
+    void firesTimerOnItsDeadlineTick() {
+        wheel.schedule("a", 50);
+
+        assertEquals(List.of(), wheel.advance(40));
+        assertEquals(List.of("a"), wheel.advance(50));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void roundsDeadlineUpToNextTick() {
+        wheel.schedule("a", 55);
+
+        assertEquals(List.of(), wheel.advance(50));
+        assertEquals(List.of("a"), wheel.advance(60));
+    }
+
+    @Test
+    void firesTimersOfEveryTickPassedInOneAdvance() {
+        wheel.schedule("a", 30);
+        wheel.schedule("b", 90);
+        wheel.schedule("c", 500);
+
+        assertEquals(List.of("a", "b"), wheel.advance(100));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void cascadesTimerFromHigherLevelsWithoutFiringEarly() {
+        wheel.schedule("level1", 485);
+        wheel.schedule("level2", 10_000);
+
+        for (long now = 0; now < 10_000; now += TICK) {
+            List<String> fired = wheel.advance(now);
+            if (now == 490) {
+                assertEquals(List.of("level1"), fired);
+            } else {
+                assertEquals(List.of(), fired, "fired at " + now);
+            }
+        }
+        assertEquals(List.of("level2"), wheel.advance(10_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void reparksDeadlineBeyondTopLevelUntilItComesInRange() {
+        wheel.schedule("far", 100_000);
+
+        assertEquals(List.of(), wheel.advance(99_990));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("far"), wheel.advance(100_000));
+    }
+
+    @Test
+    void firesOverdueTimerOnNextAdvance() {
+        wheel.advance(1_000);
+        wheel.schedule("late", 500);
+
+        assertEquals(List.of("late"), wheel.advance(1_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelRemovesTimer() {
+        wheel.schedule("a", 50);
+        wheel.schedule("b", 50);
+
+        assertTrue(wheel.cancel("a"));
+        assertFalse(wheel.cancel("a"));
+        assertFalse(wheel.cancel("unknown"));
+        assertEquals(List.of("b"), wheel.advance(50));
+    }
+
+    @Test
+    void cancelRemovesTimerThatHasCascaded() {
+        wheel.schedule("a", 5_000);
+        wheel.advance(4_900);
+
+        assertTrue(wheel.cancel("a"));
+        assertEquals(List.of(), wheel.advance(6_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelRemovesOverdueTimer() {
+        wheel.advance(1_000);
+        wheel.schedule("late", 500);
+
+        assertTrue(wheel.cancel("late"));
+        assertEquals(List.of(), wheel.advance(1_000));
+    }
+
+    @Test
+    void scheduleReplacesExistingTimerOfKey() {
+        wheel.schedule("a", 50);
+        wheel.schedule("a", 200);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(), wheel.advance(100));
+        assertEquals(List.of("a"), wheel.advance(200));
+    }
+
+    @Test
+    void rejectsInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<String>(0, 4, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<String>(10, 0, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<String>(10, 4, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<String>(10, 16, 4, 0));
+    }
+}
@@ -0,0 +1,46 @@
+package com.gogidix.warehousing.fulfillment.util;
+
+import com.gogidix.warehousing.fulfillment.exception.FulfillmentException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link KeysetCursor}
+ */
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsThroughUrlSafeToken() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000), "FO-1|2?>");
+
+        String token = cursor.toToken();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+        assertEquals(cursor, KeysetCursor.fromToken(token));
+    }
+
+    @Test
+    void returnsNullWithoutToken() {
+        assertNull(KeysetCursor.fromToken(null));
+        assertNull(KeysetCursor.fromToken(" "));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThrows(FulfillmentException.class, () -> KeysetCursor.fromToken("%%%"));
+        assertThrows(FulfillmentException.class, () -> KeysetCursor.fromToken(encode("no-separator")));
+        assertThrows(FulfillmentException.class, () -> KeysetCursor.fromToken(encode("yesterday|FO-1")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
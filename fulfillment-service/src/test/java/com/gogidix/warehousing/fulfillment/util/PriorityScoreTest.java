@@ -0,0 +1,60 @@
+package com.gogidix.warehousing.fulfillment.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link PriorityScore}
+ */
+class PriorityScoreTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2025, 6, 2, 8, 0);
+    private static final LocalDateTime EVENING = LocalDateTime.of(2025, 6, 2, 20, 0);
+
+    @Test
+    void serviceLevelOutranksEverythingElse() {
+        assertTrue(PriorityScore.compute(2, 0, null, EVENING)
+                > PriorityScore.compute(1, PriorityScore.MAX_LEVEL, MORNING, MORNING));
+    }
+
+    @Test
+    void customerTierOutranksDates() {
+        assertTrue(PriorityScore.compute(1, 3, null, EVENING) > PriorityScore.compute(1, 2, MORNING, MORNING));
+    }
+
+    @Test
+    void earlierPromiseRanksFirst() {
+        assertTrue(PriorityScore.compute(1, 1, MORNING, EVENING) > PriorityScore.compute(1, 1, EVENING, MORNING));
+    }
+
+    @Test
+    void orderWithoutPromiseRanksAfterPromisedOrders() {
+        LocalDateTime farFuture = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+        assertTrue(PriorityScore.compute(1, 1, farFuture, EVENING) > PriorityScore.compute(1, 1, null, MORNING));
+    }
+
+    @Test
+    void olderOrderRanksFirstForSamePromise() {
+        assertTrue(PriorityScore.compute(1, 1, EVENING, MORNING) > PriorityScore.compute(1, 1, EVENING, EVENING));
+    }
+
+    @Test
+    void clampsLevelsAndDates() {
+        assertEquals(PriorityScore.compute(PriorityScore.MAX_LEVEL, 0, MORNING, MORNING),
+                PriorityScore.compute(99, -5, MORNING, MORNING));
+        assertEquals(PriorityScore.compute(0, 0, null, LocalDateTime.of(2020, 1, 1, 0, 0)),
+                PriorityScore.compute(0, 0, null, LocalDateTime.of(2015, 1, 1, 0, 0)));
+    }
+
+    @Test
+    void staysNonNegativeAtHighestPriority() {
+        LocalDateTime epoch = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+        assertTrue(PriorityScore.compute(PriorityScore.MAX_LEVEL, PriorityScore.MAX_LEVEL, epoch, epoch) > 0);
+    }
+}
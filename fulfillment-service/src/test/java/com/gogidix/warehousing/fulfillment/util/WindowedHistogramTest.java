@@ -0,0 +1,89 @@
+package com.gogidix.warehousing.fulfillment.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link WindowedHistogram}
+ */
+class WindowedHistogramTest {
+
+    private static final long MINUTE = 60_000;
+
+    @Test
+    void keepsSmallValuesExact() {
+        for (int value = 0; value < 8; value++) {
+            assertEquals(value, WindowedHistogram.valueOf(WindowedHistogram.bucketOf(value)));
+        }
+    }
+
+    @Test
+    void reportsValuesWithinRelativeError() {
+        for (long value = 8; value < 1_000_000_000L; value = value * 21 / 20 + 1) {
+            long reported = WindowedHistogram.valueOf(WindowedHistogram.bucketOf(value));
+            assertTrue(Math.abs(reported - value) <= value * 0.125, value + " reported as " + reported);
+        }
+    }
+
+    @Test
+    void computesPercentilesOfCollectedMinutes() {
+        WindowedHistogram histogram = new WindowedHistogram(5);
+        long now = 10 * MINUTE;
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value, now);
+        }
+
+        long[] buckets = new long[WindowedHistogram.BUCKET_COUNT];
+        long[] perMinute = new long[1];
+        long max = histogram.collect(1, now, buckets, perMinute);
+
+        assertEquals(100, max);
+        assertEquals(100, perMinute[0]);
+        assertEquals(50, WindowedHistogram.percentile(buckets, 100, 50), 50 * 0.125);
+        assertEquals(99, WindowedHistogram.percentile(buckets, 100, 99), 99 * 0.125);
+        assertEquals(1, WindowedHistogram.percentile(buckets, 100, 0));
+    }
+
+    @Test
+    void countsEventsPerMinuteOldestFirst() {
+        WindowedHistogram histogram = new WindowedHistogram(5);
+        histogram.record(10, 0);
+        histogram.record(20, 30_000);
+        histogram.record(30, 2 * MINUTE);
+
+        long[] buckets = new long[WindowedHistogram.BUCKET_COUNT];
+        long[] perMinute = new long[3];
+        long max = histogram.collect(3, 2 * MINUTE + 1, buckets, perMinute);
+
+        assertArrayEquals(new long[] {2, 0, 1}, perMinute);
+        assertEquals(30, max);
+    }
+
+    @Test
+    void ignoresMinutesOutsideWindow() {
+        WindowedHistogram histogram = new WindowedHistogram(2);
+        histogram.record(10, 5 * MINUTE);
+        // Shares a slot with minute 5 but is older, so it is dropped
+        histogram.record(20, 3 * MINUTE);
+
+        long[] buckets = new long[WindowedHistogram.BUCKET_COUNT];
+        long[] perMinute = new long[2];
+        histogram.collect(2, 5 * MINUTE, buckets, perMinute);
+        assertEquals(1, Arrays.stream(buckets).sum());
+
+        Arrays.fill(buckets, 0);
+        Arrays.fill(perMinute, 0);
+        assertEquals(0, histogram.collect(2, 20 * MINUTE, buckets, perMinute));
+        assertEquals(0, Arrays.stream(buckets).sum());
+    }
+
+    @Test
+    void reportsZeroForEmptyHistogram() {
+        assertEquals(0, WindowedHistogram.percentile(new long[WindowedHistogram.BUCKET_COUNT], 0, 99));
+    }
+}